@@ -0,0 +1,26 @@
+#!/bin/sh
+# End-to-end load test: starts the What3Words stub and the service pointed at it, then runs LoadTest.
+# Settings come from benchmarks/loadtest.properties; extra key=value arguments override them, e.g.
+#   ./benchmarks/loadtest.sh load.rate=2000 load.duration=120s
+# APP_ARGS is passed to the service, e.g. APP_ARGS=--what3words.hedging.enabled=true ./benchmarks/loadtest.sh
+# Runs offline by default; use OFFLINE= ./benchmarks/loadtest.sh once to populate the local Maven repository.
+set -e
+cd "$(dirname "$0")/.."
+OFFLINE=${OFFLINE--o}
+SETTINGS=benchmarks/loadtest.properties
+STUB_PORT=$(sed -n 's/^stub.port=//p' $SETTINGS)
+./mvnw -B -q $OFFLINE install -DskipTests
+./mvnw -B -q $OFFLINE -f benchmarks/pom.xml package
+
+java -cp benchmarks/target/benchmarks.jar com.akash.emergency.loadtest.What3WordsStub $SETTINGS &
+STUB_PID=$!
+java -jar target/emergency-0.0.1-SNAPSHOT.jar --what3words.endpoint=http://localhost:$STUB_PORT/v3 \
+    --what3words.apiKey=stub $APP_ARGS > target/loadtest-service.log 2>&1 &
+SERVICE_PID=$!
+trap 'kill $STUB_PID $SERVICE_PID 2>/dev/null' EXIT INT TERM
+
+until curl -sf http://localhost:8080/emergencyapi/actuator/health > /dev/null; do
+    kill -0 $SERVICE_PID 2>/dev/null || { echo "Service failed to start, see target/loadtest-service.log"; exit 1; }
+    sleep 1
+done
+java -cp benchmarks/target/benchmarks.jar com.akash.emergency.loadtest.LoadTest $SETTINGS "$@"
@@ -0,0 +1,10 @@
+#!/bin/sh
+# Builds the service and the benchmark jar, then runs JMH with the allocation profiler.
+# Runs offline by default; use OFFLINE= ./benchmarks/run.sh once to populate the local Maven repository.
+# Extra arguments go to JMH, e.g. ./benchmarks/run.sh ValidationBenchmark -f 1
+set -e
+cd "$(dirname "$0")/.."
+OFFLINE=${OFFLINE--o}
+./mvnw -B -q $OFFLINE install -DskipTests
+./mvnw -B -q $OFFLINE -f benchmarks/pom.xml package
+java -jar benchmarks/target/benchmarks.jar -prof gc "$@"
@@ -0,0 +1,169 @@
+package com.akash.emergency.benchmark;
+
+import com.akash.emergency.cache.SquareCache;
+import com.akash.emergency.cache.ThreeWordsCache;
+import com.akash.emergency.dto.location.Location;
+import com.akash.emergency.dto.threeWords.ThreeWordAddress;
+import com.akash.emergency.exception.exceptionClass.LocationAutoSuggestException;
+import com.akash.emergency.service.impl.EmergencyServiceImpl;
+import com.akash.emergency.service.intf.EmergencyService;
+import com.akash.emergency.service.result.LookupResult;
+import com.what3words.javawrapper.What3WordsV3;
+import com.what3words.javawrapper.request.AutosuggestRequest;
+import com.what3words.javawrapper.request.ConvertTo3WARequest;
+import com.what3words.javawrapper.request.ConvertToCoordinatesRequest;
+import com.what3words.javawrapper.response.Autosuggest;
+import com.what3words.javawrapper.response.ConvertTo3WA;
+import com.what3words.javawrapper.response.ConvertToCoordinates;
+import com.what3words.javawrapper.response.Coordinates;
+import com.what3words.javawrapper.response.Square;
+import com.what3words.javawrapper.response.Suggestion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * The service hot path against an in-process What3WordsV3 that answers instantly, so the numbers are the cost of
+ * our own code: client wrappers, caches and response mapping. The stub is a stub-only Mockito mock, whose per-call
+ * overhead shows up in the uncached results; compare runs against each other rather than reading them as absolutes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmergencyServiceBenchmark {
+    private static final double lat = 51.520847;
+    private static final double lng = -0.195521;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private EmergencyService emergencyService;
+    private Location location;
+    private ThreeWordAddress threeWordAddress;
+    private ThreeWordAddress unrecognisedThreeWordAddress;
+
+    @Setup
+    public void setup() {
+        emergencyService = EmergencyServiceImpl.builder()
+                .defaultLanguage("en")
+                .allowedCountries(Arrays.asList("GB", "IE", "FR"))
+                .numberOfSuggestionsPerCountry(3)
+                .what3WordsV3(stubWhat3WordsV3())
+                .squareCache(cached ? new SquareCache(10_000, Duration.ofHours(1)) : SquareCache.disabled())
+                .threeWordsCache(cached ? new ThreeWordsCache(10_000, Duration.ofHours(1), 10_000, Duration.ofHours(1))
+                        : ThreeWordsCache.disabled())
+                .build();
+        location = new Location(lat, lng);
+        threeWordAddress = new ThreeWordAddress("filled.count.soap");
+        unrecognisedThreeWordAddress = new ThreeWordAddress("filled.count.sop");
+    }
+
+    @Benchmark
+    public ThreeWordAddress coordTo3wa() {
+        return emergencyService.coordTo3wa(location);
+    }
+
+    @Benchmark
+    public Location _3waToCoord() {
+        return emergencyService._3waToCoord(threeWordAddress);
+    }
+
+    @Benchmark
+    public ThreeWordAddress _3waLanguageConvert() {
+        return emergencyService._3waLanguageConvert(threeWordAddress, "fr");
+    }
+
+    /**
+     * The 303 path as the servlet resource now takes it: no exception at all.
+     */
+    @Benchmark
+    public List<?> _3waToCoordNotRecognised() {
+        return emergencyService._3waToCoordResult(unrecognisedThreeWordAddress).getSuggestions();
+    }
+
+    /**
+     * The throwing API, whose {@link LocationAutoSuggestException} no longer fills in a stack trace.
+     */
+    @Benchmark
+    public List<?> _3waToCoordNotRecognisedThrown() {
+        try {
+            emergencyService._3waToCoord(unrecognisedThreeWordAddress);
+            return Collections.emptyList();
+        } catch (LocationAutoSuggestException ex) {
+            return ex.getSuggestions();
+        }
+    }
+
+    /**
+     * Baseline for the old behaviour: the same lookup plus a stack-capturing throw. The stack here is a handful of
+     * JMH frames, against well over a hundred under a servlet container, so this understates the old cost.
+     */
+    @Benchmark
+    public List<?> _3waToCoordNotRecognisedStackTrace() {
+        try {
+            LookupResult<Location> result = emergencyService._3waToCoordResult(unrecognisedThreeWordAddress);
+            throw new StackTracedNotRecognised(result.getSuggestions());
+        } catch (StackTracedNotRecognised ex) {
+            return ex.suggestions;
+        }
+    }
+
+    private static class StackTracedNotRecognised extends RuntimeException {
+        private final List<?> suggestions;
+
+        private StackTracedNotRecognised(List<?> suggestions) {
+            this.suggestions = suggestions;
+        }
+    }
+
+    private static What3WordsV3 stubWhat3WordsV3() {
+        What3WordsV3 what3WordsV3 = mock(What3WordsV3.class, withSettings().stubOnly());
+        ConvertTo3WARequest.Builder convertTo3waBuilder = mock(ConvertTo3WARequest.Builder.class, withSettings().stubOnly());
+        ConvertToCoordinatesRequest.Builder recognisedBuilder = mock(ConvertToCoordinatesRequest.Builder.class, withSettings().stubOnly());
+        ConvertToCoordinatesRequest.Builder notRecognisedBuilder = mock(ConvertToCoordinatesRequest.Builder.class, withSettings().stubOnly());
+        AutosuggestRequest.Builder autosuggestBuilder = mock(AutosuggestRequest.Builder.class, withSettings().stubOnly());
+        Autosuggest autosuggest = mock(Autosuggest.class, withSettings().stubOnly());
+        Suggestion suggestion = mock(Suggestion.class, withSettings().stubOnly());
+        Square square = mock(Square.class, withSettings().stubOnly());
+        when(square.getSouthwest()).thenReturn(new Coordinates(51.520833, -0.195543));
+        when(square.getNortheast()).thenReturn(new Coordinates(51.520860, -0.195499));
+
+        when(what3WordsV3.convertTo3wa(any())).thenReturn(convertTo3waBuilder);
+        when(convertTo3waBuilder.language(anyString())).thenReturn(convertTo3waBuilder);
+        when(convertTo3waBuilder.execute()).thenReturn(
+                new ConvertTo3WA("GB", square, "Bayswater, London", null, "filled.count.soap", "en", null));
+        when(what3WordsV3.convertToCoordinates("filled.count.soap")).thenReturn(recognisedBuilder);
+        when(recognisedBuilder.execute()).thenReturn(new ConvertToCoordinates("GB", square, "Bayswater, London",
+                new Coordinates(lat, lng), "filled.count.soap", "en", null));
+        when(what3WordsV3.convertToCoordinates("filled.count.sop")).thenReturn(notRecognisedBuilder);
+        when(notRecognisedBuilder.execute()).thenReturn(new ConvertToCoordinates(null, null, null, null, null, null, null));
+        when(what3WordsV3.autosuggest(anyString())).thenReturn(autosuggestBuilder);
+        when(autosuggestBuilder.clipToCountry(anyString())).thenReturn(autosuggestBuilder);
+        when(autosuggestBuilder.execute()).thenReturn(autosuggest);
+        when(autosuggest.getSuggestions()).thenReturn(Collections.nCopies(3, suggestion));
+        return what3WordsV3;
+    }
+}
@@ -0,0 +1,141 @@
+package com.akash.emergency.benchmark;
+
+import com.akash.emergency.config.TaskExecutors;
+import com.akash.emergency.config.ThreadMode;
+import com.akash.emergency.dto.threeWords.ThreeWordAddress;
+import com.akash.emergency.service.impl.EmergencyServiceImpl;
+import com.akash.emergency.service.intf.EmergencyService;
+import com.what3words.javawrapper.What3WordsV3;
+import com.what3words.javawrapper.request.AutosuggestRequest;
+import com.what3words.javawrapper.request.ConvertToCoordinatesRequest;
+import com.what3words.javawrapper.response.Autosuggest;
+import com.what3words.javawrapper.response.ConvertToCoordinates;
+import org.mockito.stubbing.Answer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Compares the platform thread pools with virtual threads for the blocking service path. Each invocation submits
+ * {@code callers} lookups at once and waits for all of them; every lookup resolves a not recognised 3wa (one convert
+ * call plus an autosuggest fan-out over three countries) against a stub What3WordsV3 with injected latency. The
+ * platform run caps request threads at Tomcat's default of 200. {@code mode=VIRTUAL} needs Java 21+ and fails its
+ * setup otherwise.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExecutionModeBenchmark {
+    private static final int tomcatMaxThreads = 200;
+    private static final int upstreamLatencyMillis = 50;
+    private static final int upstreamJitterMillis = 20;
+    private static final int countries = 3;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public ThreadMode mode;
+
+    @Param({"1000", "10000"})
+    public int callers;
+
+    private ExecutorService requestExecutor;
+    private ExecutorService autosuggestExecutor;
+    private EmergencyService emergencyService;
+    private final AtomicInteger partial = new AtomicInteger();
+
+    @Setup
+    public void setup() {
+        if (mode == ThreadMode.VIRTUAL && Objects.isNull(TaskExecutors.newVirtualThreadPerTaskExecutor())) {
+            throw new IllegalStateException("Virtual threads need Java 21+");
+        }
+        requestExecutor = TaskExecutors.newExecutor(mode, tomcatMaxThreads, callers, "request-");
+        autosuggestExecutor = TaskExecutors.newExecutor(mode, 16, callers * countries, "autosuggest-");
+        emergencyService = EmergencyServiceImpl.builder()
+                .defaultLanguage("en")
+                .allowedCountries(Arrays.asList("GB", "IE", "FR"))
+                .numberOfSuggestionsPerCountry(3)
+                .what3WordsV3(stubWhat3WordsV3())
+                .suggestionExecutor(autosuggestExecutor)
+                .suggestionDeadline(Duration.ofSeconds(30))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        autosuggestExecutor.shutdownNow();
+        if (partial.get() > 0) {
+            throw new IllegalStateException(partial.get() + " lookups were partial, the results are not comparable");
+        }
+    }
+
+    /**
+     * Wall-clock time until every caller has its answer.
+     */
+    @Benchmark
+    public void fanOut() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(callers);
+        for (int i = 0; i < callers; i++) {
+            ThreeWordAddress threeWordAddress = new ThreeWordAddress("table.book.chair" + i);
+            requestExecutor.execute(() -> {
+                try {
+                    if (emergencyService._3waToCoordResult(threeWordAddress).isPartial()) {
+                        partial.incrementAndGet();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    private static What3WordsV3 stubWhat3WordsV3() {
+        What3WordsV3 what3WordsV3 = mock(What3WordsV3.class, withSettings().stubOnly());
+        ConvertToCoordinatesRequest.Builder convertBuilder = mock(ConvertToCoordinatesRequest.Builder.class, withSettings().stubOnly());
+        AutosuggestRequest.Builder autosuggestBuilder = mock(AutosuggestRequest.Builder.class, withSettings().stubOnly());
+        Autosuggest autosuggest = mock(Autosuggest.class, withSettings().stubOnly());
+        ConvertToCoordinates notRecognised = new ConvertToCoordinates(null, null, null, null, null, null, null);
+        when(what3WordsV3.convertToCoordinates(anyString())).thenReturn(convertBuilder);
+        when(convertBuilder.execute()).thenAnswer(withLatency(notRecognised));
+        when(what3WordsV3.autosuggest(anyString())).thenReturn(autosuggestBuilder);
+        when(autosuggestBuilder.clipToCountry(any())).thenReturn(autosuggestBuilder);
+        when(autosuggestBuilder.execute()).thenAnswer(withLatency(autosuggest));
+        when(autosuggest.getSuggestions()).thenReturn(Collections.emptyList());
+        return what3WordsV3;
+    }
+
+    private static <T> Answer<T> withLatency(T response) {
+        return invocation -> {
+            Thread.sleep(upstreamLatencyMillis + ThreadLocalRandom.current().nextInt(upstreamJitterMillis));
+            return response;
+        };
+    }
+}
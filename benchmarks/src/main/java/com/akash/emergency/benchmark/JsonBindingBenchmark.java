@@ -0,0 +1,93 @@
+package com.akash.emergency.benchmark;
+
+import com.akash.emergency.dto.autoSuggest.EmergencySuggestion;
+import com.akash.emergency.dto.location.Location;
+import com.akash.emergency.dto.threeWords.ThreeWordAddress;
+import com.akash.emergency.response.AutoSuggestLocationResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson binding of the request DTOs and the autosuggest response, with readers and writers resolved up front the
+ * way Spring's message converters cache them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBindingBenchmark {
+    private ObjectReader threeWordAddressReader;
+    private ObjectReader locationReader;
+    private ObjectWriter threeWordAddressWriter;
+    private ObjectWriter locationWriter;
+    private ObjectWriter autoSuggestWriter;
+    private byte[] threeWordAddressJson;
+    private byte[] locationJson;
+    private ThreeWordAddress threeWordAddress;
+    private Location location;
+    private AutoSuggestLocationResponse autoSuggestLocationResponse;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        threeWordAddressReader = objectMapper.readerFor(ThreeWordAddress.class);
+        locationReader = objectMapper.readerFor(Location.class);
+        threeWordAddressWriter = objectMapper.writerFor(ThreeWordAddress.class);
+        locationWriter = objectMapper.writerFor(Location.class);
+        autoSuggestWriter = objectMapper.writerFor(AutoSuggestLocationResponse.class);
+        threeWordAddress = new ThreeWordAddress("filled.count.soap");
+        location = new Location(51.520847, -0.195521);
+        threeWordAddressJson = threeWordAddressWriter.writeValueAsBytes(threeWordAddress);
+        locationJson = locationWriter.writeValueAsBytes(location);
+        List<EmergencySuggestion> suggestions = new ArrayList<>();
+        for (String country : new String[]{"GB", "IE", "FR"}) {
+            for (int i = 0; i < 3; i++) {
+                suggestions.add(new EmergencySuggestion(country, "Bayswater, London", "filled.count.soap" + i));
+            }
+        }
+        autoSuggestLocationResponse = new AutoSuggestLocationResponse("3wa not recognised: filled.count.sop", suggestions);
+    }
+
+    @Benchmark
+    public ThreeWordAddress readThreeWordAddress() throws IOException {
+        return threeWordAddressReader.readValue(threeWordAddressJson);
+    }
+
+    @Benchmark
+    public Location readLocation() throws IOException {
+        return locationReader.readValue(locationJson);
+    }
+
+    @Benchmark
+    public byte[] writeThreeWordAddress() throws IOException {
+        return threeWordAddressWriter.writeValueAsBytes(threeWordAddress);
+    }
+
+    @Benchmark
+    public byte[] writeLocation() throws IOException {
+        return locationWriter.writeValueAsBytes(location);
+    }
+
+    @Benchmark
+    public byte[] writeAutoSuggestLocationResponse() throws IOException {
+        return autoSuggestWriter.writeValueAsBytes(autoSuggestLocationResponse);
+    }
+}
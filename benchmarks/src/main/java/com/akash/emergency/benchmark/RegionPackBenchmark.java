@@ -0,0 +1,111 @@
+package com.akash.emergency.benchmark;
+
+import com.akash.emergency.cache.SquareEntry;
+import com.akash.emergency.cache.ThreeWordsEntry;
+import com.akash.emergency.pack.RegionPack;
+import com.akash.emergency.pack.RegionPackWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup latency of a memory-mapped region pack. Builds a synthetic pack of contiguous 3m squares over a block of
+ * Great Britain ({@code squares} of them, 5,000,000 cover roughly 45 km2) and looks up random squares by coordinate
+ * and by 3wa. Building the pack dominates the setup, so start with a smaller {@code -p squares=} when iterating.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegionPackBenchmark {
+    private static final double SOUTH = 51.3;
+    private static final double WEST = -0.5;
+    private static final double LAT_STEP = 0.000027;
+    private static final double LNG_STEP = 0.000043;
+    private static final int COLUMNS = 2_000;
+    private static final int LOOKUPS = 1 << 16;
+
+    @Param({"5000000"})
+    public int squares;
+
+    private Path file;
+    private RegionPack pack;
+    private double[] lats;
+    private double[] lngs;
+    private String[] threeWordAddresses;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("region", ".pack");
+        RegionPackWriter writer = new RegionPackWriter("en");
+        for (int i = 0; i < squares; i++) {
+            writer.add(square(i));
+        }
+        writer.write(file);
+        pack = RegionPack.open(file);
+        Random random = new Random(42);
+        lats = new double[LOOKUPS];
+        lngs = new double[LOOKUPS];
+        threeWordAddresses = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            int index = random.nextInt(squares);
+            lats[i] = SOUTH + (index / COLUMNS + 0.5) * LAT_STEP;
+            lngs[i] = WEST + (index % COLUMNS + 0.5) * LNG_STEP;
+            threeWordAddresses[i] = words(index);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        pack.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public SquareEntry findSquare() {
+        int lookup = next++ & (LOOKUPS - 1);
+        return pack.findSquare("en", lats[lookup], lngs[lookup]);
+    }
+
+    @Benchmark
+    public ThreeWordsEntry findWords() {
+        return pack.findWords(threeWordAddresses[next++ & (LOOKUPS - 1)]);
+    }
+
+    private static SquareEntry square(int index) {
+        double swLat = SOUTH + (index / COLUMNS) * LAT_STEP;
+        double swLng = WEST + (index % COLUMNS) * LNG_STEP;
+        return new SquareEntry(swLat, swLng, swLat + LAT_STEP, swLng + LNG_STEP, words(index), "GB");
+    }
+
+    private static String words(int index) {
+        return word(index % 40_000) + "." + word(index / 40_000 % 40_000) + "." + word(index / 1_600_000_000);
+    }
+
+    private static String word(int value) {
+        StringBuilder word = new StringBuilder();
+        do {
+            word.append((char) ('a' + value % 26));
+            value /= 26;
+        } while (value > 0);
+        return word.append("ing").toString();
+    }
+}
@@ -0,0 +1,140 @@
+package com.akash.emergency.benchmark;
+
+import com.akash.emergency.cache.SquareCache;
+import com.akash.emergency.cache.SquareEntry;
+import com.akash.emergency.cache.ThreeWordsCache;
+import com.akash.emergency.cache.ThreeWordsEntry;
+import com.akash.emergency.client.What3WordsClient;
+import com.akash.emergency.dto.location.Location;
+import com.akash.emergency.dto.threeWords.ThreeWordAddress;
+import com.akash.emergency.rest.LookupResultResponses;
+import com.akash.emergency.service.impl.EmergencyServiceImpl;
+import com.akash.emergency.service.intf.EmergencyService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * A memory cache hit from the service call to the bytes of the response, written by the message converter Spring MVC
+ * would pick: Jackson for the DTO, or the byte array converter for the stored body when {@code preSerialised}. Both
+ * paths build the same JSON, so the difference is the object mapping skipped on a hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseBodyBenchmark {
+    private static final double lat = 51.520847;
+    private static final double lng = -0.195521;
+
+    @Param({"false", "true"})
+    public boolean preSerialised;
+
+    private EmergencyService emergencyService;
+    private LookupResultResponses lookupResultResponses;
+    private MappingJackson2HttpMessageConverter jsonConverter;
+    private ByteArrayHttpMessageConverter bytesConverter;
+    private BufferedOutputMessage message;
+    private Location location;
+    private ThreeWordAddress threeWordAddress;
+
+    @Setup
+    public void setup() {
+        What3WordsClient what3WordsClient = mock(What3WordsClient.class, withSettings().stubOnly());
+        when(what3WordsClient.convertTo3wa(anyDouble(), anyDouble(), anyString()))
+                .thenReturn(new SquareEntry(lat - 0.00001, lng - 0.00001, lat + 0.00001, lng + 0.00001,
+                        "filled.count.soap", "GB"));
+        when(what3WordsClient.convertToCoordinates(anyString()))
+                .thenReturn(ThreeWordsEntry.resolved(lat, lng, "GB"));
+        jsonConverter = new MappingJackson2HttpMessageConverter();
+        bytesConverter = new ByteArrayHttpMessageConverter();
+        emergencyService = EmergencyServiceImpl.builder()
+                .defaultLanguage("en")
+                .allowedCountries(Arrays.asList("GB", "IE", "FR"))
+                .numberOfSuggestionsPerCountry(3)
+                .what3WordsClient(what3WordsClient)
+                .squareCache(new SquareCache(10_000, Duration.ofHours(1)))
+                .threeWordsCache(new ThreeWordsCache(10_000, Duration.ofHours(1), 10_000, Duration.ofHours(1)))
+                .responseMapper(preSerialised ? jsonConverter.getObjectMapper() : null)
+                .build();
+        lookupResultResponses = new LookupResultResponses(new SimpleMeterRegistry());
+        message = new BufferedOutputMessage();
+        location = new Location(lat, lng);
+        threeWordAddress = new ThreeWordAddress("filled.count.soap");
+        for (int i = 0; i < 2; i++) {
+            emergencyService.coordTo3waResult(location);
+            emergencyService._3waToCoordResult(threeWordAddress);
+        }
+    }
+
+    @Benchmark
+    public int coordTo3wa() throws IOException {
+        return write(lookupResultResponses.toResponse(emergencyService.coordTo3waResult(location)));
+    }
+
+    @Benchmark
+    public int _3waToCoord() throws IOException {
+        return write(lookupResultResponses.toResponse(emergencyService._3waToCoordResult(threeWordAddress)));
+    }
+
+    private int write(ResponseEntity<?> response) throws IOException {
+        message.reset();
+        Object body = response.getBody();
+        if (body instanceof byte[]) {
+            bytesConverter.write((byte[]) body, response.getHeaders().getContentType(), message);
+        } else {
+            jsonConverter.write(body, MediaType.APPLICATION_JSON, message);
+        }
+        return message.body.size();
+    }
+
+    private static class BufferedOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        private void reset() {
+            headers.clear();
+            body.reset();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.akash.emergency.benchmark;
+
+import com.akash.emergency.dto.location.Location;
+import com.akash.emergency.dto.threeWords.ThreeWordAddress;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean validation cost of the request DTOs, using the same Hibernate Validator the service runs with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+    @Param({"latin", "cjk", "multiWord", "invalid"})
+    public String input;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ThreeWordAddress threeWordAddress;
+    private Location location;
+    private Location invalidLocation;
+
+    @Setup
+    public void setup() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        threeWordAddress = new ThreeWordAddress(threeWordAddress(input));
+        location = new Location(51.520847, -0.195521);
+        invalidLocation = new Location(91.0, 200.0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ThreeWordAddress>> threeWordAddress() {
+        return validator.validate(threeWordAddress);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Location>> location() {
+        return validator.validate("invalid".equals(input) ? invalidLocation : location);
+    }
+
+    static String threeWordAddress(String input) {
+        switch (input) {
+            case "latin":
+                return "///filled.count.soap";
+            case "cjk":
+                return "产权。绝缘。墨镜";
+            case "multiWord":
+                return "ধরা পড়া।গিয়ে আসা।পরে থাকা";
+            default:
+                return "filled.count";
+        }
+    }
+}
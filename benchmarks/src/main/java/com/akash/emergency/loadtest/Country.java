@@ -0,0 +1,94 @@
+package com.akash.emergency.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A country as the stub sees it: one lat/lng box, plus optional latency and error rate overrides for every request
+ * that resolves to it. Configured as {@code country.GB=minLat,minLng,maxLat,maxLng}, {@code country.GB.latency=...}
+ * and {@code country.GB.errorRate=...}; earlier keys win where boxes overlap.
+ */
+public class Country {
+    private final String code;
+    private final double minLat;
+    private final double minLng;
+    private final double maxLat;
+    private final double maxLng;
+    private final LatencyDistribution latency;
+    private final double errorRate;
+
+    public Country(String code, double minLat, double minLng, double maxLat, double maxLng, LatencyDistribution latency,
+                   double errorRate) {
+        this.code = code;
+        this.minLat = minLat;
+        this.minLng = minLng;
+        this.maxLat = maxLat;
+        this.maxLng = maxLng;
+        this.latency = latency;
+        this.errorRate = errorRate;
+    }
+
+    public static List<Country> all(Settings settings) {
+        List<Country> countries = new ArrayList<>();
+        for (String key : settings.keysWithPrefix("country.")) {
+            String code = key.substring("country.".length());
+            if (code.contains(".")) {
+                continue;
+            }
+            String[] box = settings.getString(key, "").split(",");
+            String latency = settings.getString(key + ".latency", null);
+            countries.add(new Country(code, Double.parseDouble(box[0]), Double.parseDouble(box[1]),
+                    Double.parseDouble(box[2]), Double.parseDouble(box[3]),
+                    latency == null ? null : LatencyDistribution.parse(latency),
+                    settings.getDouble(key + ".errorRate", -1)));
+        }
+        return countries;
+    }
+
+    public static Country find(List<Country> countries, double lat, double lng) {
+        for (Country country : countries) {
+            if (country.contains(lat, lng)) {
+                return country;
+            }
+        }
+        return null;
+    }
+
+    public static Country find(List<Country> countries, String code) {
+        for (Country country : countries) {
+            if (country.code.equalsIgnoreCase(code)) {
+                return country;
+            }
+        }
+        return null;
+    }
+
+    public boolean contains(double lat, double lng) {
+        return lat >= minLat && lat < maxLat && lng >= minLng && lng < maxLng;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public LatencyDistribution getLatency() {
+        return latency;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public boolean hasErrorRate() {
+        return errorRate >= 0;
+    }
+
+    public double randomLat(Random random) {
+        return minLat + random.nextDouble() * (maxLat - minLat);
+    }
+
+    public double randomLng(Random random) {
+        return minLng + random.nextDouble() * (maxLng - minLng);
+    }
+}
@@ -0,0 +1,66 @@
+package com.akash.emergency.loadtest;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Injected upstream latency, written as {@code fixed:MS}, {@code uniform:MIN:MAX} or {@code lognormal:MEDIAN:P99}
+ * (all in milliseconds). The log-normal form is the usual shape of a remote API: a tight body and a long tail.
+ */
+public abstract class LatencyDistribution {
+    private static final double z99 = 2.3263;
+
+    public static final LatencyDistribution NONE = fixed(0);
+
+    public abstract long sampleNanos(Random random);
+
+    public static LatencyDistribution parse(String value) {
+        String[] parts = value.split(":");
+        switch (parts[0]) {
+            case "fixed":
+                return fixed(Double.parseDouble(parts[1]));
+            case "uniform":
+                return uniform(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+            case "lognormal":
+                return logNormal(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+            default:
+                throw new IllegalArgumentException("Unsupported latency distribution " + value);
+        }
+    }
+
+    public static LatencyDistribution fixed(double millis) {
+        long nanos = toNanos(millis);
+        return new LatencyDistribution() {
+            @Override
+            public long sampleNanos(Random random) {
+                return nanos;
+            }
+        };
+    }
+
+    public static LatencyDistribution uniform(double minMillis, double maxMillis) {
+        long min = toNanos(minMillis);
+        long range = toNanos(maxMillis) - min;
+        return new LatencyDistribution() {
+            @Override
+            public long sampleNanos(Random random) {
+                return min + (long) (random.nextDouble() * range);
+            }
+        };
+    }
+
+    public static LatencyDistribution logNormal(double medianMillis, double p99Millis) {
+        double mu = Math.log(medianMillis);
+        double sigma = Math.log(p99Millis / medianMillis) / z99;
+        return new LatencyDistribution() {
+            @Override
+            public long sampleNanos(Random random) {
+                return toNanos(Math.exp(mu + sigma * random.nextGaussian()));
+            }
+        };
+    }
+
+    private static long toNanos(double millis) {
+        return (long) (millis * TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,299 @@
+package com.akash.emergency.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the three servlet endpoints with a configurable mix and prints throughput, latency percentiles and the
+ * outcome breakdown per endpoint. Intended to run against the service pointed at {@link What3WordsStub}, whose
+ * country boxes and address scheme it shares. Settings, as properties or {@code key=value} arguments:
+ * <ul>
+ *     <li>{@code load.target}: service base URL, including the context path</li>
+ *     <li>{@code load.duration}, {@code load.warmup}, {@code load.timeout}, {@code load.seed}</li>
+ *     <li>{@code load.concurrency}: worker count; {@code load.rate}: total requests per second, 0 for closed loop</li>
+ *     <li>{@code load.mix}: weights, e.g. {@code coord-to-3wa=60,3wa-to-coord=30,language-convert=10}</li>
+ *     <li>{@code load.serviceableCountries}: countries the service allows; other configured countries are used for
+ *     unserviceable requests, at {@code load.unserviceableRate}</li>
+ *     <li>{@code load.typoRate}: share of 3wa requests with a misspelt word (the 303 path)</li>
+ *     <li>{@code load.distinctLocations}: size of the pool locations are drawn from, 0 for a fresh one per request</li>
+ *     <li>{@code load.targetLanguage}: language for language-convert</li>
+ * </ul>
+ * With a rate set, latency is measured from each request's scheduled start rather than its actual one, so a stalled
+ * service shows up as latency instead of quietly lowering the offered load.
+ */
+public class LoadTest {
+    private static final String coordTo3wa = "coord-to-3wa";
+    private static final String _3waToCoord = "3wa-to-coord";
+    private static final String languageConvert = "language-convert";
+
+    private final String target;
+    private final Duration duration;
+    private final Duration warmup;
+    private final Duration timeout;
+    private final int concurrency;
+    private final double rate;
+    private final long seed;
+    private final Map<String, Integer> mix = new LinkedHashMap<>();
+    private final int totalWeight;
+    private final List<Country> serviceable = new ArrayList<>();
+    private final List<Country> unserviceable = new ArrayList<>();
+    private final double unserviceableRate;
+    private final double typoRate;
+    private final int distinctLocations;
+    private final String targetLanguage;
+    private final HttpClient httpClient;
+
+    public LoadTest(Settings settings) {
+        this.target = settings.getString("load.target", "http://localhost:8080/emergencyapi");
+        this.duration = settings.getDuration("load.duration", Duration.ofSeconds(60));
+        this.warmup = settings.getDuration("load.warmup", Duration.ofSeconds(10));
+        this.timeout = settings.getDuration("load.timeout", Duration.ofSeconds(10));
+        this.concurrency = settings.getInt("load.concurrency", 32);
+        this.rate = settings.getDouble("load.rate", 0);
+        this.seed = settings.getLong("load.seed", 42);
+        int weights = 0;
+        for (String entry : settings.getList("load.mix", "coord-to-3wa=60,3wa-to-coord=30,language-convert=10")) {
+            String[] parts = entry.split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            mix.put(parts[0].trim(), weight);
+            weights += weight;
+        }
+        this.totalWeight = weights;
+        List<String> serviceableCountries = settings.getList("load.serviceableCountries", "GB");
+        for (Country country : Country.all(settings)) {
+            (serviceableCountries.contains(country.getCode()) ? serviceable : unserviceable).add(country);
+        }
+        if (serviceable.isEmpty()) {
+            throw new IllegalArgumentException("No country.* box configured for load.serviceableCountries " + serviceableCountries);
+        }
+        this.unserviceableRate = unserviceable.isEmpty() ? 0 : settings.getDouble("load.unserviceableRate", 0.05);
+        this.typoRate = settings.getDouble("load.typoRate", 0.1);
+        this.distinctLocations = settings.getInt("load.distinctLocations", 0);
+        this.targetLanguage = settings.getString("load.targetLanguage", "fr");
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(Executors.newCachedThreadPool())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTest loadTest = new LoadTest(Settings.parse(args));
+        System.out.print(loadTest.run().report());
+        System.exit(0);
+    }
+
+    public Results run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Results>> futures = new ArrayList<>();
+        for (int worker = 0; worker < concurrency; worker++) {
+            int id = worker;
+            futures.add(workers.submit(() -> drive(id, start, measureFrom, end)));
+        }
+        Results results = new Results(duration);
+        for (Future<Results> future : futures) {
+            try {
+                results.merge(future.get());
+            } catch (Exception ex) {
+                throw new IllegalStateException("Load worker failed", ex);
+            }
+        }
+        workers.shutdown();
+        return results;
+    }
+
+    private Results drive(int worker, long start, long measureFrom, long end) {
+        Random random = new Random(seed + worker);
+        Results results = new Results(duration);
+        long interval = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * concurrency / rate) : 0;
+        long scheduled = start + (interval > 0 ? random.nextInt((int) Math.min(interval, Integer.MAX_VALUE)) : 0);
+        while (true) {
+            if (interval > 0) {
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                scheduled = System.nanoTime();
+            }
+            if (scheduled >= end) {
+                return results;
+            }
+            String endpoint = pickEndpoint(random);
+            HttpRequest request = request(endpoint, random);
+            String outcome;
+            try {
+                outcome = Integer.toString(httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+            } catch (HttpTimeoutException ex) {
+                outcome = "timeout";
+            } catch (IOException ex) {
+                outcome = ex.getClass().getSimpleName();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return results;
+            }
+            if (scheduled >= measureFrom) {
+                results.record(endpoint, System.nanoTime() - scheduled, outcome);
+            }
+            scheduled += interval;
+        }
+    }
+
+    private String pickEndpoint(Random random) {
+        int pick = random.nextInt(totalWeight);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty load.mix");
+    }
+
+    private HttpRequest request(String endpoint, Random random) {
+        double[] location = location(random);
+        switch (endpoint) {
+            case coordTo3wa:
+                return post("/coord-to-3wa", String.format(Locale.ROOT, "{\"lat\":%.6f,\"lng\":%.6f}", location[0], location[1]));
+            case _3waToCoord:
+                return post("/3wa-to-coord", "{\"3wa\":\"" + words(location, random) + "\"}");
+            case languageConvert:
+                return post("/language-convert?target_language=" + targetLanguage,
+                        "{\"3wa\":\"" + words(location, random) + "\"}");
+            default:
+                throw new IllegalArgumentException("Unknown endpoint in load.mix: " + endpoint);
+        }
+    }
+
+    private double[] location(Random random) {
+        boolean outside = random.nextDouble() < unserviceableRate;
+        List<Country> countries = outside ? unserviceable : serviceable;
+        Random source = random;
+        if (distinctLocations > 0) {
+            source = new Random(seed * 31 + (outside ? 1 : 0) + 2L * random.nextInt(distinctLocations));
+        }
+        Country country = countries.get(source.nextInt(countries.size()));
+        return new double[]{country.randomLat(source), country.randomLng(source)};
+    }
+
+    private String words(double[] location, Random random) {
+        String words = StubGrid.words(StubGrid.cell(location[0], location[1]), "en");
+        if (random.nextDouble() >= typoRate) {
+            return words;
+        }
+        char[] letters = words.toCharArray();
+        int position = 1 + 2 * random.nextInt(3);
+        letters[position] = letters[position] == 'a' ? 'e' : 'a';
+        return new String(letters);
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(target + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * Latencies per endpoint, kept raw so the percentiles are exact.
+     */
+    public static class Results {
+        private final Duration duration;
+        private final Map<String, long[]> latencies = new TreeMap<>();
+        private final Map<String, Integer> counts = new TreeMap<>();
+        private final Map<String, Map<String, Integer>> outcomes = new TreeMap<>();
+
+        Results(Duration duration) {
+            this.duration = duration;
+        }
+
+        void record(String endpoint, long nanos, String outcome) {
+            addLatency(endpoint, nanos);
+            outcomes.computeIfAbsent(endpoint, key -> new TreeMap<>()).merge(outcome, 1, Integer::sum);
+        }
+
+        private void addLatency(String endpoint, long nanos) {
+            int count = counts.getOrDefault(endpoint, 0);
+            long[] values = latencies.computeIfAbsent(endpoint, key -> new long[1024]);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                latencies.put(endpoint, values);
+            }
+            values[count] = nanos;
+            counts.put(endpoint, count + 1);
+        }
+
+        void merge(Results other) {
+            for (Map.Entry<String, long[]> entry : other.latencies.entrySet()) {
+                String endpoint = entry.getKey();
+                int count = other.counts.get(endpoint);
+                for (int i = 0; i < count; i++) {
+                    addLatency(endpoint, entry.getValue()[i]);
+                }
+                Map<String, Integer> merged = outcomes.computeIfAbsent(endpoint, key -> new TreeMap<>());
+                other.outcomes.get(endpoint).forEach((outcome, n) -> merged.merge(outcome, n, Integer::sum));
+            }
+        }
+
+        public String report() {
+            StringBuilder report = new StringBuilder(String.format(Locale.ROOT, "%-18s %10s %10s %9s %9s %9s %9s%n",
+                    "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+            long[] all = new long[0];
+            for (Map.Entry<String, long[]> entry : latencies.entrySet()) {
+                long[] values = Arrays.copyOf(entry.getValue(), counts.get(entry.getKey()));
+                Arrays.sort(values);
+                row(report, entry.getKey(), values);
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + values.length);
+                System.arraycopy(values, 0, all, offset, values.length);
+            }
+            Arrays.sort(all);
+            row(report, "total", all);
+            report.append(System.lineSeparator()).append("outcomes").append(System.lineSeparator());
+            for (Map.Entry<String, Map<String, Integer>> entry : outcomes.entrySet()) {
+                int total = counts.get(entry.getKey());
+                report.append(String.format(Locale.ROOT, "%-18s", entry.getKey()));
+                entry.getValue().forEach((outcome, n) -> report.append(String.format(Locale.ROOT, " %s=%d (%.1f%%)",
+                        outcome, n, 100.0 * n / total)));
+                report.append(System.lineSeparator());
+            }
+            return report.toString();
+        }
+
+        private void row(StringBuilder report, String name, long[] sorted) {
+            if (sorted.length == 0) {
+                return;
+            }
+            report.append(String.format(Locale.ROOT, "%-18s %10d %10.1f %9.2f %9.2f %9.2f %9.2f%n", name, sorted.length,
+                    sorted.length / (duration.toMillis() / 1000.0), millis(sorted, 0.50), millis(sorted, 0.99),
+                    millis(sorted, 0.999), sorted[sorted.length - 1] / 1e6));
+        }
+
+        private static double millis(long[] sorted, double quantile) {
+            int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(rank, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.akash.emergency.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Command line settings for the stub and the load generator. Each argument is either a properties file or a single
+ * {@code key=value} override; later arguments win, so a shared file can be adjusted per run.
+ */
+public class Settings {
+    private final Properties properties = new Properties();
+
+    public static Settings parse(String[] args) throws IOException {
+        Settings settings = new Settings();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (equals > 0) {
+                settings.properties.setProperty(arg.substring(0, equals).trim(), arg.substring(equals + 1).trim());
+            } else {
+                try (Reader reader = Files.newBufferedReader(Path.of(arg), StandardCharsets.UTF_8)) {
+                    settings.properties.load(reader);
+                }
+            }
+        }
+        return settings;
+    }
+
+    public String getString(String key, String defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    /**
+     * Durations are written like the service's YAML: {@code 500ms}, {@code 30s}, {@code 2m} or {@code 1h}.
+     */
+    public Duration getDuration(String key, Duration defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : parseDuration(value);
+    }
+
+    public List<String> getList(String key, String defaultValue) {
+        List<String> values = new ArrayList<>();
+        for (String value : getString(key, defaultValue).split(",")) {
+            if (!value.isBlank()) {
+                values.add(value.trim());
+            }
+        }
+        return values;
+    }
+
+    public List<String> keysWithPrefix(String prefix) {
+        List<String> keys = new ArrayList<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                keys.add(key);
+            }
+        }
+        keys.sort(null);
+        return keys;
+    }
+
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        switch (value.charAt(value.length() - 1)) {
+            case 's':
+                return Duration.ofSeconds(amount);
+            case 'm':
+                return Duration.ofMinutes(amount);
+            case 'h':
+                return Duration.ofHours(amount);
+            default:
+                throw new IllegalArgumentException("Unsupported duration " + value);
+        }
+    }
+}
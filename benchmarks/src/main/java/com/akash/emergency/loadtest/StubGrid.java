@@ -0,0 +1,104 @@
+package com.akash.emergency.loadtest;
+
+import java.math.BigInteger;
+import java.util.Locale;
+
+/**
+ * The stub's deterministic world: a 0.00003 degree grid whose cells are named by three made-up six letter words.
+ * Cell numbers are scrambled by a multiplication before they are spelled out, so neighbouring cells get unrelated
+ * names and almost every edit of a valid address (a typo) spells a number outside the grid and is rejected.
+ * Other languages spell the cell shifted past the end of the grid, so their addresses never decode as English ones;
+ * only English addresses decode back.
+ */
+public final class StubGrid {
+    public static final double STEP = 0.00003;
+    private static final long rows = 6_000_000;
+    private static final long columns = 12_000_000;
+    private static final String consonants = "bdfghklmnprstvwz";
+    private static final String vowels = "aeiou";
+    private static final int syllables = consonants.length() * vowels.length();
+    private static final long wordCount = (long) syllables * syllables * syllables;
+    private static final BigInteger modulus = BigInteger.valueOf(wordCount).pow(3);
+    private static final BigInteger multiplier = BigInteger.valueOf(126425667323198487L);
+    private static final BigInteger inverse = multiplier.modInverse(modulus);
+    private static final BigInteger wordBase = BigInteger.valueOf(wordCount);
+
+    private StubGrid() {
+    }
+
+    public static long cell(double lat, double lng) {
+        long row = Math.max(0, Math.min((long) Math.floor((lat + 90) / STEP), rows - 1));
+        long column = Math.max(0, Math.min((long) Math.floor((lng + 180) / STEP), columns - 1));
+        return row * columns + column;
+    }
+
+    public static double south(long cell) {
+        return (cell / columns) * STEP - 90;
+    }
+
+    public static double west(long cell) {
+        return (cell % columns) * STEP - 180;
+    }
+
+    public static String words(long cell, String language) {
+        BigInteger value = BigInteger.valueOf(cell).add(salt(language)).multiply(multiplier).mod(modulus);
+        BigInteger[] thirdAndRest = value.divideAndRemainder(wordBase);
+        BigInteger[] secondAndFirst = thirdAndRest[0].divideAndRemainder(wordBase);
+        return word(secondAndFirst[0].longValue()) + "." + word(secondAndFirst[1].longValue()) + "."
+                + word(thirdAndRest[1].longValue());
+    }
+
+    /**
+     * Decodes an English address, returning -1 when it is not one the grid produces.
+     */
+    public static long cell(String words) {
+        int start = 0;
+        while (start < words.length() && words.charAt(start) == '/') {
+            start++;
+        }
+        String[] parts = words.substring(start).toLowerCase(Locale.ROOT).split("\\.", -1);
+        if (parts.length != 3) {
+            return -1;
+        }
+        BigInteger value = BigInteger.ZERO;
+        for (String part : parts) {
+            long index = index(part);
+            if (index < 0) {
+                return -1;
+            }
+            value = value.multiply(wordBase).add(BigInteger.valueOf(index));
+        }
+        long cell = value.multiply(inverse).mod(modulus).longValue();
+        return cell < rows * columns ? cell : -1;
+    }
+
+    private static String word(long index) {
+        StringBuilder word = new StringBuilder(6);
+        for (long divisor = (long) syllables * syllables; divisor > 0; divisor /= syllables) {
+            int syllable = (int) (index / divisor % syllables);
+            word.append(consonants.charAt(syllable / vowels.length())).append(vowels.charAt(syllable % vowels.length()));
+        }
+        return word.toString();
+    }
+
+    private static long index(String word) {
+        if (word.length() != 6) {
+            return -1;
+        }
+        long index = 0;
+        for (int i = 0; i < 6; i += 2) {
+            int consonant = consonants.indexOf(word.charAt(i));
+            int vowel = vowels.indexOf(word.charAt(i + 1));
+            if (consonant < 0 || vowel < 0) {
+                return -1;
+            }
+            index = index * syllables + consonant * vowels.length() + vowel;
+        }
+        return index;
+    }
+
+    private static BigInteger salt(String language) {
+        long shift = 1 + Math.floorMod(language.hashCode(), 1000);
+        return "en".equals(language) ? BigInteger.ZERO : BigInteger.valueOf(rows * columns * shift + shift);
+    }
+}
@@ -0,0 +1,238 @@
+package com.akash.emergency.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local stand-in for the What3Words v3 API, so the service can be load tested end to end without spending quota.
+ * Point the service at it with {@code --what3words.endpoint=http://localhost:8089/v3}.
+ * <p>
+ * Answers are deterministic (see {@link StubGrid}); latency and failures are not. Settings, as properties or
+ * {@code key=value} arguments:
+ * <ul>
+ *     <li>{@code stub.port}, {@code stub.basePath}, {@code stub.threads}</li>
+ *     <li>{@code stub.languages}: accepted language codes, anything else is a {@code BadLanguage} error</li>
+ *     <li>{@code stub.latency} and {@code stub.latency.<operation>}: a {@link LatencyDistribution}</li>
+ *     <li>{@code stub.errorRate} and {@code stub.errorRate.<operation>}: share of requests answered with a 500</li>
+ *     <li>{@code country.*}: see {@link Country}; points outside every country are in country {@code ZZ}</li>
+ * </ul>
+ * Operations are {@code convert-to-3wa}, {@code convert-to-coordinates} and {@code autosuggest}.
+ */
+public class What3WordsStub {
+    private static final String noCountry = "ZZ";
+    private static final String[] operations = {"convert-to-3wa", "convert-to-coordinates", "autosuggest"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Country> countries;
+    private final List<String> languages;
+    private final Map<String, LatencyDistribution> latencies = new HashMap<>();
+    private final Map<String, Double> errorRates = new HashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public What3WordsStub(Settings settings) throws IOException {
+        this.countries = Country.all(settings);
+        this.languages = settings.getList("stub.languages", "en,fr,de,es,it");
+        LatencyDistribution defaultLatency = LatencyDistribution.parse(settings.getString("stub.latency", "fixed:0"));
+        double defaultErrorRate = settings.getDouble("stub.errorRate", 0);
+        for (String operation : operations) {
+            String latency = settings.getString("stub.latency." + operation, null);
+            latencies.put(operation, latency == null ? defaultLatency : LatencyDistribution.parse(latency));
+            errorRates.put(operation, settings.getDouble("stub.errorRate." + operation, defaultErrorRate));
+        }
+        String basePath = settings.getString("stub.basePath", "/v3");
+        this.executor = Executors.newFixedThreadPool(settings.getInt("stub.threads", 200));
+        this.server = HttpServer.create(new InetSocketAddress(settings.getInt("stub.port", 8089)), 1024);
+        server.createContext(basePath + "/convert-to-3wa", handler("convert-to-3wa", this::convertTo3wa));
+        server.createContext(basePath + "/convert-to-coordinates", handler("convert-to-coordinates", this::convertToCoordinates));
+        server.createContext(basePath + "/autosuggest", handler("autosuggest", this::autosuggest));
+        server.setExecutor(executor);
+    }
+
+    public static void main(String[] args) throws IOException {
+        What3WordsStub stub = new What3WordsStub(Settings.parse(args));
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::stop));
+        stub.start();
+        System.out.println("What3Words stub listening on port " + stub.getPort());
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private HttpHandler handler(String operation, Handler handler) {
+        return exchange -> {
+            try {
+                Map<String, String> query = query(exchange);
+                Reply reply = handler.handle(query);
+                Country country = Country.find(countries, reply.country);
+                LatencyDistribution latency = country != null && country.getLatency() != null
+                        ? country.getLatency() : latencies.get(operation);
+                double errorRate = country != null && country.hasErrorRate() ? country.getErrorRate() : errorRates.get(operation);
+                Random random = ThreadLocalRandom.current();
+                TimeUnit.NANOSECONDS.sleep(latency.sampleNanos(random));
+                if (random.nextDouble() < errorRate) {
+                    reply = Reply.error(500, "InternalServerError", "Injected failure");
+                }
+                send(exchange, reply);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                exchange.close();
+            } catch (RuntimeException ex) {
+                send(exchange, Reply.error(400, "BadRequest", String.valueOf(ex.getMessage())));
+            }
+        };
+    }
+
+    private Reply convertTo3wa(Map<String, String> query) {
+        String[] coordinates = query.getOrDefault("coordinates", "").split(",");
+        String language = query.getOrDefault("language", "en");
+        if (coordinates.length != 2) {
+            return Reply.error(400, "BadCoordinates", "coordinates must be two comma separated lat,lng coordinates");
+        }
+        double lat = Double.parseDouble(coordinates[0]);
+        double lng = Double.parseDouble(coordinates[1]);
+        if (!(lat >= -90 && lat <= 90 && lng >= -180 && lng <= 180)) {
+            return Reply.error(400, "BadCoordinates", "coordinates are out of range");
+        }
+        if (!languages.contains(language)) {
+            return Reply.error(400, "BadLanguage", "language is not one of " + languages);
+        }
+        long cell = StubGrid.cell(lat, lng);
+        return square(cell, language);
+    }
+
+    private Reply convertToCoordinates(Map<String, String> query) {
+        long cell = StubGrid.cell(query.getOrDefault("words", ""));
+        if (cell < 0) {
+            return Reply.error(400, "BadWords", "words must be a valid 3 word address");
+        }
+        return square(cell, "en");
+    }
+
+    private Reply autosuggest(Map<String, String> query) {
+        String input = query.getOrDefault("input", "");
+        String clipToCountry = query.get("clip-to-country");
+        int results = Integer.parseInt(query.getOrDefault("n-results", "3"));
+        Country country = clipToCountry == null ? null : Country.find(countries, clipToCountry);
+        ObjectNode body = objectMapper.createObjectNode();
+        ArrayNode suggestions = body.putArray("suggestions");
+        if (clipToCountry == null || country != null) {
+            Random random = new Random((input + "|" + clipToCountry).hashCode());
+            for (int rank = 1; rank <= results; rank++) {
+                double lat = country == null ? random.nextDouble() * 180 - 90 : country.randomLat(random);
+                double lng = country == null ? random.nextDouble() * 360 - 180 : country.randomLng(random);
+                String code = countryOf(lat, lng);
+                suggestions.addObject()
+                        .put("country", code)
+                        .put("nearestPlace", nearestPlace(code))
+                        .put("words", StubGrid.words(StubGrid.cell(lat, lng), "en"))
+                        .put("rank", rank)
+                        .put("language", "en");
+            }
+        }
+        return new Reply(200, clipToCountry, body);
+    }
+
+    private Reply square(long cell, String language) {
+        double south = StubGrid.south(cell);
+        double west = StubGrid.west(cell);
+        String code = countryOf(south, west);
+        String words = StubGrid.words(cell, language);
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("country", code);
+        ObjectNode square = body.putObject("square");
+        square.putObject("southwest").put("lng", west).put("lat", south);
+        square.putObject("northeast").put("lng", west + StubGrid.STEP).put("lat", south + StubGrid.STEP);
+        body.put("nearestPlace", nearestPlace(code));
+        body.putObject("coordinates").put("lng", west + StubGrid.STEP / 2).put("lat", south + StubGrid.STEP / 2);
+        body.put("words", words);
+        body.put("language", language);
+        body.put("map", "https://w3w.co/" + words);
+        return new Reply(200, code, body);
+    }
+
+    private String countryOf(double lat, double lng) {
+        Country country = Country.find(countries, lat, lng);
+        return country == null ? noCountry : country.getCode();
+    }
+
+    private static String nearestPlace(String country) {
+        return "Stubton, " + country;
+    }
+
+    private void send(HttpExchange exchange, Reply reply) throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(reply.body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(reply.status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> query = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return query;
+        }
+        for (String pair : raw.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private interface Handler {
+        Reply handle(Map<String, String> query);
+    }
+
+    private static class Reply {
+        private final int status;
+        private final String country;
+        private final Object body;
+
+        private Reply(int status, String country, Object body) {
+            this.status = status;
+            this.country = country;
+            this.body = body;
+        }
+
+        private static Reply error(int status, String code, String message) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("code", code);
+            error.put("message", message);
+            return new Reply(status, null, Map.of("error", error));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+#!/bin/sh
+# Startup benchmark: boots the service RUNS times (default 5) as the executable jar and as the fast-start build (lazy
+# context, trimmed actuator, no Swagger, class-data-sharing archive), both with the prod profile against the What3Words
+# stub. Each run reports the wall-clock time until the readiness probe answers, Spring's own startup time, and the
+# latency of the first coord-to-3wa request.
+# Runs offline by default; use OFFLINE= ./benchmarks/startup.sh once to populate the local Maven repository.
+set -e
+cd "$(dirname "$0")/.."
+OFFLINE=${OFFLINE--o}
+RUNS=${RUNS:-5}
+SETTINGS=benchmarks/loadtest.properties
+STUB_PORT=$(sed -n 's/^stub.port=//p' $SETTINGS)
+BASE=http://localhost:8080/emergencyapi
+LOG=target/startup-service.log
+./mvnw -B -q $OFFLINE install -DskipTests
+./mvnw -B -q $OFFLINE -f benchmarks/pom.xml package
+
+java -cp benchmarks/target/benchmarks.jar com.akash.emergency.loadtest.What3WordsStub $SETTINGS &
+STUB_PID=$!
+trap 'kill $STUB_PID $SERVICE_PID 2>/dev/null' EXIT INT TERM
+# the fast-start training run records its class list against the stub
+./mvnw -B -q $OFFLINE -Pfast-start package -DskipTests -Dfast-start.upstream=http://localhost:$STUB_PORT/v3
+APP_ARGS="--what3words.endpoint=http://localhost:$STUB_PORT/v3 --what3words.apiKey=stub"
+
+now() {
+    date +%s%3N
+}
+
+measure() {
+    label=$1
+    shift
+    run=1
+    while [ $run -le $RUNS ]; do
+        start=$(now)
+        "$@" $APP_ARGS > $LOG 2>&1 &
+        SERVICE_PID=$!
+        until curl -sf $BASE/actuator/health/readiness > /dev/null; do
+            kill -0 $SERVICE_PID 2>/dev/null || { echo "Service failed to start, see $LOG"; exit 1; }
+            sleep 0.02
+        done
+        ready=$(($(now) - start))
+        first=$(curl -s -o /dev/null -w '%{time_total}' -H 'Content-Type: application/json' \
+            -d '{"lat":51.520847,"lng":-0.195521}' $BASE/coord-to-3wa)
+        started=$(sed -n 's/.*Started EmergencyApplication in \([0-9.]*\) seconds.*/\1/p' $LOG)
+        echo "$label run $run: ready ${ready}ms, Spring started in ${started}s, first request ${first}s"
+        kill $SERVICE_PID
+        wait $SERVICE_PID 2>/dev/null || true
+        run=$((run + 1))
+    done
+}
+
+measure exec-jar java -jar target/emergency-0.0.1-SNAPSHOT.jar --spring.profiles.active=prod
+measure fast-start sh target/fast-start/start.sh
@@ -0,0 +1,8 @@
+#!/bin/sh
+# Starts the service with the fast-start profile and the class-data-sharing archive recorded at build time.
+# Extra arguments are passed to the application; JAVA_OPTS to the JVM, e.g. JAVA_OPTS=-Xlog:cds to check the archive
+# is used. Profiles other than prod go in SPRING_PROFILES, e.g. SPRING_PROFILES=dev ./start.sh
+cd "$(dirname "$0")"
+exec java -XX:SharedArchiveFile=emergency.jsa -Xshare:auto $JAVA_OPTS \
+    -cp "@project.build.finalName@-classes.jar:@fast-start.classpath@" com.akash.emergency.EmergencyApplication \
+    --spring.profiles.active=${SPRING_PROFILES:-prod},fast-start "$@"
@@ -0,0 +1,282 @@
+package com.akash.emergency.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Disk tier that sits between the in-memory caches and the API. Resolved squares and 3wa lookups are appended to a
+ * {@link DiskLog} and replayed into memory when the application starts, so a restart does not send every known
+ * location back to the API. Only resolved lookups with a country are kept; not recognised outcomes stay in memory.
+ * <p>
+ * A background thread forces the mapped segments to disk and compacts the log once superseded records outnumber live
+ * ones or there are more than {@code maximumEntries}, in which case the oldest entries are dropped. Compaction copies
+ * the live records into a new file without blocking lookups and only holds the write lock to copy what was appended
+ * meanwhile and swap the files.
+ */
+public class DiskCache implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(DiskCache.class);
+    static final int SEGMENT_BYTES = 64 << 20;
+    private static final long MINIMUM_GARBAGE = 10_000;
+
+    private final Path file;
+    private final int segmentBytes;
+    private final long maximumEntries;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService maintenance;
+    private DiskLog store;
+
+    public DiskCache(Path file, long maximumEntries, Duration syncInterval, Duration compactionInterval)
+            throws IOException {
+        this(file, SEGMENT_BYTES, maximumEntries);
+        maintenance.scheduleWithFixedDelay(this::sync, syncInterval.toMillis(), syncInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        maintenance.scheduleWithFixedDelay(this::compactIfNeeded, compactionInterval.toMillis(),
+                compactionInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    DiskCache(Path file, int segmentBytes, long maximumEntries) throws IOException {
+        long start = System.nanoTime();
+        this.file = file;
+        this.segmentBytes = segmentBytes;
+        this.maximumEntries = maximumEntries;
+        this.store = DiskLog.open(file, segmentBytes);
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "disk-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Replayed {} disk cache entries from {} in {}ms", store.live(), file,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private DiskCache() {
+        this.file = null;
+        this.segmentBytes = 0;
+        this.maximumEntries = 0;
+        this.maintenance = null;
+        this.store = null;
+    }
+
+    public static DiskCache disabled() {
+        return new DiskCache();
+    }
+
+    public SquareEntry getSquare(String language, double lat, double lng) {
+        if (Objects.isNull(store)) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            return store.findSquare(language, lat, lng);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void putSquare(String language, SquareEntry square) {
+        if (Objects.isNull(store) || !square.isCacheable() || Objects.isNull(square.getCountry())) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            store.appendSquare(language, square);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Unable to write square {} to the disk cache", square.getWords(), ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public ThreeWordsEntry getWords(String threeWordAddress) {
+        if (Objects.isNull(store)) {
+            return null;
+        }
+        String key = ThreeWordsCache.normalise(threeWordAddress);
+        lock.readLock().lock();
+        try {
+            return store.findWords(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void putWords(String threeWordAddress, ThreeWordsEntry entry) {
+        if (Objects.isNull(store) || !entry.isResolved() || Objects.isNull(entry.getCountry())) {
+            return;
+        }
+        String key = ThreeWordsCache.normalise(threeWordAddress);
+        lock.writeLock().lock();
+        try {
+            store.appendWords(key, entry);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Unable to write {} to the disk cache", key, ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long size() {
+        if (Objects.isNull(store)) {
+            return 0;
+        }
+        lock.readLock().lock();
+        try {
+            return store.live();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void registerMetrics(MeterRegistry meterRegistry) {
+        if (Objects.nonNull(store)) {
+            Gauge.builder("cache.disk.entries", this, DiskCache::size)
+                    .description("Live entries in the disk cache")
+                    .register(meterRegistry);
+            Gauge.builder("cache.disk.bytes", this, DiskCache::bytes)
+                    .description("Bytes appended to the disk cache since it was last compacted")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Forces everything appended so far to disk. Until then a process crash loses nothing, since the pages are in the
+     * OS page cache, but a machine crash can lose the most recent writes.
+     */
+    public void sync() {
+        if (Objects.isNull(store)) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            store.force();
+        } catch (RuntimeException ex) {
+            log.warn("Unable to sync the disk cache", ex);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean needsCompaction() {
+        lock.readLock().lock();
+        try {
+            long live = store.live();
+            return store.records() - live > Math.max(live, MINIMUM_GARBAGE) || live > maximumEntries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the log with only its live records, dropping the oldest ones when there are more than
+     * {@code maximumEntries}.
+     */
+    synchronized void compact() throws IOException {
+        long record;
+        long end;
+        long surplus;
+        lock.readLock().lock();
+        try {
+            record = store.first();
+            end = store.position();
+            surplus = Math.max(0, store.live() - maximumEntries);
+        } finally {
+            lock.readLock().unlock();
+        }
+        Path compacted = file.resolveSibling(file.getFileName() + ".compacting");
+        Files.deleteIfExists(compacted);
+        DiskLog target = DiskLog.open(compacted, segmentBytes);
+        DiskLog previous;
+        try {
+            while (record < end) {
+                lock.readLock().lock();
+                try {
+                    surplus = copyIfLive(target, record, surplus);
+                    record = store.next(record);
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+            lock.writeLock().lock();
+            try {
+                for (; record < store.position(); record = store.next(record)) {
+                    surplus = copyIfLive(target, record, surplus);
+                }
+                target.force();
+                Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                previous = store;
+                store = target;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (IOException | RuntimeException ex) {
+            target.close();
+            Files.deleteIfExists(compacted);
+            throw ex;
+        }
+        previous.close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (Objects.isNull(store)) {
+            return;
+        }
+        maintenance.shutdownNow();
+        synchronized (this) {
+            lock.writeLock().lock();
+            try {
+                store.close();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private long copyIfLive(DiskLog target, long record, long surplus) throws IOException {
+        if (!store.isLive(record)) {
+            return surplus;
+        }
+        if (surplus > 0) {
+            return surplus - 1;
+        }
+        target.copy(store, record);
+        return surplus;
+    }
+
+    private long bytes() {
+        lock.readLock().lock();
+        try {
+            return store.position();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void compactIfNeeded() {
+        try {
+            if (needsCompaction()) {
+                long start = System.nanoTime();
+                compact();
+                log.info("Compacted the disk cache to {} entries in {}ms", size(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Unable to compact the disk cache", ex);
+        }
+    }
+}
@@ -0,0 +1,495 @@
+package com.akash.emergency.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongPredicate;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped log of resolved lookups used by {@link DiskCache}. All values are big-endian:
+ * <pre>
+ * header  magic:int version:int segmentBytes:int padding:int
+ * records length:int crc32:int payload:byte[length], padded to a multiple of 8 bytes
+ * payload type:byte keyLength:short key:byte[keyLength] value
+ * square  key   language:utf8 swLat:double swLng:double
+ *         value neLat:double neLng:double words:string country:string
+ * words   key   normalised 3wa:utf8
+ *         value lat:double lng:double country:string
+ * </pre>
+ * Strings are length:short utf8. The file grows in fixed size segments that are mapped one at a time and a record
+ * never straddles two of them: a length of -1 pads out the rest of a segment and a length of 0 is the end of the log.
+ * Replay stops at the first record whose checksum does not match and clears everything after it, so a torn write
+ * only loses the records that were in flight. Not thread safe; {@link DiskCache} does the locking.
+ */
+final class DiskLog implements Closeable {
+    static final int MAGIC = 0x57334443;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final byte SQUARE = 1;
+    static final byte WORDS = 2;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int PAYLOAD_HEADER_BYTES = 3;
+    private static final int PADDING = -1;
+
+    private final FileChannel channel;
+    private final int segmentBytes;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final Index squares = new Index();
+    private final Index words = new Index();
+    private final CRC32 crc = new CRC32();
+    private long position = HEADER_BYTES;
+    private long records;
+    private int syncedSegment;
+
+    private DiskLog(FileChannel channel, int segmentBytes) {
+        this.channel = channel;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * Opens the log at {@code file}, creating it with the given segment size if it does not exist, and replays it into
+     * the index. An existing log keeps the segment size it was created with.
+     */
+    static DiskLog open(Path file, int segmentBytes) throws IOException {
+        if (segmentBytes % 8 != 0 || segmentBytes < 2 * HEADER_BYTES) {
+            throw new IllegalArgumentException("Segment size must be a multiple of 8 and at least " + 2 * HEADER_BYTES);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_BYTES) {
+                DiskLog log = new DiskLog(channel, segmentBytes);
+                MappedByteBuffer first = log.segment(0);
+                first.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, segmentBytes);
+                first.force();
+                return log;
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            channel.read(header, 0);
+            int existingSegmentBytes = header.getInt(8);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION
+                    || existingSegmentBytes % 8 != 0 || existingSegmentBytes < 2 * HEADER_BYTES) {
+                throw new IOException("Not a version " + VERSION + " disk cache");
+            }
+            DiskLog log = new DiskLog(channel, existingSegmentBytes);
+            log.replay();
+            return log;
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    long position() {
+        return position;
+    }
+
+    long records() {
+        return records;
+    }
+
+    long live() {
+        return squares.size() + words.size();
+    }
+
+    SquareEntry findSquare(String language, double lat, double lng) {
+        ByteBuffer languageBytes = ByteBuffer.wrap(encode(language));
+        for (long cell : GridSquare.cornerCellKeys(lat, lng)) {
+            long record = squares.find(squareHash(languageBytes, 0, languageBytes.limit(), cell),
+                    candidate -> squareMatches(candidate, languageBytes, lat, lng));
+            if (record >= 0) {
+                return square(record);
+            }
+        }
+        return null;
+    }
+
+    ThreeWordsEntry findWords(String normalisedWords) {
+        ByteBuffer key = ByteBuffer.wrap(encode(normalisedWords));
+        long record = words.find(hash(key, 0, key.limit(), 0), candidate -> keyEquals(candidate, WORDS, key));
+        if (record < 0) {
+            return null;
+        }
+        ByteBuffer segment = segmentAt(record);
+        int value = valueOffset(segment, offset(record));
+        return ThreeWordsEntry.resolved(segment.getDouble(value), segment.getDouble(value + 8),
+                string(segment, value + 16));
+    }
+
+    /**
+     * Appends a square and indexes it, replacing any earlier record with the same corner. Returns false when the
+     * square is too large to be logged.
+     */
+    boolean appendSquare(String language, SquareEntry square) throws IOException {
+        byte[] languageBytes = encode(language);
+        byte[] wordsBytes = encode(square.getWords());
+        byte[] countryBytes = encode(square.getCountry());
+        ByteBuffer payload = ByteBuffer.allocate(PAYLOAD_HEADER_BYTES + languageBytes.length + 32 + 4
+                + wordsBytes.length + countryBytes.length);
+        payload.put(SQUARE).putShort((short) (languageBytes.length + 16)).put(languageBytes)
+                .putDouble(square.getSwLat()).putDouble(square.getSwLng())
+                .putDouble(square.getNeLat()).putDouble(square.getNeLng());
+        putString(payload, wordsBytes);
+        putString(payload, countryBytes);
+        return append(payload.flip());
+    }
+
+    /**
+     * Appends a resolved 3wa and indexes it, replacing any earlier record for the same words. Returns false when the
+     * address is too large to be logged.
+     */
+    boolean appendWords(String normalisedWords, ThreeWordsEntry entry) throws IOException {
+        byte[] key = encode(normalisedWords);
+        byte[] countryBytes = encode(entry.getCountry());
+        ByteBuffer payload = ByteBuffer.allocate(PAYLOAD_HEADER_BYTES + key.length + 16 + 2 + countryBytes.length);
+        payload.put(WORDS).putShort((short) key.length).put(key).putDouble(entry.getLat()).putDouble(entry.getLng());
+        putString(payload, countryBytes);
+        return append(payload.flip());
+    }
+
+    /**
+     * Appends a copy of a record from another log, used when compacting.
+     */
+    void copy(DiskLog source, long record) throws IOException {
+        ByteBuffer segment = source.segmentAt(record).duplicate();
+        int offset = source.offset(record);
+        segment.limit(offset + RECORD_HEADER_BYTES + segment.getInt(offset)).position(offset + RECORD_HEADER_BYTES);
+        append(segment);
+    }
+
+    /**
+     * Position of the first record, or {@link #position()} when the log is empty.
+     */
+    long first() {
+        return skipPadding(HEADER_BYTES);
+    }
+
+    long next(long record) {
+        return skipPadding(record + align(RECORD_HEADER_BYTES + segmentAt(record).getInt(offset(record))));
+    }
+
+    /**
+     * Whether the record is still the one the index answers with for its key.
+     */
+    boolean isLive(long record) {
+        ByteBuffer segment = segmentAt(record);
+        int offset = offset(record);
+        int keyStart = offset + RECORD_HEADER_BYTES + PAYLOAD_HEADER_BYTES;
+        int keyLength = segment.getShort(offset + RECORD_HEADER_BYTES + 1);
+        if (segment.get(offset + RECORD_HEADER_BYTES) == SQUARE) {
+            return squares.find(squareHash(segment, keyStart, keyLength), candidate -> candidate == record) >= 0;
+        }
+        return words.find(hash(segment, keyStart, keyLength, 0), candidate -> candidate == record) >= 0;
+    }
+
+    void force() {
+        int last = segmentIndex(position);
+        for (int index = syncedSegment; index <= last && index < segments.size(); index++) {
+            segments.get(index).force();
+        }
+        syncedSegment = Math.min(last, segments.size() - 1);
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private void replay() throws IOException {
+        long size = channel.size();
+        for (int index = 0; (long) index * segmentBytes < size; index++) {
+            segment(index);
+        }
+        while (segmentIndex(position) < segments.size()) {
+            ByteBuffer segment = segmentAt(position);
+            int offset = offset(position);
+            int length = segment.getInt(offset);
+            if (length == PADDING) {
+                position = nextSegment(position);
+                continue;
+            }
+            if (length < PAYLOAD_HEADER_BYTES || length > segmentBytes - offset - RECORD_HEADER_BYTES
+                    || checksum(segment, offset + RECORD_HEADER_BYTES, length) != segment.getInt(offset + 4)
+                    || !index(position)) {
+                break;
+            }
+            records++;
+            position += align(RECORD_HEADER_BYTES + length);
+        }
+        truncate();
+    }
+
+    /**
+     * Clears whatever follows the last good record so a torn or stale tail can never be mistaken for data later.
+     */
+    private void truncate() throws IOException {
+        int last = segmentIndex(position);
+        if (last < segments.size()) {
+            ByteBuffer segment = segments.get(last);
+            for (int offset = offset(position); offset < segmentBytes; offset += 8) {
+                segment.putLong(offset, 0);
+            }
+        }
+        while (segments.size() > last + 1) {
+            segments.remove(segments.size() - 1);
+        }
+        channel.truncate((long) segments.size() * segmentBytes);
+        syncedSegment = Math.max(0, Math.min(last, segments.size() - 1));
+    }
+
+    private boolean append(ByteBuffer payload) throws IOException {
+        int length = payload.remaining();
+        int size = align(RECORD_HEADER_BYTES + length);
+        if (size > segmentBytes - HEADER_BYTES) {
+            return false;
+        }
+        if (offset(position) + size > segmentBytes) {
+            segmentAt(position).putInt(offset(position), PADDING);
+            position = nextSegment(position);
+        }
+        MappedByteBuffer segment = segment(segmentIndex(position));
+        int offset = offset(position);
+        int checksum = checksum(payload, payload.position(), length);
+        ByteBuffer target = segment.duplicate();
+        target.position(offset + RECORD_HEADER_BYTES);
+        target.put(payload);
+        segment.putInt(offset + 4, checksum);
+        segment.putInt(offset, length);
+        index(position);
+        records++;
+        position += size;
+        return true;
+    }
+
+    private boolean index(long record) {
+        ByteBuffer segment = segmentAt(record);
+        int offset = offset(record);
+        byte type = segment.get(offset + RECORD_HEADER_BYTES);
+        int keyStart = offset + RECORD_HEADER_BYTES + PAYLOAD_HEADER_BYTES;
+        int keyLength = segment.getShort(offset + RECORD_HEADER_BYTES + 1);
+        if (type == SQUARE && keyLength >= 16) {
+            squares.put(squareHash(segment, keyStart, keyLength), record, other -> keyEquals(other, record));
+            return true;
+        } else if (type == WORDS) {
+            words.put(hash(segment, keyStart, keyLength, 0), record, other -> keyEquals(other, record));
+            return true;
+        }
+        return false;
+    }
+
+    private boolean squareMatches(long record, ByteBuffer language, double lat, double lng) {
+        ByteBuffer segment = segmentAt(record);
+        int offset = offset(record);
+        int keyStart = offset + RECORD_HEADER_BYTES + PAYLOAD_HEADER_BYTES;
+        int keyEnd = keyStart + segment.getShort(offset + RECORD_HEADER_BYTES + 1);
+        if (segment.get(offset + RECORD_HEADER_BYTES) != SQUARE
+                || !language.equals(segment.duplicate().position(keyStart).limit(keyEnd - 16))) {
+            return false;
+        }
+        return lat >= segment.getDouble(keyEnd - 16) && lat < segment.getDouble(keyEnd)
+                && lng >= segment.getDouble(keyEnd - 8) && lng < segment.getDouble(keyEnd + 8);
+    }
+
+    private SquareEntry square(long record) {
+        ByteBuffer segment = segmentAt(record);
+        int value = valueOffset(segment, offset(record));
+        int country = value + 18 + segment.getShort(value + 16);
+        return new SquareEntry(segment.getDouble(value - 16), segment.getDouble(value - 8), segment.getDouble(value),
+                segment.getDouble(value + 8), string(segment, value + 16), string(segment, country));
+    }
+
+    private boolean keyEquals(long record, byte type, ByteBuffer key) {
+        ByteBuffer segment = segmentAt(record);
+        int offset = offset(record);
+        int keyStart = offset + RECORD_HEADER_BYTES + PAYLOAD_HEADER_BYTES;
+        return segment.get(offset + RECORD_HEADER_BYTES) == type
+                && key.equals(segment.duplicate().position(keyStart)
+                .limit(keyStart + segment.getShort(offset + RECORD_HEADER_BYTES + 1)));
+    }
+
+    private boolean keyEquals(long record, long other) {
+        ByteBuffer segment = segmentAt(record);
+        int offset = offset(record);
+        int keyStart = offset + RECORD_HEADER_BYTES + PAYLOAD_HEADER_BYTES;
+        ByteBuffer key = segment.duplicate().position(keyStart)
+                .limit(keyStart + segment.getShort(offset + RECORD_HEADER_BYTES + 1));
+        return keyEquals(other, segment.get(offset + RECORD_HEADER_BYTES), key);
+    }
+
+    private int valueOffset(ByteBuffer segment, int offset) {
+        return offset + RECORD_HEADER_BYTES + PAYLOAD_HEADER_BYTES + segment.getShort(offset + RECORD_HEADER_BYTES + 1);
+    }
+
+    private long skipPadding(long record) {
+        while (record < position && segmentAt(record).getInt(offset(record)) == PADDING) {
+            record = nextSegment(record);
+        }
+        return record;
+    }
+
+    private int checksum(ByteBuffer buffer, int from, int length) {
+        ByteBuffer view = buffer.duplicate();
+        view.limit(from + length).position(from);
+        crc.reset();
+        crc.update(view);
+        return (int) crc.getValue();
+    }
+
+    private MappedByteBuffer segment(int index) throws IOException {
+        while (segments.size() <= index) {
+            segments.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) segments.size() * segmentBytes, segmentBytes));
+        }
+        return segments.get(index);
+    }
+
+    private ByteBuffer segmentAt(long record) {
+        return segments.get(segmentIndex(record));
+    }
+
+    private int segmentIndex(long record) {
+        return (int) (record / segmentBytes);
+    }
+
+    private int offset(long record) {
+        return (int) (record % segmentBytes);
+    }
+
+    private long nextSegment(long record) {
+        return (record / segmentBytes + 1) * segmentBytes;
+    }
+
+    private static int align(int bytes) {
+        return (bytes + 7) & ~7;
+    }
+
+    private static long squareHash(ByteBuffer buffer, int keyStart, int keyLength) {
+        int languageLength = keyLength - 16;
+        long cell = GridSquare.cellKey(buffer.getDouble(keyStart + languageLength),
+                buffer.getDouble(keyStart + languageLength + 8));
+        return squareHash(buffer, keyStart, languageLength, cell);
+    }
+
+    private static long squareHash(ByteBuffer buffer, int languageStart, int languageLength, long cell) {
+        return hash(buffer, languageStart, languageLength, cell * 0x9e3779b97f4a7c15L);
+    }
+
+    /**
+     * FNV-1a over the bytes, seeded and finished with the murmur3 mixer so both halves of the result are usable.
+     */
+    private static long hash(ByteBuffer buffer, int from, int length, long seed) {
+        long hash = 0xcbf29ce484222325L ^ seed;
+        for (int i = from; i < from + length; i++) {
+            hash ^= buffer.get(i) & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static String string(ByteBuffer segment, int offset) {
+        byte[] utf8 = new byte[segment.getShort(offset)];
+        segment.duplicate().position(offset + 2).get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer payload, byte[] utf8) {
+        payload.putShort((short) utf8.length).put(utf8);
+    }
+
+    private static byte[] encode(String value) {
+        byte[] utf8 = Objects.isNull(value) ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length > Short.MAX_VALUE - 16) {
+            throw new IllegalArgumentException("Value is too long for the disk cache");
+        }
+        return utf8;
+    }
+
+    /**
+     * Open addressing table from key hash to record position. A slot packs the top 32 bits of the hash with the
+     * record position in 8 byte units, so ten million entries cost about 128MB per table and a match only decodes
+     * the records whose fingerprint collides.
+     */
+    static final class Index {
+        private long[] slots = new long[1024];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Positions the key at {@code record}, replacing an existing record for the same key. Returns the replaced
+         * position or -1.
+         */
+        long put(long hash, long record, LongPredicate sameKey) {
+            if ((size + 1) * 4L > slots.length * 3L) {
+                resize();
+            }
+            int fingerprint = (int) (hash >>> 32);
+            int mask = slots.length - 1;
+            for (int i = fingerprint & mask; ; i = (i + 1) & mask) {
+                long slot = slots[i];
+                if (slot == 0) {
+                    slots[i] = slot(fingerprint, record);
+                    size++;
+                    return -1;
+                }
+                if ((int) (slot >>> 32) == fingerprint && sameKey.test(record(slot))) {
+                    slots[i] = slot(fingerprint, record);
+                    return record(slot);
+                }
+            }
+        }
+
+        /**
+         * First position for the hash that the predicate accepts, or -1.
+         */
+        long find(long hash, LongPredicate matches) {
+            int fingerprint = (int) (hash >>> 32);
+            long[] table = slots;
+            int mask = table.length - 1;
+            for (int i = fingerprint & mask; table[i] != 0; i = (i + 1) & mask) {
+                if ((int) (table[i] >>> 32) == fingerprint && matches.test(record(table[i]))) {
+                    return record(table[i]);
+                }
+            }
+            return -1;
+        }
+
+        private void resize() {
+            long[] grown = new long[slots.length * 2];
+            int mask = grown.length - 1;
+            for (long slot : slots) {
+                if (slot != 0) {
+                    int i = (int) (slot >>> 32) & mask;
+                    while (grown[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    grown[i] = slot;
+                }
+            }
+            slots = grown;
+        }
+
+        private static long slot(int fingerprint, long record) {
+            return ((long) fingerprint << 32) | (record / 8 + 1);
+        }
+
+        private static long record(long slot) {
+            return ((slot & 0xffffffffL) - 1) * 8;
+        }
+    }
+}
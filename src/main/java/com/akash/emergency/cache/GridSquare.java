@@ -0,0 +1,65 @@
+package com.akash.emergency.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed lat/lng grid used to key resolved 3m squares. A cell is slightly larger than a 3wa square
+ * (about 4.4m on each side), so a square never spans more than two cells in either direction.
+ */
+public final class GridSquare {
+    static final double LAT_STEP = 0.00004;
+    private static final double MIN_COS = 0.01;
+    private static final int MAX_CELLS = 9;
+
+    private GridSquare() {
+    }
+
+    public static long cellKey(double lat, double lng) {
+        long row = row(lat);
+        return key(row, column(lng, row));
+    }
+
+    public static List<Long> cellKeys(double swLat, double swLng, double neLat, double neLng) {
+        List<Long> keys = new ArrayList<>(4);
+        long lastRow = row(neLat);
+        for (long row = row(swLat); row <= lastRow; row++) {
+            long lastColumn = column(neLng, row);
+            for (long column = column(swLng, row); column <= lastColumn; column++) {
+                if (keys.size() == MAX_CELLS) {
+                    return new ArrayList<>();
+                }
+                keys.add(key(row, column));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Cells that can hold the south-west corner of a square containing the point: its own cell and the cells to the
+     * south, west and south-west of it.
+     */
+    static long[] cornerCellKeys(double lat, double lng) {
+        long row = row(lat);
+        long column = column(lng, row);
+        long southColumn = column(lng, row - 1);
+        return new long[]{key(row, column), key(row, column - 1), key(row - 1, southColumn), key(row - 1, southColumn - 1)};
+    }
+
+    static long row(double lat) {
+        return (long) Math.floor(lat / LAT_STEP);
+    }
+
+    static long column(double lng, long row) {
+        return (long) Math.floor(lng / lngStep(row));
+    }
+
+    static double lngStep(long row) {
+        double centreLat = (row + 0.5) * LAT_STEP;
+        return LAT_STEP / Math.max(Math.cos(Math.toRadians(centreLat)), MIN_COS);
+    }
+
+    private static long key(long row, long column) {
+        return (row << 32) | (column & 0xffffffffL);
+    }
+}
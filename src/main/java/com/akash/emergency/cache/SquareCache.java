@@ -0,0 +1,74 @@
+package com.akash.emergency.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Coordinate to 3wa cache keyed by language and grid cell. A resolved square is stored under every cell it
+ * overlaps and a lookup only counts as a hit when the cached square actually contains the requested point.
+ */
+public class SquareCache {
+    private final Cache<CellKey, SquareEntry> cache;
+
+    public SquareCache(long maximumSize, Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    private SquareCache() {
+        this.cache = null;
+    }
+
+    public static SquareCache disabled() {
+        return new SquareCache();
+    }
+
+    public SquareEntry get(String language, double lat, double lng) {
+        if (Objects.isNull(cache)) {
+            return null;
+        }
+        SquareEntry entry = cache.getIfPresent(new CellKey(language, GridSquare.cellKey(lat, lng)));
+        return Objects.nonNull(entry) && entry.contains(lat, lng) ? entry : null;
+    }
+
+    public void put(String language, SquareEntry entry) {
+        if (Objects.isNull(cache) || !entry.isCacheable()) {
+            return;
+        }
+        for (long cell : GridSquare.cellKeys(entry.getSwLat(), entry.getSwLng(), entry.getNeLat(), entry.getNeLng())) {
+            cache.put(new CellKey(language, cell), entry);
+        }
+    }
+
+    public void registerMetrics(MeterRegistry meterRegistry) {
+        if (Objects.nonNull(cache)) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "square");
+        }
+    }
+
+    public CacheStats stats() {
+        return Objects.isNull(cache) ? CacheStats.empty() : cache.stats();
+    }
+
+    public long size() {
+        return Objects.isNull(cache) ? 0 : cache.estimatedSize();
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class CellKey {
+        private final String language;
+        private final long cell;
+    }
+}
@@ -0,0 +1,58 @@
+package com.akash.emergency.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.what3words.javawrapper.response.ConvertTo3WA;
+import com.what3words.javawrapper.response.Square;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.Objects;
+
+@Data
+@NoArgsConstructor
+public class SquareEntry {
+    private double swLat;
+    private double swLng;
+    private double neLat;
+    private double neLng;
+    private String words;
+    private String country;
+    /**
+     * The 3wa response body for {@link #words}, kept once the entry is served from memory.
+     */
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile byte[] body;
+
+    public SquareEntry(double swLat, double swLng, double neLat, double neLng, String words, String country) {
+        this.swLat = swLat;
+        this.swLng = swLng;
+        this.neLat = neLat;
+        this.neLng = neLng;
+        this.words = words;
+        this.country = country;
+    }
+
+    public static SquareEntry from(ConvertTo3WA convertTo3WA) {
+        Square square = convertTo3WA.getSquare();
+        if (Objects.isNull(square) || Objects.isNull(square.getSouthwest()) || Objects.isNull(square.getNortheast())) {
+            return new SquareEntry(Double.NaN, Double.NaN, Double.NaN, Double.NaN,
+                    convertTo3WA.getWords(), convertTo3WA.getCountry());
+        }
+        return new SquareEntry(square.getSouthwest().getLat(), square.getSouthwest().getLng(),
+                square.getNortheast().getLat(), square.getNortheast().getLng(),
+                convertTo3WA.getWords(), convertTo3WA.getCountry());
+    }
+
+    public boolean contains(double lat, double lng) {
+        return lat >= swLat && lat < neLat && lng >= swLng && lng < neLng;
+    }
+
+    @JsonIgnore
+    public boolean isCacheable() {
+        return !Double.isNaN(swLat) && Objects.nonNull(words) && !words.isBlank();
+    }
+}
@@ -0,0 +1,109 @@
+package com.akash.emergency.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * 3wa to coordinate cache. Resolved addresses and not recognised/unserviceable outcomes live in separate stores so
+ * they can expire, and be turned off, independently; the negative store is bounded by the number of suggestions it
+ * holds. A store that is turned off never returns an entry.
+ */
+public class ThreeWordsCache {
+    private final Cache<String, ThreeWordsEntry> resolved;
+    private final Cache<String, ThreeWordsEntry> notRecognised;
+
+    public ThreeWordsCache(long maximumSize, Duration expireAfterWrite, long maximumSuggestions,
+                           Duration notRecognisedExpireAfterWrite) {
+        this(resolvedStore(maximumSize, expireAfterWrite),
+                notRecognisedStore(maximumSuggestions, notRecognisedExpireAfterWrite));
+    }
+
+    private ThreeWordsCache(Cache<String, ThreeWordsEntry> resolved, Cache<String, ThreeWordsEntry> notRecognised) {
+        this.resolved = resolved;
+        this.notRecognised = notRecognised;
+    }
+
+    public static ThreeWordsCache disabled() {
+        return new ThreeWordsCache(null, null);
+    }
+
+    public static ThreeWordsCache resolvedOnly(long maximumSize, Duration expireAfterWrite) {
+        return new ThreeWordsCache(resolvedStore(maximumSize, expireAfterWrite), null);
+    }
+
+    public static ThreeWordsCache notRecognisedOnly(long maximumSuggestions, Duration expireAfterWrite) {
+        return new ThreeWordsCache(null, notRecognisedStore(maximumSuggestions, expireAfterWrite));
+    }
+
+    private static Cache<String, ThreeWordsEntry> resolvedStore(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    private static Cache<String, ThreeWordsEntry> notRecognisedStore(long maximumSuggestions,
+                                                                   Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maximumSuggestions)
+                .<String, ThreeWordsEntry>weigher((words, entry) -> 1 + entry.getSuggestions().size())
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public static String normalise(String threeWordAddress) {
+        int start = 0;
+        while (start < threeWordAddress.length() && threeWordAddress.charAt(start) == '/') {
+            start++;
+        }
+        return threeWordAddress.substring(start).toLowerCase(Locale.ROOT);
+    }
+
+    public ThreeWordsEntry get(String threeWordAddress) {
+        if (Objects.isNull(resolved) && Objects.isNull(notRecognised)) {
+            return null;
+        }
+        String key = normalise(threeWordAddress);
+        ThreeWordsEntry entry = Objects.nonNull(resolved) ? resolved.getIfPresent(key) : null;
+        if (Objects.nonNull(entry) || Objects.isNull(notRecognised)) {
+            return entry;
+        }
+        return notRecognised.getIfPresent(key);
+    }
+
+    public void put(String threeWordAddress, ThreeWordsEntry entry) {
+        if (entry.isResolved()) {
+            if (Objects.nonNull(resolved)) {
+                resolved.put(normalise(threeWordAddress), entry);
+            }
+        } else if (!entry.isPartial() && Objects.nonNull(notRecognised)) {
+            notRecognised.put(normalise(threeWordAddress), entry);
+        }
+    }
+
+    public void registerMetrics(MeterRegistry meterRegistry) {
+        if (Objects.nonNull(resolved)) {
+            CaffeineCacheMetrics.monitor(meterRegistry, resolved, "threeWords");
+        }
+        if (Objects.nonNull(notRecognised)) {
+            CaffeineCacheMetrics.monitor(meterRegistry, notRecognised, "notRecognised");
+        }
+    }
+
+    public CacheStats resolvedStats() {
+        return Objects.isNull(resolved) ? CacheStats.empty() : resolved.stats();
+    }
+
+    public CacheStats notRecognisedStats() {
+        return Objects.isNull(notRecognised) ? CacheStats.empty() : notRecognised.stats();
+    }
+}
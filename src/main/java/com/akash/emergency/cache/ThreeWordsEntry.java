@@ -0,0 +1,55 @@
+package com.akash.emergency.cache;
+
+import com.akash.emergency.dto.autoSuggest.EmergencySuggestion;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+@Data
+@NoArgsConstructor
+public class ThreeWordsEntry {
+    private double lat;
+    private double lng;
+    private String country;
+    private List<EmergencySuggestion> suggestions;
+    private boolean partial;
+    /**
+     * The location response body for a resolved entry, kept once the entry is served from memory.
+     */
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile byte[] body;
+
+    public ThreeWordsEntry(double lat, double lng, String country, List<EmergencySuggestion> suggestions,
+                           boolean partial) {
+        this.lat = lat;
+        this.lng = lng;
+        this.country = country;
+        this.suggestions = suggestions;
+        this.partial = partial;
+    }
+
+    public static ThreeWordsEntry resolved(double lat, double lng, String country) {
+        return new ThreeWordsEntry(lat, lng, country, null, false);
+    }
+
+    public static ThreeWordsEntry notRecognised(String country, List<EmergencySuggestion> suggestions) {
+        return notRecognised(country, suggestions, false);
+    }
+
+    public static ThreeWordsEntry notRecognised(String country, List<EmergencySuggestion> suggestions, boolean partial) {
+        return new ThreeWordsEntry(Double.NaN, Double.NaN, country, Collections.unmodifiableList(suggestions), partial);
+    }
+
+    @JsonIgnore
+    public boolean isResolved() {
+        return Objects.isNull(suggestions);
+    }
+}
@@ -0,0 +1,45 @@
+package com.akash.emergency.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts which tier answered each lookup as {@code emergency.lookups{operation, tier}}. A tier's hit ratio is its
+ * share of the operation's total, e.g. {@code sum(rate(emergency.lookups{tier="peer"})) / sum(rate(emergency.lookups))}.
+ */
+public class TierMetrics {
+    public enum Tier {
+        MEMORY, DISK, PEER, PACK, UPSTREAM
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public TierMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    private TierMetrics() {
+        this.meterRegistry = null;
+    }
+
+    public static TierMetrics disabled() {
+        return new TierMetrics();
+    }
+
+    public void record(String operation, Tier tier) {
+        if (Objects.isNull(meterRegistry)) {
+            return;
+        }
+        counters.computeIfAbsent(operation + '.' + tier, key -> Counter.builder("emergency.lookups")
+                .description("Lookups by the tier that answered them")
+                .tag("operation", operation)
+                .tag("tier", tier.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)).increment();
+    }
+}
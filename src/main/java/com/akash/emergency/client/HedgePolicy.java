@@ -0,0 +1,30 @@
+package com.akash.emergency.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * When to send a duplicate upstream request: once the original has been outstanding longer than the given percentile
+ * of recent call latencies (never sooner than the minimum delay), and only while hedges stay within the budget,
+ * expressed as a percentage of recent calls.
+ */
+@Data
+@AllArgsConstructor
+public class HedgePolicy {
+    private final double percentile;
+    private final Duration minimumDelay;
+    private final double budgetPercent;
+    private final ExecutorService executor;
+
+    public static HedgePolicy disabled() {
+        return new HedgePolicy(100, Duration.ZERO, 0, null);
+    }
+
+    public boolean isEnabled() {
+        return Objects.nonNull(executor) && budgetPercent > 0;
+    }
+}
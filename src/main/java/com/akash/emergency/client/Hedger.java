@@ -0,0 +1,172 @@
+package com.akash.emergency.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Runs an upstream call and, if it is still outstanding after the policy's percentile delay, issues one duplicate.
+ * The first successful response wins and the other attempt is cancelled. The delay is recomputed from a window of
+ * recent attempt latencies. Until the window has enough samples, or while no hedge could be paid for, calls run inline
+ * on the caller's thread.
+ * Hedges are paid for from a token bucket that every call tops up by the budget percentage of a hedge, so the budget
+ * follows recent traffic, and the bucket holds at most {@value #MAXIMUM_BURST} hedges so credit saved up while the
+ * upstream was healthy cannot fund a burst of duplicates when it slows down.
+ */
+public class Hedger {
+    private static final int WINDOW = 1024;
+    private static final int RECOMPUTE_EVERY = 128;
+    private static final int MAXIMUM_BURST = 10;
+    private static final long HEDGE_COST = 100_000_000L;
+
+    private final HedgePolicy policy;
+    private final AtomicLongArray latencies = new AtomicLongArray(WINDOW);
+    private final AtomicLong samples = new AtomicLong();
+    private final AtomicLong credit = new AtomicLong();
+    private final long creditPerCall;
+    private final Counter fired;
+    private final Counter won;
+    private volatile long delayNanos = Long.MAX_VALUE;
+
+    public Hedger(String operation, HedgePolicy policy, MeterRegistry meterRegistry) {
+        this.policy = policy;
+        this.creditPerCall = Math.round(policy.getBudgetPercent() * HEDGE_COST / 100);
+        this.fired = Counter.builder("what3words.upstream.hedges")
+                .description("Duplicate upstream requests sent because the original was slow")
+                .tag("operation", operation)
+                .tag("outcome", "fired")
+                .register(meterRegistry);
+        this.won = Counter.builder("what3words.upstream.hedges")
+                .description("Duplicate upstream requests that answered before the original")
+                .tag("operation", operation)
+                .tag("outcome", "won")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        if (!policy.isEnabled()) {
+            return call.get();
+        }
+        earnCredit();
+        if (delayNanos == Long.MAX_VALUE || credit.get() < HEDGE_COST) {
+            return timed(call);
+        }
+        CompletionService<T> completion = new ExecutorCompletionService<>(policy.getExecutor());
+        Future<T> primary;
+        try {
+            primary = completion.submit(() -> timed(call));
+        } catch (RejectedExecutionException ex) {
+            return timed(call);
+        }
+        Future<T> hedge = null;
+        try {
+            Future<T> done = completion.poll(delayNanos, TimeUnit.NANOSECONDS);
+            if (done == null) {
+                if (tryAcquireHedge()) {
+                    hedge = submitHedge(completion, call);
+                }
+                done = completion.take();
+            }
+            try {
+                return winner(done, primary);
+            } catch (RuntimeException ex) {
+                if (hedge == null) {
+                    throw ex;
+                }
+                return winner(completion.take(), primary);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for What3Words", ex);
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * A full hedge pool means the upstream is already slow for everyone, so the hedge is skipped rather than queued.
+     */
+    private <T> Future<T> submitHedge(CompletionService<T> completion, Supplier<T> call) {
+        try {
+            Future<T> hedge = completion.submit(() -> timed(call));
+            fired.increment();
+            return hedge;
+        } catch (RejectedExecutionException ex) {
+            credit.addAndGet(HEDGE_COST);
+            return null;
+        }
+    }
+
+    public long delayMillis() {
+        return delayNanos == Long.MAX_VALUE ? -1 : TimeUnit.NANOSECONDS.toMillis(delayNanos);
+    }
+
+    private <T> T winner(Future<T> done, Future<T> primary) throws InterruptedException {
+        try {
+            T result = done.get();
+            if (done != primary) {
+                won.increment();
+            }
+            return result;
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private void earnCredit() {
+        credit.accumulateAndGet(creditPerCall,
+                (current, earned) -> Math.min(current + earned, MAXIMUM_BURST * HEDGE_COST));
+    }
+
+    private boolean tryAcquireHedge() {
+        long available;
+        do {
+            available = credit.get();
+            if (available < HEDGE_COST) {
+                return false;
+            }
+        } while (!credit.compareAndSet(available, available - HEDGE_COST));
+        return true;
+    }
+
+    private <T> T timed(Supplier<T> call) {
+        long start = System.nanoTime();
+        T result = call.get();
+        record(System.nanoTime() - start);
+        return result;
+    }
+
+    private void record(long latencyNanos) {
+        long sample = samples.getAndIncrement();
+        latencies.set((int) (sample % WINDOW), latencyNanos);
+        if (sample >= RECOMPUTE_EVERY && sample % RECOMPUTE_EVERY == 0) {
+            int size = (int) Math.min(sample, WINDOW);
+            long[] window = new long[size];
+            for (int i = 0; i < size; i++) {
+                window[i] = latencies.get(i);
+            }
+            Arrays.sort(window);
+            long percentile = window[Math.min(size - 1, (int) (size * policy.getPercentile() / 100))];
+            delayNanos = Math.max(percentile, policy.getMinimumDelay().toNanos());
+        }
+    }
+}
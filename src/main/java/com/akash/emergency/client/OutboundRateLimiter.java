@@ -0,0 +1,84 @@
+package com.akash.emergency.client;
+
+import com.akash.emergency.exception.exceptionClass.UpstreamQuotaExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Client-side guard for the shared What3Words API key. Every upstream request takes a token from its operation's
+ * bucket and one from the overall request budget; when either is empty the request is refused with the time until
+ * the next token instead of being sent and failing against the upstream quota.
+ */
+public class OutboundRateLimiter {
+    private final Map<String, TokenBucket> operations;
+    private final TokenBucket budget;
+    private final MeterRegistry meterRegistry;
+
+    public OutboundRateLimiter(Map<String, Limit> limits, long budget, Duration budgetPeriod, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.operations = new HashMap<>();
+        limits.forEach((operation, limit) -> {
+            TokenBucket bucket = new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond(), Duration.ofSeconds(1));
+            operations.put(operation, bucket);
+            Gauge.builder("what3words.upstream.tokens", bucket, TokenBucket::available)
+                    .description("Tokens left in the operation's outbound bucket")
+                    .tag("operation", operation)
+                    .register(meterRegistry);
+        });
+        this.budget = new TokenBucket(budget, budget, budgetPeriod);
+        Gauge.builder("what3words.upstream.budget.remaining", this.budget, TokenBucket::available)
+                .description("Requests left in the shared What3Words request budget")
+                .register(meterRegistry);
+    }
+
+    private OutboundRateLimiter() {
+        this.operations = null;
+        this.budget = null;
+        this.meterRegistry = null;
+    }
+
+    public static OutboundRateLimiter unlimited() {
+        return new OutboundRateLimiter();
+    }
+
+    public void acquire(String operation) {
+        if (Objects.isNull(budget)) {
+            return;
+        }
+        TokenBucket bucket = operations.get(operation);
+        if (Objects.nonNull(bucket) && !bucket.tryAcquire()) {
+            reject(operation, bucket.timeUntilAvailable());
+        }
+        if (!budget.tryAcquire()) {
+            if (Objects.nonNull(bucket)) {
+                bucket.refund();
+            }
+            reject(operation, budget.timeUntilAvailable());
+        }
+        counter("what3words.upstream.budget.consumed", operation).increment();
+    }
+
+    private void reject(String operation, Duration retryAfter) {
+        counter("what3words.upstream.rejected", operation).increment();
+        throw new UpstreamQuotaExceededException(operation, Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(name).tag("operation", operation).register(meterRegistry);
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Limit {
+        private final double capacity;
+        private final double refillPerSecond;
+    }
+}
@@ -0,0 +1,130 @@
+package com.akash.emergency.client;
+
+import com.akash.emergency.cache.SquareEntry;
+import com.akash.emergency.cache.ThreeWordsEntry;
+import com.akash.emergency.dto.autoSuggest.EmergencySuggestion;
+import com.akash.emergency.exception.exceptionClass.UpstreamQuotaExceededException;
+import com.akash.emergency.exception.exceptionClass.UpstreamUnavailableException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Non-blocking client for the What3Words v3 REST API. Like the Java wrapper, a rejected request (400, e.g. bad words)
+ * is returned as an empty result (no country), so callers keep the same not recognised/unserviceable semantics. An
+ * exhausted quota (402 or 429) fails with {@link UpstreamQuotaExceededException}, taking the retry-after from the
+ * response when present, and any other error status fails with {@link UpstreamUnavailableException}, so neither is
+ * mistaken for an unknown address or cached.
+ */
+public class ReactiveWhat3WordsClient {
+    private static final Duration DEFAULT_QUOTA_RETRY_AFTER = Duration.ofMinutes(1);
+
+    private final WebClient webClient;
+    private final String apiKey;
+    private final long quotaRetryAfterSeconds;
+
+    public ReactiveWhat3WordsClient(WebClient webClient, String apiKey) {
+        this(webClient, apiKey, DEFAULT_QUOTA_RETRY_AFTER);
+    }
+
+    public ReactiveWhat3WordsClient(WebClient webClient, String apiKey, Duration quotaRetryAfter) {
+        this.webClient = webClient;
+        this.apiKey = apiKey;
+        this.quotaRetryAfterSeconds = Math.max(1, quotaRetryAfter.toSeconds());
+    }
+
+    public Mono<SquareEntry> convertTo3wa(double lat, double lng, String language) {
+        return get("convertTo3wa", webClient.get().uri(uri -> uri.path("/convert-to-3wa")
+                .queryParam("coordinates", lat + "," + lng)
+                .queryParam("language", language)
+                .queryParam("key", apiKey)
+                .build()))
+                .map(this::toSquareEntry);
+    }
+
+    public Mono<ThreeWordsEntry> convertToCoordinates(String words) {
+        return get("convertToCoordinates", webClient.get().uri(uri -> uri.path("/convert-to-coordinates")
+                .queryParam("words", words)
+                .queryParam("key", apiKey)
+                .build()))
+                .map(this::toThreeWordsEntry);
+    }
+
+    public Mono<List<EmergencySuggestion>> autosuggest(String input, String country, int numberOfSuggestions) {
+        return get("autosuggest", webClient.get().uri(uri -> uri.path("/autosuggest")
+                .queryParam("input", input)
+                .queryParam("clip-to-country", country)
+                .queryParam("key", apiKey)
+                .build()))
+                .map(body -> toSuggestions(body, numberOfSuggestions));
+    }
+
+    private Mono<JsonNode> get(String operation, WebClient.RequestHeadersSpec<?> request) {
+        return request.retrieve()
+                .onStatus(status -> status == HttpStatus.BAD_REQUEST, response -> Mono.empty())
+                .onStatus(status -> status == HttpStatus.PAYMENT_REQUIRED || status == HttpStatus.TOO_MANY_REQUESTS,
+                        response -> Mono.just(new UpstreamQuotaExceededException(operation, retryAfterSeconds(response))))
+                .onStatus(HttpStatus::isError, response -> Mono.just(new UpstreamUnavailableException(operation,
+                        new IllegalStateException("What3Words answered " + response.rawStatusCode()))))
+                .bodyToMono(JsonNode.class)
+                .defaultIfEmpty(MissingNode.getInstance());
+    }
+
+    /**
+     * Retry-After in seconds when the API sent one, otherwise the configured default. HTTP dates are not used by the
+     * API and fall back to the default too.
+     */
+    private long retryAfterSeconds(ClientResponse response) {
+        String retryAfter = response.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (Objects.nonNull(retryAfter)) {
+            try {
+                return Math.max(1, Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException ex) {
+                return quotaRetryAfterSeconds;
+            }
+        }
+        return quotaRetryAfterSeconds;
+    }
+
+    private SquareEntry toSquareEntry(JsonNode body) {
+        JsonNode square = body.path("square");
+        if (square.isMissingNode()) {
+            return new SquareEntry(Double.NaN, Double.NaN, Double.NaN, Double.NaN, text(body, "words"), text(body, "country"));
+        }
+        return new SquareEntry(square.path("southwest").path("lat").asDouble(), square.path("southwest").path("lng").asDouble(),
+                square.path("northeast").path("lat").asDouble(), square.path("northeast").path("lng").asDouble(),
+                text(body, "words"), text(body, "country"));
+    }
+
+    private ThreeWordsEntry toThreeWordsEntry(JsonNode body) {
+        JsonNode coordinates = body.path("coordinates");
+        return ThreeWordsEntry.resolved(coordinates.path("lat").asDouble(Double.NaN),
+                coordinates.path("lng").asDouble(Double.NaN), text(body, "country"));
+    }
+
+    private List<EmergencySuggestion> toSuggestions(JsonNode body, int numberOfSuggestions) {
+        List<EmergencySuggestion> suggestions = new ArrayList<>();
+        for (JsonNode suggestion : body.path("suggestions")) {
+            if (suggestions.size() >= numberOfSuggestions) {
+                break;
+            }
+            suggestions.add(new EmergencySuggestion(text(suggestion, "country"), text(suggestion, "nearestPlace"),
+                    text(suggestion, "words")));
+        }
+        return suggestions;
+    }
+
+    private String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
@@ -0,0 +1,83 @@
+package com.akash.emergency.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller runs the upstream call and every caller that arrives
+ * while it is in flight receives the same result or exception. A waiter only takes the shared result when it is
+ * usable for its own request, otherwise it makes its own call.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter saved;
+
+    public SingleFlight(String operation, MeterRegistry meterRegistry) {
+        this.saved = Counter.builder("what3words.upstream.coalesced")
+                .description("Upstream calls saved by joining an identical in-flight call")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> call) {
+        return execute(key, call, value -> true);
+    }
+
+    public V execute(K key, Supplier<V> call, Predicate<V> usable) {
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+        if (Objects.nonNull(existing)) {
+            joining(key);
+            V shared = join(existing);
+            if (usable.test(shared)) {
+                saved.increment();
+                return shared;
+            }
+            return call.get();
+        }
+        try {
+            V value = call.get();
+            leader.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            leader.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    public double saved() {
+        return saved.count();
+    }
+
+    /**
+     * Called just before a caller waits for the in-flight call it joined; lets tests release the leader once every
+     * caller has joined.
+     */
+    void joining(K key) {
+    }
+
+    private V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                saved.increment();
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.akash.emergency.client;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Classic token bucket: holds up to {@code capacity} tokens and refills continuously at
+ * {@code refillTokens} per {@code refillPeriod}. Starts full.
+ */
+public class TokenBucket {
+    private final double capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double capacity, double refillTokens, Duration refillPeriod) {
+        this(capacity, refillTokens, refillPeriod, System::nanoTime);
+    }
+
+    TokenBucket(double capacity, double refillTokens, Duration refillPeriod, LongSupplier nanoClock) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillTokens / refillPeriod.toNanos();
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    public synchronized void refund() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+
+    public synchronized double available() {
+        refill();
+        return tokens;
+    }
+
+    public synchronized Duration timeUntilAvailable() {
+        refill();
+        if (tokens >= 1) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos((long) Math.ceil((1 - tokens) / tokensPerNano));
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
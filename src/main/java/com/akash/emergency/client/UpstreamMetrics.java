@@ -0,0 +1,58 @@
+package com.akash.emergency.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Times every request sent to What3Words (what3words.upstream.requests, tagged with operation, outcome and the
+ * autosuggest country) and tracks how many are in flight per operation. Compared with http.server.requests this
+ * separates time spent upstream from time spent in the service.
+ */
+public class UpstreamMetrics {
+    public static final String NO_COUNTRY = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public UpstreamMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T record(String operation, String country, Supplier<T> call) {
+        AtomicInteger active = inFlight.computeIfAbsent(operation, this::registerInFlight);
+        active.incrementAndGet();
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } finally {
+            active.decrementAndGet();
+            Timer.builder("what3words.upstream.requests")
+                    .description("Latency of requests sent to the What3Words API")
+                    .tag("operation", operation)
+                    .tag("country", country)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private AtomicInteger registerInFlight(String operation) {
+        AtomicInteger active = new AtomicInteger();
+        Gauge.builder("what3words.upstream.inflight", active, AtomicInteger::get)
+                .description("Requests currently waiting on the What3Words API")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        return active;
+    }
+}
@@ -0,0 +1,192 @@
+package com.akash.emergency.client;
+
+import com.akash.emergency.cache.GridSquare;
+import com.akash.emergency.cache.SquareEntry;
+import com.akash.emergency.cache.ThreeWordsCache;
+import com.akash.emergency.cache.ThreeWordsEntry;
+import com.akash.emergency.dto.autoSuggest.EmergencySuggestion;
+import com.akash.emergency.exception.exceptionClass.UpstreamQuotaExceededException;
+import com.akash.emergency.exception.exceptionClass.UpstreamUnavailableException;
+import com.what3words.javawrapper.What3WordsV3;
+import com.what3words.javawrapper.request.Coordinates;
+import com.what3words.javawrapper.response.APIResponse;
+import com.what3words.javawrapper.response.Autosuggest;
+import com.what3words.javawrapper.response.ConvertTo3WA;
+import com.what3words.javawrapper.response.ConvertToCoordinates;
+import com.what3words.javawrapper.response.Response;
+import com.what3words.javawrapper.response.Suggestion;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Blocking access to the three What3Words operations the service uses. Identical concurrent lookups (same grid cell
+ * and language, same normalised 3wa, same autosuggest input and country) share a single upstream call, and each
+ * operation runs behind its own circuit breaker so a slow or failing API is rejected fast instead of holding threads.
+ * convertTo3wa and convertToCoordinates can additionally be hedged to cut tail latency, and every request sent
+ * (hedges included) takes a token from the outbound rate limiter.
+ */
+public class What3WordsClient {
+    /**
+     * The wrapper turns the API's error code into its enum constant, so the quota codes (402 QuotaExceeded, 429
+     * RateLimited) are matched by name.
+     */
+    private static final Set<String> QUOTA_ERRORS = Set.of("QUOTA_EXCEEDED", "RATE_LIMITED");
+    private static final Duration DEFAULT_QUOTA_RETRY_AFTER = Duration.ofMinutes(1);
+
+    private final What3WordsV3 what3WordsV3;
+    private final SingleFlight<CellKey, SquareEntry> convertTo3waFlight;
+    private final SingleFlight<String, ThreeWordsEntry> convertToCoordinatesFlight;
+    private final SingleFlight<SuggestionKey, List<EmergencySuggestion>> autosuggestFlight;
+    private final CircuitBreaker convertTo3waBreaker;
+    private final CircuitBreaker convertToCoordinatesBreaker;
+    private final CircuitBreaker autosuggestBreaker;
+    private final Hedger convertTo3waHedger;
+    private final Hedger convertToCoordinatesHedger;
+    private final OutboundRateLimiter rateLimiter;
+    private final UpstreamMetrics upstreamMetrics;
+    private final long quotaRetryAfterSeconds;
+
+    public What3WordsClient(What3WordsV3 what3WordsV3) {
+        this(what3WordsV3, new SimpleMeterRegistry());
+    }
+
+    public What3WordsClient(What3WordsV3 what3WordsV3, MeterRegistry meterRegistry) {
+        this(what3WordsV3, meterRegistry, CircuitBreakerRegistry.ofDefaults());
+    }
+
+    public What3WordsClient(What3WordsV3 what3WordsV3, MeterRegistry meterRegistry,
+                            CircuitBreakerRegistry circuitBreakerRegistry) {
+        this(what3WordsV3, meterRegistry, circuitBreakerRegistry, null, null, null);
+    }
+
+    @Builder
+    public What3WordsClient(What3WordsV3 what3WordsV3, MeterRegistry meterRegistry,
+                            CircuitBreakerRegistry circuitBreakerRegistry, HedgePolicy hedgePolicy,
+                            OutboundRateLimiter rateLimiter, Duration quotaRetryAfter) {
+        meterRegistry = Objects.requireNonNullElseGet(meterRegistry, SimpleMeterRegistry::new);
+        circuitBreakerRegistry = Objects.requireNonNullElseGet(circuitBreakerRegistry, CircuitBreakerRegistry::ofDefaults);
+        hedgePolicy = Objects.requireNonNullElseGet(hedgePolicy, HedgePolicy::disabled);
+        this.what3WordsV3 = what3WordsV3;
+        this.rateLimiter = Objects.requireNonNullElseGet(rateLimiter, OutboundRateLimiter::unlimited);
+        this.upstreamMetrics = new UpstreamMetrics(meterRegistry);
+        this.quotaRetryAfterSeconds = Math.max(1,
+                Objects.requireNonNullElse(quotaRetryAfter, DEFAULT_QUOTA_RETRY_AFTER).toSeconds());
+        this.convertTo3waHedger = new Hedger("convertTo3wa", hedgePolicy, meterRegistry);
+        this.convertToCoordinatesHedger = new Hedger("convertToCoordinates", hedgePolicy, meterRegistry);
+        this.convertTo3waBreaker = circuitBreakerRegistry.circuitBreaker("convertTo3wa");
+        this.convertToCoordinatesBreaker = circuitBreakerRegistry.circuitBreaker("convertToCoordinates");
+        this.autosuggestBreaker = circuitBreakerRegistry.circuitBreaker("autosuggest");
+        this.convertTo3waFlight = new SingleFlight<>("convertTo3wa", meterRegistry);
+        this.convertToCoordinatesFlight = new SingleFlight<>("convertToCoordinates", meterRegistry);
+        this.autosuggestFlight = new SingleFlight<>("autosuggest", meterRegistry);
+    }
+
+    public SquareEntry convertTo3wa(double lat, double lng, String language) {
+        return convertTo3waFlight.execute(new CellKey(language, GridSquare.cellKey(lat, lng)),
+                () -> call(convertTo3waBreaker, () -> convertTo3waHedger.execute(() -> fetchSquare(lat, lng, language))),
+                square -> square.contains(lat, lng));
+    }
+
+    public ThreeWordsEntry convertToCoordinates(String words) {
+        return convertToCoordinatesFlight.execute(ThreeWordsCache.normalise(words),
+                () -> call(convertToCoordinatesBreaker, () -> convertToCoordinatesHedger.execute(() -> fetchCoordinates(words))));
+    }
+
+    public List<EmergencySuggestion> autosuggest(String input, String country, int numberOfSuggestions) {
+        return autosuggestFlight.execute(new SuggestionKey(ThreeWordsCache.normalise(input), country, numberOfSuggestions),
+                () -> call(autosuggestBreaker, () -> {
+                    rateLimiter.acquire("autosuggest");
+                    Autosuggest autosuggest = upstreamMetrics.record("autosuggest", country,
+                            () -> checked("autosuggest", what3WordsV3.autosuggest(input).clipToCountry(country).execute()));
+                    return toSuggestions(autosuggest.getSuggestions(), numberOfSuggestions);
+                }));
+    }
+
+    public double coalescedCalls() {
+        return convertTo3waFlight.saved() + convertToCoordinatesFlight.saved() + autosuggestFlight.saved();
+    }
+
+    private SquareEntry fetchSquare(double lat, double lng, String language) {
+        rateLimiter.acquire("convertTo3wa");
+        ConvertTo3WA convertTo3WA = upstreamMetrics.record("convertTo3wa", UpstreamMetrics.NO_COUNTRY,
+                () -> checked("convertTo3wa", what3WordsV3.convertTo3wa(new Coordinates(lat, lng)).language(language).execute()));
+        return SquareEntry.from(convertTo3WA);
+    }
+
+    private ThreeWordsEntry fetchCoordinates(String words) {
+        rateLimiter.acquire("convertToCoordinates");
+        ConvertToCoordinates convertToCoordinates = upstreamMetrics.record("convertToCoordinates", UpstreamMetrics.NO_COUNTRY,
+                () -> checked("convertToCoordinates", what3WordsV3.convertToCoordinates(words).execute()));
+        if (Objects.isNull(convertToCoordinates.getCoordinates())) {
+            return ThreeWordsEntry.resolved(Double.NaN, Double.NaN, convertToCoordinates.getCountry());
+        }
+        return ThreeWordsEntry.resolved(convertToCoordinates.getCoordinates().getLat(),
+                convertToCoordinates.getCoordinates().getLng(), convertToCoordinates.getCountry());
+    }
+
+    private <T> T call(CircuitBreaker circuitBreaker, Supplier<T> upstreamCall) {
+        try {
+            return circuitBreaker.executeSupplier(upstreamCall);
+        } catch (CallNotPermittedException ex) {
+            throw new UpstreamUnavailableException(circuitBreaker.getName(), ex);
+        }
+    }
+
+    /**
+     * The wrapper reports transport and server failures on the response instead of throwing, so surface them as
+     * exceptions for the circuit breaker to count. An exhausted key quota is surfaced as a quota rejection instead, so
+     * callers back off rather than treating the request as unrecognised. The wrapper does not expose the response
+     * headers, so the retry-after is the configured one. Client errors (bad words, bad coordinates) are left on the
+     * response.
+     */
+    private <T extends Response<?>> T checked(String operation, T response) {
+        APIResponse.What3WordsError error = response.getError();
+        if (Objects.nonNull(error) && QUOTA_ERRORS.contains(error.name())) {
+            throw new UpstreamQuotaExceededException(operation, quotaRetryAfterSeconds);
+        }
+        if (error == APIResponse.What3WordsError.NETWORK_ERROR || error == APIResponse.What3WordsError.INTERNAL_SERVER_ERROR) {
+            throw new IllegalStateException("What3Words request failed: " + error);
+        }
+        return response;
+    }
+
+    private List<EmergencySuggestion> toSuggestions(List<Suggestion> suggestionListByCountry, int numberOfSuggestions) {
+        List<EmergencySuggestion> suggestions = new ArrayList<>();
+        for (Suggestion suggestion : suggestionListByCountry) {
+            if (suggestions.size() >= numberOfSuggestions) {
+                break;
+            }
+            suggestions.add(new EmergencySuggestion(suggestion.getCountry(), suggestion.getNearestPlace(),
+                    suggestion.getWords()));
+        }
+        return suggestions;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class CellKey {
+        private final String language;
+        private final long cell;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class SuggestionKey {
+        private final String input;
+        private final String country;
+        private final int numberOfSuggestions;
+    }
+}
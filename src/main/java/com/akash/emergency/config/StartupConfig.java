@@ -0,0 +1,116 @@
+package com.akash.emergency.config;
+
+import com.akash.emergency.exception.exceptionHandler.GlobalExceptionHandler;
+import com.akash.emergency.job.BulkJobService;
+import com.akash.emergency.rest.EmergencyResource;
+import com.akash.emergency.rest.LookupResultResponses;
+import com.akash.emergency.service.intf.EmergencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+
+@Configuration
+public class StartupConfig {
+    private static final Logger log = LoggerFactory.getLogger(StartupConfig.class);
+    private static final String TRAINING_POINT = "{\"lat\":51.520847,\"lng\":-0.195521}";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Keeps the request path eager when {@code spring.main.lazy-initialization} is on (the fast-start profile), so the
+     * first request does not build the service and its caches. The job service stays eager so unfinished jobs still
+     * resume at startup.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter hotPathExcludeFilter(){
+        return LazyInitializationExcludeFilter.forBeanTypes(EmergencyResource.class, LookupResultResponses.class,
+                GlobalExceptionHandler.class, EmergencyService.class, BulkJobService.class);
+    }
+
+    /**
+     * Used by the fast-start Maven profile to record the classes for the class-data-sharing archive: once the
+     * application is ready it walks the request paths against the upstream it is pointed at (the What3Words stub in
+     * the build): a serviceable point, its 3wa back to coordinates and into another language, an autosuggest for part
+     * of it, then an unserviceable point, an invalid 3wa and the health check. It then closes the application.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "what3words.startup", name = "trainingRun", havingValue = "true")
+    public ApplicationListener<ApplicationReadyEvent> trainingRun(){
+        return event -> {
+            ConfigurableApplicationContext context = event.getApplicationContext();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port
+                    + context.getEnvironment().getProperty("server.servlet.context-path", "");
+            HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            String threeWordAddress = threeWordAddress(send(httpClient, post(base + "/coord-to-3wa", TRAINING_POINT)));
+            if(Objects.nonNull(threeWordAddress)) {
+                String body = "{\"3wa\":\"" + threeWordAddress + "\"}";
+                send(httpClient, post(base + "/3wa-to-coord", body));
+                send(httpClient, post(base + "/language-convert?target_language=fr", body));
+                String input = threeWordAddress.substring(0, threeWordAddress.length() - 1);
+                send(httpClient, get(base + "/autosuggest?input=" + URLEncoder.encode(input, StandardCharsets.UTF_8)));
+            } else {
+                log.warn("Training run could not resolve {}, only the failure paths are recorded", TRAINING_POINT);
+            }
+            send(httpClient, post(base + "/coord-to-3wa", "{\"lat\":0.0,\"lng\":0.0}"));
+            send(httpClient, post(base + "/3wa-to-coord", "{\"3wa\":\"not a 3wa\"}"));
+            send(httpClient, get(base + "/actuator/health"));
+            SpringApplication.exit(context);
+        };
+    }
+
+    private static String threeWordAddress(HttpResponse<String> response){
+        if(Objects.isNull(response) || response.statusCode() != 200) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.readTree(response.body()).path("3wa").asText(null);
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
+    }
+
+    private static HttpRequest get(String uri){
+        return HttpRequest.newBuilder(URI.create(uri)).build();
+    }
+
+    private static HttpRequest post(String uri, String body){
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static HttpResponse<String> send(HttpClient httpClient, HttpRequest request){
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            log.info("Training run {} {} answered {}", request.method(), request.uri().getPath(),
+                    response.statusCode());
+            return response;
+        } catch (IOException ex) {
+            log.warn("Training run {} {} failed", request.method(), request.uri().getPath(), ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
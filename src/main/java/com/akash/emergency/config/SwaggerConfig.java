@@ -1,7 +1,9 @@
 package com.akash.emergency.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import springfox.documentation.builders.RequestHandlerSelectors;
 import springfox.documentation.service.ApiInfo;
 import springfox.documentation.service.Contact;
@@ -13,6 +15,8 @@ import java.util.Collections;
 
 @Configuration
 @EnableSwagger2
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "what3words.swagger", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class SwaggerConfig {
     @Bean
     public Docket getSwaggerConfig(){
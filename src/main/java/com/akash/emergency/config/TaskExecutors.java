@@ -0,0 +1,56 @@
+package com.akash.emergency.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executors used for upstream work. The project targets Java 11, so virtual threads are looked up
+ * reflectively and are only used when the runtime is Java 21 or later; otherwise a bounded platform pool is used.
+ * A full platform pool rejects new work with {@link java.util.concurrent.RejectedExecutionException} rather than
+ * running it on the submitting (request) thread, so every caller handles the rejection explicitly.
+ */
+public final class TaskExecutors {
+    private static final Logger log = LoggerFactory.getLogger(TaskExecutors.class);
+
+    private TaskExecutors() {
+    }
+
+    public static ExecutorService newExecutor(ThreadMode mode, int threads, int queueCapacity, String threadNamePrefix) {
+        if (mode == ThreadMode.VIRTUAL) {
+            ExecutorService executor = newVirtualThreadPerTaskExecutor();
+            if (Objects.nonNull(executor)) {
+                return executor;
+            }
+            log.warn("Virtual threads are not available on Java {}, using a platform pool for {}",
+                    Runtime.version().feature(), threadNamePrefix);
+        }
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                namedThreadFactory(threadNamePrefix), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+
+    public static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,6 @@
+package com.akash.emergency.config;
+
+public enum ThreadMode {
+    PLATFORM,
+    VIRTUAL
+}
@@ -0,0 +1,32 @@
+package com.akash.emergency.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "what3words.execution", name = "mode", havingValue = "virtual")
+public class VirtualThreadConfig {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+    private final ExecutorService requestExecutor = TaskExecutors.newVirtualThreadPerTaskExecutor();
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(){
+        return protocolHandler -> {
+            if (Objects.nonNull(requestExecutor)) {
+                protocolHandler.setExecutor(requestExecutor);
+            } else {
+                log.warn("Virtual threads are not available on Java {}, Tomcat keeps its platform thread pool",
+                        Runtime.version().feature());
+            }
+        };
+    }
+}
@@ -1,16 +1,63 @@
 package com.akash.emergency.config;
 
+import com.akash.emergency.cache.DiskCache;
+import com.akash.emergency.cache.SquareCache;
+import com.akash.emergency.cache.ThreeWordsCache;
+import com.akash.emergency.cache.TierMetrics;
+import com.akash.emergency.client.HedgePolicy;
+import com.akash.emergency.client.OutboundRateLimiter;
+import com.akash.emergency.client.ReactiveWhat3WordsClient;
+import com.akash.emergency.client.What3WordsClient;
+import com.akash.emergency.exception.exceptionHandler.GlobalExceptionHandler;
+import com.akash.emergency.geo.ServiceabilityIndex;
+import com.akash.emergency.job.BulkJobService;
+import com.akash.emergency.pack.PackMode;
+import com.akash.emergency.pack.RegionPack;
+import com.akash.emergency.pack.RegionPackRecorder;
+import com.akash.emergency.peer.PeerCache;
+import com.akash.emergency.rest.BatchResponseStreamer;
 import com.akash.emergency.service.impl.EmergencyServiceImpl;
+import com.akash.emergency.service.impl.ReactiveEmergencyServiceImpl;
 import com.akash.emergency.service.intf.EmergencyService;
+import com.akash.emergency.service.intf.ReactiveEmergencyService;
+import com.akash.emergency.typeahead.KeystrokeDebouncer;
+import com.akash.emergency.typeahead.PrefixIndex;
+import com.akash.emergency.warmup.CacheWarmer;
+import com.akash.emergency.warmup.HotSet;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.what3words.javawrapper.What3WordsV3;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.web.reactive.function.client.WebClient;
 
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 
 @Configuration
 @ConfigurationProperties(prefix = "what3words")
@@ -20,16 +67,415 @@ import java.util.List;
 @Data
 public class What3WordsConfig {
     private String apiKey;
+    private String endpoint = "https://api.what3words.com/v3";
     private String language;
     private List<String> allowedCountries;
     private int numberOfSuggestionsPerCountry;
+    private CacheSettings cache = new CacheSettings();
+    private AutosuggestSettings autosuggest = new AutosuggestSettings();
+    private BatchSettings batch = new BatchSettings();
+    private ExecutionSettings execution = new ExecutionSettings();
+    private ServiceabilitySettings serviceability = new ServiceabilitySettings();
+    private PackSettings pack = new PackSettings();
+    private HedgingSettings hedging = new HedgingSettings();
+    private RateLimitSettings rateLimit = new RateLimitSettings();
+    private WarmupSettings warmup = new WarmupSettings();
+    private PeerSettings peers = new PeerSettings();
+    private TypeaheadSettings typeahead = new TypeaheadSettings();
+    private JobSettings jobs = new JobSettings();
     @Bean
     public What3WordsV3 what3WordsV3(){
-        return new What3WordsV3(apiKey);
+        return new What3WordsV3(apiKey, endpoint.endsWith("/") ? endpoint : endpoint + "/");
     }
 
     @Bean
-    public EmergencyService emergencyService(){
-        return new EmergencyServiceImpl(language, allowedCountries, numberOfSuggestionsPerCountry, what3WordsV3());
+    public What3WordsClient what3WordsClient(MeterRegistry meterRegistry, CircuitBreakerRegistry circuitBreakerRegistry){
+        HedgePolicy hedgePolicy = hedging.isEnabled() ? new HedgePolicy(hedging.getPercentile(), hedging.getMinimumDelay(),
+                hedging.getBudgetPercent(), hedgeExecutor()) : HedgePolicy.disabled();
+        return What3WordsClient.builder()
+                .what3WordsV3(what3WordsV3())
+                .meterRegistry(meterRegistry)
+                .circuitBreakerRegistry(circuitBreakerRegistry)
+                .hedgePolicy(hedgePolicy)
+                .rateLimiter(outboundRateLimiter(meterRegistry))
+                .quotaRetryAfter(rateLimit.getQuotaRetryAfter())
+                .build();
+    }
+
+    private OutboundRateLimiter outboundRateLimiter(MeterRegistry meterRegistry){
+        if(!rateLimit.isEnabled()) {
+            return OutboundRateLimiter.unlimited();
+        }
+        Map<String, OutboundRateLimiter.Limit> limits = new LinkedHashMap<>();
+        rateLimit.getOperations().forEach((operation, limit) ->
+                limits.put(operation, new OutboundRateLimiter.Limit(limit.getCapacity(), limit.getRefillPerSecond())));
+        return new OutboundRateLimiter(limits, rateLimit.getBudget(), rateLimit.getBudgetPeriod(), meterRegistry);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService hedgeExecutor(){
+        return TaskExecutors.newExecutor(execution.getMode(), hedging.getThreads(), hedging.getQueueCapacity(), "hedge-");
+    }
+
+    @Bean
+    public SquareCache squareCache(MeterRegistry meterRegistry){
+        Store square = cache.getSquare();
+        SquareCache squareCache = square.isEnabled() ? new SquareCache(square.getMaximumSize(), square.getExpireAfterWrite())
+                : SquareCache.disabled();
+        squareCache.registerMetrics(meterRegistry);
+        return squareCache;
+    }
+
+    @Bean
+    public ThreeWordsCache threeWordsCache(MeterRegistry meterRegistry){
+        Store threeWords = cache.getThreeWords();
+        NotRecognisedStore notRecognised = cache.getNotRecognised();
+        ThreeWordsCache threeWordsCache;
+        if(threeWords.isEnabled() && notRecognised.isEnabled()) {
+            threeWordsCache = new ThreeWordsCache(threeWords.getMaximumSize(), threeWords.getExpireAfterWrite(),
+                    notRecognised.getMaximumSuggestions(), notRecognised.getExpireAfterWrite());
+        } else if(threeWords.isEnabled()) {
+            threeWordsCache = ThreeWordsCache.resolvedOnly(threeWords.getMaximumSize(), threeWords.getExpireAfterWrite());
+        } else if(notRecognised.isEnabled()) {
+            threeWordsCache = ThreeWordsCache.notRecognisedOnly(notRecognised.getMaximumSuggestions(),
+                    notRecognised.getExpireAfterWrite());
+        } else {
+            threeWordsCache = ThreeWordsCache.disabled();
+        }
+        threeWordsCache.registerMetrics(meterRegistry);
+        return threeWordsCache;
+    }
+
+    @Bean(destroyMethod = "close")
+    public DiskCache diskCache(MeterRegistry meterRegistry) throws IOException {
+        DiskSettings disk = cache.getDisk();
+        if(!disk.isEnabled()) {
+            return DiskCache.disabled();
+        }
+        if(Objects.isNull(disk.getFile()) || disk.getFile().isBlank()) {
+            throw new IllegalStateException("what3words.cache.disk.file is required when the disk cache is enabled");
+        }
+        DiskCache diskCache = new DiskCache(Paths.get(disk.getFile()), disk.getMaximumEntries(), disk.getSyncInterval(),
+                disk.getCompactionInterval());
+        diskCache.registerMetrics(meterRegistry);
+        return diskCache;
+    }
+
+    @Bean
+    public ServiceabilityIndex serviceabilityIndex() throws IOException {
+        if(!serviceability.isEnabled()) {
+            return ServiceabilityIndex.unrestricted();
+        }
+        try (InputStream regions = serviceability.getRegionsFile().getInputStream()) {
+            return ServiceabilityIndex.load(regions, allowedCountries, serviceability.getBorderMargin());
+        }
+    }
+
+    @Bean(destroyMethod = "close")
+    public RegionPack regionPack() throws IOException {
+        if(Objects.isNull(pack.getFile()) || pack.getFile().isBlank()) {
+            if(pack.getMode() == PackMode.PACK_ONLY) {
+                throw new IllegalStateException("what3words.pack.file is required when what3words.pack.mode is pack-only");
+            }
+            return RegionPack.empty();
+        }
+        return RegionPack.open(Paths.get(pack.getFile()));
+    }
+
+    @Bean(destroyMethod = "close")
+    public RegionPackRecorder regionPackRecorder() throws IOException {
+        if(Objects.isNull(pack.getRecordFile()) || pack.getRecordFile().isBlank()) {
+            return RegionPackRecorder.disabled();
+        }
+        return new RegionPackRecorder(Paths.get(pack.getRecordFile()), pack.getRecordQueueCapacity());
+    }
+
+    @Bean(destroyMethod = "close")
+    public PeerCache peerCache(SquareCache squareCache, ThreeWordsCache threeWordsCache, DiskCache diskCache,
+                               MeterRegistry meterRegistry) throws IOException {
+        if(!peers.isEnabled()) {
+            return PeerCache.disabled();
+        }
+        if(Objects.isNull(peers.getSelf()) || peers.getSelf().isBlank()) {
+            throw new IllegalStateException("what3words.peers.self is required when the peer cache is enabled");
+        }
+        if(Objects.isNull(peers.getSecret()) || peers.getSecret().isBlank()) {
+            throw new IllegalStateException("what3words.peers.secret is required when the peer cache is enabled");
+        }
+        PeerCache peerCache = PeerCache.builder()
+                .self(peers.getSelf())
+                .members(peers.getMembers())
+                .bindAddress(peers.getBindAddress())
+                .port(peers.getPort())
+                .secret(peers.getSecret())
+                .virtualNodes(peers.getVirtualNodes())
+                .timeout(peers.getTimeout())
+                .backoff(peers.getBackoff())
+                .squareCache(squareCache)
+                .threeWordsCache(threeWordsCache)
+                .diskCache(diskCache)
+                .meterRegistry(meterRegistry)
+                .build();
+        peerCache.start();
+        return peerCache;
+    }
+
+    @Bean
+    public TierMetrics tierMetrics(MeterRegistry meterRegistry){
+        return new TierMetrics(meterRegistry);
+    }
+
+    @Bean
+    public PrefixIndex prefixIndex(MeterRegistry meterRegistry){
+        PrefixIndex prefixIndex = typeahead.isEnabled() ? new PrefixIndex(typeahead.getMaximumEntries())
+                : PrefixIndex.disabled();
+        prefixIndex.registerMetrics(meterRegistry);
+        return prefixIndex;
+    }
+
+    /**
+     * Times the typeahead quiet periods. Superseded keystrokes cancel their check, so cancelled tasks are dropped from
+     * the queue rather than kept until they fall due.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService keystrokeScheduler(){
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1,
+                TaskExecutors.namedThreadFactory("keystroke-"));
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService autosuggestExecutor(){
+        return TaskExecutors.newExecutor(execution.getMode(), autosuggest.getThreads(), autosuggest.getQueueCapacity(),
+                "autosuggest-");
+    }
+
+    @Bean
+    public EmergencyService emergencyService(What3WordsClient what3WordsClient, SquareCache squareCache,
+                                             ThreeWordsCache threeWordsCache, DiskCache diskCache,
+                                             PeerCache peerCache, TierMetrics tierMetrics, PrefixIndex prefixIndex,
+                                             ServiceabilityIndex serviceabilityIndex, RegionPack regionPack,
+                                             RegionPackRecorder regionPackRecorder, ObjectMapper objectMapper){
+        return EmergencyServiceImpl.builder()
+                .defaultLanguage(language)
+                .allowedCountries(allowedCountries)
+                .numberOfSuggestionsPerCountry(numberOfSuggestionsPerCountry)
+                .what3WordsClient(what3WordsClient)
+                .squareCache(squareCache)
+                .threeWordsCache(threeWordsCache)
+                .diskCache(diskCache)
+                .peerCache(peerCache)
+                .tierMetrics(tierMetrics)
+                .suggestionExecutor(autosuggestExecutor())
+                .suggestionDeadline(autosuggest.getDeadline())
+                .serviceabilityIndex(serviceabilityIndex)
+                .regionPack(regionPack)
+                .packMode(pack.getMode())
+                .regionPackRecorder(regionPackRecorder)
+                .prefixIndex(prefixIndex)
+                .keystrokeDebouncer(typeahead.getDebounce().isZero() ? KeystrokeDebouncer.disabled()
+                        : new KeystrokeDebouncer(typeahead.getDebounce(), typeahead.getMaximumSessions(),
+                        keystrokeScheduler()))
+                .responseMapper(cache.isPreSerialise() ? objectMapper : null)
+                .build();
+    }
+
+    /**
+     * Runs before Spring Boot marks the application ready, so readiness stays refusing traffic until the hot set has
+     * been resolved or the warm-up timed out.
+     */
+    @Bean
+    public ApplicationRunner cacheWarmUp(EmergencyService emergencyService, ApplicationEventPublisher eventPublisher){
+        return args -> {
+            if(!warmup.isEnabled() || Objects.isNull(warmup.getHotSetFile())) {
+                return;
+            }
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+            HotSet hotSet;
+            try (InputStream hotSetFile = warmup.getHotSetFile().getInputStream()) {
+                hotSet = HotSet.load(hotSetFile);
+            }
+            new CacheWarmer(emergencyService, warmup.getParallelism(), warmup.getTimeout()).warm(hotSet);
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "what3words.jobs", name = "enabled", havingValue = "true")
+    public BulkJobService bulkJobService(EmergencyService emergencyService) throws IOException {
+        ExecutorService rowExecutor = TaskExecutors.newExecutor(execution.getMode(), jobs.getConcurrency(),
+                jobs.getChunkRows(), "bulk-row-");
+        return new BulkJobService(emergencyService, Paths.get(jobs.getDirectory()), rowExecutor, jobs.getChunkRows());
+    }
+
+    @Bean
+    @Profile("reactive")
+    public ReactiveWhat3WordsClient reactiveWhat3WordsClient(WebClient.Builder webClientBuilder){
+        return new ReactiveWhat3WordsClient(webClientBuilder.baseUrl(endpoint).build(), apiKey,
+                rateLimit.getQuotaRetryAfter());
+    }
+
+    @Bean
+    @Profile("reactive")
+    public ReactiveEmergencyService reactiveEmergencyService(ReactiveWhat3WordsClient reactiveWhat3WordsClient,
+                                                             SquareCache squareCache, ThreeWordsCache threeWordsCache,
+                                                             ServiceabilityIndex serviceabilityIndex){
+        return ReactiveEmergencyServiceImpl.builder()
+                .defaultLanguage(language)
+                .allowedCountries(allowedCountries)
+                .numberOfSuggestionsPerCountry(numberOfSuggestionsPerCountry)
+                .what3WordsClient(reactiveWhat3WordsClient)
+                .squareCache(squareCache)
+                .threeWordsCache(threeWordsCache)
+                .suggestionDeadline(autosuggest.getDeadline())
+                .serviceabilityIndex(serviceabilityIndex)
+                .build();
+    }
+
+    @Bean
+    public BatchResponseStreamer batchResponseStreamer(Validator validator, GlobalExceptionHandler exceptionHandler,
+                                                       ObjectMapper objectMapper){
+        ExecutorService executor = TaskExecutors.newExecutor(execution.getMode(), batch.getThreads(), batch.getThreads(),
+                "batch-");
+        return new BatchResponseStreamer(validator, exceptionHandler, objectMapper, executor, batch.getConcurrency(),
+                batch.getMaximumItems());
+    }
+
+    @Data
+    public static class AutosuggestSettings {
+        private int threads = 16;
+        private int queueCapacity = 256;
+        private Duration deadline = Duration.ofMillis(1500);
+    }
+
+    @Data
+    public static class TypeaheadSettings {
+        private boolean enabled = true;
+        private int maximumEntries = 1_000_000;
+        private Duration debounce = Duration.ofMillis(150);
+        private long maximumSessions = 10_000;
+    }
+
+    @Data
+    public static class ServiceabilitySettings {
+        private boolean enabled = true;
+        private Resource regionsFile = new ClassPathResource("geo/serviceable-regions.csv");
+        private double borderMargin = 0.1;
+    }
+
+    @Data
+    public static class HedgingSettings {
+        private boolean enabled = false;
+        private double percentile = 95;
+        private Duration minimumDelay = Duration.ofMillis(50);
+        private double budgetPercent = 5;
+        private int threads = 64;
+        private int queueCapacity = 256;
+    }
+
+    @Data
+    public static class RateLimitSettings {
+        private boolean enabled = false;
+        private long budget = 100_000;
+        private Duration budgetPeriod = Duration.ofDays(1);
+        private Duration quotaRetryAfter = Duration.ofMinutes(1);
+        private Map<String, OperationLimit> operations = new LinkedHashMap<>();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OperationLimit {
+        private double capacity;
+        private double refillPerSecond;
+    }
+
+    @Data
+    public static class PackSettings {
+        private PackMode mode = PackMode.API_FIRST;
+        private String file;
+        private String recordFile;
+        private int recordQueueCapacity = 10_000;
+    }
+
+    @Data
+    public static class WarmupSettings {
+        private boolean enabled = false;
+        private Resource hotSetFile;
+        private int parallelism = 8;
+        private Duration timeout = Duration.ofMinutes(2);
+    }
+
+    @Data
+    public static class PeerSettings {
+        private boolean enabled = false;
+        private String self;
+        private String bindAddress = "127.0.0.1";
+        private int port = 7070;
+        private String secret;
+        private List<String> members = new ArrayList<>();
+        private int virtualNodes = 128;
+        private Duration timeout = Duration.ofMillis(50);
+        private Duration backoff = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class JobSettings {
+        private boolean enabled = false;
+        private String directory = "./jobs";
+        private int concurrency = 16;
+        private int chunkRows = 1024;
+    }
+
+    @Data
+    public static class ExecutionSettings {
+        private ThreadMode mode = ThreadMode.PLATFORM;
+    }
+
+    @Data
+    public static class BatchSettings {
+        private int threads = 32;
+        private int concurrency = 16;
+        private int maximumItems = 10_000;
+    }
+
+    @Data
+    public static class CacheSettings {
+        private Store square = new Store(true, 100_000, Duration.ofHours(24));
+        private Store threeWords = new Store(true, 100_000, Duration.ofHours(24));
+        private NotRecognisedStore notRecognised = new NotRecognisedStore(true, 50_000, Duration.ofMinutes(10));
+        private DiskSettings disk = new DiskSettings();
+        private boolean preSerialise = true;
+    }
+
+    @Data
+    public static class DiskSettings {
+        private boolean enabled = false;
+        private String file;
+        private long maximumEntries = 10_000_000;
+        private Duration syncInterval = Duration.ofSeconds(1);
+        private Duration compactionInterval = Duration.ofMinutes(10);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Store {
+        private boolean enabled;
+        private long maximumSize;
+        private Duration expireAfterWrite;
+    }
+
+    /**
+     * Not recognised outcomes are weighed by the suggestions they carry, so the bound is a number of suggestions
+     * rather than of entries.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class NotRecognisedStore {
+        private boolean enabled;
+        private long maximumSuggestions;
+        private Duration expireAfterWrite;
     }
 }
@@ -0,0 +1,17 @@
+package com.akash.emergency.dto.autoSuggest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Suggestions {
+    private List<EmergencySuggestion> suggestions;
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean partial;
+}
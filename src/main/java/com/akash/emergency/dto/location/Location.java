@@ -1,21 +1,20 @@
 package com.akash.emergency.dto.location;
 
+import com.akash.emergency.validation.CoordinateRange;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import javax.validation.constraints.DecimalMax;
-import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.NotNull;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Location {
-    @DecimalMin(value = "-90.0", message = "Latitude must be between -90.0 and 90.0")
-    @DecimalMax(value = "90.0", message = "Latitude must be between -90.0 and 90.0")
+    @CoordinateRange(min = -90.0, max = 90.0, message = "Latitude must be between -90.0 and 90.0")
     @NotNull(message = "Latitude must not be null/empty")
     private Double lat;
+    @CoordinateRange(min = -180.0, max = 180.0, message = "Longitude must be between -180.0 and 180.0")
     @NotNull(message = "Longitude must not be null/empty")
     private Double lng;
 }
@@ -1,5 +1,6 @@
 package com.akash.emergency.dto.threeWords;
 
+import com.akash.emergency.validation.ThreeWordAddressFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -7,7 +8,6 @@ import lombok.NoArgsConstructor;
 
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
-import javax.validation.constraints.Pattern;
 
 @Data
 @NoArgsConstructor
@@ -15,6 +15,6 @@ import javax.validation.constraints.Pattern;
 public class ThreeWordAddress {
     @JsonProperty("3wa")
     @NotNull(message = "3wa must not be null")
-    @Pattern(regexp = "^/*(?:(?:\\p{L}\\p{M}*)+[.｡。･・︒។։။۔።।](?:\\p{L}\\p{M}*)+[.｡。･・︒។։။۔።।](?:\\p{L}\\p{M}*)+|(?:\\p{L}\\p{M}*)+([\u0020\u00A0](?:\\p{L}\\p{M}*)+){1,3}[.｡。･・︒។։။۔።।](?:\\p{L}\\p{M}*)+([\u0020\u00A0](?:\\p{L}\\p{M}*)+){1,3}[.｡。･・︒។։။۔።।](?:\\p{L}\\p{M}*)+([\u0020\u00A0](?:\\p{L}\\p{M}*)+){1,3})$", message = "3wa address supplied has invalid format")
+    @ThreeWordAddressFormat
     private String threeWordAddress;
 }
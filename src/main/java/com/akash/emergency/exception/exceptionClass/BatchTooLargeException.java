@@ -0,0 +1,7 @@
+package com.akash.emergency.exception.exceptionClass;
+
+public class BatchTooLargeException extends RuntimeException{
+    public BatchTooLargeException(int size, int maximumSize){
+        super("Batch of " + size + " items exceeds the maximum of " + maximumSize);
+    }
+}
@@ -12,10 +12,15 @@ public class InvalidLanguageCodeException extends RuntimeException{
     private String message;
     public InvalidLanguageCodeException(String languageCode){
         this.languageCode = languageCode;
-        this.message = getInvalidLanguageCodeResponse(languageCode);
+        this.message = messageFor(languageCode);
     }
 
-    private String getInvalidLanguageCodeResponse(String languageCode){
+    public static String messageFor(String languageCode){
         return (new StringBuilder(languageCode).append(" is not a valid language code")).toString();
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
@@ -0,0 +1,7 @@
+package com.akash.emergency.exception.exceptionClass;
+
+public class JobNotCompleteException extends RuntimeException{
+    public JobNotCompleteException(String id, String state){
+        super("Job " + id + " is " + state + ", its result is only available once it has completed");
+    }
+}
@@ -0,0 +1,7 @@
+package com.akash.emergency.exception.exceptionClass;
+
+public class JobNotFoundException extends RuntimeException{
+    public JobNotFoundException(String id){
+        super("No job with id " + id);
+    }
+}
@@ -7,6 +7,9 @@ import lombok.NoArgsConstructor;
 
 import java.util.List;
 
+/**
+ * A 303 with suggestions is an expected answer rather than a fault, so no stack trace is captured.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,13 +17,24 @@ public class LocationAutoSuggestException extends RuntimeException{
     private String threeWordAddress;
     private String message;
     private List<EmergencySuggestion> suggestions;
+    private boolean partial;
     public LocationAutoSuggestException(String threeWordAddress, List<EmergencySuggestion> suggestions){
+        this(threeWordAddress, suggestions, false);
+    }
+
+    public LocationAutoSuggestException(String threeWordAddress, List<EmergencySuggestion> suggestions, boolean partial){
         this.suggestions = suggestions;
         this.threeWordAddress = threeWordAddress;
-        this.message = getMessageForThreeWordAddress();
+        this.partial = partial;
+        this.message = messageFor(threeWordAddress);
     }
 
-    private String getMessageForThreeWordAddress() {
+    public static String messageFor(String threeWordAddress) {
         return new StringBuilder("3wa not recognised: ").append(threeWordAddress).toString();
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
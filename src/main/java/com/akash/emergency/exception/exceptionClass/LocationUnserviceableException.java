@@ -1,7 +1,15 @@
 package com.akash.emergency.exception.exceptionClass;
 
+/**
+ * Points outside the allowed countries are an expected answer, so no stack trace is captured.
+ */
 public class LocationUnserviceableException extends RuntimeException{
     public LocationUnserviceableException(String message){
         super(message);
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
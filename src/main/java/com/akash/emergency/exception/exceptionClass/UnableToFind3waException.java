@@ -1,7 +1,15 @@
 package com.akash.emergency.exception.exceptionClass;
 
+/**
+ * No stack trace is captured; the cause, when there is one, still carries the trace of the upstream failure.
+ */
 public class UnableToFind3waException extends RuntimeException{
     public UnableToFind3waException(String message, Throwable cause){
         super(message, cause);
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
@@ -0,0 +1,13 @@
+package com.akash.emergency.exception.exceptionClass;
+
+import lombok.Getter;
+
+@Getter
+public class UpstreamQuotaExceededException extends UpstreamUnavailableException{
+    private final long retryAfterSeconds;
+
+    public UpstreamQuotaExceededException(String operation, long retryAfterSeconds){
+        super("What3Words " + operation + " request budget is exhausted, retry after " + retryAfterSeconds + " seconds");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
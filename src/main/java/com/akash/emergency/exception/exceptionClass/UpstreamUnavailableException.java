@@ -0,0 +1,11 @@
+package com.akash.emergency.exception.exceptionClass;
+
+public class UpstreamUnavailableException extends RuntimeException{
+    public UpstreamUnavailableException(String operation, Throwable cause){
+        super("What3Words " + operation + " is temporarily unavailable, please retry shortly", cause);
+    }
+
+    protected UpstreamUnavailableException(String message){
+        super(message);
+    }
+}
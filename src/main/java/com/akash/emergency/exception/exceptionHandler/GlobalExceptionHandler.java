@@ -5,6 +5,11 @@ import com.akash.emergency.response.AutoSuggestLocationResponse;
 import com.akash.emergency.response.error.ErrorResponse;
 import com.akash.emergency.response.error.RequestValidationErrorResponse;
 import com.akash.emergency.response.error.UnableToFind3waErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -12,56 +17,158 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
+    private static final ExceptionHandlerMethodResolver HANDLERS =
+            new ExceptionHandlerMethodResolver(GlobalExceptionHandler.class);
     private final String inValidFormatMessage = "invalid format";
     private final String ThreeWordAddressClassName = "ThreeWordAddress";
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler() {
+        this(new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleRequestValidationException(MethodArgumentNotValidException ex) {
+        count(ex, HttpStatus.BAD_REQUEST);
         List<String> errorMessages = getErrorMessagesFromMethodArgumentNotValidException(ex);
         ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.BAD_REQUEST);
-        return returnErrorResponseValidationException(ex, response, errorMessages);
+        return returnErrorResponseValidationException(ex.getParameter().getParameterType(), response, errorMessages);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleWebExchangeBindException(WebExchangeBindException ex) {
+        count(ex, HttpStatus.BAD_REQUEST);
+        List<String> errorMessages = new ArrayList<>();
+        for (FieldError fieldError : ex.getFieldErrors()) {
+            errorMessages.add(fieldError.getDefaultMessage());
+        }
+        Class<?> requestType = Objects.nonNull(ex.getMethodParameter()) ? ex.getMethodParameter().getParameterType() : Object.class;
+        return handleValidationErrors(requestType, errorMessages);
     }
 
     @ExceptionHandler(UnableToFind3waException.class)
     public ResponseEntity<UnableToFind3waErrorResponse> handleUnableToFind3waException(UnableToFind3waException ex) {
+        count(ex, HttpStatus.NOT_IMPLEMENTED);
         return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(UnableToFind3waErrorResponse.builder()
                 .build());
     }
 
     @ExceptionHandler(LocationUnserviceableException.class)
     public ResponseEntity<ErrorResponse> handleLocationUnserviceableException(LocationUnserviceableException ex) {
+        count(ex, HttpStatus.NOT_ACCEPTABLE);
         return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).body(new ErrorResponse(ex.getMessage()));
     }
 
     @ExceptionHandler(Invalid3waException.class)
     public ResponseEntity<ErrorResponse> handleInvalid3waException(Invalid3waException ex) {
+        count(ex, HttpStatus.BAD_REQUEST);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(ex.getMessage()));
     }
 
     @ExceptionHandler(LocationAutoSuggestException.class)
     public ResponseEntity<AutoSuggestLocationResponse> handleLocationAutoSuggestException(LocationAutoSuggestException ex) {
+        count(ex, HttpStatus.SEE_OTHER);
         return ResponseEntity.status(HttpStatus.SEE_OTHER).body(new
-                AutoSuggestLocationResponse(ex.getMessage(), ex.getSuggestions()));
+                AutoSuggestLocationResponse(ex.getMessage(), ex.getSuggestions(), ex.isPartial()));
     }
 
     @ExceptionHandler(InvalidLanguageCodeException.class)
     public ResponseEntity<ErrorResponse> handleInvalidLanguageCodeException(InvalidLanguageCodeException ex) {
+        count(ex, HttpStatus.BAD_REQUEST);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new
                 ErrorResponse(ex.getMessage()));
     }
 
+    @ExceptionHandler(JobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleJobNotFoundException(JobNotFoundException ex) {
+        count(ex, HttpStatus.NOT_FOUND);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(JobNotCompleteException.class)
+    public ResponseEntity<ErrorResponse> handleJobNotCompleteException(JobNotCompleteException ex) {
+        count(ex, HttpStatus.CONFLICT);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleBatchTooLargeException(BatchTooLargeException ex) {
+        count(ex, HttpStatus.PAYLOAD_TOO_LARGE);
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(UpstreamQuotaExceededException.class)
+    public ResponseEntity<ErrorResponse> handleUpstreamQuotaExceededException(UpstreamQuotaExceededException ex) {
+        count(ex, HttpStatus.TOO_MANY_REQUESTS);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleUpstreamUnavailableException(UpstreamUnavailableException ex) {
+        count(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ErrorResponse(ex.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception ex) {
+        count(ex, HttpStatus.INTERNAL_SERVER_ERROR);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new
                 ErrorResponse(ex.getMessage()));
     }
 
+    /**
+     * Maps an exception caught outside the dispatcher (batch and streamed items) to the response of the
+     * {@link ExceptionHandler} method Spring itself would pick for it, so both paths share one mapping.
+     */
+    public ResponseEntity<?> handle(Exception ex) {
+        Method method = HANDLERS.resolveMethod(ex);
+        try {
+            return (ResponseEntity<?>) method.invoke(this, ex);
+        } catch (IllegalAccessException | InvocationTargetException invocationFailure) {
+            throw new IllegalStateException("Unable to handle " + ex.getClass().getName(), invocationFailure);
+        }
+    }
+
+    public ResponseEntity<ErrorResponse> handleValidationErrors(Class<?> requestType, List<String> errorMessages) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.BAD_REQUEST);
+        return returnErrorResponseValidationException(requestType, response, errorMessages);
+    }
+
+    /**
+     * Counts an error returned to a client. Shared with {@link com.akash.emergency.rest.LookupResultResponses} so a
+     * lookup result and the exception it stands in for are counted under the same tags.
+     */
+    public static void countError(MeterRegistry meterRegistry, String exception, HttpStatus status) {
+        Counter.builder("emergency.errors")
+                .description("Errors returned to clients, by exception type")
+                .tag("exception", exception)
+                .tag("status", Integer.toString(status.value()))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void count(Exception ex, HttpStatus status) {
+        countError(meterRegistry, ex.getClass().getSimpleName(), status);
+    }
+
     private List<String> getErrorMessagesFromMethodArgumentNotValidException(MethodArgumentNotValidException ex){
         BindingResult bindingResult = ex.getBindingResult();
         List<FieldError> fieldErrors = bindingResult.getFieldErrors();
@@ -72,14 +179,14 @@ public class GlobalExceptionHandler {
         return errorMessages;
     }
 
-    private boolean isInvalidThreeWordAddress(List<String> errorMessages, MethodArgumentNotValidException ex){
-        return ex.getParameter().getParameterType().getName().contains(ThreeWordAddressClassName) &&
+    private boolean isInvalidThreeWordAddress(List<String> errorMessages, Class<?> requestType){
+        return requestType.getName().contains(ThreeWordAddressClassName) &&
                 errorMessages.size() == 1 && errorMessages.get(0).contains(inValidFormatMessage);
     }
 
-    private ResponseEntity<ErrorResponse> returnErrorResponseValidationException(MethodArgumentNotValidException ex,
+    private ResponseEntity<ErrorResponse> returnErrorResponseValidationException(Class<?> requestType,
                                                                                  ResponseEntity.BodyBuilder response, List<String> errorMessages){
-        if(isInvalidThreeWordAddress(errorMessages, ex)){
+        if(isInvalidThreeWordAddress(errorMessages, requestType)){
             return response.body(new ErrorResponse
                     (errorMessages.get(0)));
         } else {
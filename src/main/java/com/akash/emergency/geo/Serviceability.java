@@ -0,0 +1,8 @@
+package com.akash.emergency.geo;
+
+public enum Serviceability {
+    INSIDE,
+    BORDER,
+    OUTSIDE,
+    INVALID
+}
@@ -0,0 +1,155 @@
+package com.akash.emergency.geo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * In-memory index of the serviceable countries' geometry. A 1 degree grid is pre-classified as inside, outside or
+ * border when the index is built, so most lookups are a single array read; only border cells check the boxes.
+ * Outer boxes are widened by a margin so rounding in the bundled geometry never rejects a serviceable point.
+ */
+public class ServiceabilityIndex {
+    private static final Logger log = LoggerFactory.getLogger(ServiceabilityIndex.class);
+    private static final byte outsideCell = 0;
+    private static final byte borderCell = 1;
+    private static final byte insideCell = 2;
+    private static final int rows = 180;
+    private static final int columns = 360;
+
+    private final byte[] cells;
+    private final List<Box> outer;
+    private final List<Box> inner;
+
+    private ServiceabilityIndex(List<Box> outer, List<Box> inner) {
+        this.outer = outer;
+        this.inner = inner;
+        this.cells = new byte[rows * columns];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                cells[row * columns + column] = classifyCell(new Box(row - 90, column - 180, row - 89, column - 179));
+            }
+        }
+    }
+
+    private ServiceabilityIndex() {
+        this.outer = null;
+        this.inner = null;
+        this.cells = null;
+    }
+
+    public static ServiceabilityIndex unrestricted() {
+        return new ServiceabilityIndex();
+    }
+
+    public static ServiceabilityIndex load(InputStream regions, List<String> allowedCountries, double borderMargin)
+            throws IOException {
+        List<Box> outer = new ArrayList<>();
+        List<Box> inner = new ArrayList<>();
+        Set<String> countriesWithGeometry = new HashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(regions, StandardCharsets.UTF_8))) {
+            String line;
+            while (Objects.nonNull(line = reader.readLine())) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (!allowedCountries.contains(fields[0])) {
+                    continue;
+                }
+                Box box = new Box(Double.parseDouble(fields[2]), Double.parseDouble(fields[3]),
+                        Double.parseDouble(fields[4]), Double.parseDouble(fields[5]));
+                if ("outer".equals(fields[1])) {
+                    outer.add(box.widen(borderMargin));
+                    countriesWithGeometry.add(fields[0]);
+                } else {
+                    inner.add(box);
+                }
+            }
+        }
+        if (!countriesWithGeometry.containsAll(allowedCountries)) {
+            log.warn("No bundled geometry for some of {}, serviceability pre-check is disabled", allowedCountries);
+            return unrestricted();
+        }
+        return new ServiceabilityIndex(outer, inner);
+    }
+
+    public Serviceability classify(double lat, double lng) {
+        if (!(lat >= -90.0 && lat <= 90.0 && lng >= -180.0 && lng <= 180.0)) {
+            return Serviceability.INVALID;
+        }
+        if (Objects.isNull(cells)) {
+            return Serviceability.BORDER;
+        }
+        byte cell = cells[Math.min((int) (lat + 90.0), rows - 1) * columns + Math.min((int) (lng + 180.0), columns - 1)];
+        if (cell == outsideCell) {
+            return Serviceability.OUTSIDE;
+        }
+        if (cell == insideCell) {
+            return Serviceability.INSIDE;
+        }
+        for (Box box : inner) {
+            if (box.contains(lat, lng)) {
+                return Serviceability.INSIDE;
+            }
+        }
+        for (Box box : outer) {
+            if (box.contains(lat, lng)) {
+                return Serviceability.BORDER;
+            }
+        }
+        return Serviceability.OUTSIDE;
+    }
+
+    private byte classifyCell(Box cell) {
+        for (Box box : inner) {
+            if (box.covers(cell)) {
+                return insideCell;
+            }
+        }
+        for (Box box : outer) {
+            if (box.intersects(cell)) {
+                return borderCell;
+            }
+        }
+        return outsideCell;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class Box {
+        private final double minLat;
+        private final double minLng;
+        private final double maxLat;
+        private final double maxLng;
+
+        Box widen(double margin) {
+            return new Box(minLat - margin, minLng - margin, maxLat + margin, maxLng + margin);
+        }
+
+        boolean contains(double lat, double lng) {
+            return lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng;
+        }
+
+        boolean covers(Box other) {
+            return other.minLat >= minLat && other.maxLat <= maxLat && other.minLng >= minLng && other.maxLng <= maxLng;
+        }
+
+        boolean intersects(Box other) {
+            return other.minLat <= maxLat && other.maxLat >= minLat && other.minLng <= maxLng && other.maxLng >= minLng;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.akash.emergency.job;
+
+import com.akash.emergency.config.TaskExecutors;
+import com.akash.emergency.dto.location.Location;
+import com.akash.emergency.dto.threeWords.ThreeWordAddress;
+import com.akash.emergency.exception.exceptionClass.JobNotCompleteException;
+import com.akash.emergency.exception.exceptionClass.JobNotFoundException;
+import com.akash.emergency.exception.exceptionClass.UpstreamQuotaExceededException;
+import com.akash.emergency.exception.exceptionClass.UpstreamUnavailableException;
+import com.akash.emergency.service.intf.EmergencyService;
+import com.akash.emergency.service.result.LookupResult;
+import com.akash.emergency.validation.ThreeWordAddressValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Converts CSV files of coordinates to 3wa and back in the background. The upload is streamed to disk, and jobs run
+ * one at a time. Each job reads its input through a {@link LineReader} in chunks of {@code chunkRows} rows and
+ * resolves a chunk's rows concurrently through the {@link EmergencyService}, so they use its caches and outbound
+ * limits. Results are appended in input order and the job is checkpointed at most once a second, after the output
+ * has been forced to disk. Unfinished jobs are
+ * picked up again when the service starts.
+ * <p>
+ * Each output row is the input row followed by the result columns and the lookup outcome: {@code words,outcome} for
+ * coordinates ({@code lat,lng} in the first two columns) and {@code lat,lng,outcome} for 3wa (in the first column).
+ * When What3Words is unavailable the chunk waits and retries instead of recording failures.
+ */
+public class BulkJobService implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(BulkJobService.class);
+    private static final long UNAVAILABLE_BACKOFF_SECONDS = 5;
+    private static final long CHECKPOINT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final EmergencyService emergencyService;
+    private final Path directory;
+    private final ExecutorService rowExecutor;
+    private final int chunkRows;
+    private final ExecutorService jobExecutor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    public BulkJobService(EmergencyService emergencyService, Path directory, ExecutorService rowExecutor, int chunkRows)
+            throws IOException {
+        this.emergencyService = emergencyService;
+        this.directory = Files.createDirectories(directory);
+        this.rowExecutor = rowExecutor;
+        this.chunkRows = chunkRows;
+        this.jobExecutor = Executors.newSingleThreadExecutor(TaskExecutors.namedThreadFactory("bulk-job-"));
+        List<Job> unfinished = new ArrayList<>();
+        try (Stream<Path> children = Files.list(this.directory)) {
+            for (Path child : (Iterable<Path>) children::iterator) {
+                if (Job.exists(child)) {
+                    Job job = Job.load(child);
+                    jobs.put(job.getId(), job);
+                    if (job.getState() == JobState.QUEUED || job.getState() == JobState.RUNNING) {
+                        unfinished.add(job);
+                    }
+                }
+            }
+        }
+        unfinished.sort(Comparator.comparing(job -> job.toStatus().getSubmittedAt()));
+        unfinished.forEach(this::enqueue);
+        if (!unfinished.isEmpty()) {
+            log.info("Resuming {} unfinished bulk jobs from {}", unfinished.size(), directory);
+        }
+    }
+
+    public JobStatus submit(JobType type, InputStream input) throws IOException {
+        String id = UUID.randomUUID().toString();
+        Path jobDirectory = Files.createDirectory(directory.resolve(id));
+        Files.copy(input, jobDirectory.resolve(Job.INPUT));
+        Job job = Job.create(jobDirectory, id, type);
+        jobs.put(id, job);
+        enqueue(job);
+        return job.toStatus();
+    }
+
+    public JobStatus status(String id) {
+        return find(id).toStatus();
+    }
+
+    public Path result(String id) {
+        Job job = find(id);
+        JobState state = job.getState();
+        if (state != JobState.COMPLETED) {
+            throw new JobNotCompleteException(id, state.name().toLowerCase(Locale.ROOT));
+        }
+        return job.output();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        jobExecutor.shutdownNow();
+        rowExecutor.shutdownNow();
+    }
+
+    private Job find(String id) {
+        Job job = jobs.get(id);
+        if (Objects.isNull(job)) {
+            throw new JobNotFoundException(id);
+        }
+        return job;
+    }
+
+    private void enqueue(Job job) {
+        jobExecutor.execute(() -> run(job));
+    }
+
+    private void run(Job job) {
+        try {
+            job.start();
+            if (process(job)) {
+                job.complete();
+                JobStatus status = job.toStatus();
+                log.info("Bulk job {} resolved {} of {} rows", job.getId(), status.getResolvedRows(), status.getRows());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Bulk job {} failed", job.getId(), ex);
+            try {
+                job.fail(ex.getMessage());
+            } catch (IOException checkpointFailed) {
+                log.warn("Unable to record the failure of bulk job {}", job.getId(), checkpointFailed);
+            }
+        }
+    }
+
+    /**
+     * Returns false when the service is closing; the job stays running and resumes from its last checkpoint.
+     */
+    private boolean process(Job job) throws IOException, InterruptedException {
+        try (LineReader reader = new LineReader(job.input(), job.getInputOffset());
+             FileChannel output = FileChannel.open(job.output(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            output.truncate(job.getOutputOffset());
+            output.position(job.getOutputOffset());
+            List<String> lines = new ArrayList<>(chunkRows);
+            long lastCheckpoint = System.nanoTime();
+            boolean end = false;
+            while (!end) {
+                lines.clear();
+                while (lines.size() < chunkRows) {
+                    String line = reader.readLine();
+                    if (Objects.isNull(line)) {
+                        end = true;
+                        break;
+                    } else if (!line.isBlank()) {
+                        lines.add(line);
+                    }
+                }
+                Row[] rows = new Row[lines.size()];
+                if (!resolveChunk(job.getType(), lines, rows)) {
+                    return false;
+                }
+                StringBuilder chunk = new StringBuilder();
+                int resolved = 0;
+                for (Row row : rows) {
+                    chunk.append(row.output).append('\n');
+                    resolved += row.resolved ? 1 : 0;
+                }
+                ByteBuffer bytes = ByteBuffer.wrap(chunk.toString().getBytes(StandardCharsets.UTF_8));
+                while (bytes.hasRemaining()) {
+                    output.write(bytes);
+                }
+                job.advance(reader.position(), output.position(), rows.length, resolved);
+                if (end || System.nanoTime() - lastCheckpoint >= CHECKPOINT_INTERVAL_NANOS) {
+                    output.force(false);
+                    job.checkpoint();
+                    lastCheckpoint = System.nanoTime();
+                }
+            }
+            return true;
+        }
+    }
+
+    private boolean resolveChunk(JobType type, List<String> lines, Row[] rows) throws InterruptedException {
+        List<Integer> pending = new ArrayList<>(lines.size());
+        for (int index = 0; index < lines.size(); index++) {
+            pending.add(index);
+        }
+        while (!pending.isEmpty()) {
+            List<CompletableFuture<Row>> futures = new ArrayList<>(pending.size());
+            for (int index : pending) {
+                String line = lines.get(index);
+                try {
+                    futures.add(CompletableFuture.supplyAsync(() -> resolve(type, line), rowExecutor));
+                } catch (RejectedExecutionException ex) {
+                    futures.add(CompletableFuture.failedFuture(ex));
+                }
+            }
+            List<Integer> retry = new ArrayList<>();
+            long backoffSeconds = UNAVAILABLE_BACKOFF_SECONDS;
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    rows[pending.get(i)] = futures.get(i).get();
+                } catch (ExecutionException ex) {
+                    if (!(ex.getCause() instanceof UpstreamUnavailableException
+                            || ex.getCause() instanceof RejectedExecutionException)) {
+                        throw new IllegalStateException("Unable to resolve bulk job row", ex.getCause());
+                    }
+                    if (ex.getCause() instanceof UpstreamQuotaExceededException) {
+                        backoffSeconds = Math.max(1, ((UpstreamQuotaExceededException) ex.getCause()).getRetryAfterSeconds());
+                    }
+                    retry.add(pending.get(i));
+                }
+            }
+            if (!retry.isEmpty()) {
+                log.warn("What3Words or the row pool is unavailable, retrying {} bulk job rows in {}s", retry.size(), backoffSeconds);
+                TimeUnit.SECONDS.sleep(backoffSeconds);
+            }
+            if (closed) {
+                return false;
+            }
+            pending = retry;
+        }
+        return true;
+    }
+
+    private Row resolve(JobType type, String line) {
+        try {
+            return type == JobType.COORD_TO_3WA ? resolveLocation(line) : resolveThreeWords(line);
+        } catch (UpstreamUnavailableException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            return new Row(line + (type == JobType.COORD_TO_3WA ? ",," : ",,,") + "unresolved", false);
+        }
+    }
+
+    private Row resolveLocation(String line) {
+        Location location = parseLocation(line);
+        if (Objects.isNull(location)) {
+            return new Row(line + ",,invalid", false);
+        }
+        LookupResult<ThreeWordAddress> result = emergencyService.coordTo3waResult(location);
+        String words = result.isFound() ? result.getValue().getThreeWordAddress() : "";
+        return new Row(line + ',' + words + ',' + outcome(result), result.isFound());
+    }
+
+    private Row resolveThreeWords(String line) {
+        int comma = line.indexOf(',');
+        String words = (comma < 0 ? line : line.substring(0, comma)).trim();
+        if (!ThreeWordAddressValidator.isValid(words)) {
+            return new Row(line + ",,,invalid", false);
+        }
+        LookupResult<Location> result = emergencyService._3waToCoordResult(new ThreeWordAddress(words));
+        String location = result.isFound() ? result.getValue().getLat() + "," + result.getValue().getLng() : ",";
+        return new Row(line + ',' + location + ',' + outcome(result), result.isFound());
+    }
+
+    private static Location parseLocation(String line) {
+        int first = line.indexOf(',');
+        if (first < 0) {
+            return null;
+        }
+        int second = line.indexOf(',', first + 1);
+        try {
+            double lat = Double.parseDouble(line.substring(0, first).trim());
+            double lng = Double.parseDouble(line.substring(first + 1, second < 0 ? line.length() : second).trim());
+            return new Location(lat, lng);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static String outcome(LookupResult<?> result) {
+        return result.getOutcome().name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Row {
+        private final String output;
+        private final boolean resolved;
+
+        private Row(String output, boolean resolved) {
+            this.output = output;
+            this.resolved = resolved;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.akash.emergency.job;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bulk job and its checkpoint, kept in its own directory next to the input and output files. The checkpoint
+ * records how far the input has been read and how long the output was at that point, so a restarted job truncates
+ * the output back to the checkpoint and carries on reading from there, resolving again any rows written after it.
+ */
+final class Job {
+    static final String INPUT = "input.csv";
+    static final String OUTPUT = "output.csv";
+    private static final String CHECKPOINT = "job.properties";
+
+    private final Path directory;
+    private final String id;
+    private final JobType type;
+    private final Instant submittedAt;
+    private final long inputBytes;
+    private JobState state;
+    private long inputOffset;
+    private long outputOffset;
+    private long rows;
+    private long resolvedRows;
+    private String error;
+    private long runStartedNanos;
+    private long runEndedNanos;
+    private long runStartRows;
+
+    private Job(Path directory, String id, JobType type, Instant submittedAt, long inputBytes) {
+        this.directory = directory;
+        this.id = id;
+        this.type = type;
+        this.submittedAt = submittedAt;
+        this.inputBytes = inputBytes;
+    }
+
+    static Job create(Path directory, String id, JobType type) throws IOException {
+        Job job = new Job(directory, id, type, Instant.now(), Files.size(directory.resolve(INPUT)));
+        job.state = JobState.QUEUED;
+        job.checkpoint();
+        return job;
+    }
+
+    static Job load(Path directory) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(directory.resolve(CHECKPOINT))) {
+            properties.load(in);
+        }
+        Job job = new Job(directory, directory.getFileName().toString(), JobType.valueOf(properties.getProperty("type")),
+                Instant.parse(properties.getProperty("submittedAt")), Long.parseLong(properties.getProperty("inputBytes")));
+        job.state = JobState.valueOf(properties.getProperty("state"));
+        job.inputOffset = Long.parseLong(properties.getProperty("inputOffset"));
+        job.outputOffset = Long.parseLong(properties.getProperty("outputOffset"));
+        job.rows = Long.parseLong(properties.getProperty("rows"));
+        job.resolvedRows = Long.parseLong(properties.getProperty("resolvedRows"));
+        job.error = properties.getProperty("error");
+        return job;
+    }
+
+    static boolean exists(Path directory) {
+        return Files.isRegularFile(directory.resolve(CHECKPOINT));
+    }
+
+    String getId() {
+        return id;
+    }
+
+    JobType getType() {
+        return type;
+    }
+
+    Path input() {
+        return directory.resolve(INPUT);
+    }
+
+    Path output() {
+        return directory.resolve(OUTPUT);
+    }
+
+    synchronized JobState getState() {
+        return state;
+    }
+
+    synchronized long getInputOffset() {
+        return inputOffset;
+    }
+
+    synchronized long getOutputOffset() {
+        return outputOffset;
+    }
+
+    synchronized void start() throws IOException {
+        state = JobState.RUNNING;
+        runStartedNanos = System.nanoTime();
+        runStartRows = rows;
+        checkpoint();
+    }
+
+    /**
+     * Records progress in memory; it only survives a restart once {@link #checkpoint()} is called.
+     */
+    synchronized void advance(long inputOffset, long outputOffset, int rows, int resolvedRows) {
+        this.inputOffset = inputOffset;
+        this.outputOffset = outputOffset;
+        this.rows += rows;
+        this.resolvedRows += resolvedRows;
+    }
+
+    synchronized void complete() throws IOException {
+        state = JobState.COMPLETED;
+        runEndedNanos = System.nanoTime();
+        checkpoint();
+    }
+
+    synchronized void fail(String error) throws IOException {
+        state = JobState.FAILED;
+        this.error = error;
+        runEndedNanos = System.nanoTime();
+        checkpoint();
+    }
+
+    synchronized JobStatus toStatus() {
+        double rowsPerSecond = 0;
+        if (runStartedNanos != 0) {
+            long elapsed = (runEndedNanos != 0 ? runEndedNanos : System.nanoTime()) - runStartedNanos;
+            rowsPerSecond = elapsed > 0 ? (rows - runStartRows) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed : 0;
+        }
+        return new JobStatus(id, type, state, submittedAt, inputBytes, inputOffset, rows, resolvedRows, rowsPerSecond,
+                error);
+    }
+
+    synchronized void checkpoint() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("type", type.name());
+        properties.setProperty("submittedAt", submittedAt.toString());
+        properties.setProperty("inputBytes", Long.toString(inputBytes));
+        properties.setProperty("state", state.name());
+        properties.setProperty("inputOffset", Long.toString(inputOffset));
+        properties.setProperty("outputOffset", Long.toString(outputOffset));
+        properties.setProperty("rows", Long.toString(rows));
+        properties.setProperty("resolvedRows", Long.toString(resolvedRows));
+        if (Objects.nonNull(error)) {
+            properties.setProperty("error", error);
+        }
+        Path temporary = directory.resolve(CHECKPOINT + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            properties.store(out, null);
+        }
+        Files.move(temporary, directory.resolve(CHECKPOINT), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,8 @@
+package com.akash.emergency.job;
+
+public enum JobState {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
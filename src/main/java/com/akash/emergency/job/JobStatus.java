@@ -0,0 +1,25 @@
+package com.akash.emergency.job;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobStatus {
+    private String id;
+    private JobType type;
+    private JobState state;
+    private Instant submittedAt;
+    private long inputBytes;
+    private long bytesRead;
+    private long rows;
+    private long resolvedRows;
+    private double rowsPerSecond;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+}
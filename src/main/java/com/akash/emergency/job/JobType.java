@@ -0,0 +1,6 @@
+package com.akash.emergency.job;
+
+public enum JobType {
+    COORD_TO_3WA,
+    THREE_WORDS_TO_COORD
+}
@@ -0,0 +1,80 @@
+package com.akash.emergency.job;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads UTF-8 lines from a file channel through a fixed direct buffer, starting at a byte offset, and tracks the
+ * offset just after the last line returned so reading can resume there.
+ */
+final class LineReader implements Closeable {
+    private static final int BUFFER_BYTES = 64 << 10;
+    private static final int MAXIMUM_LINE_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private byte[] line = new byte[256];
+    private long position;
+
+    LineReader(Path file, long offset) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.channel.position(offset);
+        this.position = offset;
+        buffer.flip();
+    }
+
+    /**
+     * Next line without its terminator, or null at the end of the file.
+     */
+    String readLine() throws IOException {
+        int length = 0;
+        boolean read = false;
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int count = channel.read(buffer);
+                buffer.flip();
+                if (count < 0) {
+                    return read ? decode(length) : null;
+                }
+                continue;
+            }
+            read = true;
+            byte b = buffer.get();
+            position++;
+            if (b == '\n') {
+                return decode(length);
+            }
+            if (length == line.length) {
+                if (length == MAXIMUM_LINE_BYTES) {
+                    throw new IOException("Line ending at byte " + position + " is longer than " + MAXIMUM_LINE_BYTES
+                            + " bytes");
+                }
+                line = Arrays.copyOf(line, Math.min(length * 2, MAXIMUM_LINE_BYTES));
+            }
+            line[length++] = b;
+        }
+    }
+
+    long position() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private String decode(int length) {
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        return new String(line, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,40 @@
+package com.akash.emergency.pack;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A read-only section of a file mapped in segments, so a section is not limited to the 2 GB a single mapping can
+ * address. Segments hold whole records, so an int or long read never crosses a segment boundary as long as it stays
+ * within one record; sections without fixed records (the string pool) are read a byte at a time.
+ */
+final class MappedSection {
+    static final long MAXIMUM_SEGMENT_BYTES = 1L << 30;
+
+    private final ByteBuffer[] segments;
+    private final long segmentBytes;
+
+    MappedSection(FileChannel channel, long start, long size, int recordBytes, long maximumSegmentBytes)
+            throws IOException {
+        this.segmentBytes = Math.max(recordBytes, maximumSegmentBytes / recordBytes * recordBytes);
+        this.segments = new ByteBuffer[(int) ((size + segmentBytes - 1) / segmentBytes)];
+        for (int segment = 0; segment < segments.length; segment++) {
+            long offset = segment * segmentBytes;
+            segments[segment] = channel.map(FileChannel.MapMode.READ_ONLY, start + offset,
+                    Math.min(segmentBytes, size - offset));
+        }
+    }
+
+    byte get(long position) {
+        return segments[(int) (position / segmentBytes)].get((int) (position % segmentBytes));
+    }
+
+    int getInt(long position) {
+        return segments[(int) (position / segmentBytes)].getInt((int) (position % segmentBytes));
+    }
+
+    long getLong(long position) {
+        return segments[(int) (position / segmentBytes)].getLong((int) (position % segmentBytes));
+    }
+}
@@ -0,0 +1,7 @@
+package com.akash.emergency.pack;
+
+public enum PackMode {
+    PACK_FIRST,
+    API_FIRST,
+    PACK_ONLY
+}
@@ -0,0 +1,214 @@
+package com.akash.emergency.pack;
+
+import com.akash.emergency.cache.GridSquare;
+import com.akash.emergency.cache.SquareEntry;
+import com.akash.emergency.cache.ThreeWordsEntry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+import static com.akash.emergency.pack.RegionPackFormat.*;
+
+/**
+ * Read-only view of a memory-mapped region pack (see {@link RegionPackFormat}). Lookups binary search the mapped
+ * sections with absolute reads and compare 3wa against the pool in place, so nothing is copied onto the heap apart
+ * from the returned entry, and the OS page cache decides how much of the file is resident. Sections are mapped in
+ * segments, so a pack is not limited to 2 GB.
+ */
+public class RegionPack implements Closeable {
+    private final FileChannel channel;
+    private final String language;
+    private final int squareCount;
+    private final int wordsCount;
+    private final MappedSection squares;
+    private final MappedSection words;
+    private final MappedSection pool;
+
+    private RegionPack(FileChannel channel, long maximumSegmentBytes) throws IOException {
+        this.channel = channel;
+        if (channel.size() < HEADER_BYTES) {
+            throw new IOException("Region pack is truncated or corrupt");
+        }
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("Not a version " + VERSION + " region pack");
+        }
+        this.squareCount = header.getInt(8);
+        this.wordsCount = header.getInt(12);
+        long poolBytes = header.getLong(16);
+        byte[] languageBytes = new byte[LANGUAGE_BYTES];
+        for (int i = 0; i < LANGUAGE_BYTES; i++) {
+            languageBytes[i] = header.get(24 + i);
+        }
+        this.language = new String(languageBytes, StandardCharsets.US_ASCII).trim();
+        long squaresStart = HEADER_BYTES;
+        long wordsStart = squaresStart + (long) squareCount * SQUARE_RECORD_BYTES;
+        long poolStart = wordsStart + (long) wordsCount * WORDS_RECORD_BYTES;
+        if (squareCount < 0 || wordsCount < 0 || poolBytes < 0 || channel.size() != poolStart + poolBytes) {
+            throw new IOException("Region pack is truncated or corrupt");
+        }
+        this.squares = new MappedSection(channel, squaresStart, wordsStart - squaresStart, SQUARE_RECORD_BYTES,
+                maximumSegmentBytes);
+        this.words = new MappedSection(channel, wordsStart, poolStart - wordsStart, WORDS_RECORD_BYTES,
+                maximumSegmentBytes);
+        this.pool = new MappedSection(channel, poolStart, poolBytes, 1, maximumSegmentBytes);
+    }
+
+    private RegionPack() {
+        this.channel = null;
+        this.language = null;
+        this.squareCount = 0;
+        this.wordsCount = 0;
+        this.squares = null;
+        this.words = null;
+        this.pool = null;
+    }
+
+    public static RegionPack open(Path file) throws IOException {
+        return open(file, MappedSection.MAXIMUM_SEGMENT_BYTES);
+    }
+
+    static RegionPack open(Path file, long maximumSegmentBytes) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new RegionPack(channel, maximumSegmentBytes);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public static RegionPack empty() {
+        return new RegionPack();
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public int size() {
+        return wordsCount;
+    }
+
+    public SquareEntry findSquare(String language, double lat, double lng) {
+        if (squareCount == 0 || !this.language.equals(language)) {
+            return null;
+        }
+        long cell = GridSquare.cellKey(lat, lng);
+        for (int record = firstSquareRecord(cell); record < squareCount && cell(record) == cell; record++) {
+            SquareEntry square = square(record);
+            if (square.contains(lat, lng)) {
+                return square;
+            }
+        }
+        return null;
+    }
+
+    public ThreeWordsEntry findWords(String threeWordAddress) {
+        if (wordsCount == 0) {
+            return null;
+        }
+        long hash = hash(threeWordAddress);
+        for (int record = firstWordsRecord(hash); record < wordsCount && wordsHash(record) == hash; record++) {
+            long offset = (long) words.getInt((long) record * WORDS_RECORD_BYTES + 8) * SQUARE_RECORD_BYTES;
+            if (poolEquals(squares.getLong(offset + 24), threeWordAddress)) {
+                double lat = (unscale(squares.getInt(offset + 8)) + unscale(squares.getInt(offset + 16))) / 2;
+                double lng = (unscale(squares.getInt(offset + 12)) + unscale(squares.getInt(offset + 20))) / 2;
+                return ThreeWordsEntry.resolved(lat, lng, country(offset));
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (Objects.nonNull(channel)) {
+            channel.close();
+        }
+    }
+
+    private int firstSquareRecord(long cell) {
+        int low = 0;
+        int high = squareCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cell(mid) < cell) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int firstWordsRecord(long hash) {
+        int low = 0;
+        int high = wordsCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (wordsHash(mid) < hash) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private long cell(int record) {
+        return squares.getLong((long) record * SQUARE_RECORD_BYTES);
+    }
+
+    private long wordsHash(int record) {
+        return words.getLong((long) record * WORDS_RECORD_BYTES);
+    }
+
+    private SquareEntry square(int record) {
+        long offset = (long) record * SQUARE_RECORD_BYTES;
+        return new SquareEntry(unscale(squares.getInt(offset + 8)), unscale(squares.getInt(offset + 12)),
+                unscale(squares.getInt(offset + 16)), unscale(squares.getInt(offset + 20)),
+                poolString(squares.getLong(offset + 24)), country(offset));
+    }
+
+    private String country(long offset) {
+        return new String(new char[]{(char) squares.get(offset + 32), (char) squares.get(offset + 33)});
+    }
+
+    private int poolLength(long offset) {
+        return (pool.get(offset) & 0xff) << 8 | pool.get(offset + 1) & 0xff;
+    }
+
+    private String poolString(long offset) {
+        byte[] utf8 = new byte[poolLength(offset)];
+        for (int i = 0; i < utf8.length; i++) {
+            utf8[i] = pool.get(offset + 2 + i);
+        }
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compares the pooled 3wa with the normalised form of {@code threeWordAddress}, encoding it on the fly.
+     */
+    private boolean poolEquals(long offset, String threeWordAddress) {
+        long position = offset + 2;
+        long end = position + poolLength(offset);
+        for (int index = start(threeWordAddress); index < threeWordAddress.length(); ) {
+            int codePoint = threeWordAddress.codePointAt(index);
+            index += Character.charCount(codePoint);
+            codePoint = Character.toLowerCase(codePoint);
+            int length = utf8Length(codePoint);
+            for (int i = 0; i < length; i++) {
+                if (position == end || pool.get(position++) != (byte) utf8Byte(codePoint, length, i)) {
+                    return false;
+                }
+            }
+        }
+        return position == end;
+    }
+}
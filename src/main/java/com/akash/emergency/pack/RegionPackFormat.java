@@ -0,0 +1,84 @@
+package com.akash.emergency.pack;
+
+/**
+ * Layout of a region pack file, all values big-endian:
+ * <pre>
+ * header  magic:int version:int squares:int words:int poolBytes:long language:byte[8]
+ * squares squares x (cell:long swLat:int swLng:int neLat:int neLng:int wordsOffset:long country:byte[2] padding:byte[6])
+ *         sorted by cell, one record for every grid cell a square overlaps
+ * words   words x (hash:long square:int) sorted by hash, square is the index of one of its square records
+ * pool    length:short utf8:byte[length] for every 3wa, referenced by wordsOffset
+ * </pre>
+ * Coordinates are stored as degrees scaled by 10^7. 3wa are stored normalised: leading slashes dropped and every code
+ * point lower-cased, which lets lookups hash and compare the caller's input without building a normalised copy.
+ */
+final class RegionPackFormat {
+    static final int MAGIC = 0x57335750;
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 32;
+    static final int LANGUAGE_BYTES = 8;
+    static final int SQUARE_RECORD_BYTES = 40;
+    static final int WORDS_RECORD_BYTES = 12;
+    static final double SCALE = 1e7;
+
+    private RegionPackFormat() {
+    }
+
+    static int scale(double degrees) {
+        return (int) Math.round(degrees * SCALE);
+    }
+
+    static double unscale(int scaled) {
+        return scaled / SCALE;
+    }
+
+    static String normalise(String threeWordAddress) {
+        StringBuilder normalised = new StringBuilder(threeWordAddress.length());
+        for (int index = start(threeWordAddress); index < threeWordAddress.length(); ) {
+            int codePoint = threeWordAddress.codePointAt(index);
+            normalised.appendCodePoint(Character.toLowerCase(codePoint));
+            index += Character.charCount(codePoint);
+        }
+        return normalised.toString();
+    }
+
+    /**
+     * FNV-1a over the UTF-8 bytes of the normalised 3wa, encoded on the fly.
+     */
+    static long hash(String threeWordAddress) {
+        long hash = 0xcbf29ce484222325L;
+        for (int index = start(threeWordAddress); index < threeWordAddress.length(); ) {
+            int codePoint = threeWordAddress.codePointAt(index);
+            index += Character.charCount(codePoint);
+            codePoint = Character.toLowerCase(codePoint);
+            int length = utf8Length(codePoint);
+            for (int i = 0; i < length; i++) {
+                hash ^= utf8Byte(codePoint, length, i);
+                hash *= 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
+    static int start(String threeWordAddress) {
+        int start = 0;
+        while (start < threeWordAddress.length() && threeWordAddress.charAt(start) == '/') {
+            start++;
+        }
+        return start;
+    }
+
+    static int utf8Length(int codePoint) {
+        return codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+    }
+
+    static int utf8Byte(int codePoint, int length, int index) {
+        if (length == 1) {
+            return codePoint;
+        }
+        if (index == 0) {
+            return (0xff00 >> length) & 0xff | codePoint >> 6 * (length - 1);
+        }
+        return 0x80 | (codePoint >> 6 * (length - 1 - index)) & 0x3f;
+    }
+}
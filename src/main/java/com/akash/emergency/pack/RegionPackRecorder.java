@@ -0,0 +1,152 @@
+package com.akash.emergency.pack;
+
+import com.akash.emergency.cache.SquareEntry;
+import com.akash.emergency.config.TaskExecutors;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends squares resolved by the API to a CSV journal so a region pack can be rebuilt from real traffic with
+ * {@link RegionPackWriter}. Each line is: language,words,country,swLat,swLng,neLat,neLng. Request threads only offer
+ * the line to a bounded queue that a single writer thread drains; when the journal falls behind, lines are dropped
+ * rather than holding up lookups.
+ */
+public class RegionPackRecorder implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(RegionPackRecorder.class);
+    static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+
+    private final BufferedWriter writer;
+    private final BlockingQueue<String> lines;
+    private final Thread writerThread;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean closed;
+
+    public RegionPackRecorder(Path journal) throws IOException {
+        this(journal, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public RegionPackRecorder(Path journal, int queueCapacity) throws IOException {
+        this.writer = Files.newBufferedWriter(journal, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.lines = new ArrayBlockingQueue<>(queueCapacity);
+        this.writerThread = TaskExecutors.namedThreadFactory("pack-recorder-").newThread(this::drain);
+        this.writerThread.start();
+    }
+
+    private RegionPackRecorder() {
+        this.writer = null;
+        this.lines = null;
+        this.writerThread = null;
+    }
+
+    public static RegionPackRecorder disabled() {
+        return new RegionPackRecorder();
+    }
+
+    public void record(String language, SquareEntry square) {
+        if (Objects.isNull(writer) || closed || !square.isCacheable() || Objects.isNull(square.getCountry())) {
+            return;
+        }
+        String line = String.join(",", language, square.getWords(), square.getCountry(),
+                Double.toString(square.getSwLat()), Double.toString(square.getSwLng()),
+                Double.toString(square.getNeLat()), Double.toString(square.getNeLng()));
+        if (!lines.offer(line) && dropped.getAndIncrement() % DEFAULT_QUEUE_CAPACITY == 0) {
+            log.warn("Region pack journal is falling behind, {} squares dropped so far", dropped.get());
+        }
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Stops accepting squares, writes the ones already queued and closes the journal.
+     */
+    @Override
+    public void close() throws IOException {
+        if (Objects.isNull(writer)) {
+            return;
+        }
+        closed = true;
+        try {
+            writerThread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        writer.close();
+    }
+
+    private void drain() {
+        List<String> batch = new ArrayList<>();
+        while (true) {
+            String line = poll();
+            if (Objects.isNull(line)) {
+                if (closed) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(line);
+            lines.drainTo(batch);
+            try {
+                for (String queued : batch) {
+                    writer.write(queued);
+                    writer.newLine();
+                }
+                writer.flush();
+            } catch (IOException ex) {
+                log.warn("Unable to record {} squares", batch.size(), ex);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Polls rather than blocking indefinitely so the writer notices {@link #close()} without being interrupted, which
+     * would close the journal's channel.
+     */
+    private String poll() {
+        try {
+            return lines.poll(100, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            return null;
+        }
+    }
+
+    static Record parse(String line) {
+        String[] fields = line.trim().split(",");
+        if (fields.length != 7 || fields[0].startsWith("#")) {
+            return null;
+        }
+        try {
+            return new Record(fields[0], new SquareEntry(Double.parseDouble(fields[3]), Double.parseDouble(fields[4]),
+                    Double.parseDouble(fields[5]), Double.parseDouble(fields[6]), fields[1], fields[2]));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Record {
+        private final String language;
+        private final SquareEntry square;
+    }
+}
@@ -0,0 +1,196 @@
+package com.akash.emergency.pack;
+
+import com.akash.emergency.cache.GridSquare;
+import com.akash.emergency.cache.SquareEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.akash.emergency.pack.RegionPackFormat.*;
+
+/**
+ * Builds a region pack for one language from resolved squares, either added directly or imported from CSV lines
+ * in the {@link RegionPackRecorder} format. Later entries for the same 3wa replace earlier ones. Only the squares
+ * and their sort order are held in memory; the sections are streamed to the file.
+ *
+ * Import with (the classes sit under BOOT-INF in the executable jar, so go through the launcher):
+ * java -cp emergency.jar -Dloader.main=com.akash.emergency.pack.RegionPackWriter
+ *     org.springframework.boot.loader.PropertiesLauncher en gb.pack squares.csv [more.csv...]
+ */
+public class RegionPackWriter {
+    private static final byte[] RECORD_PADDING = new byte[6];
+
+    private final String language;
+    private final Map<String, SquareEntry> squares = new LinkedHashMap<>();
+
+    public RegionPackWriter(String language) {
+        if (language.length() > LANGUAGE_BYTES) {
+            throw new IllegalArgumentException("Language code is too long: " + language);
+        }
+        this.language = language;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: RegionPackWriter <language> <pack file> <csv file>...");
+            System.exit(1);
+        }
+        RegionPackWriter writer = new RegionPackWriter(args[0]);
+        for (int i = 2; i < args.length; i++) {
+            writer.importCsv(Paths.get(args[i]));
+        }
+        writer.write(Paths.get(args[1]));
+        System.out.printf("Wrote %d squares to %s%n", writer.size(), args[1]);
+    }
+
+    public void add(SquareEntry square) {
+        if (square.isCacheable() && Objects.nonNull(square.getCountry()) && square.getCountry().length() == 2) {
+            squares.put(normalise(square.getWords()), square);
+        }
+    }
+
+    public void importCsv(Path csv) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String line;
+            while (Objects.nonNull(line = reader.readLine())) {
+                RegionPackRecorder.Record record = RegionPackRecorder.parse(line);
+                if (Objects.nonNull(record) && language.equals(record.getLanguage())) {
+                    add(record.getSquare());
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return squares.size();
+    }
+
+    public void write(Path file) throws IOException {
+        List<SquareEntry> entries = new ArrayList<>(squares.values());
+        List<SquareRecord> squareRecords = new ArrayList<>();
+        for (int entry = 0; entry < entries.size(); entry++) {
+            SquareEntry square = entries.get(entry);
+            for (long cell : GridSquare.cellKeys(square.getSwLat(), square.getSwLng(), square.getNeLat(), square.getNeLng())) {
+                squareRecords.add(new SquareRecord(cell, entry));
+            }
+        }
+        squareRecords.sort(Comparator.comparingLong(SquareRecord::getCell));
+
+        int[] firstRecord = new int[entries.size()];
+        Arrays.fill(firstRecord, -1);
+        for (int record = 0; record < squareRecords.size(); record++) {
+            int entry = squareRecords.get(record).getEntry();
+            if (firstRecord[entry] < 0) {
+                firstRecord[entry] = record;
+            }
+        }
+
+        long[] poolOffsets = new long[entries.size()];
+        List<WordsRecord> wordsRecords = new ArrayList<>(entries.size());
+        long poolBytes = 0;
+        for (int entry = 0; entry < entries.size(); entry++) {
+            String words = normalise(entries.get(entry).getWords());
+            int length = utf8Length(words);
+            if (length > 0xffff) {
+                throw new IOException("3wa is too long for a region pack: " + words);
+            }
+            poolOffsets[entry] = poolBytes;
+            poolBytes += 2 + length;
+            if (firstRecord[entry] >= 0) {
+                wordsRecords.add(new WordsRecord(hash(words), firstRecord[entry]));
+            }
+        }
+        wordsRecords.sort(Comparator.comparingLong(WordsRecord::getHash));
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream stream = Files.newOutputStream(temporary);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(squareRecords.size());
+            out.writeInt(wordsRecords.size());
+            out.writeLong(poolBytes);
+            byte[] languageBytes = new byte[LANGUAGE_BYTES];
+            byte[] code = language.getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(code, 0, languageBytes, 0, code.length);
+            out.write(languageBytes);
+            for (SquareRecord record : squareRecords) {
+                SquareEntry square = entries.get(record.getEntry());
+                out.writeLong(record.getCell());
+                out.writeInt(scale(square.getSwLat()));
+                out.writeInt(scale(square.getSwLng()));
+                out.writeInt(scale(square.getNeLat()));
+                out.writeInt(scale(square.getNeLng()));
+                out.writeLong(poolOffsets[record.getEntry()]);
+                out.writeByte(square.getCountry().charAt(0));
+                out.writeByte(square.getCountry().charAt(1));
+                out.write(RECORD_PADDING);
+            }
+            for (WordsRecord record : wordsRecords) {
+                out.writeLong(record.getHash());
+                out.writeInt(record.getSquare());
+            }
+            for (SquareEntry entry : entries) {
+                String words = normalise(entry.getWords());
+                out.writeShort(utf8Length(words));
+                writeUtf8(out, words);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int utf8Length(String normalised) {
+        int length = 0;
+        for (int index = 0; index < normalised.length(); ) {
+            int codePoint = normalised.codePointAt(index);
+            index += Character.charCount(codePoint);
+            length += RegionPackFormat.utf8Length(codePoint);
+        }
+        return length;
+    }
+
+    /**
+     * Encodes with the same rules the lookups use, so the pool matches what {@link RegionPack} compares against.
+     */
+    private static void writeUtf8(DataOutputStream out, String normalised) throws IOException {
+        for (int index = 0; index < normalised.length(); ) {
+            int codePoint = normalised.codePointAt(index);
+            index += Character.charCount(codePoint);
+            int length = RegionPackFormat.utf8Length(codePoint);
+            for (int i = 0; i < length; i++) {
+                out.writeByte(utf8Byte(codePoint, length, i));
+            }
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class SquareRecord {
+        private final long cell;
+        private final int entry;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class WordsRecord {
+        private final long hash;
+        private final int square;
+    }
+}
@@ -0,0 +1,75 @@
+package com.akash.emergency.peer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Consistent hash ring over the peer URLs. Every peer is placed at {@code virtualNodes} points so keys spread evenly,
+ * and adding or removing a peer only moves the keys next to its points. All peers build the same ring from the same
+ * member list, whatever order it is configured in.
+ */
+public class HashRing {
+    private final long[] points;
+    private final String[] owners;
+
+    public HashRing(List<String> peers, int virtualNodes) {
+        Set<String> members = new LinkedHashSet<>(peers);
+        if (members.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("A hash ring needs at least one peer and one virtual node");
+        }
+        long[][] placed = new long[members.size() * virtualNodes][];
+        String[] memberArray = members.toArray(new String[0]);
+        int count = 0;
+        for (int member = 0; member < memberArray.length; member++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                placed[count++] = new long[]{hash(bytes(memberArray[member] + "#" + node)), member};
+            }
+        }
+        Arrays.sort(placed, (left, right) -> left[0] != right[0] ? Long.compare(left[0], right[0])
+                : memberArray[(int) left[1]].compareTo(memberArray[(int) right[1]]));
+        this.points = new long[placed.length];
+        this.owners = new String[placed.length];
+        for (int i = 0; i < placed.length; i++) {
+            points[i] = placed[i][0];
+            owners[i] = memberArray[(int) placed[i][1]];
+        }
+    }
+
+    /**
+     * Peer owning the key: the first point at or after the key's hash, wrapping round to the start.
+     */
+    public String owner(long keyHash) {
+        int index = Arrays.binarySearch(points, keyHash);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public String owner(String key) {
+        return owner(hash(bytes(key)));
+    }
+
+    /**
+     * FNV-1a finished with the murmur3 mixer, so neighbouring keys land far apart on the ring.
+     */
+    static long hash(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,431 @@
+package com.akash.emergency.peer;
+
+import com.akash.emergency.cache.DiskCache;
+import com.akash.emergency.cache.GridSquare;
+import com.akash.emergency.cache.SquareCache;
+import com.akash.emergency.cache.SquareEntry;
+import com.akash.emergency.cache.ThreeWordsCache;
+import com.akash.emergency.cache.ThreeWordsEntry;
+import com.akash.emergency.config.TaskExecutors;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Builder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Cache shared by the replicas listed in {@code members}, with no external service. Resolved lookups are partitioned
+ * over the replicas with a {@link HashRing}: squares by language and grid cell, 3wa by normalised words. A miss in
+ * the local tiers asks the owning replica before going upstream, and whatever is resolved upstream is pushed to its
+ * owner. Each replica answers its peers from its own memory and disk caches on a separate port.
+ * <p>
+ * Peers are only ever a shortcut: an unreachable or slow peer is treated as a miss and skipped for {@code backoff},
+ * so a lookup never waits on it for more than {@code timeout}.
+ * <p>
+ * Whatever a peer pushes ends up in the answers to dispatch lookups, so the peer port only listens on
+ * {@code bindAddress}, every request must carry the shared {@code secret} in {@value #SECRET_HEADER}, and a pushed
+ * entry is only accepted when it is resolved, this replica owns its key and, for squares, it covers the cell it was
+ * pushed for.
+ */
+public class PeerCache implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(PeerCache.class);
+    private static final String SQUARE_PATH = "/peer/square";
+    private static final String WORDS_PATH = "/peer/words";
+    static final String SECRET_HEADER = "X-Peer-Secret";
+
+    private final String self;
+    private final HashRing ring;
+    private final String bindAddress;
+    private final int port;
+    private final byte[] secret;
+    private final Duration timeout;
+    private final long backoffNanos;
+    private final SquareCache squareCache;
+    private final ThreeWordsCache threeWordsCache;
+    private final DiskCache diskCache;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Long> unavailableUntil = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final HttpClient httpClient;
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+
+    @Builder
+    public PeerCache(String self, List<String> members, String bindAddress, int port, String secret, int virtualNodes,
+                     Duration timeout, Duration backoff, SquareCache squareCache, ThreeWordsCache threeWordsCache,
+                     DiskCache diskCache, MeterRegistry meterRegistry) {
+        if (Objects.isNull(secret) || secret.isBlank()) {
+            throw new IllegalArgumentException("The peer cache needs a shared secret");
+        }
+        Set<String> ringMembers = new LinkedHashSet<>();
+        ringMembers.add(trim(self));
+        members.forEach(member -> ringMembers.add(trim(member)));
+        this.self = trim(self);
+        this.ring = new HashRing(new ArrayList<>(ringMembers), virtualNodes);
+        this.bindAddress = Objects.requireNonNullElse(bindAddress, "127.0.0.1");
+        this.port = port;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.timeout = timeout;
+        this.backoffNanos = backoff.toNanos();
+        this.squareCache = Objects.requireNonNullElseGet(squareCache, SquareCache::disabled);
+        this.threeWordsCache = Objects.requireNonNullElseGet(threeWordsCache, ThreeWordsCache::disabled);
+        this.diskCache = Objects.requireNonNullElseGet(diskCache, DiskCache::disabled);
+        this.meterRegistry = meterRegistry;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    private PeerCache() {
+        this.self = null;
+        this.ring = null;
+        this.bindAddress = null;
+        this.port = 0;
+        this.secret = null;
+        this.timeout = null;
+        this.backoffNanos = 0;
+        this.squareCache = null;
+        this.threeWordsCache = null;
+        this.diskCache = null;
+        this.meterRegistry = null;
+        this.httpClient = null;
+    }
+
+    public static PeerCache disabled() {
+        return new PeerCache();
+    }
+
+    /**
+     * Starts answering peers. Lookups from this replica work before it is started, peers just cannot reach it yet.
+     */
+    public void start() throws IOException {
+        if (Objects.isNull(ring)) {
+            return;
+        }
+        serverExecutor = Executors.newFixedThreadPool(8, TaskExecutors.namedThreadFactory("peer-"));
+        server = HttpServer.create(new InetSocketAddress(bindAddress, port), 0);
+        server.createContext(SQUARE_PATH, this::handleSquare);
+        server.createContext(WORDS_PATH, this::handleWords);
+        server.setExecutor(serverExecutor);
+        server.start();
+        log.info("Peer cache {} listening on {}:{}", self, bindAddress, port);
+    }
+
+    public SquareEntry getSquare(String language, double lat, double lng) {
+        if (Objects.isNull(ring)) {
+            return null;
+        }
+        String owner = ring.owner(squareKey(language, GridSquare.cellKey(lat, lng)));
+        String query = "language=" + encode(language) + "&lat=" + lat + "&lng=" + lng;
+        SquareEntry square = get(owner, SQUARE_PATH, query, SquareEntry.class, "square");
+        return Objects.nonNull(square) && square.contains(lat, lng) ? square : null;
+    }
+
+    /**
+     * Pushes a square resolved upstream to the owners of every cell it overlaps, without waiting for them.
+     */
+    public void putSquare(String language, SquareEntry square) {
+        if (Objects.isNull(ring) || !square.isCacheable()) {
+            return;
+        }
+        Map<String, Long> owners = new HashMap<>();
+        for (long cell : GridSquare.cellKeys(square.getSwLat(), square.getSwLng(), square.getNeLat(), square.getNeLng())) {
+            owners.putIfAbsent(ring.owner(squareKey(language, cell)), cell);
+        }
+        owners.forEach((owner, cell) ->
+                put(owner, SQUARE_PATH, "language=" + encode(language) + "&cell=" + cell, square, "square"));
+    }
+
+    public ThreeWordsEntry getWords(String threeWordAddress) {
+        if (Objects.isNull(ring)) {
+            return null;
+        }
+        String words = ThreeWordsCache.normalise(threeWordAddress);
+        ThreeWordsEntry entry = get(ring.owner(words), WORDS_PATH, "words=" + encode(words), ThreeWordsEntry.class,
+                "words");
+        return Objects.nonNull(entry) && entry.isResolved() ? entry : null;
+    }
+
+    public void putWords(String threeWordAddress, ThreeWordsEntry entry) {
+        if (Objects.isNull(ring) || !entry.isResolved()) {
+            return;
+        }
+        String words = ThreeWordsCache.normalise(threeWordAddress);
+        put(ring.owner(words), WORDS_PATH, "words=" + encode(words), entry, "words");
+    }
+
+    @Override
+    public void close() {
+        if (Objects.nonNull(server)) {
+            server.stop(0);
+            serverExecutor.shutdownNow();
+        }
+    }
+
+    private <T> T get(String owner, String path, String query, Class<T> type, String operation) {
+        if (owner.equals(self) || isBackingOff(owner, operation)) {
+            return null;
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(owner + path + "?" + query)).timeout(timeout)
+                .header(SECRET_HEADER, new String(secret, StandardCharsets.UTF_8)).GET().build();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 200) {
+                count(operation, "hit");
+                return objectMapper.readValue(response.body(), type);
+            }
+            count(operation, "miss");
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (IOException | RuntimeException ex) {
+            markUnavailable(owner, ex);
+            count(operation, "error");
+            return null;
+        }
+    }
+
+    private void put(String owner, String path, String query, Object value, String operation) {
+        if (owner.equals(self) || isBackingOff(owner, operation)) {
+            return;
+        }
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(owner + path + "?" + query)).timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .header(SECRET_HEADER, new String(secret, StandardCharsets.UTF_8))
+                    .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(value))).build();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, ex) -> {
+                if (Objects.nonNull(ex)) {
+                    markUnavailable(owner, ex);
+                    count(operation, "error");
+                } else if (response.statusCode() != 204) {
+                    count(operation, "refused");
+                } else {
+                    count(operation, "pushed");
+                }
+            });
+        } catch (IOException ex) {
+            count(operation, "error");
+        }
+    }
+
+    private void handleSquare(HttpExchange exchange) throws IOException {
+        try {
+            Map<String, String> query = query(exchange);
+            String language = query.get("language");
+            if (!isAuthorised(exchange)) {
+                unauthorised(exchange);
+            } else if (Objects.isNull(language)) {
+                exchange.sendResponseHeaders(400, -1);
+            } else if ("GET".equals(exchange.getRequestMethod())) {
+                double lat = Double.parseDouble(query.get("lat"));
+                double lng = Double.parseDouble(query.get("lng"));
+                SquareEntry square = squareCache.get(language, lat, lng);
+                respond(exchange, Objects.nonNull(square) ? square : diskCache.getSquare(language, lat, lng));
+            } else if ("PUT".equals(exchange.getRequestMethod())) {
+                SquareEntry square = read(exchange, SquareEntry.class);
+                if (isConsistent(language, Long.parseLong(query.get("cell")), square)) {
+                    squareCache.put(language, square);
+                    exchange.sendResponseHeaders(204, -1);
+                } else {
+                    reject(exchange, "square", square.getWords());
+                }
+            } else {
+                exchange.sendResponseHeaders(405, -1);
+            }
+        } catch (IOException | RuntimeException ex) {
+            badRequest(exchange);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleWords(HttpExchange exchange) throws IOException {
+        try {
+            String words = query(exchange).get("words");
+            if (!isAuthorised(exchange)) {
+                unauthorised(exchange);
+            } else if (Objects.isNull(words)) {
+                exchange.sendResponseHeaders(400, -1);
+            } else if ("GET".equals(exchange.getRequestMethod())) {
+                ThreeWordsEntry entry = threeWordsCache.get(words);
+                respond(exchange, Objects.nonNull(entry) && entry.isResolved() ? entry : diskCache.getWords(words));
+            } else if ("PUT".equals(exchange.getRequestMethod())) {
+                ThreeWordsEntry entry = read(exchange, ThreeWordsEntry.class);
+                if (isConsistent(words, entry)) {
+                    threeWordsCache.put(words, entry);
+                    exchange.sendResponseHeaders(204, -1);
+                } else {
+                    reject(exchange, "words", words);
+                }
+            } else {
+                exchange.sendResponseHeaders(405, -1);
+            }
+        } catch (IOException | RuntimeException ex) {
+            badRequest(exchange);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Closing the request body drains what is left of it, so the caller reads the 401 rather than a reset connection.
+     */
+    private static void unauthorised(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().close();
+        exchange.sendResponseHeaders(401, -1);
+    }
+
+    private boolean isAuthorised(HttpExchange exchange) {
+        String presented = exchange.getRequestHeaders().getFirst(SECRET_HEADER);
+        return Objects.nonNull(presented) && MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A pushed square must be a resolved square of sane size that overlaps the cell it was pushed for, and that cell
+     * must be owned by this replica.
+     */
+    private boolean isConsistent(String language, long cell, SquareEntry square) {
+        if (!square.isCacheable() || Objects.isNull(square.getCountry())
+                || !isCoordinate(square.getSwLat(), square.getSwLng())
+                || !isCoordinate(square.getNeLat(), square.getNeLng())
+                || square.getNeLat() <= square.getSwLat() || square.getNeLng() <= square.getSwLng()) {
+            return false;
+        }
+        List<Long> cells = GridSquare.cellKeys(square.getSwLat(), square.getSwLng(), square.getNeLat(),
+                square.getNeLng());
+        return cells.contains(cell) && ring.owner(squareKey(language, cell)).equals(self);
+    }
+
+    private boolean isConsistent(String words, ThreeWordsEntry entry) {
+        String key = ThreeWordsCache.normalise(words);
+        return entry.isResolved() && Objects.nonNull(entry.getCountry()) && isCoordinate(entry.getLat(), entry.getLng())
+                && key.chars().filter(c -> c == '.').count() == 2 && ring.owner(key).equals(self);
+    }
+
+    private void reject(HttpExchange exchange, String operation, String key) throws IOException {
+        log.warn("Rejected an inconsistent {} entry for {} from {}", operation, key, exchange.getRemoteAddress());
+        if (Objects.nonNull(meterRegistry)) {
+            meterRegistry.counter("emergency.peer.rejected", "operation", operation).increment();
+        }
+        exchange.sendResponseHeaders(422, -1);
+    }
+
+    private static boolean isCoordinate(double lat, double lng) {
+        return lat >= -90 && lat <= 90 && lng >= -180 && lng <= 180;
+    }
+
+    private void respond(HttpExchange exchange, Object value) throws IOException {
+        if (Objects.isNull(value)) {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+        byte[] body = objectMapper.writeValueAsBytes(value);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void badRequest(HttpExchange exchange) {
+        try {
+            exchange.sendResponseHeaders(400, -1);
+        } catch (IOException ex) {
+            log.debug("Unable to reject peer request", ex);
+        }
+    }
+
+    private <T> T read(HttpExchange exchange, Class<T> type) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return objectMapper.readValue(in, type);
+        }
+    }
+
+    private boolean isBackingOff(String owner, String operation) {
+        Long until = unavailableUntil.get(owner);
+        if (Objects.isNull(until)) {
+            return false;
+        }
+        if (System.nanoTime() - until < 0) {
+            count(operation, "skipped");
+            return true;
+        }
+        unavailableUntil.remove(owner, until);
+        return false;
+    }
+
+    private void markUnavailable(String owner, Throwable cause) {
+        if (Objects.isNull(unavailableUntil.put(owner, System.nanoTime() + backoffNanos))) {
+            log.warn("Peer {} is unavailable, skipping it for {}ms: {}", owner, backoffNanos / 1_000_000,
+                    cause.toString());
+        }
+    }
+
+    private void count(String operation, String outcome) {
+        if (Objects.isNull(meterRegistry)) {
+            return;
+        }
+        counters.computeIfAbsent(operation + '.' + outcome, key -> Counter.builder("emergency.peer.requests")
+                .description("Requests this replica sent to its peers, by outcome")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)).increment();
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> values = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (Objects.isNull(query)) {
+            return values;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                values.put(pair.substring(0, equals),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return values;
+    }
+
+    private static String squareKey(String language, long cell) {
+        return language + ':' + cell;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String trim(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
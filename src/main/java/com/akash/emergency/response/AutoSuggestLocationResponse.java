@@ -1,6 +1,7 @@
 package com.akash.emergency.response;
 
 import com.akash.emergency.dto.autoSuggest.EmergencySuggestion;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,4 +14,10 @@ import java.util.List;
 public class AutoSuggestLocationResponse {
     private String message;
     private List<EmergencySuggestion> suggestions;
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean partial;
+
+    public AutoSuggestLocationResponse(String message, List<EmergencySuggestion> suggestions) {
+        this(message, suggestions, false);
+    }
 }
@@ -0,0 +1,134 @@
+package com.akash.emergency.rest;
+
+import com.akash.emergency.exception.exceptionClass.BatchTooLargeException;
+import com.akash.emergency.exception.exceptionClass.UpstreamUnavailableException;
+import com.akash.emergency.exception.exceptionHandler.GlobalExceptionHandler;
+import com.akash.emergency.response.BatchItemResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Resolves batch items with bounded concurrency and writes one NDJSON line per item as soon as it completes.
+ * Failed items carry the same error body and status the {@link GlobalExceptionHandler} would have produced.
+ */
+public class BatchResponseStreamer {
+    private static final String nullItemMessage = "Batch item must not be null";
+    private final Validator validator;
+    private final GlobalExceptionHandler exceptionHandler;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final int concurrency;
+    private final int maximumItems;
+
+    public BatchResponseStreamer(Validator validator, GlobalExceptionHandler exceptionHandler, ObjectMapper objectMapper,
+                                 ExecutorService executor, int concurrency, int maximumItems) {
+        this.validator = validator;
+        this.exceptionHandler = exceptionHandler;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.concurrency = concurrency;
+        this.maximumItems = maximumItems;
+    }
+
+    public <T> StreamingResponseBody stream(List<T> items, Class<T> requestType, Function<T, ?> resolver) {
+        if (items.size() > maximumItems) {
+            throw new BatchTooLargeException(items.size(), maximumItems);
+        }
+        return out -> resolveAll(items, requestType, resolver, item -> write(out, item));
+    }
+
+    public <T> void resolveAll(List<T> items, Class<T> requestType, Function<T, ?> resolver,
+                               Consumer<BatchItemResponse> sink) {
+        BlockingQueue<BatchItemResponse> completed = new LinkedBlockingQueue<>();
+        Semaphore permits = new Semaphore(concurrency);
+        int written = 0;
+        try {
+            for (int index = 0; index < items.size(); index++) {
+                while (!permits.tryAcquire()) {
+                    sink.accept(completed.take());
+                    written++;
+                }
+                int itemIndex = index;
+                T item = items.get(index);
+                try {
+                    executor.execute(() -> {
+                        BatchItemResponse response = resolve(itemIndex, item, requestType, resolver);
+                        permits.release();
+                        completed.add(response);
+                    });
+                } catch (RejectedExecutionException ex) {
+                    permits.release();
+                    completed.add(toErrorResponse(itemIndex,
+                            exceptionHandler.handle(new UpstreamUnavailableException("batch", ex))));
+                }
+            }
+            for (; written < items.size(); written++) {
+                sink.accept(completed.take());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> BatchItemResponse resolve(int index, T item, Class<T> requestType, Function<T, ?> resolver) {
+        try {
+            List<String> errorMessages = validate(item);
+            if (!errorMessages.isEmpty()) {
+                return toErrorResponse(index, exceptionHandler.handleValidationErrors(requestType, errorMessages));
+            }
+            return new BatchItemResponse(index, HttpStatus.OK.value(), resolver.apply(item), null);
+        } catch (Exception ex) {
+            return toErrorResponse(index, exceptionHandler.handle(ex));
+        }
+    }
+
+    private <T> List<String> validate(T item) {
+        if (Objects.isNull(item)) {
+            return Collections.singletonList(nullItemMessage);
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(item);
+        List<String> errorMessages = new ArrayList<>();
+        for (ConstraintViolation<T> violation : violations) {
+            errorMessages.add(violation.getMessage());
+        }
+        return errorMessages;
+    }
+
+    private BatchItemResponse toErrorResponse(int index, ResponseEntity<?> response) {
+        return new BatchItemResponse(index, response.getStatusCodeValue(), null, response.getBody());
+    }
+
+    private void write(OutputStream out, BatchItemResponse item) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(item));
+            out.write('\n');
+            out.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.akash.emergency.rest;
+
+import com.akash.emergency.dto.location.Location;
+import com.akash.emergency.dto.threeWords.ThreeWordAddress;
+import com.akash.emergency.response.BatchItemResponse;
+import com.akash.emergency.service.intf.EmergencyService;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/batch")
+@Profile("!reactive")
+public class EmergencyBatchResource {
+    private final EmergencyService emergencyService;
+    private final BatchResponseStreamer batchResponseStreamer;
+
+    public EmergencyBatchResource(EmergencyService emergencyService, BatchResponseStreamer batchResponseStreamer) {
+        this.emergencyService = emergencyService;
+        this.batchResponseStreamer = batchResponseStreamer;
+    }
+
+    @PostMapping("coord-to-3wa")
+    @ApiOperation(value = "Converts a list of co-ordinates to three words",
+            notes = "Takes an array of Location Objects in Body and streams one NDJSON line per item as it completes", response = BatchItemResponse.class)
+    public ResponseEntity<StreamingResponseBody> coordTo3wa(@RequestBody List<Location> locations){
+        return ndjson(batchResponseStreamer.stream(locations, Location.class, emergencyService::coordTo3wa));
+    }
+
+    @PostMapping("3wa-to-coord")
+    @ApiOperation(value = "Converts a list of three word addresses to co-ordinates",
+            notes = "Takes an array of three word address Objects in Body and streams one NDJSON line per item as it completes", response = BatchItemResponse.class)
+    public ResponseEntity<StreamingResponseBody> _3waToCoord(@RequestBody List<ThreeWordAddress> threeWordAddresses){
+        return ndjson(batchResponseStreamer.stream(threeWordAddresses, ThreeWordAddress.class, emergencyService::_3waToCoord));
+    }
+
+    @PostMapping("language-convert")
+    @ApiOperation(value = "Converts a list of three word addresses from default Language to a specified language",
+            notes = "Takes an array of three word address Objects in Body and a language in query parameter and streams one NDJSON line per item as it completes", response = BatchItemResponse.class)
+    public ResponseEntity<StreamingResponseBody> _3waLanguageConvert(@RequestParam("target_language") String targetLanguage,
+                                                                     @RequestBody List<ThreeWordAddress> threeWordAddresses){
+        return ndjson(batchResponseStreamer.stream(threeWordAddresses, ThreeWordAddress.class,
+                threeWordAddress -> emergencyService._3waLanguageConvert(threeWordAddress, targetLanguage)));
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body){
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
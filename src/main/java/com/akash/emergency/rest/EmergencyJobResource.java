@@ -0,0 +1,57 @@
+package com.akash.emergency.rest;
+
+import com.akash.emergency.job.BulkJobService;
+import com.akash.emergency.job.JobStatus;
+import com.akash.emergency.job.JobType;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/jobs")
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "what3words.jobs", name = "enabled", havingValue = "true")
+public class EmergencyJobResource {
+    private final BulkJobService bulkJobService;
+
+    public EmergencyJobResource(BulkJobService bulkJobService) {
+        this.bulkJobService = bulkJobService;
+    }
+
+    @PostMapping(value = "coord-to-3wa", consumes = "text/csv")
+    @ApiOperation(value = "Starts converting a CSV file of co-ordinates to three words",
+            notes = "Takes a CSV file with lat,lng in the first two columns and returns the job status", response = JobStatus.class)
+    public ResponseEntity<JobStatus> coordTo3wa(InputStream file) throws IOException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(bulkJobService.submit(JobType.COORD_TO_3WA, file));
+    }
+
+    @PostMapping(value = "3wa-to-coord", consumes = "text/csv")
+    @ApiOperation(value = "Starts converting a CSV file of three word addresses to co-ordinates",
+            notes = "Takes a CSV file with a three word address in the first column and returns the job status", response = JobStatus.class)
+    public ResponseEntity<JobStatus> _3waToCoord(InputStream file) throws IOException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(bulkJobService.submit(JobType.THREE_WORDS_TO_COORD, file));
+    }
+
+    @GetMapping("{id}")
+    @ApiOperation(value = "Returns the progress of a job", response = JobStatus.class)
+    public JobStatus status(@PathVariable("id") String id){
+        return bulkJobService.status(id);
+    }
+
+    @GetMapping("{id}/result")
+    @ApiOperation(value = "Downloads the CSV produced by a completed job",
+            notes = "Each row is the input row followed by the result columns and the lookup outcome")
+    public ResponseEntity<Resource> result(@PathVariable("id") String id){
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("text/csv"))
+                .body(new FileSystemResource(bulkJobService.result(id)));
+    }
+}
@@ -1,46 +1,105 @@
 package com.akash.emergency.rest;
 
+import com.akash.emergency.dto.autoSuggest.Suggestions;
 import com.akash.emergency.dto.location.Location;
 import com.akash.emergency.dto.threeWords.ThreeWordAddress;
 import com.akash.emergency.service.intf.EmergencyService;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/")
+@Profile("!reactive")
 public class EmergencyResource {
-    @Autowired
-    private EmergencyService emergencyService;
+    private final EmergencyService emergencyService;
+    private final LookupResultResponses lookupResultResponses;
 
     public EmergencyResource(EmergencyService emergencyService) {
+        this(emergencyService, new LookupResultResponses());
+    }
+
+    @Autowired
+    public EmergencyResource(EmergencyService emergencyService, LookupResultResponses lookupResultResponses) {
         this.emergencyService = emergencyService;
+        this.lookupResultResponses = lookupResultResponses;
     }
 
     @PostMapping("coord-to-3wa")
     @ApiOperation(value = "Converts a co-ordinate to three words",
             notes = "Takes a Location Object in Body and returns a three word Object", response = ThreeWordAddress.class)
-    public ResponseEntity<ThreeWordAddress> coordTo3wa(@Valid @RequestBody Location location){
-        ThreeWordAddress result = emergencyService.coordTo3wa(location);
-        return ResponseEntity.ok(result);
+    public ResponseEntity<?> coordTo3wa(@Valid @RequestBody Location location){
+        return lookupResultResponses.toResponse(emergencyService.coordTo3waResult(location));
     }
 
     @PostMapping("3wa-to-coord")
     @ApiOperation(value = "Converts a three word address to co-ordinate",
             notes = "Takes a three word address Object in Body and returns a location Object", response = Location.class)
-    public ResponseEntity<Location> _3waToCoord(@Valid @RequestBody ThreeWordAddress threeWordAddress){
-        Location result = emergencyService._3waToCoord(threeWordAddress);
-        return ResponseEntity.ok(result);
+    public ResponseEntity<?> _3waToCoord(@Valid @RequestBody ThreeWordAddress threeWordAddress){
+        return lookupResultResponses.toResponse(emergencyService._3waToCoordResult(threeWordAddress));
     }
 
     @PostMapping("language-convert")
     @ApiOperation(value = "Converts a three word address from default Language to a specified language",
             notes = "Takes a three word address Object in Body and a language in query parameter and returns a three word address Object", response = ThreeWordAddress.class)
-    public ResponseEntity<ThreeWordAddress> _3waLanguageConvert(@RequestParam("target_language") String targetLanguage, @Valid @RequestBody ThreeWordAddress threeWordAddress){
-        ThreeWordAddress result = emergencyService._3waLanguageConvert(threeWordAddress, targetLanguage);
-        return ResponseEntity.ok(result);
+    public ResponseEntity<?> _3waLanguageConvert(@RequestParam("target_language") String targetLanguage, @Valid @RequestBody ThreeWordAddress threeWordAddress){
+        return lookupResultResponses.toResponse(emergencyService._3waLanguageConvertResult(threeWordAddress, targetLanguage));
+    }
+
+    @GetMapping("autosuggest")
+    @ApiOperation(value = "Suggests three word addresses for partial input",
+            notes = "Takes the partial three word address typed so far and an optional session identifying the person typing; "
+                    + "rapid keystrokes in one session are debounced before asking What3Words", response = Suggestions.class)
+    public CompletableFuture<ResponseEntity<?>> autosuggest(@RequestParam("input") String input,
+                                                            @RequestParam(value = "session", required = false) String session){
+        return emergencyService.autosuggestResult(input, session).thenApply(result -> lookupResultResponses.toResponse(result));
+    }
+
+    @GetMapping(value = "autosuggest/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ApiOperation(value = "Streams three word address suggestions for partial input",
+            notes = "Sends a suggestion event per suggestion as soon as the local index or a country produces it, then a "
+                    + "complete event carrying every suggestion sent")
+    public SseEmitter autosuggestStream(@RequestParam("input") String input,
+                                        @RequestParam(value = "session", required = false) String session){
+        SseEmitter emitter = new SseEmitter();
+        CompletableFuture<Suggestions> stream = emergencyService.autosuggestStream(input, session,
+                suggestion -> send(emitter, "suggestion", suggestion));
+        emitter.onTimeout(() -> stream.cancel(true));
+        emitter.onError(ex -> stream.cancel(true));
+        emitter.onCompletion(() -> stream.cancel(true));
+        stream.whenComplete((suggestions, ex) -> {
+            if(stream.isCancelled()) {
+                return;
+            }
+            if(Objects.nonNull(ex)) {
+                emitter.completeWithError(ex);
+                return;
+            }
+            try {
+                send(emitter, "complete", suggestions);
+                emitter.complete();
+            } catch (UncheckedIOException sendFailed) {
+                emitter.completeWithError(sendFailed.getCause());
+            }
+        });
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, String event, Object data){
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
     }
 }
@@ -0,0 +1,74 @@
+package com.akash.emergency.rest;
+
+import com.akash.emergency.exception.exceptionClass.InvalidLanguageCodeException;
+import com.akash.emergency.exception.exceptionClass.LocationAutoSuggestException;
+import com.akash.emergency.exception.exceptionClass.LocationUnserviceableException;
+import com.akash.emergency.exception.exceptionClass.UnableToFind3waException;
+import com.akash.emergency.exception.exceptionHandler.GlobalExceptionHandler;
+import com.akash.emergency.response.AutoSuggestLocationResponse;
+import com.akash.emergency.response.error.ErrorResponse;
+import com.akash.emergency.response.error.UnableToFind3waErrorResponse;
+import com.akash.emergency.service.result.LookupResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Turns a {@link LookupResult} into the response the {@link GlobalExceptionHandler} gives for the matching exception,
+ * counted under that exception's name, so returning a result instead of throwing is invisible to clients.
+ */
+@Component
+public class LookupResultResponses {
+    private static final Logger log = LoggerFactory.getLogger(LookupResultResponses.class);
+
+    private final MeterRegistry meterRegistry;
+
+    public LookupResultResponses() {
+        this(new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public LookupResultResponses(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ResponseEntity<?> toResponse(LookupResult<?> result) {
+        switch (result.getOutcome()) {
+            case FOUND:
+                if(Objects.nonNull(result.getBody())) {
+                    return ResponseEntity.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .contentLength(result.getBody().length)
+                            .body(result.getBody());
+                }
+                return ResponseEntity.ok(result.getValue());
+            case NOT_RECOGNISED:
+                count(LocationAutoSuggestException.class, HttpStatus.SEE_OTHER);
+                return ResponseEntity.status(HttpStatus.SEE_OTHER).body(new
+                        AutoSuggestLocationResponse(result.getMessage(), result.getSuggestions(), result.isPartial()));
+            case UNSERVICEABLE:
+                count(LocationUnserviceableException.class, HttpStatus.NOT_ACCEPTABLE);
+                return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).body(new ErrorResponse(result.getMessage()));
+            case INVALID_LANGUAGE:
+                count(InvalidLanguageCodeException.class, HttpStatus.BAD_REQUEST);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(result.getMessage()));
+            default:
+                log.warn("Lookup unresolved: {}", result.getMessage(), result.getCause());
+                count(UnableToFind3waException.class, HttpStatus.NOT_IMPLEMENTED);
+                return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(UnableToFind3waErrorResponse.builder()
+                        .build());
+        }
+    }
+
+    private void count(Class<? extends Exception> exceptionType, HttpStatus status) {
+        GlobalExceptionHandler.countError(meterRegistry, exceptionType.getSimpleName(), status);
+    }
+}
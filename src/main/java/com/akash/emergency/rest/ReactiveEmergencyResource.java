@@ -0,0 +1,38 @@
+package com.akash.emergency.rest;
+
+import com.akash.emergency.dto.location.Location;
+import com.akash.emergency.dto.threeWords.ThreeWordAddress;
+import com.akash.emergency.service.intf.ReactiveEmergencyService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+
+@RestController
+@RequestMapping("/")
+@Profile("reactive")
+public class ReactiveEmergencyResource {
+    private final ReactiveEmergencyService reactiveEmergencyService;
+
+    public ReactiveEmergencyResource(ReactiveEmergencyService reactiveEmergencyService) {
+        this.reactiveEmergencyService = reactiveEmergencyService;
+    }
+
+    @PostMapping("coord-to-3wa")
+    public Mono<ResponseEntity<ThreeWordAddress>> coordTo3wa(@Valid @RequestBody Location location){
+        return reactiveEmergencyService.coordTo3wa(location).map(ResponseEntity::ok);
+    }
+
+    @PostMapping("3wa-to-coord")
+    public Mono<ResponseEntity<Location>> _3waToCoord(@Valid @RequestBody ThreeWordAddress threeWordAddress){
+        return reactiveEmergencyService._3waToCoord(threeWordAddress).map(ResponseEntity::ok);
+    }
+
+    @PostMapping("language-convert")
+    public Mono<ResponseEntity<ThreeWordAddress>> _3waLanguageConvert(@RequestParam("target_language") String targetLanguage,
+                                                                      @Valid @RequestBody ThreeWordAddress threeWordAddress){
+        return reactiveEmergencyService._3waLanguageConvert(threeWordAddress, targetLanguage).map(ResponseEntity::ok);
+    }
+}
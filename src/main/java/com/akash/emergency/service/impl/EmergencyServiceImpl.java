@@ -1,33 +1,97 @@
 package com.akash.emergency.service.impl;
 
+import com.akash.emergency.cache.DiskCache;
+import com.akash.emergency.cache.SquareCache;
+import com.akash.emergency.cache.SquareEntry;
+import com.akash.emergency.cache.ThreeWordsCache;
+import com.akash.emergency.cache.ThreeWordsEntry;
+import com.akash.emergency.cache.TierMetrics;
+import com.akash.emergency.cache.TierMetrics.Tier;
+import com.akash.emergency.client.What3WordsClient;
 import com.akash.emergency.dto.autoSuggest.EmergencySuggestion;
+import com.akash.emergency.dto.autoSuggest.Suggestions;
 import com.akash.emergency.dto.location.Location;
 import com.akash.emergency.dto.threeWords.ThreeWordAddress;
-import com.akash.emergency.exception.exceptionClass.InvalidLanguageCodeException;
-import com.akash.emergency.exception.exceptionClass.LocationAutoSuggestException;
-import com.akash.emergency.exception.exceptionClass.LocationUnserviceableException;
 import com.akash.emergency.exception.exceptionClass.UnableToFind3waException;
+import com.akash.emergency.exception.exceptionClass.UpstreamUnavailableException;
+import com.akash.emergency.geo.Serviceability;
+import com.akash.emergency.geo.ServiceabilityIndex;
+import com.akash.emergency.pack.PackMode;
+import com.akash.emergency.pack.RegionPack;
+import com.akash.emergency.pack.RegionPackRecorder;
+import com.akash.emergency.peer.PeerCache;
 import com.akash.emergency.service.intf.EmergencyService;
+import com.akash.emergency.service.result.LookupResult;
+import com.akash.emergency.typeahead.KeystrokeDebouncer;
+import com.akash.emergency.typeahead.PrefixIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.what3words.javawrapper.What3WordsV3;
-import com.what3words.javawrapper.request.Coordinates;
-import com.what3words.javawrapper.response.ConvertTo3WA;
-import com.what3words.javawrapper.response.ConvertToCoordinates;
-import com.what3words.javawrapper.response.Suggestion;
+import lombok.Builder;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 public class EmergencyServiceImpl implements EmergencyService {
-    private final What3WordsV3 what3WordsV3;
+    private final What3WordsClient what3WordsClient;
     private final String defaultLanguage;
     private final List<String> allowedCountries;
     private final String serviceableCountryResponse;
     private final int numberOfSuggestionsPerCountry;
+    private final SquareCache squareCache;
+    private final ThreeWordsCache threeWordsCache;
+    private final DiskCache diskCache;
+    private final PeerCache peerCache;
+    private final TierMetrics tierMetrics;
+    private final Executor suggestionExecutor;
+    private final long suggestionDeadlineNanos;
+    private final ServiceabilityIndex serviceabilityIndex;
+    private final RegionPack regionPack;
+    private final PackMode packMode;
+    private final RegionPackRecorder regionPackRecorder;
+    private final PrefixIndex prefixIndex;
+    private final KeystrokeDebouncer keystrokeDebouncer;
+    private final ObjectWriter threeWordAddressWriter;
+    private final ObjectWriter locationWriter;
 
+    @Builder
     public EmergencyServiceImpl(String defaultLanguage, List<String> allowedCountries, int numberOfSuggestionsPerCountry,
-                                What3WordsV3 what3WordsV3){
-        this.what3WordsV3 = what3WordsV3;
+                                What3WordsV3 what3WordsV3, What3WordsClient what3WordsClient, SquareCache squareCache,
+                                ThreeWordsCache threeWordsCache, DiskCache diskCache, PeerCache peerCache,
+                                TierMetrics tierMetrics, Executor suggestionExecutor, Duration suggestionDeadline,
+                                ServiceabilityIndex serviceabilityIndex, RegionPack regionPack, PackMode packMode,
+                                RegionPackRecorder regionPackRecorder, PrefixIndex prefixIndex,
+                                KeystrokeDebouncer keystrokeDebouncer, ObjectMapper responseMapper){
+        this.what3WordsClient = Objects.nonNull(what3WordsClient) ? what3WordsClient : new What3WordsClient(what3WordsV3);
+        this.squareCache = Objects.requireNonNullElseGet(squareCache, SquareCache::disabled);
+        this.threeWordsCache = Objects.requireNonNullElseGet(threeWordsCache, ThreeWordsCache::disabled);
+        this.diskCache = Objects.requireNonNullElseGet(diskCache, DiskCache::disabled);
+        this.peerCache = Objects.requireNonNullElseGet(peerCache, PeerCache::disabled);
+        this.tierMetrics = Objects.requireNonNullElseGet(tierMetrics, TierMetrics::disabled);
+        this.suggestionExecutor = Objects.requireNonNullElse(suggestionExecutor, Runnable::run);
+        this.suggestionDeadlineNanos = Objects.isNull(suggestionDeadline) ? Long.MAX_VALUE : suggestionDeadline.toNanos();
+        this.serviceabilityIndex = Objects.requireNonNullElseGet(serviceabilityIndex, ServiceabilityIndex::unrestricted);
+        this.regionPack = Objects.requireNonNullElseGet(regionPack, RegionPack::empty);
+        this.packMode = Objects.requireNonNullElse(packMode, PackMode.API_FIRST);
+        this.regionPackRecorder = Objects.requireNonNullElseGet(regionPackRecorder, RegionPackRecorder::disabled);
+        this.prefixIndex = Objects.requireNonNullElseGet(prefixIndex, PrefixIndex::disabled);
+        this.keystrokeDebouncer = Objects.requireNonNullElseGet(keystrokeDebouncer, KeystrokeDebouncer::disabled);
+        this.threeWordAddressWriter = Objects.isNull(responseMapper) ? null : responseMapper.writerFor(ThreeWordAddress.class);
+        this.locationWriter = Objects.isNull(responseMapper) ? null : responseMapper.writerFor(Location.class);
         this.defaultLanguage = defaultLanguage;
         this.allowedCountries = allowedCountries;
         this.numberOfSuggestionsPerCountry = numberOfSuggestionsPerCountry;
@@ -35,62 +99,337 @@ public class EmergencyServiceImpl implements EmergencyService {
     }
     @Override
     public ThreeWordAddress coordTo3wa(Location location) {
+        return coordTo3waResult(location).orElseThrow();
+    }
+
+    @Override
+    public Location _3waToCoord(ThreeWordAddress threeWordAddress) {
+        return _3waToCoordResult(threeWordAddress).orElseThrow();
+    }
+
+    @Override
+    public ThreeWordAddress _3waLanguageConvert(ThreeWordAddress threeWordAddress, String language) {
+        return _3waLanguageConvertResult(threeWordAddress, language).orElseThrow();
+    }
+
+    @Override
+    public LookupResult<ThreeWordAddress> coordTo3waResult(Location location) {
         try{
             return getThreeWordsFromLocation(location);
-        } catch (LocationUnserviceableException ex){
+        } catch (UpstreamUnavailableException ex){
             throw ex;
         } catch (Exception ex) {
-            throw new UnableToFind3waException(ex.getMessage(), ex);
+            return LookupResult.unresolved(ex.getMessage(), ex);
         }
     }
 
     @Override
-    public Location _3waToCoord(ThreeWordAddress threeWordAddress) {
+    public LookupResult<Location> _3waToCoordResult(ThreeWordAddress threeWordAddress) {
         return getLocationFromThreeWords(threeWordAddress);
     }
 
     @Override
-    public ThreeWordAddress _3waLanguageConvert(ThreeWordAddress threeWordAddress, String language) {
-        Location location = getLocationFromThreeWords(threeWordAddress);
-        return getThreeWordsFromLocationAndLanguage(location, language);
+    public LookupResult<ThreeWordAddress> _3waLanguageConvertResult(ThreeWordAddress threeWordAddress, String language) {
+        LookupResult<Location> location = getLocationFromThreeWords(threeWordAddress);
+        if(!location.isFound()) {
+            return location.failure();
+        }
+        return getThreeWordsFromLocationAndLanguage(location.getValue(), language);
+    }
+
+    /**
+     * Answers from the addresses already resolved by this instance when there are at least
+     * {@code numberOfSuggestionsPerCountry} of them, and only asks the What3Words autosuggest API otherwise. A request
+     * that was superseded by a later keystroke of the same session while debouncing returns the local answer only.
+     * The request thread is released while debouncing; the upstream call then runs on the suggestion executor.
+     */
+    @Override
+    public CompletableFuture<LookupResult<Suggestions>> autosuggestResult(String input, String session) {
+        if(ThreeWordsCache.normalise(input).isBlank()) {
+            return CompletableFuture.completedFuture(LookupResult.found(new Suggestions(new ArrayList<>(), false)));
+        }
+        CompletableFuture<Boolean> quiet = keystrokeDebouncer.debounce(session);
+        int limit = numberOfSuggestionsPerCountry * allowedCountries.size();
+        List<EmergencySuggestion> local = prefixIndex.find(input, allowedCountries, limit);
+        if(local.size() >= numberOfSuggestionsPerCountry || !isAutosuggestInput(input)) {
+            quiet.cancel(false);
+            tierMetrics.record("autosuggest", Tier.MEMORY);
+            return CompletableFuture.completedFuture(LookupResult.found(new Suggestions(local, false)));
+        }
+        if(quiet.isDone()) {
+            return CompletableFuture.completedFuture(withUpstreamSuggestions(input, local, limit, quiet.join()));
+        }
+        return quiet.thenApplyAsync(latest -> withUpstreamSuggestions(input, local, limit, latest), suggestionExecutor)
+                .exceptionally(ex -> LookupResult.found(new Suggestions(local, true)));
+    }
+
+    private LookupResult<Suggestions> withUpstreamSuggestions(String input, List<EmergencySuggestion> local, int limit,
+                                                              boolean latest) {
+        if(!latest) {
+            return LookupResult.found(new Suggestions(local, true));
+        }
+        ThreeWordsEntry upstream;
+        try {
+            upstream = getSuggestions(new ThreeWordAddress(ThreeWordsCache.normalise(input)), null);
+        } catch (UpstreamUnavailableException ex) {
+            return LookupResult.found(new Suggestions(local, true));
+        }
+        tierMetrics.record("autosuggest", Tier.UPSTREAM);
+        List<EmergencySuggestion> suggestions = new ArrayList<>(local);
+        for(EmergencySuggestion suggestion: upstream.getSuggestions()){
+            boolean known = suggestions.stream().anyMatch(listed -> listed.getWords().equals(suggestion.getWords()));
+            if(!known && suggestions.size() < limit) {
+                suggestions.add(suggestion);
+            }
+        }
+        return LookupResult.found(new Suggestions(suggestions, upstream.isPartial()));
+    }
+
+    /**
+     * Streaming variant of {@link #autosuggestResult}: local matches are passed to {@code sink} straight away and each
+     * country's upstream suggestions as soon as that country answers, so the slowest country only delays its own
+     * suggestions. Duplicates and suggestions beyond the limit are dropped. The returned future completes with
+     * everything that was sent once all countries answered or the suggestion deadline passed; nothing is sent after.
+     * Cancelling it (e.g. when the client goes away) closes the stream and cancels the countries still queued or in
+     * flight.
+     */
+    @Override
+    public CompletableFuture<Suggestions> autosuggestStream(String input, String session,
+                                                            Consumer<EmergencySuggestion> sink) {
+        SuggestionStream stream = new SuggestionStream(sink, numberOfSuggestionsPerCountry * allowedCountries.size());
+        if(ThreeWordsCache.normalise(input).isBlank()) {
+            return CompletableFuture.completedFuture(stream.close(false));
+        }
+        CompletableFuture<Boolean> quiet = keystrokeDebouncer.debounce(session);
+        List<EmergencySuggestion> local = prefixIndex.find(input, allowedCountries, stream.limit);
+        stream.sendAll(local);
+        if(local.size() >= numberOfSuggestionsPerCountry || !isAutosuggestInput(input)) {
+            quiet.cancel(false);
+            tierMetrics.record("autosuggest", Tier.MEMORY);
+            return CompletableFuture.completedFuture(stream.close(false));
+        }
+        CompletableFuture<Suggestions> result = quiet.thenCompose(latest -> latest ? streamUpstream(input, stream)
+                : CompletableFuture.completedFuture(stream.close(true)));
+        result.whenComplete((suggestions, ex) -> {
+            if(result.isCancelled()) {
+                quiet.cancel(false);
+                stream.cancel();
+            }
+        });
+        return result;
+    }
+
+    private CompletableFuture<Suggestions> streamUpstream(String input, SuggestionStream stream){
+        ThreeWordAddress threeWordAddress = new ThreeWordAddress(ThreeWordsCache.normalise(input));
+        List<CompletableFuture<Void>> suggestionsByCountry = new ArrayList<>();
+        boolean rejected = false;
+        for(String allowedCountry: allowedCountries){
+            try {
+                CountryLookup country = lookup(threeWordAddress, allowedCountry);
+                stream.track(country);
+                suggestionsByCountry.add(country.completion.thenAccept(stream::sendAll));
+            } catch (RejectedExecutionException ex) {
+                rejected = true;
+            }
+        }
+        boolean partial = rejected;
+        CompletableFuture<Void> all = CompletableFuture.allOf(suggestionsByCountry.toArray(new CompletableFuture[0]));
+        if(suggestionDeadlineNanos != Long.MAX_VALUE) {
+            all = all.orTimeout(suggestionDeadlineNanos, TimeUnit.NANOSECONDS);
+        }
+        return all.handle((done, ex) -> {
+            tierMetrics.record("autosuggest", Tier.UPSTREAM);
+            if(Objects.nonNull(ex)) {
+                stream.cancel();
+            }
+            return stream.close(partial || Objects.nonNull(ex));
+        });
     }
 
-    private ThreeWordAddress getThreeWordsFromLocation(Location location){
-        ConvertTo3WA convertTo3WA = what3WordsV3.convertTo3wa(new Coordinates(location.getLat(), location.getLng())).language(defaultLanguage).execute();
-        if(isPresentInAllowedCountries(convertTo3WA.getCountry())) {
-            String threeWords = convertTo3WA.getWords();
-            return new ThreeWordAddress(threeWords);
+    private LookupResult<ThreeWordAddress> getThreeWordsFromLocation(Location location){
+        Serviceability serviceability = serviceabilityIndex.classify(location.getLat(), location.getLng());
+        if(serviceability == Serviceability.INVALID) {
+            return LookupResult.unresolved("Coordinates are out of range", null);
+        } else if(serviceability == Serviceability.OUTSIDE) {
+            return LookupResult.unserviceable(serviceableCountryResponse);
+        }
+        SquareEntry square = getSquare(location, defaultLanguage);
+        if(isPresentInAllowedCountries(square.getCountry())) {
+            String threeWords = square.getWords();
+            return LookupResult.found(new ThreeWordAddress(threeWords), square.getBody());
         } else {
-            throw new LocationUnserviceableException(serviceableCountryResponse);
+            return LookupResult.unserviceable(serviceableCountryResponse);
         }
     }
 
-    private ThreeWordAddress getThreeWordsFromLocationAndLanguage(Location location, String targetLanguage){
-        String threeWordAddress = what3WordsV3.convertTo3wa(new Coordinates(location.getLat(), location.getLng())).
-                language(targetLanguage).execute().getWords();
+    private LookupResult<ThreeWordAddress> getThreeWordsFromLocationAndLanguage(Location location, String targetLanguage){
+        SquareEntry square = getSquare(location, targetLanguage);
+        String threeWordAddress = square.getWords();
         if(Objects.isNull(threeWordAddress) || threeWordAddress.isBlank() || threeWordAddress.isEmpty()){
-            throw new InvalidLanguageCodeException(targetLanguage);
+            return LookupResult.invalidLanguage(targetLanguage);
+        } else {
+            return LookupResult.found(new ThreeWordAddress(threeWordAddress), square.getBody());
+        }
+    }
+
+    private SquareEntry getSquare(Location location, String language){
+        SquareEntry cached = squareCache.get(language, location.getLat(), location.getLng());
+        if(Objects.nonNull(cached)) {
+            tierMetrics.record("convertTo3wa", Tier.MEMORY);
+            preSerialise(cached);
+            return cached;
+        }
+        SquareEntry square = diskCache.getSquare(language, location.getLat(), location.getLng());
+        if(Objects.nonNull(square)) {
+            tierMetrics.record("convertTo3wa", Tier.DISK);
+        } else {
+            square = peerCache.getSquare(language, location.getLat(), location.getLng());
+            if(Objects.nonNull(square)) {
+                tierMetrics.record("convertTo3wa", Tier.PEER);
+            } else {
+                square = lookupSquare(location, language);
+            }
+        }
+        if(language.equals(defaultLanguage) && isPresentInAllowedCountries(square.getCountry())) {
+            prefixIndex.add(square.getWords(), square.getCountry());
+        }
+        squareCache.put(language, square);
+        return square;
+    }
+
+    private SquareEntry lookupSquare(Location location, String language){
+        if(packMode != PackMode.API_FIRST) {
+            SquareEntry packed = regionPack.findSquare(language, location.getLat(), location.getLng());
+            if(Objects.nonNull(packed)) {
+                tierMetrics.record("convertTo3wa", Tier.PACK);
+                return packed;
+            } else if(packMode == PackMode.PACK_ONLY) {
+                throw new IllegalStateException("Location is not covered by the region pack");
+            }
+        }
+        try {
+            SquareEntry square = what3WordsClient.convertTo3wa(location.getLat(), location.getLng(), language);
+            tierMetrics.record("convertTo3wa", Tier.UPSTREAM);
+            regionPackRecorder.record(language, square);
+            diskCache.putSquare(language, square);
+            peerCache.putSquare(language, square);
+            return square;
+        } catch (RuntimeException ex) {
+            SquareEntry packed = packMode == PackMode.API_FIRST
+                    ? regionPack.findSquare(language, location.getLat(), location.getLng()) : null;
+            if(Objects.isNull(packed)) {
+                throw ex;
+            }
+            tierMetrics.record("convertTo3wa", Tier.PACK);
+            return packed;
+        }
+    }
+
+    private LookupResult<Location> getLocationFromThreeWords(ThreeWordAddress threeWordAddress){
+        ThreeWordsEntry entry = getThreeWordsEntry(threeWordAddress);
+        if(entry.isResolved()) {
+            return LookupResult.found(new Location(entry.getLat(), entry.getLng()), entry.getBody());
         } else {
-            return new ThreeWordAddress(threeWordAddress);
+            return LookupResult.notRecognised(threeWordAddress.getThreeWordAddress(), entry.getSuggestions(),
+                    entry.isPartial());
         }
     }
 
-    private Location getLocationFromThreeWords(ThreeWordAddress threeWordAddress){
-        ConvertToCoordinates convertToCoordinates = what3WordsV3.convertToCoordinates(threeWordAddress.getThreeWordAddress()).
-                execute();
-        if(isPresentInAllowedCountries(convertToCoordinates.getCountry())) {
-            return new Location(convertToCoordinates.getCoordinates().getLat(),
-                    convertToCoordinates.getCoordinates().getLng());
+    private ThreeWordsEntry getThreeWordsEntry(ThreeWordAddress threeWordAddress){
+        ThreeWordsEntry cached = threeWordsCache.get(threeWordAddress.getThreeWordAddress());
+        if(Objects.nonNull(cached)) {
+            tierMetrics.record("convertToCoordinates", Tier.MEMORY);
+            preSerialise(cached);
+            return cached;
+        }
+        ThreeWordsEntry entry = diskCache.getWords(threeWordAddress.getThreeWordAddress());
+        if(Objects.nonNull(entry)) {
+            tierMetrics.record("convertToCoordinates", Tier.DISK);
         } else {
-            throw new LocationAutoSuggestException(threeWordAddress.getThreeWordAddress(),
-                    getSuggestions(threeWordAddress));
+            entry = peerCache.getWords(threeWordAddress.getThreeWordAddress());
+            if(Objects.nonNull(entry)) {
+                tierMetrics.record("convertToCoordinates", Tier.PEER);
+            } else {
+                entry = lookupThreeWords(threeWordAddress);
+            }
+        }
+        if(!isPresentInAllowedCountries(entry.getCountry())) {
+            entry = getSuggestions(threeWordAddress, entry.getCountry());
+        } else if(entry.isResolved()) {
+            prefixIndex.add(threeWordAddress.getThreeWordAddress(), entry.getCountry());
+        }
+        threeWordsCache.put(threeWordAddress.getThreeWordAddress(), entry);
+        return entry;
+    }
+
+    private ThreeWordsEntry lookupThreeWords(ThreeWordAddress threeWordAddress){
+        if(packMode != PackMode.API_FIRST) {
+            ThreeWordsEntry packed = regionPack.findWords(threeWordAddress.getThreeWordAddress());
+            if(Objects.nonNull(packed)) {
+                tierMetrics.record("convertToCoordinates", Tier.PACK);
+                return packed;
+            } else if(packMode == PackMode.PACK_ONLY) {
+                throw new UnableToFind3waException("3wa is not covered by the region pack", null);
+            }
+        }
+        try {
+            ThreeWordsEntry entry = what3WordsClient.convertToCoordinates(threeWordAddress.getThreeWordAddress());
+            tierMetrics.record("convertToCoordinates", Tier.UPSTREAM);
+            diskCache.putWords(threeWordAddress.getThreeWordAddress(), entry);
+            peerCache.putWords(threeWordAddress.getThreeWordAddress(), entry);
+            return entry;
+        } catch (RuntimeException ex) {
+            ThreeWordsEntry packed = packMode == PackMode.API_FIRST
+                    ? regionPack.findWords(threeWordAddress.getThreeWordAddress()) : null;
+            if(Objects.isNull(packed)) {
+                throw ex;
+            }
+            tierMetrics.record("convertToCoordinates", Tier.PACK);
+            return packed;
         }
     }
 
+    /**
+     * The autosuggest API needs two complete words and at least one letter of the third.
+     */
+    private static boolean isAutosuggestInput(String input){
+        String words = ThreeWordsCache.normalise(input);
+        int first = words.indexOf('.');
+        int second = words.indexOf('.', first + 1);
+        return first > 0 && second > first + 1 && second < words.length() - 1 && words.indexOf('.', second + 1) < 0;
+    }
+
     private boolean isPresentInAllowedCountries(String country){
         return allowedCountries.contains(country);
     }
 
+    /**
+     * Serialises the response for an entry the first time it is served from memory, so later hits write the stored
+     * bytes instead of mapping a new DTO. Entries only seen once never pay for it.
+     */
+    private void preSerialise(SquareEntry square){
+        if(Objects.isNull(threeWordAddressWriter) || Objects.nonNull(square.getBody())
+                || Objects.isNull(square.getWords()) || square.getWords().isBlank()) {
+            return;
+        }
+        try {
+            square.setBody(threeWordAddressWriter.writeValueAsBytes(new ThreeWordAddress(square.getWords())));
+        } catch (JsonProcessingException ex) {
+            // left to the message converter
+        }
+    }
+
+    private void preSerialise(ThreeWordsEntry entry){
+        if(Objects.isNull(locationWriter) || Objects.nonNull(entry.getBody()) || !entry.isResolved()) {
+            return;
+        }
+        try {
+            entry.setBody(locationWriter.writeValueAsBytes(new Location(entry.getLat(), entry.getLng())));
+        } catch (JsonProcessingException ex) {
+            // left to the message converter
+        }
+    }
+
     private String getServiceableCountryResponse(){
         StringBuilder countryResponse = new StringBuilder("Serviceable countries with " +
                 "ISO 3166-1 alpha-2 codes are : ");
@@ -105,25 +444,150 @@ public class EmergencyServiceImpl implements EmergencyService {
         return countryResponse.toString();
     }
 
-    private List<EmergencySuggestion> getSuggestions(ThreeWordAddress threeWordAddress){
+    private ThreeWordsEntry getSuggestions(ThreeWordAddress threeWordAddress, String country){
+        long deadline = System.nanoTime() + suggestionDeadlineNanos;
+        List<CountryLookup> suggestionsByCountry = new ArrayList<>();
+        boolean partial = false;
+        for(String allowedCountry: allowedCountries){
+            try {
+                suggestionsByCountry.add(lookup(threeWordAddress, allowedCountry));
+            } catch (RejectedExecutionException ex) {
+                partial = true;
+            }
+        }
         List<EmergencySuggestion> suggestions = new ArrayList<>();
-        for(String country: allowedCountries){
-            List<Suggestion> suggestionListByCountry = what3WordsV3.autosuggest(threeWordAddress.getThreeWordAddress()).
-                    clipToCountry(country).execute().getSuggestions();
-            updateSuggestions(suggestions, suggestionListByCountry);
+        UpstreamUnavailableException unavailable = null;
+        for(CountryLookup future: suggestionsByCountry){
+            try {
+                suggestions.addAll(future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS));
+            } catch (ExecutionException ex) {
+                if(ex.getCause() instanceof UpstreamUnavailableException) {
+                    unavailable = (UpstreamUnavailableException) ex.getCause();
+                }
+                partial = true;
+            } catch (TimeoutException ex) {
+                future.cancel(true);
+                partial = true;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                partial = true;
+            }
+        }
+        if(suggestions.isEmpty() && Objects.nonNull(unavailable)) {
+            throw unavailable;
+        }
+        return ThreeWordsEntry.notRecognised(country, suggestions, partial);
+    }
+
+    private CountryLookup lookup(ThreeWordAddress threeWordAddress, String country){
+        CountryLookup lookup = new CountryLookup(() -> getSuggestionsForCountry(threeWordAddress, country));
+        suggestionExecutor.execute(lookup);
+        return lookup;
+    }
+
+    /**
+     * One country's upstream lookup. It runs as a {@link FutureTask} rather than through
+     * {@link CompletableFuture#supplyAsync}, so cancelling it at the deadline interrupts the thread still waiting on
+     * the upstream call instead of leaving it busy until the call returns. {@link #completion} follows the task for
+     * callers that chain on it.
+     */
+    private static class CountryLookup extends FutureTask<List<EmergencySuggestion>> {
+        private final CompletableFuture<List<EmergencySuggestion>> completion = new CompletableFuture<>();
+
+        private CountryLookup(Callable<List<EmergencySuggestion>> lookup) {
+            super(lookup);
+        }
+
+        @Override
+        protected void done() {
+            try {
+                completion.complete(get());
+            } catch (ExecutionException ex) {
+                completion.completeExceptionally(ex.getCause());
+            } catch (CancellationException | InterruptedException ex) {
+                completion.cancel(false);
+            }
         }
-        return suggestions;
     }
 
-    private void updateSuggestions(List<EmergencySuggestion> suggestions, List<Suggestion> suggestionListByCountry){
-        int count = 0;
-        for(Suggestion suggestion: suggestionListByCountry){
-            suggestions.add(new EmergencySuggestion(suggestion.getCountry(),
-                    suggestion.getNearestPlace(), suggestion.getWords()));
-            count++;
-            if(count>=numberOfSuggestionsPerCountry){
-                break;
+    /**
+     * Suggestions are picked under the lock and passed to the sink outside it, so a slow client only holds up the
+     * thread that is sending to it. A send that was already under way when the stream closed may still reach the sink.
+     */
+    private static class SuggestionStream {
+        private final Consumer<EmergencySuggestion> sink;
+        private final int limit;
+        private final List<EmergencySuggestion> sent = new ArrayList<>();
+        private final List<Future<?>> countries = new ArrayList<>();
+        private boolean closed;
+
+        private SuggestionStream(Consumer<EmergencySuggestion> sink, int limit) {
+            this.sink = sink;
+            this.limit = limit;
+        }
+
+        private void sendAll(List<EmergencySuggestion> suggestions) {
+            for(EmergencySuggestion suggestion: pick(suggestions)){
+                if(isClosed()) {
+                    return;
+                }
+                try {
+                    sink.accept(suggestion);
+                } catch (RuntimeException ex) {
+                    close(false);
+                    return;
+                }
+            }
+        }
+
+        private synchronized List<EmergencySuggestion> pick(List<EmergencySuggestion> suggestions) {
+            List<EmergencySuggestion> picked = new ArrayList<>();
+            for(EmergencySuggestion suggestion: suggestions){
+                if(closed || sent.size() >= limit) {
+                    break;
+                }
+                if(sent.stream().noneMatch(listed -> listed.getWords().equals(suggestion.getWords()))) {
+                    sent.add(suggestion);
+                    picked.add(suggestion);
+                }
             }
+            return picked;
         }
+
+        private synchronized boolean isClosed() {
+            return closed;
+        }
+
+        private void track(Future<?> country) {
+            synchronized (this) {
+                if(!closed) {
+                    countries.add(country);
+                    return;
+                }
+            }
+            country.cancel(true);
+        }
+
+        private void cancel() {
+            List<Future<?>> pending;
+            synchronized (this) {
+                closed = true;
+                pending = new ArrayList<>(countries);
+                countries.clear();
+            }
+            for(Future<?> country: pending){
+                country.cancel(true);
+            }
+        }
+
+        private synchronized Suggestions close(boolean partial) {
+            closed = true;
+            return new Suggestions(new ArrayList<>(sent), partial);
+        }
+    }
+
+    private List<EmergencySuggestion> getSuggestionsForCountry(ThreeWordAddress threeWordAddress, String country){
+        return what3WordsClient.autosuggest(threeWordAddress.getThreeWordAddress(), country, numberOfSuggestionsPerCountry);
     }
 }
@@ -0,0 +1,157 @@
+package com.akash.emergency.service.impl;
+
+import com.akash.emergency.cache.SquareCache;
+import com.akash.emergency.cache.SquareEntry;
+import com.akash.emergency.cache.ThreeWordsCache;
+import com.akash.emergency.cache.ThreeWordsEntry;
+import com.akash.emergency.client.ReactiveWhat3WordsClient;
+import com.akash.emergency.dto.autoSuggest.EmergencySuggestion;
+import com.akash.emergency.dto.location.Location;
+import com.akash.emergency.dto.threeWords.ThreeWordAddress;
+import com.akash.emergency.exception.exceptionClass.InvalidLanguageCodeException;
+import com.akash.emergency.exception.exceptionClass.LocationAutoSuggestException;
+import com.akash.emergency.exception.exceptionClass.LocationUnserviceableException;
+import com.akash.emergency.exception.exceptionClass.UnableToFind3waException;
+import com.akash.emergency.exception.exceptionClass.UpstreamUnavailableException;
+import com.akash.emergency.geo.Serviceability;
+import com.akash.emergency.geo.ServiceabilityIndex;
+import com.akash.emergency.service.intf.ReactiveEmergencyService;
+import lombok.Builder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ReactiveEmergencyServiceImpl implements ReactiveEmergencyService {
+    private final ReactiveWhat3WordsClient what3WordsClient;
+    private final String defaultLanguage;
+    private final List<String> allowedCountries;
+    private final String serviceableCountryResponse;
+    private final int numberOfSuggestionsPerCountry;
+    private final SquareCache squareCache;
+    private final ThreeWordsCache threeWordsCache;
+    private final Duration suggestionDeadline;
+    private final ServiceabilityIndex serviceabilityIndex;
+
+    @Builder
+    public ReactiveEmergencyServiceImpl(String defaultLanguage, List<String> allowedCountries, int numberOfSuggestionsPerCountry,
+                                        ReactiveWhat3WordsClient what3WordsClient, SquareCache squareCache,
+                                        ThreeWordsCache threeWordsCache, Duration suggestionDeadline,
+                                        ServiceabilityIndex serviceabilityIndex){
+        this.what3WordsClient = what3WordsClient;
+        this.defaultLanguage = defaultLanguage;
+        this.allowedCountries = allowedCountries;
+        this.numberOfSuggestionsPerCountry = numberOfSuggestionsPerCountry;
+        this.squareCache = Objects.requireNonNullElseGet(squareCache, SquareCache::disabled);
+        this.threeWordsCache = Objects.requireNonNullElseGet(threeWordsCache, ThreeWordsCache::disabled);
+        this.suggestionDeadline = Objects.requireNonNullElse(suggestionDeadline, Duration.ofDays(1));
+        this.serviceabilityIndex = Objects.requireNonNullElseGet(serviceabilityIndex, ServiceabilityIndex::unrestricted);
+        this.serviceableCountryResponse = "Serviceable countries with ISO 3166-1 alpha-2 codes are : " +
+                String.join(" , ", allowedCountries);
+    }
+
+    @Override
+    public Mono<ThreeWordAddress> coordTo3wa(Location location) {
+        Serviceability serviceability = serviceabilityIndex.classify(location.getLat(), location.getLng());
+        if(serviceability == Serviceability.INVALID) {
+            IllegalArgumentException cause = new IllegalArgumentException("Coordinates are out of range");
+            return Mono.error(new UnableToFind3waException(cause.getMessage(), cause));
+        } else if(serviceability == Serviceability.OUTSIDE) {
+            return Mono.error(new LocationUnserviceableException(serviceableCountryResponse));
+        }
+        return getSquare(location, defaultLanguage)
+                .map(square -> {
+                    if(isPresentInAllowedCountries(square.getCountry())) {
+                        return new ThreeWordAddress(square.getWords());
+                    }
+                    throw new LocationUnserviceableException(serviceableCountryResponse);
+                })
+                .onErrorMap(ex -> !(ex instanceof LocationUnserviceableException || ex instanceof UpstreamUnavailableException),
+                        ex -> new UnableToFind3waException(ex.getMessage(), ex));
+    }
+
+    @Override
+    public Mono<Location> _3waToCoord(ThreeWordAddress threeWordAddress) {
+        return getLocationFromThreeWords(threeWordAddress);
+    }
+
+    @Override
+    public Mono<ThreeWordAddress> _3waLanguageConvert(ThreeWordAddress threeWordAddress, String language) {
+        return getLocationFromThreeWords(threeWordAddress)
+                .flatMap(location -> getSquare(location, language))
+                .map(square -> {
+                    if(Objects.isNull(square.getWords()) || square.getWords().isBlank()) {
+                        throw new InvalidLanguageCodeException(language);
+                    }
+                    return new ThreeWordAddress(square.getWords());
+                });
+    }
+
+    private Mono<SquareEntry> getSquare(Location location, String language){
+        SquareEntry cached = squareCache.get(language, location.getLat(), location.getLng());
+        if(Objects.nonNull(cached)) {
+            return Mono.just(cached);
+        }
+        return what3WordsClient.convertTo3wa(location.getLat(), location.getLng(), language)
+                .doOnNext(square -> squareCache.put(language, square));
+    }
+
+    private Mono<Location> getLocationFromThreeWords(ThreeWordAddress threeWordAddress){
+        return getThreeWordsEntry(threeWordAddress).map(entry -> {
+            if(entry.isResolved()) {
+                return new Location(entry.getLat(), entry.getLng());
+            }
+            throw new LocationAutoSuggestException(threeWordAddress.getThreeWordAddress(), entry.getSuggestions(),
+                    entry.isPartial());
+        });
+    }
+
+    private Mono<ThreeWordsEntry> getThreeWordsEntry(ThreeWordAddress threeWordAddress){
+        ThreeWordsEntry cached = threeWordsCache.get(threeWordAddress.getThreeWordAddress());
+        if(Objects.nonNull(cached)) {
+            return Mono.just(cached);
+        }
+        return what3WordsClient.convertToCoordinates(threeWordAddress.getThreeWordAddress())
+                .flatMap(coordinates -> isPresentInAllowedCountries(coordinates.getCountry()) ? Mono.just(coordinates)
+                        : getSuggestions(threeWordAddress, coordinates.getCountry()))
+                .doOnNext(entry -> threeWordsCache.put(threeWordAddress.getThreeWordAddress(), entry));
+    }
+
+    private Mono<ThreeWordsEntry> getSuggestions(ThreeWordAddress threeWordAddress, String country){
+        return Mono.defer(() -> {
+            AtomicReference<UpstreamUnavailableException> unavailable = new AtomicReference<>();
+            return Flux.fromIterable(allowedCountries)
+                    .flatMapSequential(allowedCountry -> what3WordsClient.autosuggest(threeWordAddress.getThreeWordAddress(),
+                                    allowedCountry, numberOfSuggestionsPerCountry)
+                            .map(Optional::of)
+                            .timeout(suggestionDeadline)
+                            .doOnError(UpstreamUnavailableException.class, unavailable::set)
+                            .onErrorResume(ex -> Mono.just(Optional.empty())))
+                    .collectList()
+                    .map(suggestionsByCountry -> {
+                        List<EmergencySuggestion> suggestions = new ArrayList<>();
+                        boolean partial = false;
+                        for(Optional<List<EmergencySuggestion>> countrySuggestions: suggestionsByCountry) {
+                            if(countrySuggestions.isPresent()) {
+                                suggestions.addAll(countrySuggestions.get());
+                            } else {
+                                partial = true;
+                            }
+                        }
+                        if(suggestions.isEmpty() && Objects.nonNull(unavailable.get())) {
+                            throw unavailable.get();
+                        }
+                        return ThreeWordsEntry.notRecognised(country, suggestions, partial);
+                    });
+        });
+    }
+
+    private boolean isPresentInAllowedCountries(String country){
+        return allowedCountries.contains(country);
+    }
+}
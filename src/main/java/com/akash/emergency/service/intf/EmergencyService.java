@@ -1,7 +1,13 @@
 package com.akash.emergency.service.intf;
 
+import com.akash.emergency.dto.autoSuggest.EmergencySuggestion;
+import com.akash.emergency.dto.autoSuggest.Suggestions;
 import com.akash.emergency.dto.threeWords.ThreeWordAddress;
 import com.akash.emergency.dto.location.Location;
+import com.akash.emergency.service.result.LookupResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface EmergencyService {
     ThreeWordAddress coordTo3wa(Location location);
@@ -9,4 +15,14 @@ public interface EmergencyService {
     Location _3waToCoord(ThreeWordAddress threeWordAddress);
 
     ThreeWordAddress _3waLanguageConvert(ThreeWordAddress word, String language);
+
+    LookupResult<ThreeWordAddress> coordTo3waResult(Location location);
+
+    LookupResult<Location> _3waToCoordResult(ThreeWordAddress threeWordAddress);
+
+    LookupResult<ThreeWordAddress> _3waLanguageConvertResult(ThreeWordAddress word, String language);
+
+    CompletableFuture<LookupResult<Suggestions>> autosuggestResult(String input, String session);
+
+    CompletableFuture<Suggestions> autosuggestStream(String input, String session, Consumer<EmergencySuggestion> sink);
 }
@@ -0,0 +1,13 @@
+package com.akash.emergency.service.intf;
+
+import com.akash.emergency.dto.location.Location;
+import com.akash.emergency.dto.threeWords.ThreeWordAddress;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmergencyService {
+    Mono<ThreeWordAddress> coordTo3wa(Location location);
+
+    Mono<Location> _3waToCoord(ThreeWordAddress threeWordAddress);
+
+    Mono<ThreeWordAddress> _3waLanguageConvert(ThreeWordAddress word, String language);
+}
@@ -0,0 +1,96 @@
+package com.akash.emergency.service.result;
+
+import com.akash.emergency.dto.autoSuggest.EmergencySuggestion;
+import com.akash.emergency.exception.exceptionClass.InvalidLanguageCodeException;
+import com.akash.emergency.exception.exceptionClass.LocationAutoSuggestException;
+import com.akash.emergency.exception.exceptionClass.LocationUnserviceableException;
+import com.akash.emergency.exception.exceptionClass.UnableToFind3waException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a lookup, returned instead of thrown for the expected business cases (not recognised, unserviceable,
+ * unknown language, no 3wa for the point). {@link #orElseThrow()} turns a failed result back into the exception the
+ * throwing API has always used, so the two stay interchangeable. A found result may also carry {@code body}, the value
+ * already serialised as the JSON response, which is then written as is.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LookupResult<T> {
+    public enum Outcome {
+        FOUND,
+        NOT_RECOGNISED,
+        UNSERVICEABLE,
+        INVALID_LANGUAGE,
+        UNRESOLVED
+    }
+
+    private final Outcome outcome;
+    private final T value;
+    private final String subject;
+    private final String message;
+    private final List<EmergencySuggestion> suggestions;
+    private final boolean partial;
+    private final Throwable cause;
+    private final byte[] body;
+
+    public static <T> LookupResult<T> found(T value) {
+        return found(value, null);
+    }
+
+    public static <T> LookupResult<T> found(T value, byte[] body) {
+        return new LookupResult<>(Outcome.FOUND, value, null, null, Collections.emptyList(), false, null, body);
+    }
+
+    public static <T> LookupResult<T> notRecognised(String threeWordAddress, List<EmergencySuggestion> suggestions,
+                                                    boolean partial) {
+        return new LookupResult<>(Outcome.NOT_RECOGNISED, null, threeWordAddress,
+                LocationAutoSuggestException.messageFor(threeWordAddress), suggestions, partial, null, null);
+    }
+
+    public static <T> LookupResult<T> unserviceable(String message) {
+        return new LookupResult<>(Outcome.UNSERVICEABLE, null, null, message, Collections.emptyList(), false, null,
+                null);
+    }
+
+    public static <T> LookupResult<T> invalidLanguage(String languageCode) {
+        return new LookupResult<>(Outcome.INVALID_LANGUAGE, null, languageCode,
+                InvalidLanguageCodeException.messageFor(languageCode), Collections.emptyList(), false, null, null);
+    }
+
+    public static <T> LookupResult<T> unresolved(String message, Throwable cause) {
+        return new LookupResult<>(Outcome.UNRESOLVED, null, null, message, Collections.emptyList(), false, cause, null);
+    }
+
+    public boolean isFound() {
+        return outcome == Outcome.FOUND;
+    }
+
+    public <U> LookupResult<U> failure() {
+        if (isFound()) {
+            throw new IllegalStateException("Result was found");
+        }
+        @SuppressWarnings("unchecked")
+        LookupResult<U> failure = (LookupResult<U>) this;
+        return failure;
+    }
+
+    public T orElseThrow() {
+        switch (outcome) {
+            case FOUND:
+                return value;
+            case NOT_RECOGNISED:
+                throw new LocationAutoSuggestException(subject, suggestions, partial);
+            case UNSERVICEABLE:
+                throw new LocationUnserviceableException(message);
+            case INVALID_LANGUAGE:
+                throw new InvalidLanguageCodeException(subject);
+            default:
+                throw new UnableToFind3waException(message, cause);
+        }
+    }
+}
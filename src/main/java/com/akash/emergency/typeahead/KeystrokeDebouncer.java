@@ -0,0 +1,87 @@
+package com.akash.emergency.typeahead;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collapses rapid keystrokes from one typeahead session into a single upstream call. Every keystroke schedules a check
+ * for the end of the quiet period on the scheduler and supersedes the session's pending one, whose future completes
+ * with {@code false} straight away; no thread waits while debouncing. Requests without a session are never debounced.
+ */
+public class KeystrokeDebouncer {
+    private final Cache<String, Pending> sessions;
+    private final long quietPeriodNanos;
+    private final ScheduledExecutorService scheduler;
+
+    public KeystrokeDebouncer(Duration quietPeriod, long maximumSessions, ScheduledExecutorService scheduler) {
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maximumSessions)
+                .expireAfterAccess(Duration.ofMinutes(5))
+                .build();
+        this.quietPeriodNanos = quietPeriod.toNanos();
+        this.scheduler = scheduler;
+    }
+
+    private KeystrokeDebouncer() {
+        this.sessions = null;
+        this.quietPeriodNanos = 0;
+        this.scheduler = null;
+    }
+
+    public static KeystrokeDebouncer disabled() {
+        return new KeystrokeDebouncer();
+    }
+
+    /**
+     * Records a keystroke and returns a future that completes with {@code true} once the quiet period passed without a
+     * later keystroke from the same session, or with {@code false} as soon as a later one arrives. Cancelling the
+     * future leaves the session's other keystrokes unaffected.
+     */
+    public CompletableFuture<Boolean> debounce(String session) {
+        if (Objects.isNull(sessions) || Objects.isNull(session)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        Pending pending = new Pending(session);
+        Pending previous = sessions.asMap().put(session, pending);
+        if (Objects.nonNull(previous)) {
+            previous.supersede();
+        }
+        try {
+            pending.task = scheduler.schedule(pending::quiet, quietPeriodNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException ex) {
+            pending.quiet();
+        }
+        return pending.result;
+    }
+
+    private class Pending {
+        private final String session;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        private volatile Future<?> task;
+
+        private Pending(String session) {
+            this.session = session;
+        }
+
+        private void quiet() {
+            sessions.asMap().remove(session, this);
+            result.complete(true);
+        }
+
+        private void supersede() {
+            result.complete(false);
+            Future<?> scheduled = task;
+            if (Objects.nonNull(scheduled)) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+}
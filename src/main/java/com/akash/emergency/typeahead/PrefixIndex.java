@@ -0,0 +1,85 @@
+package com.akash.emergency.typeahead;
+
+import com.akash.emergency.cache.ThreeWordsCache;
+import com.akash.emergency.dto.autoSuggest.EmergencySuggestion;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sorted index of the 3wa this instance has resolved, by normalised words, answering prefix queries for typeahead.
+ * All addresses sharing a prefix sit next to each other, so a query is a single range scan that stops after
+ * {@code limit} matches. Once {@code maximumEntries} addresses are indexed new ones are ignored until a restart.
+ */
+public class PrefixIndex {
+    private final ConcurrentSkipListMap<String, String> countries;
+    private final int maximumEntries;
+    private final AtomicInteger size = new AtomicInteger();
+
+    public PrefixIndex(int maximumEntries) {
+        this.countries = new ConcurrentSkipListMap<>();
+        this.maximumEntries = maximumEntries;
+    }
+
+    private PrefixIndex() {
+        this.countries = null;
+        this.maximumEntries = 0;
+    }
+
+    public static PrefixIndex disabled() {
+        return new PrefixIndex();
+    }
+
+    public void add(String threeWordAddress, String country) {
+        if (Objects.isNull(countries) || Objects.isNull(threeWordAddress) || Objects.isNull(country)
+                || size.get() >= maximumEntries) {
+            return;
+        }
+        if (Objects.isNull(countries.put(ThreeWordsCache.normalise(threeWordAddress), country))) {
+            size.incrementAndGet();
+        }
+    }
+
+    /**
+     * Up to {@code limit} indexed addresses starting with {@code prefix} in one of {@code allowedCountries}, in
+     * alphabetical order.
+     */
+    public List<EmergencySuggestion> find(String prefix, Collection<String> allowedCountries, int limit) {
+        List<EmergencySuggestion> suggestions = new ArrayList<>();
+        if (Objects.isNull(countries) || limit < 1) {
+            return suggestions;
+        }
+        String key = ThreeWordsCache.normalise(prefix);
+        for (Map.Entry<String, String> entry : countries.tailMap(key).entrySet()) {
+            if (!entry.getKey().startsWith(key)) {
+                break;
+            }
+            if (allowedCountries.contains(entry.getValue())) {
+                suggestions.add(new EmergencySuggestion(entry.getValue(), null, entry.getKey()));
+                if (suggestions.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public void registerMetrics(MeterRegistry meterRegistry) {
+        if (Objects.nonNull(countries)) {
+            Gauge.builder("typeahead.index.entries", this, PrefixIndex::size)
+                    .description("3wa indexed for typeahead")
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.akash.emergency.validation;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotated {@code Double} must lie within {@code [min, max]}. NaN is invalid and null is valid.
+ * Compared as primitives, unlike {@code @DecimalMin}/{@code @DecimalMax} which go through BigDecimal.
+ */
+@Documented
+@Constraint(validatedBy = CoordinateRangeValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CoordinateRange {
+    double min();
+
+    double max();
+
+    String message();
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,25 @@
+package com.akash.emergency.validation;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import java.util.Objects;
+
+public class CoordinateRangeValidator implements ConstraintValidator<CoordinateRange, Double> {
+    private double min;
+    private double max;
+
+    @Override
+    public void initialize(CoordinateRange constraint) {
+        this.min = constraint.min();
+        this.max = constraint.max();
+    }
+
+    @Override
+    public boolean isValid(Double value, ConstraintValidatorContext context) {
+        if (Objects.isNull(value)) {
+            return true;
+        }
+        double degrees = value;
+        return degrees >= min && degrees <= max;
+    }
+}
@@ -0,0 +1,25 @@
+package com.akash.emergency.validation;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotated string must be a 3wa: optional leading slashes, then three words, or three groups of two to four
+ * space separated words, joined by one of the separators the What3Words languages use. Null is valid.
+ */
+@Documented
+@Constraint(validatedBy = ThreeWordAddressValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ThreeWordAddressFormat {
+    String message() default "3wa address supplied has invalid format";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,96 @@
+package com.akash.emergency.validation;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import java.util.Objects;
+
+/**
+ * Single pass scanner equivalent to the 3wa pattern
+ * <pre>
+ * ^/*(?:W S W S W|W( W){1,3} S W( W){1,3} S W( W){1,3})$
+ * </pre>
+ * where W is {@code (?:\p{L}\p{M}*)+}, S is one of {@code .｡。･・︒។։။۔።।} and words in a group are separated by a
+ * space or no-break space. Letters, marks, separators and spaces are disjoint, so no backtracking is needed.
+ */
+public class ThreeWordAddressValidator implements ConstraintValidator<ThreeWordAddressFormat, String> {
+    private static final int MAX_WORDS_PER_GROUP = 4;
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return Objects.isNull(value) || isValid(value);
+    }
+
+    public static boolean isValid(String value) {
+        int length = value.length();
+        int index = 0;
+        while (index < length && value.charAt(index) == '/') {
+            index++;
+        }
+        int groups = 0;
+        int words = 0;
+        int firstGroupWords = 0;
+        boolean inWord = false;
+        while (index < length) {
+            int codePoint = value.codePointAt(index);
+            index += Character.charCount(codePoint);
+            if (!inWord) {
+                if (!Character.isLetter(codePoint)) {
+                    return false;
+                }
+                inWord = true;
+            } else if (isSpace(codePoint)) {
+                words++;
+                inWord = false;
+            } else if (isSeparator(codePoint)) {
+                words++;
+                groups++;
+                if (groups == 3 || !isValidGroup(groups, words, firstGroupWords)) {
+                    return false;
+                }
+                firstGroupWords = groups == 1 ? words : firstGroupWords;
+                words = 0;
+                inWord = false;
+            } else if (!Character.isLetter(codePoint) && !isMark(codePoint)) {
+                return false;
+            }
+        }
+        return inWord && groups == 2 && isValidGroup(3, words + 1, firstGroupWords);
+    }
+
+    private static boolean isValidGroup(int group, int words, int firstGroupWords) {
+        if (words > MAX_WORDS_PER_GROUP) {
+            return false;
+        }
+        return group == 1 || (words == 1) == (firstGroupWords == 1);
+    }
+
+    private static boolean isSpace(int codePoint) {
+        return codePoint == ' ' || codePoint == '\u00A0';
+    }
+
+    private static boolean isMark(int codePoint) {
+        int type = Character.getType(codePoint);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK;
+    }
+
+    private static boolean isSeparator(int codePoint) {
+        switch (codePoint) {
+            case '.':
+            case '｡':
+            case '。':
+            case '･':
+            case '・':
+            case '︒':
+            case '។':
+            case '։':
+            case '။':
+            case '۔':
+            case '።':
+            case '।':
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.akash.emergency.warmup;
+
+import com.akash.emergency.config.TaskExecutors;
+import com.akash.emergency.dto.location.Location;
+import com.akash.emergency.dto.threeWords.ThreeWordAddress;
+import com.akash.emergency.exception.exceptionClass.UpstreamQuotaExceededException;
+import com.akash.emergency.service.intf.EmergencyService;
+import com.akash.emergency.service.result.LookupResult;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Resolves a {@link HotSet} through the {@link EmergencyService} so its squares and addresses are cached before the
+ * instance takes traffic. At most {@code parallelism} lookups run at once. They go through the same client as live
+ * requests, so warm-up draws on the outbound rate limits and budget: a refused lookup waits for the retry-after when
+ * that still fits before the deadline, otherwise warm-up stops rather than queueing behind the limit.
+ */
+public class CacheWarmer {
+    private static final Logger log = LoggerFactory.getLogger(CacheWarmer.class);
+
+    private final EmergencyService emergencyService;
+    private final int parallelism;
+    private final Duration timeout;
+
+    public CacheWarmer(EmergencyService emergencyService, int parallelism, Duration timeout) {
+        this.emergencyService = emergencyService;
+        this.parallelism = Math.max(1, parallelism);
+        this.timeout = timeout;
+    }
+
+    /**
+     * Blocks until every entry has been looked up or the timeout has passed.
+     */
+    public Report warm(HotSet hotSet) {
+        List<Supplier<LookupResult<?>>> lookups = new ArrayList<>(hotSet.size());
+        for (Location location : hotSet.getLocations()) {
+            lookups.add(() -> emergencyService.coordTo3waResult(location));
+        }
+        for (ThreeWordAddress threeWordAddress : hotSet.getThreeWordAddresses()) {
+            lookups.add(() -> emergencyService._3waToCoordResult(threeWordAddress));
+        }
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        Progress progress = new Progress(lookups, deadline);
+        int threads = Math.max(1, Math.min(parallelism, lookups.size()));
+        ExecutorService workers = Executors.newFixedThreadPool(threads, TaskExecutors.namedThreadFactory("warmup-"));
+        for (int i = 0; i < threads; i++) {
+            workers.execute(progress::work);
+        }
+        workers.shutdown();
+        boolean finished = false;
+        try {
+            finished = workers.awaitTermination(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        progress.stopped.set(true);
+        workers.shutdownNow();
+        Report report = new Report(progress.found.get(), progress.notFound.get(), progress.failed.get(),
+                lookups.size() - progress.attempted.get(), finished && !progress.limited.get(),
+                Duration.ofNanos(System.nanoTime() - start));
+        log.info("Cache warm-up resolved {} and cached {} negative outcomes in {}ms; {} failed, {} skipped, {} rejected "
+                        + "lines{}", report.getFound(), report.getNotFound(), report.getElapsed().toMillis(),
+                report.getFailed(), report.getSkipped(), hotSet.getRejected(),
+                report.isComplete() ? "" : " (stopped early)");
+        return report;
+    }
+
+    private class Progress {
+        private final List<Supplier<LookupResult<?>>> lookups;
+        private final long deadline;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger attempted = new AtomicInteger();
+        private final AtomicInteger found = new AtomicInteger();
+        private final AtomicInteger notFound = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicBoolean stopped = new AtomicBoolean();
+        private final AtomicBoolean limited = new AtomicBoolean();
+
+        private Progress(List<Supplier<LookupResult<?>>> lookups, long deadline) {
+            this.lookups = lookups;
+            this.deadline = deadline;
+        }
+
+        private void work() {
+            for (int index = next.getAndIncrement(); index < lookups.size() && !stopped.get();
+                 index = next.getAndIncrement()) {
+                attempted.incrementAndGet();
+                resolve(lookups.get(index));
+            }
+        }
+
+        private void resolve(Supplier<LookupResult<?>> lookup) {
+            while (!stopped.get()) {
+                try {
+                    if (lookup.get().isFound()) {
+                        found.incrementAndGet();
+                    } else {
+                        notFound.incrementAndGet();
+                    }
+                    return;
+                } catch (UpstreamQuotaExceededException ex) {
+                    long wait = TimeUnit.SECONDS.toNanos(ex.getRetryAfterSeconds());
+                    if (System.nanoTime() + wait >= deadline) {
+                        log.warn("Stopping cache warm-up, the outbound limit refused a lookup: {}", ex.getMessage());
+                        limited.set(true);
+                        stopped.set(true);
+                        failed.incrementAndGet();
+                        return;
+                    }
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        failed.incrementAndGet();
+                        return;
+                    }
+                } catch (RuntimeException ex) {
+                    failed.incrementAndGet();
+                    return;
+                }
+            }
+            failed.incrementAndGet();
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Report {
+        private final int found;
+        private final int notFound;
+        private final int failed;
+        private final int skipped;
+        private final boolean complete;
+        private final Duration elapsed;
+    }
+}
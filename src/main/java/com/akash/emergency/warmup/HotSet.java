@@ -0,0 +1,81 @@
+package com.akash.emergency.warmup;
+
+import com.akash.emergency.dto.location.Location;
+import com.akash.emergency.dto.threeWords.ThreeWordAddress;
+import com.akash.emergency.validation.ThreeWordAddressValidator;
+import lombok.Getter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Lookups to resolve before the instance takes traffic, one per line: either {@code lat,lng} or a 3wa. Blank lines
+ * and anything after a {@code #} are ignored, so entries can be labelled, e.g.
+ * {@code 51.49871,-0.11853 # St Thomas' Hospital}. Lines that are neither are counted as rejected.
+ */
+@Getter
+public class HotSet {
+    private final List<Location> locations;
+    private final List<ThreeWordAddress> threeWordAddresses;
+    private final int rejected;
+
+    private HotSet(List<Location> locations, List<ThreeWordAddress> threeWordAddresses, int rejected) {
+        this.locations = Collections.unmodifiableList(locations);
+        this.threeWordAddresses = Collections.unmodifiableList(threeWordAddresses);
+        this.rejected = rejected;
+    }
+
+    public static HotSet empty() {
+        return new HotSet(new ArrayList<>(), new ArrayList<>(), 0);
+    }
+
+    public static HotSet load(InputStream hotSet) throws IOException {
+        List<Location> locations = new ArrayList<>();
+        List<ThreeWordAddress> threeWordAddresses = new ArrayList<>();
+        int rejected = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(hotSet, StandardCharsets.UTF_8))) {
+            String line;
+            while (Objects.nonNull(line = reader.readLine())) {
+                int comment = line.indexOf('#');
+                line = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                Location location = parseLocation(line);
+                if (Objects.nonNull(location)) {
+                    locations.add(location);
+                } else if (ThreeWordAddressValidator.isValid(line)) {
+                    threeWordAddresses.add(new ThreeWordAddress(line));
+                } else {
+                    rejected++;
+                }
+            }
+        }
+        return new HotSet(locations, threeWordAddresses, rejected);
+    }
+
+    public int size() {
+        return locations.size() + threeWordAddresses.size();
+    }
+
+    private static Location parseLocation(String line) {
+        int comma = line.indexOf(',');
+        if (comma < 0) {
+            return null;
+        }
+        try {
+            double lat = Double.parseDouble(line.substring(0, comma).trim());
+            double lng = Double.parseDouble(line.substring(comma + 1).trim());
+            return Math.abs(lat) <= 90 && Math.abs(lng) <= 180 ? new Location(lat, lng) : null;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
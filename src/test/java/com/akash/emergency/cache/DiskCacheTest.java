@@ -0,0 +1,162 @@
+package com.akash.emergency.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DiskCacheTest {
+    private static final int SEGMENT_BYTES = 4096;
+
+    @TempDir
+    Path directory;
+
+    private final SquareEntry london = new SquareEntry(51.520833, -0.195543, 51.520860, -0.195499, "filled.count.soap", "GB");
+    private final SquareEntry neighbour = new SquareEntry(51.520860, -0.195543, 51.520887, -0.195499, "index.home.raft", "GB");
+
+    @Test
+    public void getSquare_AnyPointInStoredSquare_ReturnsEntry() throws IOException {
+        try (DiskCache diskCache = open()) {
+            diskCache.putSquare("en", london);
+            diskCache.putSquare("en", neighbour);
+            assertEquals(london, diskCache.getSquare("en", 51.520847, -0.195521));
+            assertEquals(london, diskCache.getSquare("en", 51.520833, -0.195543));
+            assertEquals(london, diskCache.getSquare("en", 51.520859, -0.195500));
+            assertEquals(neighbour, diskCache.getSquare("en", 51.520870, -0.195521));
+            assertNull(diskCache.getSquare("en", 51.520900, -0.195521));
+            assertNull(diskCache.getSquare("fr", 51.520847, -0.195521));
+        }
+    }
+
+    @Test
+    public void getWords_StoredAddress_ReturnsEntryForAnySpelling() throws IOException {
+        try (DiskCache diskCache = open()) {
+            diskCache.putWords("filled.count.soap", ThreeWordsEntry.resolved(51.520847, -0.195521, "GB"));
+            ThreeWordsEntry entry = diskCache.getWords("///Filled.Count.Soap");
+            assertTrue(entry.isResolved());
+            assertEquals(51.520847, entry.getLat());
+            assertEquals(-0.195521, entry.getLng());
+            assertEquals("GB", entry.getCountry());
+            assertNull(diskCache.getWords("table.book.chair"));
+        }
+    }
+
+    @Test
+    public void put_UnresolvedOrIncompleteEntries_AreNotStored() throws IOException {
+        try (DiskCache diskCache = open()) {
+            diskCache.putSquare("en", new SquareEntry(Double.NaN, Double.NaN, Double.NaN, Double.NaN, "filled.count.soap", "GB"));
+            diskCache.putSquare("en", new SquareEntry(51.520833, -0.195543, 51.520860, -0.195499, "filled.count.soap", null));
+            diskCache.putWords("table.book.chair", ThreeWordsEntry.notRecognised("GB", Collections.emptyList()));
+            assertEquals(0, diskCache.size());
+        }
+    }
+
+    @Test
+    public void open_ExistingLog_ReplaysEntriesAcrossSegments() throws IOException {
+        try (DiskCache diskCache = open()) {
+            for (int i = 0; i < 500; i++) {
+                diskCache.putWords("word.number." + i, ThreeWordsEntry.resolved(i, -i, "GB"));
+            }
+            diskCache.putSquare("en", london);
+        }
+        assertTrue(Files.size(file()) > SEGMENT_BYTES);
+        try (DiskCache diskCache = open()) {
+            assertEquals(501, diskCache.size());
+            assertEquals(499, diskCache.getWords("word.number.499").getLat());
+            assertEquals(-250, diskCache.getWords("word.number.250").getLng());
+            assertEquals(london, diskCache.getSquare("en", 51.520847, -0.195521));
+        }
+    }
+
+    @Test
+    public void open_TornTail_KeepsEarlierRecordsAndAppendsAfterThem() throws IOException {
+        try (DiskCache diskCache = open()) {
+            diskCache.putWords("filled.count.soap", ThreeWordsEntry.resolved(51.520847, -0.195521, "GB"));
+            diskCache.putWords("index.home.raft", ThreeWordsEntry.resolved(51.520873, -0.195521, "GB"));
+        }
+        try (FileChannel channel = FileChannel.open(file(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x55, 0x55, 0x55}), 90);
+        }
+        try (DiskCache diskCache = open()) {
+            assertEquals(1, diskCache.size());
+            assertNotNull(diskCache.getWords("filled.count.soap"));
+            assertNull(diskCache.getWords("index.home.raft"));
+            diskCache.putWords("table.book.chair", ThreeWordsEntry.resolved(1, 2, "GB"));
+        }
+        try (DiskCache diskCache = open()) {
+            assertEquals(2, diskCache.size());
+            assertNotNull(diskCache.getWords("table.book.chair"));
+        }
+    }
+
+    @Test
+    public void open_NotADiskCache_ThrowsIOException() throws IOException {
+        Files.write(file(), "not a disk cache, just some text".getBytes());
+        assertThrows(IOException.class, this::open);
+    }
+
+    @Test
+    public void put_SameKey_LatestValueWinsAndCompactionDropsTheOldOne() throws IOException {
+        try (DiskCache diskCache = open()) {
+            for (int i = 0; i < 100; i++) {
+                diskCache.putWords("filled.count.soap", ThreeWordsEntry.resolved(i, 0, "GB"));
+            }
+            diskCache.putSquare("en", london);
+            diskCache.putSquare("en", new SquareEntry(51.520833, -0.195543, 51.520860, -0.195499, "filled.count.soap", "FR"));
+            assertEquals(2, diskCache.size());
+            assertEquals(99, diskCache.getWords("filled.count.soap").getLat());
+            long before = Files.size(file());
+            diskCache.compact();
+            assertTrue(Files.size(file()) < before);
+            assertEquals(2, diskCache.size());
+            assertEquals(99, diskCache.getWords("filled.count.soap").getLat());
+            assertEquals("FR", diskCache.getSquare("en", 51.520847, -0.195521).getCountry());
+            diskCache.putWords("index.home.raft", ThreeWordsEntry.resolved(51.520873, -0.195521, "GB"));
+        }
+        try (DiskCache diskCache = open()) {
+            assertEquals(3, diskCache.size());
+            assertEquals(99, diskCache.getWords("filled.count.soap").getLat());
+            assertNotNull(diskCache.getWords("index.home.raft"));
+        }
+    }
+
+    @Test
+    public void compact_MoreThanMaximumEntries_DropsTheOldest() throws IOException {
+        try (DiskCache diskCache = new DiskCache(file(), SEGMENT_BYTES, 10)) {
+            for (int i = 0; i < 15; i++) {
+                diskCache.putWords("word.number." + i, ThreeWordsEntry.resolved(i, i, "GB"));
+            }
+            assertTrue(diskCache.needsCompaction());
+            diskCache.compact();
+            assertEquals(10, diskCache.size());
+            assertNull(diskCache.getWords("word.number.4"));
+            assertNotNull(diskCache.getWords("word.number.5"));
+            assertFalse(diskCache.needsCompaction());
+        }
+    }
+
+    @Test
+    public void disabled_NeverReturnsEntry() throws IOException {
+        try (DiskCache disabled = DiskCache.disabled()) {
+            disabled.putSquare("en", london);
+            assertNull(disabled.getSquare("en", 51.520847, -0.195521));
+            assertEquals(0, disabled.size());
+        }
+    }
+
+    private DiskCache open() throws IOException {
+        return new DiskCache(file(), SEGMENT_BYTES, 1000);
+    }
+
+    private Path file() {
+        return directory.resolve("lookups.log");
+    }
+}
@@ -0,0 +1,60 @@
+package com.akash.emergency.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SquareCacheTest {
+    private SquareCache squareCache;
+    private SquareEntry square;
+
+    @BeforeEach
+    public void setup() {
+        squareCache = new SquareCache(100, Duration.ofMinutes(5));
+        square = new SquareEntry(51.520833, -0.195543, 51.520860, -0.195499, "filled.count.soap", "GB");
+    }
+
+    @Test
+    public void get_PointInsideCachedSquare_ReturnsEntry() {
+        squareCache.put("en", square);
+        assertEquals(square, squareCache.get("en", 51.520847, -0.195521));
+        assertEquals(square, squareCache.get("en", 51.520834, -0.195542));
+        assertEquals(2, squareCache.stats().hitCount());
+    }
+
+    @Test
+    public void get_PointOutsideCachedSquare_ReturnsNull() {
+        squareCache.put("en", square);
+        assertNull(squareCache.get("en", 51.520870, -0.195521));
+    }
+
+    @Test
+    public void get_DifferentLanguage_ReturnsNull() {
+        squareCache.put("en", square);
+        assertNull(squareCache.get("fr", 51.520847, -0.195521));
+        assertEquals(1, squareCache.stats().missCount());
+    }
+
+    @Test
+    public void put_SquareWithoutBounds_IsNotCached() {
+        squareCache.put("en", new SquareEntry(Double.NaN, Double.NaN, Double.NaN, Double.NaN, "filled.count.soap", "GB"));
+        assertEquals(0, squareCache.size());
+    }
+
+    @Test
+    public void disabled_NeverReturnsEntry() {
+        SquareCache disabled = SquareCache.disabled();
+        disabled.put("en", square);
+        assertNull(disabled.get("en", 51.520847, -0.195521));
+    }
+
+    @Test
+    public void cellKeys_SquareSpansAtMostFourCells() {
+        assertTrue(GridSquare.cellKeys(square.getSwLat(), square.getSwLng(), square.getNeLat(), square.getNeLng()).size() <= 4);
+        assertTrue(GridSquare.cellKeys(square.getSwLat(), square.getSwLng(), square.getNeLat(), square.getNeLng())
+                .contains(GridSquare.cellKey(51.520847, -0.195521)));
+    }
+}
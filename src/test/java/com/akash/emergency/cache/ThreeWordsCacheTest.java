@@ -0,0 +1,68 @@
+package com.akash.emergency.cache;
+
+import com.akash.emergency.dto.autoSuggest.EmergencySuggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ThreeWordsCacheTest {
+    private ThreeWordsCache threeWordsCache;
+
+    @BeforeEach
+    public void setup() {
+        threeWordsCache = new ThreeWordsCache(100, Duration.ofMinutes(5), 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    public void get_ResolvedAddress_IgnoresLeadingSlashesAndCase() {
+        ThreeWordsEntry entry = ThreeWordsEntry.resolved(51.520847, -0.195521, "GB");
+        threeWordsCache.put("filled.count.soap", entry);
+        assertEquals(entry, threeWordsCache.get("///Filled.Count.Soap"));
+    }
+
+    @Test
+    public void get_NotRecognisedAddress_ReturnsSuggestions() {
+        List<EmergencySuggestion> suggestions = Collections.singletonList(
+                new EmergencySuggestion("GB", "Bayswater, London", "filled.count.soap"));
+        threeWordsCache.put("filled.count.sop", ThreeWordsEntry.notRecognised(null, suggestions));
+        ThreeWordsEntry entry = threeWordsCache.get("filled.count.sop");
+        assertFalse(entry.isResolved());
+        assertEquals(suggestions, entry.getSuggestions());
+        assertEquals(1, threeWordsCache.notRecognisedStats().hitCount());
+    }
+
+    @Test
+    public void get_UnknownAddress_ReturnsNull() {
+        assertNull(threeWordsCache.get("index.home.raft"));
+    }
+
+    @Test
+    public void disabled_NeverReturnsEntry() {
+        ThreeWordsCache disabled = ThreeWordsCache.disabled();
+        disabled.put("filled.count.soap", ThreeWordsEntry.resolved(51.520847, -0.195521, "GB"));
+        assertNull(disabled.get("filled.count.soap"));
+    }
+
+    @Test
+    public void resolvedOnly_NeverReturnsNotRecognisedEntry() {
+        ThreeWordsCache resolvedOnly = ThreeWordsCache.resolvedOnly(100, Duration.ofMinutes(5));
+        resolvedOnly.put("filled.count.sop", ThreeWordsEntry.notRecognised(null, Collections.emptyList()));
+        resolvedOnly.put("filled.count.soap", ThreeWordsEntry.resolved(51.520847, -0.195521, "GB"));
+        assertNull(resolvedOnly.get("filled.count.sop"));
+        assertTrue(resolvedOnly.get("filled.count.soap").isResolved());
+    }
+
+    @Test
+    public void notRecognisedOnly_NeverReturnsResolvedEntry() {
+        ThreeWordsCache notRecognisedOnly = ThreeWordsCache.notRecognisedOnly(100, Duration.ofMinutes(1));
+        notRecognisedOnly.put("filled.count.soap", ThreeWordsEntry.resolved(51.520847, -0.195521, "GB"));
+        notRecognisedOnly.put("filled.count.sop", ThreeWordsEntry.notRecognised(null, Collections.emptyList()));
+        assertNull(notRecognisedOnly.get("filled.count.soap"));
+        assertFalse(notRecognisedOnly.get("filled.count.sop").isResolved());
+    }
+}
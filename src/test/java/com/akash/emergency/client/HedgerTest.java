@@ -0,0 +1,156 @@
+package com.akash.emergency.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HedgerTest {
+    private static final int warmUpCalls = 200;
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void execute_Disabled_RunsOnCallerThread() {
+        Hedger hedger = new Hedger("convertTo3wa", HedgePolicy.disabled(), meterRegistry);
+        Thread caller = Thread.currentThread();
+        assertEquals(caller, hedger.execute(Thread::currentThread));
+        assertEquals(-1, hedger.delayMillis());
+    }
+
+    @Test
+    public void execute_NotArmedYet_RunsOnCallerThread() {
+        Hedger hedger = new Hedger("convertTo3wa", new HedgePolicy(95, Duration.ofMillis(20), 100, executor), meterRegistry);
+        Thread caller = Thread.currentThread();
+        assertEquals(caller, hedger.execute(Thread::currentThread));
+        assertEquals(-1, hedger.delayMillis());
+    }
+
+    @Test
+    public void execute_SlowOriginal_HedgeWinsAndOriginalIsCancelled() {
+        Hedger hedger = new Hedger("convertTo3wa", new HedgePolicy(95, Duration.ofMillis(20), 100, executor), meterRegistry);
+        warmUp(hedger);
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger interrupted = new AtomicInteger();
+        long start = System.nanoTime();
+        String result = hedger.execute(slowFirstAttempt(attempts, interrupted));
+        assertEquals("hedge", result);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1000);
+        assertEquals(2, attempts.get());
+        assertEquals(1.0, counter("fired"));
+        assertEquals(1.0, counter("won"));
+        waitFor(() -> interrupted.get() == 1);
+    }
+
+    @Test
+    public void execute_BudgetExhausted_WaitsForOriginal() {
+        Hedger hedger = new Hedger("convertTo3wa", new HedgePolicy(95, Duration.ofMillis(20), 0.1, executor), meterRegistry);
+        warmUp(hedger);
+        AtomicInteger attempts = new AtomicInteger();
+        String result = hedger.execute(() -> {
+            attempts.incrementAndGet();
+            sleep(100);
+            return "original";
+        });
+        assertEquals("original", result);
+        assertEquals(1, attempts.get());
+        assertEquals(0.0, counter("fired"));
+    }
+
+    @Test
+    public void execute_BudgetSpent_RefillsWithLaterCalls() {
+        Hedger hedger = new Hedger("convertTo3wa", new HedgePolicy(95, Duration.ofMillis(20), 1, executor), meterRegistry);
+        warmUp(hedger);
+        Supplier<String> slow = () -> {
+            sleep(60);
+            return "slow";
+        };
+        for (int i = 0; i < 3; i++) {
+            assertEquals("slow", hedger.execute(slow));
+        }
+        assertEquals(2.0, counter("fired"));
+        for (int i = 0; i < 100; i++) {
+            hedger.execute(() -> "fast");
+        }
+        hedger.execute(slow);
+        assertEquals(3.0, counter("fired"));
+    }
+
+    @Test
+    public void execute_HedgeFails_ReturnsOriginalResult() {
+        Hedger hedger = new Hedger("convertTo3wa", new HedgePolicy(95, Duration.ofMillis(20), 100, executor), meterRegistry);
+        warmUp(hedger);
+        AtomicInteger attempts = new AtomicInteger();
+        String result = hedger.execute(() -> {
+            if (attempts.incrementAndGet() == 2) {
+                throw new IllegalStateException("hedge failed");
+            }
+            sleep(100);
+            return "original";
+        });
+        assertEquals("original", result);
+        assertEquals(1.0, counter("fired"));
+        assertEquals(0.0, counter("won"));
+    }
+
+    private Supplier<String> slowFirstAttempt(AtomicInteger attempts, AtomicInteger interrupted) {
+        return () -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(5000);
+                } catch (InterruptedException ex) {
+                    interrupted.incrementAndGet();
+                    throw new IllegalStateException(ex);
+                }
+                return "original";
+            }
+            return "hedge";
+        };
+    }
+
+    private void warmUp(Hedger hedger) {
+        for (int i = 0; i < warmUpCalls; i++) {
+            hedger.execute(() -> "fast");
+        }
+        assertEquals(20, hedger.delayMillis());
+    }
+
+    private double counter(String outcome) {
+        return meterRegistry.get("what3words.upstream.hedges").tag("outcome", outcome).counter().count();
+    }
+
+    private void waitFor(Supplier<Boolean> condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (!condition.get() && System.nanoTime() < deadline) {
+            sleep(10);
+        }
+        assertTrue(condition.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
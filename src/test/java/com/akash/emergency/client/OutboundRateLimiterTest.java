@@ -0,0 +1,55 @@
+package com.akash.emergency.client;
+
+import com.akash.emergency.exception.exceptionClass.UpstreamQuotaExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutboundRateLimiterTest {
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void acquire_OperationBucketEmpty_ThrowsWithRetryAfter() {
+        OutboundRateLimiter limiter = new OutboundRateLimiter(Map.of("convertTo3wa", new OutboundRateLimiter.Limit(2, 0.5)),
+                1000, Duration.ofDays(1), meterRegistry);
+        limiter.acquire("convertTo3wa");
+        limiter.acquire("convertTo3wa");
+        UpstreamQuotaExceededException ex = assertThrows(UpstreamQuotaExceededException.class,
+                () -> limiter.acquire("convertTo3wa"));
+        assertTrue(ex.getRetryAfterSeconds() >= 1 && ex.getRetryAfterSeconds() <= 2);
+        limiter.acquire("autosuggest");
+        assertEquals(2.0, meterRegistry.get("what3words.upstream.budget.consumed").tag("operation", "convertTo3wa")
+                .counter().count());
+        assertEquals(1.0, meterRegistry.get("what3words.upstream.rejected").counter().count());
+        assertEquals(997, meterRegistry.get("what3words.upstream.budget.remaining").gauge().value(), 0.5);
+    }
+
+    @Test
+    public void acquire_BudgetExhausted_RefundsOperationToken() {
+        OutboundRateLimiter limiter = new OutboundRateLimiter(Map.of("autosuggest", new OutboundRateLimiter.Limit(5, 1)),
+                1, Duration.ofDays(1), meterRegistry);
+        limiter.acquire("autosuggest");
+        UpstreamQuotaExceededException ex = assertThrows(UpstreamQuotaExceededException.class,
+                () -> limiter.acquire("autosuggest"));
+        assertTrue(ex.getRetryAfterSeconds() > 3600);
+        assertEquals(4, meterRegistry.get("what3words.upstream.tokens").tag("operation", "autosuggest").gauge().value(), 0.5);
+    }
+
+    @Test
+    public void unlimited_NeverThrows() {
+        OutboundRateLimiter limiter = OutboundRateLimiter.unlimited();
+        for (int i = 0; i < 10_000; i++) {
+            limiter.acquire("convertToCoordinates");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.akash.emergency.client;
+
+import com.akash.emergency.cache.ThreeWordsEntry;
+import com.akash.emergency.exception.exceptionClass.UpstreamQuotaExceededException;
+import com.akash.emergency.exception.exceptionClass.UpstreamUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReactiveWhat3WordsClientTest {
+
+    @Test
+    public void convertToCoordinates_QuotaExceeded_ThrowsUpstreamQuotaExceededException() {
+        ReactiveWhat3WordsClient client = client(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"error\":{\"code\":\"QuotaExceeded\",\"message\":\"Quota Exceeded\"}}")
+                .build());
+        UpstreamQuotaExceededException ex = assertThrows(UpstreamQuotaExceededException.class,
+                () -> client.convertToCoordinates("table.book.chair").block());
+        assertEquals(30, ex.getRetryAfterSeconds());
+    }
+
+    @Test
+    public void convertToCoordinates_PaymentRequiredWithoutRetryAfter_UsesConfiguredRetryAfter() {
+        ReactiveWhat3WordsClient client = client(ClientResponse.create(HttpStatus.PAYMENT_REQUIRED).build());
+        UpstreamQuotaExceededException ex = assertThrows(UpstreamQuotaExceededException.class,
+                () -> client.convertToCoordinates("table.book.chair").block());
+        assertEquals(90, ex.getRetryAfterSeconds());
+    }
+
+    @Test
+    public void convertToCoordinates_ServerError_ThrowsUpstreamUnavailableException() {
+        ReactiveWhat3WordsClient client = client(ClientResponse.create(HttpStatus.BAD_GATEWAY).build());
+        UpstreamUnavailableException ex = assertThrows(UpstreamUnavailableException.class,
+                () -> client.convertToCoordinates("table.book.chair").block());
+        assertFalse(ex instanceof UpstreamQuotaExceededException);
+    }
+
+    @Test
+    public void convertToCoordinates_BadWords_ReturnsUnresolvedEntry() {
+        ReactiveWhat3WordsClient client = client(ClientResponse.create(HttpStatus.BAD_REQUEST)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"error\":{\"code\":\"BadWords\",\"message\":\"Invalid or non-existent 3 word address\"}}")
+                .build());
+        ThreeWordsEntry entry = client.convertToCoordinates("table.book.chiar").block();
+        assertNull(entry.getCountry());
+    }
+
+    private ReactiveWhat3WordsClient client(ClientResponse response) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(response))
+                .build();
+        return new ReactiveWhat3WordsClient(webClient, "key", Duration.ofSeconds(90));
+    }
+}
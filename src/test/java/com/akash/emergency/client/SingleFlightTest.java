@@ -0,0 +1,115 @@
+package com.akash.emergency.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+    private static final int callers = 8;
+    private SingleFlight<String, String> singleFlight;
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+    private CountDownLatch joined;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        joined = new CountDownLatch(callers - 1);
+        singleFlight = new SingleFlight<>("convertToCoordinates", meterRegistry) {
+            @Override
+            void joining(String key) {
+                joined.countDown();
+            }
+        };
+        executor = Executors.newFixedThreadPool(callers);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void execute_ConcurrentIdenticalKeys_MakeOneUpstreamCall() throws Exception {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = submitAll(() -> singleFlight.execute("table.book.chair", () -> {
+            upstreamCalls.incrementAndGet();
+            await(release);
+            return "51.5,-0.1";
+        }));
+        assertTrue(joined.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        for (Future<String> result : results) {
+            assertEquals("51.5,-0.1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(callers - 1, singleFlight.saved());
+        assertEquals(callers - 1, meterRegistry.get("what3words.upstream.coalesced")
+                .tag("operation", "convertToCoordinates").counter().count());
+    }
+
+    @Test
+    public void execute_LeaderFails_EveryWaiterReceivesTheException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = submitAll(() -> singleFlight.execute("table.book.chair", () -> {
+            await(release);
+            throw new IllegalStateException("upstream unavailable");
+        }));
+        assertTrue(joined.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        for (Future<String> result : results) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertTrue(ex.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void execute_SharedResultNotUsable_WaiterMakesItsOwnCall() throws Exception {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch leading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.execute("cell", () -> {
+            upstreamCalls.incrementAndGet();
+            leading.countDown();
+            await(release);
+            return "leader";
+        }));
+        assertTrue(leading.await(5, TimeUnit.SECONDS));
+        joined = new CountDownLatch(1);
+        Future<String> waiter = executor.submit(() -> singleFlight.execute("cell", () -> {
+            upstreamCalls.incrementAndGet();
+            return "waiter";
+        }, value -> value.equals("waiter")));
+        assertTrue(joined.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        assertEquals("leader", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("waiter", waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0, singleFlight.saved());
+    }
+
+    private List<Future<String>> submitAll(Callable<String> call) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(call));
+        }
+        return results;
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.akash.emergency.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketTest {
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void tryAcquire_EmptiesThenRefillsOverTime() {
+        TokenBucket bucket = new TokenBucket(2, 1, Duration.ofSeconds(1), clock::get);
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+        assertEquals(Duration.ofSeconds(1), bucket.timeUntilAvailable());
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        assertFalse(bucket.tryAcquire());
+        assertEquals(Duration.ofMillis(500), bucket.timeUntilAvailable());
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        assertTrue(bucket.tryAcquire());
+    }
+
+    @Test
+    public void refill_NeverExceedsCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 10, Duration.ofSeconds(1), clock::get);
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertEquals(3, bucket.available(), 1e-9);
+        bucket.refund();
+        assertEquals(3, bucket.available(), 1e-9);
+    }
+}
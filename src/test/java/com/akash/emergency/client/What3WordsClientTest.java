@@ -0,0 +1,124 @@
+package com.akash.emergency.client;
+
+import com.akash.emergency.exception.exceptionClass.UpstreamQuotaExceededException;
+import com.akash.emergency.exception.exceptionClass.UpstreamUnavailableException;
+import com.sun.net.httpserver.HttpServer;
+import com.what3words.javawrapper.What3WordsV3;
+import com.what3words.javawrapper.request.AutosuggestRequest;
+import com.what3words.javawrapper.request.ConvertToCoordinatesRequest;
+import com.what3words.javawrapper.response.Autosuggest;
+import com.what3words.javawrapper.response.ConvertToCoordinates;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class What3WordsClientTest {
+    private What3WordsV3 what3WordsV3;
+    private ConvertToCoordinatesRequest.Builder convertToCoordinatesBuilder;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private SimpleMeterRegistry meterRegistry;
+    private What3WordsClient what3WordsClient;
+
+    @BeforeEach
+    public void setup() {
+        what3WordsV3 = mock(What3WordsV3.class);
+        convertToCoordinatesBuilder = mock(ConvertToCoordinatesRequest.Builder.class);
+        when(what3WordsV3.convertToCoordinates(anyString())).thenReturn(convertToCoordinatesBuilder);
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        meterRegistry = new SimpleMeterRegistry();
+        what3WordsClient = new What3WordsClient(what3WordsV3, meterRegistry, circuitBreakerRegistry);
+    }
+
+    @Test
+    public void convertToCoordinates_RepeatedFailures_OpensBreakerAndFailsFast() {
+        when(convertToCoordinatesBuilder.execute()).thenThrow(new RuntimeException("timeout"));
+        for (int i = 0; i < 4; i++) {
+            assertThrows(RuntimeException.class, () -> what3WordsClient.convertToCoordinates("table.book.chair"));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakerRegistry.circuitBreaker("convertToCoordinates").getState());
+        UpstreamUnavailableException ex = assertThrows(UpstreamUnavailableException.class,
+                () -> what3WordsClient.convertToCoordinates("table.book.chair"));
+        assertTrue(ex.getMessage().contains("convertToCoordinates"));
+        verify(convertToCoordinatesBuilder, times(4)).execute();
+    }
+
+    @Test
+    public void autosuggest_RecordsUpstreamLatencyByCountry() {
+        AutosuggestRequest.Builder autosuggestBuilder = mock(AutosuggestRequest.Builder.class);
+        Autosuggest autosuggest = mock(Autosuggest.class);
+        when(what3WordsV3.autosuggest(anyString())).thenReturn(autosuggestBuilder);
+        when(autosuggestBuilder.clipToCountry(anyString())).thenReturn(autosuggestBuilder);
+        when(autosuggestBuilder.execute()).thenReturn(autosuggest);
+        when(autosuggest.getSuggestions()).thenReturn(Collections.emptyList());
+        what3WordsClient.autosuggest("table.book.chair", "GB", 3);
+        what3WordsClient.autosuggest("table.book.chair", "IE", 3);
+        assertEquals(1, meterRegistry.get("what3words.upstream.requests").tag("operation", "autosuggest")
+                .tag("country", "GB").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("what3words.upstream.requests").tag("country", "IE").timer().count());
+        assertEquals(0, meterRegistry.get("what3words.upstream.inflight").tag("operation", "autosuggest").gauge().value());
+    }
+
+    @Test
+    public void convertToCoordinates_UpstreamFailure_RecordsErrorOutcome() {
+        when(convertToCoordinatesBuilder.execute()).thenThrow(new RuntimeException("timeout"));
+        assertThrows(RuntimeException.class, () -> what3WordsClient.convertToCoordinates("table.book.chair"));
+        assertEquals(1, meterRegistry.get("what3words.upstream.requests").tag("operation", "convertToCoordinates")
+                .tag("outcome", "error").timer().count());
+    }
+
+    @Test
+    public void convertToCoordinates_BreakerOpenForOneOperation_OthersStillCallUpstream() {
+        circuitBreakerRegistry.circuitBreaker("convertTo3wa").transitionToOpenState();
+        when(convertToCoordinatesBuilder.execute()).thenReturn(new ConvertToCoordinates("GB", null, null,
+                new com.what3words.javawrapper.response.Coordinates(51.520847, -0.195521), "table.book.chair", null, null));
+        assertEquals(51.520847, what3WordsClient.convertToCoordinates("table.book.chair").getLat(), 1e-6);
+        assertThrows(UpstreamUnavailableException.class, () -> what3WordsClient.convertTo3wa(51.520847, -0.195521, "en"));
+        verify(what3WordsV3, never()).convertTo3wa(any());
+    }
+
+    @Test
+    public void convertToCoordinates_QuotaExceededPayload_ThrowsQuotaExceededWithConfiguredRetryAfter() throws Exception {
+        byte[] payload = "{\"error\":{\"code\":\"QuotaExceeded\",\"message\":\"Quota Exceeded\"}}"
+                .getBytes(StandardCharsets.UTF_8);
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v3/", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(402, payload.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(payload);
+            }
+        });
+        server.start();
+        try {
+            What3WordsClient client = What3WordsClient.builder()
+                    .what3WordsV3(new What3WordsV3("key", "http://127.0.0.1:" + server.getAddress().getPort() + "/v3/"))
+                    .circuitBreakerRegistry(circuitBreakerRegistry)
+                    .quotaRetryAfter(Duration.ofSeconds(30))
+                    .build();
+            UpstreamQuotaExceededException ex = assertThrows(UpstreamQuotaExceededException.class,
+                    () -> client.convertToCoordinates("table.book.chair"));
+            assertEquals(30, ex.getRetryAfterSeconds());
+            assertTrue(ex.getMessage().contains("convertToCoordinates"));
+        } finally {
+            server.stop(0);
+        }
+    }
+}
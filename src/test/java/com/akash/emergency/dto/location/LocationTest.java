@@ -61,10 +61,20 @@ public class LocationTest {
             assertThat(it.next().getMessage()).contains("must not be null/empty");
         }
     }
-}
-
-
-
-
 
+    @Test
+    public void testLocationValidation_LongitudeOutOfRange() {
+        Location location = new Location(51.520847, 200.0);
+        var violations = validator.validate(location);
+        assertThat(violations).hasSize(1);
+        assertThat(violations.iterator().next().getMessage()).isEqualTo("Longitude must be between -180.0 and 180.0");
+    }
 
+    @Test
+    public void testLocationValidation_NaNLatitude() {
+        Location location = new Location(Double.NaN, -122.4194);
+        var violations = validator.validate(location);
+        assertThat(violations).hasSize(1);
+        assertThat(violations.iterator().next().getMessage()).isEqualTo("Latitude must be between -90.0 and 90.0");
+    }
+}
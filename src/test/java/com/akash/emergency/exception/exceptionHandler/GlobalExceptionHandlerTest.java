@@ -9,6 +9,7 @@ import com.akash.emergency.response.error.ErrorResponse;
 import com.akash.emergency.response.error.RequestValidationErrorResponse;
 import com.akash.emergency.response.error.UnableToFind3waErrorResponse;
 import com.akash.emergency.service.impl.EmergencyServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -94,6 +95,50 @@ public class GlobalExceptionHandlerTest {
                 getMessage()).isEqualTo("Location is unserviceable");
     }
 
+    @Test
+    public void handleUpstreamQuotaExceededException() {
+        UpstreamQuotaExceededException ex = new UpstreamQuotaExceededException("autosuggest", 3);
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleUpstreamQuotaExceededException(ex);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("3");
+        assertThat(exceptionHandler.handle(ex).getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    public void handleUpstreamUnavailableException() {
+        UpstreamUnavailableException ex = new UpstreamUnavailableException("convertTo3wa", null);
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleUpstreamUnavailableException(ex);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(Objects.requireNonNull(response.getBody()).
+                getMessage()).isEqualTo("What3Words convertTo3wa is temporarily unavailable, please retry shortly");
+        assertThat(exceptionHandler.handle(ex).getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    public void handle_JobAndBatchExceptions_MapToSameStatusAsDispatcher() {
+        assertThat(exceptionHandler.handle(new JobNotFoundException("42")).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(exceptionHandler.handle(new JobNotCompleteException("42", "RUNNING")).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+        assertThat(exceptionHandler.handle(new BatchTooLargeException(101, 100)).getStatusCode())
+                .isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(exceptionHandler.handle(new IllegalStateException("boom")).getStatusCode())
+                .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @Test
+    public void handleException_CountsErrorsByExceptionType() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        exceptionHandler = new GlobalExceptionHandler(meterRegistry);
+        exceptionHandler.handleInvalid3waException(new Invalid3waException("invalid", null));
+        exceptionHandler.handleInvalid3waException(new Invalid3waException("invalid", null));
+        exceptionHandler.handleException(new IllegalStateException("boom"));
+        assertThat(meterRegistry.get("emergency.errors").tag("exception", "Invalid3waException").tag("status", "400")
+                .counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("emergency.errors").tag("exception", "IllegalStateException").tag("status", "500")
+                .counter().count()).isEqualTo(1.0);
+    }
+
     @Test
     public void handleInvalid3waException() {
         Invalid3waException ex = new Invalid3waException("Invalid 3wa", new RuntimeException());
@@ -115,6 +160,14 @@ public class GlobalExceptionHandlerTest {
         assertThat(response.getBody().getSuggestions()).isEqualTo(suggestions);
     }
 
+    @Test
+    public void handleLocationAutoSuggestException_Partial() {
+        LocationAutoSuggestException ex = new LocationAutoSuggestException("word", new ArrayList<>(), true);
+        ResponseEntity<AutoSuggestLocationResponse> response = exceptionHandler.handleLocationAutoSuggestException(ex);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SEE_OTHER);
+        assertThat(Objects.requireNonNull(response.getBody()).isPartial()).isTrue();
+    }
+
     @Test
     public void handleInvalidLanguageCodeException() {
         InvalidLanguageCodeException ex = new InvalidLanguageCodeException("Invalid language code");
@@ -0,0 +1,53 @@
+package com.akash.emergency.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServiceabilityIndexTest {
+
+    @Test
+    public void classify_BundledGeometryForGB() throws IOException {
+        ServiceabilityIndex index = load(Collections.singletonList("GB"));
+        assertEquals(Serviceability.INSIDE, index.classify(51.520847, -0.195521));
+        assertEquals(Serviceability.BORDER, index.classify(50.1, -5.5));
+        assertEquals(Serviceability.OUTSIDE, index.classify(40.7128, -74.0060));
+        assertEquals(Serviceability.OUTSIDE, index.classify(46.0, 2.0));
+    }
+
+    @Test
+    public void classify_MultipleCountries() throws IOException {
+        ServiceabilityIndex index = load(Arrays.asList("US", "CA"));
+        assertEquals(Serviceability.INSIDE, index.classify(39.0, -95.0));
+        assertEquals(Serviceability.BORDER, index.classify(37.7749, -122.4194));
+        assertEquals(Serviceability.BORDER, index.classify(21.3, -157.8));
+        assertEquals(Serviceability.OUTSIDE, index.classify(51.520847, -0.195521));
+    }
+
+    @Test
+    public void classify_InvalidCoordinates() throws IOException {
+        ServiceabilityIndex index = load(Collections.singletonList("GB"));
+        assertEquals(Serviceability.INVALID, index.classify(51.5, 200.0));
+        assertEquals(Serviceability.INVALID, index.classify(91.0, 0.0));
+        assertEquals(Serviceability.INVALID, index.classify(Double.NaN, 0.0));
+    }
+
+    @Test
+    public void load_CountryWithoutGeometry_IsUnrestricted() throws IOException {
+        ServiceabilityIndex index = load(Arrays.asList("GB", "ABC"));
+        assertEquals(Serviceability.BORDER, index.classify(40.7128, -74.0060));
+        assertEquals(Serviceability.INVALID, index.classify(51.5, 200.0));
+    }
+
+    private ServiceabilityIndex load(List<String> allowedCountries) throws IOException {
+        try (InputStream regions = getClass().getResourceAsStream("/geo/serviceable-regions.csv")) {
+            return ServiceabilityIndex.load(regions, allowedCountries, 0.1);
+        }
+    }
+}
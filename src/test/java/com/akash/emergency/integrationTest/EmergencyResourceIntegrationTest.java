@@ -3,11 +3,9 @@ package com.akash.emergency.integrationTest;
 import com.akash.emergency.dto.autoSuggest.EmergencySuggestion;
 import com.akash.emergency.dto.location.Location;
 import com.akash.emergency.dto.threeWords.ThreeWordAddress;
-import com.akash.emergency.exception.exceptionClass.LocationAutoSuggestException;
-import com.akash.emergency.exception.exceptionClass.LocationUnserviceableException;
-import com.akash.emergency.exception.exceptionClass.UnableToFind3waException;
 import com.akash.emergency.rest.EmergencyResource;
 import com.akash.emergency.service.intf.EmergencyService;
+import com.akash.emergency.service.result.LookupResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
@@ -23,7 +21,6 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -50,7 +47,7 @@ public class EmergencyResourceIntegrationTest {
     // Coordinates to Location
     @Test
     public void coordTo3wa_ValidLocation_ReturnsThreeWordAddress() throws Exception {
-        when(emergencyService.coordTo3wa(any())).thenReturn(expectedAddress);
+        when(emergencyService.coordTo3waResult(any())).thenReturn(LookupResult.found(expectedAddress));
         mockMvc.perform(MockMvcRequestBuilders.post("/coord-to-3wa")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"lat\": 51.515, \"lng\": -0.142}"))
@@ -108,8 +105,8 @@ public class EmergencyResourceIntegrationTest {
 
     @Test
     public void coordTo3wa_LocationOutSideAllowedCountries() throws Exception {
-        doThrow(new LocationUnserviceableException("Serviceable countries with ISO 3166-1 alpha-2 codes are : GB")).
-                when(emergencyService).coordTo3wa(any());
+        when(emergencyService.coordTo3waResult(any())).thenReturn(
+                LookupResult.unserviceable("Serviceable countries with ISO 3166-1 alpha-2 codes are : GB"));
         mockMvc.perform(MockMvcRequestBuilders.post("/coord-to-3wa")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"lat\": 51.515, \"lng\": -0.142}"))
@@ -120,8 +117,8 @@ public class EmergencyResourceIntegrationTest {
 
     @Test
     public void coordTo3wa_UnableToFindLocation() throws Exception {
-        doThrow(new UnableToFind3waException("Some Error", new RuntimeException())).
-                when(emergencyService).coordTo3wa(any());
+        when(emergencyService.coordTo3waResult(any())).thenReturn(
+                LookupResult.unresolved("Some Error", new RuntimeException()));
         mockMvc.perform(MockMvcRequestBuilders.post("/coord-to-3wa")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"lat\": 51.515, \"lng\": -0.142}"))
@@ -133,7 +130,7 @@ public class EmergencyResourceIntegrationTest {
     //  Location to Coordinates
     @Test
     public void _3waToCoord_ValidThreeWordAddress_ReturnsCoordinate() throws Exception {
-        when(emergencyService._3waToCoord(any())).thenReturn(location);
+        when(emergencyService._3waToCoordResult(any())).thenReturn(LookupResult.found(location));
         mockMvc.perform(MockMvcRequestBuilders.post("/3wa-to-coord")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"3wa\": \"table.book.chair\"}"))
@@ -178,8 +175,8 @@ public class EmergencyResourceIntegrationTest {
 
     @Test
     public void _3waToCoord_ThreeWordAddress_OutsideServiceableCountries() throws Exception {
-        doThrow(new LocationAutoSuggestException(expectedAddress.getThreeWordAddress(),
-                suggestions)).when(emergencyService)._3waToCoord(expectedAddress);
+        when(emergencyService._3waToCoordResult(expectedAddress)).thenReturn(
+                LookupResult.notRecognised(expectedAddress.getThreeWordAddress(), suggestions, false));
         mockMvc.perform(MockMvcRequestBuilders.post("/3wa-to-coord")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"3wa\": \"table.book.chair\"}"))
@@ -197,8 +194,8 @@ public class EmergencyResourceIntegrationTest {
 
     @Test
     public void _3waToCoord_ThreeWordAddress_NoCoordinatesAvailable() throws Exception {
-        doThrow(new LocationAutoSuggestException(expectedAddress.getThreeWordAddress(),
-                suggestions)).when(emergencyService)._3waToCoord(expectedAddress);
+        when(emergencyService._3waToCoordResult(expectedAddress)).thenReturn(
+                LookupResult.notRecognised(expectedAddress.getThreeWordAddress(), suggestions, false));
         mockMvc.perform(MockMvcRequestBuilders.post("/3wa-to-coord")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"3wa\": \"table.book.chair\"}"))
@@ -217,7 +214,7 @@ public class EmergencyResourceIntegrationTest {
     //  Location to Location From other Language
     @Test
     public void _3waLanguageConvert_ValidThreeWordAddress_ReturnsThreeWordAddress() throws Exception {
-        when(emergencyService._3waLanguageConvert(any(), any())).thenReturn(expectedAddress);
+        when(emergencyService._3waLanguageConvertResult(any(), any())).thenReturn(LookupResult.found(expectedAddress));
         mockMvc.perform(MockMvcRequestBuilders.post("/language-convert?target_language=FR")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"3wa\": \"able.book.chair\"}"))
@@ -260,8 +257,8 @@ public class EmergencyResourceIntegrationTest {
 
     @Test
     public void _3waLanguageConvert_ThreeWordAddress_OutsideServiceableCountries() throws Exception {
-        doThrow(new LocationAutoSuggestException(expectedAddress.getThreeWordAddress(),
-                suggestions)).when(emergencyService)._3waLanguageConvert(expectedAddress, "FR");
+        when(emergencyService._3waLanguageConvertResult(expectedAddress, "FR")).thenReturn(
+                LookupResult.notRecognised(expectedAddress.getThreeWordAddress(), suggestions, false));
         mockMvc.perform(MockMvcRequestBuilders.post("/language-convert?target_language=FR")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"3wa\": \"table.book.chair\"}"))
@@ -279,8 +276,8 @@ public class EmergencyResourceIntegrationTest {
 
     @Test
     public void _3waLanguageConvert_ThreeWordAddress_NoCoordinatesAvailable() throws Exception {
-        doThrow(new LocationAutoSuggestException(expectedAddress.getThreeWordAddress(),
-                suggestions)).when(emergencyService)._3waLanguageConvert(expectedAddress, "FR");
+        when(emergencyService._3waLanguageConvertResult(expectedAddress, "FR")).thenReturn(
+                LookupResult.notRecognised(expectedAddress.getThreeWordAddress(), suggestions, false));
         mockMvc.perform(MockMvcRequestBuilders.post("/language-convert?target_language=FR")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"3wa\": \"table.book.chair\"}"))
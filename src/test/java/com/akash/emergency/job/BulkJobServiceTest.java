@@ -0,0 +1,145 @@
+package com.akash.emergency.job;
+
+import com.akash.emergency.dto.location.Location;
+import com.akash.emergency.dto.threeWords.ThreeWordAddress;
+import com.akash.emergency.exception.exceptionClass.JobNotCompleteException;
+import com.akash.emergency.exception.exceptionClass.JobNotFoundException;
+import com.akash.emergency.exception.exceptionClass.UpstreamQuotaExceededException;
+import com.akash.emergency.service.intf.EmergencyService;
+import com.akash.emergency.service.result.LookupResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class BulkJobServiceTest {
+    @TempDir
+    Path directory;
+
+    private EmergencyService emergencyService;
+    private BulkJobService bulkJobService;
+
+    @BeforeEach
+    public void setup() {
+        emergencyService = mock(EmergencyService.class);
+        when(emergencyService.coordTo3waResult(any())).thenAnswer(invocation -> {
+            Location location = invocation.getArgument(0);
+            return location.getLat() > 0 ? LookupResult.found(new ThreeWordAddress("words.at." + location.getLng().intValue()))
+                    : LookupResult.unserviceable("Not serviceable");
+        });
+        when(emergencyService._3waToCoordResult(any())).thenAnswer(invocation -> {
+            ThreeWordAddress threeWordAddress = invocation.getArgument(0);
+            return "filled.count.soap".equals(threeWordAddress.getThreeWordAddress())
+                    ? LookupResult.found(new Location(51.520847, -0.195521))
+                    : LookupResult.notRecognised(threeWordAddress.getThreeWordAddress(), Collections.emptyList(), false);
+        });
+    }
+
+    @AfterEach
+    public void close() {
+        if (bulkJobService != null) {
+            bulkJobService.close();
+        }
+    }
+
+    @Test
+    public void submit_Coordinates_WritesRowsInInputOrderWithOutcome() throws Exception {
+        bulkJobService = start(2);
+        JobStatus submitted = bulkJobService.submit(JobType.COORD_TO_3WA,
+                csv("10,1,incident-1\n-10,2\nnot,a number\n\n20,3\n"));
+        assertEquals(JobState.QUEUED, submitted.getState());
+
+        JobStatus status = awaitCompletion(submitted.getId());
+        assertEquals(4, status.getRows());
+        assertEquals(2, status.getResolvedRows());
+        assertEquals(status.getInputBytes(), status.getBytesRead());
+        assertEquals(Arrays.asList("10,1,incident-1,words.at.1,found", "-10,2,,unserviceable", "not,a number,,invalid",
+                "20,3,words.at.3,found"), Files.readAllLines(bulkJobService.result(submitted.getId())));
+    }
+
+    @Test
+    public void submit_ThreeWordAddresses_WritesCoordinates() throws Exception {
+        bulkJobService = start(10);
+        String id = bulkJobService.submit(JobType.THREE_WORDS_TO_COORD,
+                csv("filled.count.soap,a\r\ntable.book.chair\n12345\n")).getId();
+        awaitCompletion(id);
+        assertEquals(Arrays.asList("filled.count.soap,a,51.520847,-0.195521,found",
+                "table.book.chair,,,not_recognised", "12345,,,invalid"), Files.readAllLines(bulkJobService.result(id)));
+    }
+
+    @Test
+    public void result_UnknownOrUnfinishedJob_Throws() throws IOException {
+        bulkJobService = start(10);
+        assertThrows(JobNotFoundException.class, () -> bulkJobService.status("../etc"));
+        Path jobDirectory = Files.createDirectory(directory.resolve("queued"));
+        Files.write(jobDirectory.resolve(Job.INPUT), new byte[0]);
+        Job.create(jobDirectory, "queued", JobType.COORD_TO_3WA).fail("Disk full");
+        bulkJobService.close();
+        bulkJobService = start(10);
+        assertEquals("Disk full", bulkJobService.status("queued").getError());
+        assertThrows(JobNotCompleteException.class, () -> bulkJobService.result("queued"));
+    }
+
+    @Test
+    public void start_UnfinishedJob_ResumesFromCheckpoint() throws Exception {
+        Path jobDirectory = Files.createDirectory(directory.resolve("resumed"));
+        Files.write(jobDirectory.resolve(Job.INPUT), "10,1\n10,2\n10,3\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(jobDirectory.resolve(Job.OUTPUT), "10,1,words.at.1,found\nhalf written".getBytes(StandardCharsets.UTF_8));
+        Job job = Job.create(jobDirectory, "resumed", JobType.COORD_TO_3WA);
+        job.start();
+        job.advance(5, 22, 1, 1);
+        job.checkpoint();
+
+        bulkJobService = start(10);
+        JobStatus status = awaitCompletion("resumed");
+        assertEquals(3, status.getRows());
+        assertEquals(Arrays.asList("10,1,words.at.1,found", "10,2,words.at.2,found", "10,3,words.at.3,found"),
+                Files.readAllLines(bulkJobService.result("resumed")));
+        verify(emergencyService, times(2)).coordTo3waResult(any());
+    }
+
+    @Test
+    public void submit_UpstreamQuotaExceeded_RetriesRowInsteadOfFailingIt() throws Exception {
+        doThrow(new UpstreamQuotaExceededException("convertTo3wa", 1))
+                .doReturn(LookupResult.found(new ThreeWordAddress("filled.count.soap")))
+                .when(emergencyService).coordTo3waResult(any());
+        bulkJobService = start(10);
+        String id = bulkJobService.submit(JobType.COORD_TO_3WA, csv("10,1\n")).getId();
+        awaitCompletion(id);
+        assertEquals(List.of("10,1,filled.count.soap,found"), Files.readAllLines(bulkJobService.result(id)));
+    }
+
+    private BulkJobService start(int chunkRows) throws IOException {
+        return new BulkJobService(emergencyService, directory, Executors.newFixedThreadPool(4), chunkRows);
+    }
+
+    private JobStatus awaitCompletion(String id) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            JobStatus status = bulkJobService.status(id);
+            if (status.getState() == JobState.COMPLETED || status.getState() == JobState.FAILED) {
+                assertEquals(JobState.COMPLETED, status.getState());
+                return status;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Job " + id + " did not complete");
+    }
+
+    private static ByteArrayInputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,55 @@
+package com.akash.emergency.job;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LineReaderTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void readLine_MixedLineEndings_ReturnsLinesAndOffsets() throws IOException {
+        Path file = write("51.52,-0.19\r\n///filled.count.soap,id-2\n\nindex.home.raft");
+        try (LineReader reader = new LineReader(file, 0)) {
+            assertEquals("51.52,-0.19", reader.readLine());
+            assertEquals(13, reader.position());
+            assertEquals("///filled.count.soap,id-2", reader.readLine());
+            assertEquals("", reader.readLine());
+            assertEquals("index.home.raft", reader.readLine());
+            assertNull(reader.readLine());
+            assertEquals(Files.size(file), reader.position());
+        }
+    }
+
+    @Test
+    public void readLine_FromOffset_ResumesAtNextLine() throws IOException {
+        Path file = write("first\nsecond\nthird\n");
+        try (LineReader reader = new LineReader(file, 6)) {
+            assertEquals("second", reader.readLine());
+            assertEquals("third", reader.readLine());
+            assertNull(reader.readLine());
+        }
+    }
+
+    @Test
+    public void readLine_LinesLongerThanTheBuffer_AreReadWhole() throws IOException {
+        String longLine = "x".repeat(200_000);
+        Path file = write("ünïcode.wörds.hère\n" + longLine + "\nend\n");
+        try (LineReader reader = new LineReader(file, 0)) {
+            assertEquals("ünïcode.wörds.hère", reader.readLine());
+            assertEquals(longLine, reader.readLine());
+            assertEquals("end", reader.readLine());
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.write(directory.resolve("input.csv"), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,113 @@
+package com.akash.emergency.pack;
+
+import com.akash.emergency.cache.SquareEntry;
+import com.akash.emergency.cache.ThreeWordsEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegionPackTest {
+    @TempDir
+    Path directory;
+
+    private final SquareEntry london = new SquareEntry(51.520833, -0.195543, 51.520860, -0.195499, "filled.count.soap", "GB");
+    private final SquareEntry neighbour = new SquareEntry(51.520860, -0.195543, 51.520887, -0.195499, "index.home.raft", "GB");
+
+    @Test
+    public void findSquare_PointInPackedSquare_ReturnsEntry() throws IOException {
+        try (RegionPack pack = write(london, neighbour)) {
+            assertEquals("en", pack.getLanguage());
+            assertEquals(2, pack.size());
+            assertEquals("filled.count.soap", pack.findSquare("en", 51.520847, -0.195521).getWords());
+            assertEquals("index.home.raft", pack.findSquare("en", 51.520870, -0.195521).getWords());
+            assertEquals("GB", pack.findSquare("en", 51.520847, -0.195521).getCountry());
+        }
+    }
+
+    @Test
+    public void findSquare_PointOutsidePackOrOtherLanguage_ReturnsNull() throws IOException {
+        try (RegionPack pack = write(london)) {
+            assertNull(pack.findSquare("en", 51.520900, -0.195521));
+            assertNull(pack.findSquare("fr", 51.520847, -0.195521));
+        }
+    }
+
+    @Test
+    public void findWords_PackedAddress_ReturnsSquareCentre() throws IOException {
+        try (RegionPack pack = write(london, neighbour)) {
+            ThreeWordsEntry entry = pack.findWords("///Filled.Count.Soap");
+            assertTrue(entry.isResolved());
+            assertEquals(51.5208465, entry.getLat(), 1e-6);
+            assertEquals(-0.195521, entry.getLng(), 1e-6);
+            assertEquals("GB", entry.getCountry());
+            assertNull(pack.findWords("table.book.chair"));
+        }
+    }
+
+    @Test
+    public void findWords_NonAsciiAddress_ComparedInPlace() throws IOException {
+        SquareEntry accented = new SquareEntry(51.520887, -0.195543, 51.520914, -0.195499, "ñandú.café.über", "GB");
+        try (RegionPack pack = write(london, accented)) {
+            assertEquals("GB", pack.findWords("///Ñandú.Café.Über").getCountry());
+            assertEquals("ñandú.café.über", pack.findSquare("en", 51.520900, -0.195521).getWords());
+            assertNull(pack.findWords("ñandú.café.übe"));
+        }
+    }
+
+    @Test
+    public void open_SectionsLargerThanASegment_MappedInSegments() throws IOException {
+        try (RegionPack ignored = write(london, neighbour);
+             RegionPack pack = RegionPack.open(directory.resolve("region.pack"), 64)) {
+            assertEquals("filled.count.soap", pack.findSquare("en", 51.520847, -0.195521).getWords());
+            assertEquals("index.home.raft", pack.findSquare("en", 51.520870, -0.195521).getWords());
+            assertEquals("GB", pack.findWords("index.home.raft").getCountry());
+            assertEquals("GB", pack.findWords("filled.count.soap").getCountry());
+        }
+    }
+
+    @Test
+    public void importCsv_RecordedJournal_BuildsPackForLanguage() throws IOException {
+        Path journal = directory.resolve("squares.csv");
+        try (RegionPackRecorder recorder = new RegionPackRecorder(journal)) {
+            recorder.record("en", london);
+            recorder.record("fr", new SquareEntry(51.520833, -0.195543, 51.520860, -0.195499, "mots.trois.adresse", "GB"));
+        }
+        RegionPackWriter writer = new RegionPackWriter("en");
+        writer.importCsv(journal);
+        assertEquals(1, writer.size());
+        Path file = directory.resolve("imported.pack");
+        writer.write(file);
+        try (RegionPack pack = RegionPack.open(file)) {
+            assertEquals("filled.count.soap", pack.findSquare("en", 51.520847, -0.195521).getWords());
+        }
+    }
+
+    @Test
+    public void open_CorruptFile_ThrowsIOException() throws IOException {
+        Path file = directory.resolve("corrupt.pack");
+        Files.write(file, "not a region pack at all, just text".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> RegionPack.open(file));
+    }
+
+    @Test
+    public void empty_ReturnsNothing() {
+        RegionPack pack = RegionPack.empty();
+        assertNull(pack.findSquare("en", 51.520847, -0.195521));
+        assertNull(pack.findWords("filled.count.soap"));
+    }
+
+    private RegionPack write(SquareEntry... squares) throws IOException {
+        RegionPackWriter writer = new RegionPackWriter("en");
+        Arrays.stream(squares).forEach(writer::add);
+        Path file = directory.resolve("region.pack");
+        writer.write(file);
+        return RegionPack.open(file);
+    }
+}
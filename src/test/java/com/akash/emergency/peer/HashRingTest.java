@@ -0,0 +1,57 @@
+package com.akash.emergency.peer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HashRingTest {
+    private static final List<String> PEERS = Arrays.asList("http://localhost:7070", "http://localhost:7071",
+            "http://localhost:7072");
+
+    @Test
+    public void owner_MembersInAnyOrder_SameOwner() {
+        HashRing ring = new HashRing(PEERS, 128);
+        HashRing reordered = new HashRing(Arrays.asList(PEERS.get(2), PEERS.get(0), PEERS.get(1)), 128);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(ring.owner("word.number." + i), reordered.owner("word.number." + i));
+        }
+    }
+
+    @Test
+    public void owner_ManyKeys_SpreadEvenly() {
+        HashRing ring = new HashRing(PEERS, 128);
+        Map<String, Integer> owned = new HashMap<>();
+        for (int i = 0; i < 30_000; i++) {
+            owned.merge(ring.owner("en:" + i), 1, Integer::sum);
+        }
+        assertEquals(3, owned.size());
+        owned.values().forEach(count -> assertTrue(count > 7_000 && count < 13_000, "Owned " + count));
+    }
+
+    @Test
+    public void owner_PeerAdded_OnlyMovesKeysToIt() {
+        HashRing ring = new HashRing(PEERS, 128);
+        String added = "http://localhost:7073";
+        HashRing grown = new HashRing(Arrays.asList(PEERS.get(0), PEERS.get(1), PEERS.get(2), added), 128);
+        int moved = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String before = ring.owner("word.number." + i);
+            String after = grown.owner("word.number." + i);
+            if (!before.equals(after)) {
+                assertEquals(added, after);
+                moved++;
+            }
+        }
+        assertTrue(moved > 1_500 && moved < 3_500, "Moved " + moved);
+    }
+
+    @Test
+    public void new_NoPeers_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new HashRing(List.of(), 128));
+    }
+}
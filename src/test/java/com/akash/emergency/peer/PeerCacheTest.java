@@ -0,0 +1,235 @@
+package com.akash.emergency.peer;
+
+import com.akash.emergency.cache.GridSquare;
+import com.akash.emergency.cache.SquareCache;
+import com.akash.emergency.cache.SquareEntry;
+import com.akash.emergency.cache.ThreeWordsCache;
+import com.akash.emergency.cache.ThreeWordsEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PeerCacheTest {
+    private static final String SECRET = "replica-secret";
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final List<Node> nodes = new ArrayList<>();
+
+    @AfterEach
+    public void stopNodes() {
+        nodes.forEach(node -> node.peerCache.close());
+    }
+
+    @Test
+    public void getWords_OwnedByPeer_FetchedFromItsCache() throws IOException {
+        List<String> members = Arrays.asList(url(freePort()), url(freePort()));
+        Node first = start(members.get(0), members);
+        Node second = start(members.get(1), members);
+        String words = wordsOwnedBy(members, second.self);
+        second.threeWordsCache.put(words, ThreeWordsEntry.resolved(51.520847, -0.195521, "GB"));
+
+        ThreeWordsEntry entry = first.peerCache.getWords("///" + words.toUpperCase());
+        assertNotNull(entry);
+        assertEquals(51.520847, entry.getLat());
+        assertEquals("GB", entry.getCountry());
+        assertEquals(1, count(first, "words", "hit"));
+        assertNull(first.peerCache.getWords(wordsOwnedBy(members, second.self, words)));
+        assertEquals(1, count(first, "words", "miss"));
+    }
+
+    @Test
+    public void getSquare_OwnedByPeer_FetchedFromItsCache() throws IOException {
+        List<String> members = Arrays.asList(url(freePort()), url(freePort()));
+        Node first = start(members.get(0), members);
+        Node second = start(members.get(1), members);
+        HashRing ring = new HashRing(members, 128);
+        double lat = 51.520833;
+        while (!ring.owner("en:" + GridSquare.cellKey(lat + 0.00001, -0.195521)).equals(second.self)) {
+            lat += 0.001;
+        }
+        SquareEntry square = new SquareEntry(lat, -0.195543, lat + 0.000027, -0.195499, "filled.count.soap", "GB");
+        second.squareCache.put("en", square);
+
+        assertEquals(square, first.peerCache.getSquare("en", lat + 0.00001, -0.195521));
+        assertNull(first.peerCache.getSquare("fr", lat + 0.00001, -0.195521));
+    }
+
+    @Test
+    public void putWords_OwnedByPeer_PushedIntoItsCache() throws Exception {
+        List<String> members = Arrays.asList(url(freePort()), url(freePort()), url(freePort()));
+        Node first = start(members.get(0), members);
+        Node second = start(members.get(1), members);
+        Node third = start(members.get(2), members);
+        String words = wordsOwnedBy(members, third.self);
+
+        first.peerCache.putWords(words, ThreeWordsEntry.resolved(51.520847, -0.195521, "GB"));
+        first.peerCache.putWords("table.book.chair", ThreeWordsEntry.notRecognised("GB", List.of()));
+        for (int i = 0; i < 100 && Objects.isNull(third.threeWordsCache.get(words)); i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(-0.195521, third.threeWordsCache.get(words).getLng());
+        assertEquals(-0.195521, second.peerCache.getWords(words).getLng());
+    }
+
+    @Test
+    public void getWords_PeerDown_MissThenSkippedUntilBackoffEnds() throws IOException {
+        List<String> members = Arrays.asList(url(freePort()), url(freePort()));
+        Node first = start(members.get(0), members);
+        String words = wordsOwnedBy(members, members.get(1));
+
+        assertNull(first.peerCache.getWords(words));
+        assertNull(first.peerCache.getWords(words));
+        assertEquals(1, count(first, "words", "error"));
+        assertEquals(1, count(first, "words", "skipped"));
+    }
+
+    @Test
+    public void request_MissingOrWrongSecret_RejectedAndNothingCached() throws Exception {
+        List<String> members = Arrays.asList(url(freePort()), url(freePort()));
+        Node second = start(members.get(1), members);
+        String words = wordsOwnedBy(members, second.self);
+        second.threeWordsCache.put(words, ThreeWordsEntry.resolved(51.520847, -0.195521, "GB"));
+        String poisoned = "{\"lat\":0.0,\"lng\":0.0,\"country\":\"GB\"}";
+
+        assertEquals(401, send(second, "GET", "/peer/words?words=" + words, null, null));
+        assertEquals(401, send(second, "PUT", "/peer/words?words=" + words, poisoned, null));
+        assertEquals(401, send(second, "PUT", "/peer/words?words=" + words, poisoned, "guess"));
+        assertEquals(51.520847, second.threeWordsCache.get(words).getLat());
+    }
+
+    @Test
+    public void putSquare_OutsideKeyedCellOrNotOwned_Rejected() throws Exception {
+        List<String> members = Arrays.asList(url(freePort()), url(freePort()));
+        Node second = start(members.get(1), members);
+        HashRing ring = new HashRing(members, 128);
+        double lat = 51.520833;
+        while (!ring.owner("en:" + GridSquare.cellKey(lat + 0.00001, -0.195521)).equals(second.self)) {
+            lat += 0.001;
+        }
+        long cell = GridSquare.cellKey(lat + 0.00001, -0.195521);
+        String square = "{\"swLat\":" + lat + ",\"swLng\":-0.195543,\"neLat\":" + (lat + 0.000027)
+                + ",\"neLng\":-0.195499,\"words\":\"filled.count.soap\",\"country\":\"GB\"}";
+        String elsewhere = "{\"swLat\":10.0,\"swLng\":10.0,\"neLat\":10.000027,\"neLng\":10.000044,"
+                + "\"words\":\"filled.count.soap\",\"country\":\"GB\"}";
+        String unresolved = "{\"swLat\":\"NaN\",\"swLng\":\"NaN\",\"neLat\":\"NaN\",\"neLng\":\"NaN\","
+                + "\"words\":\"filled.count.soap\",\"country\":\"GB\"}";
+
+        assertEquals(422, send(second, "PUT", "/peer/square?language=en&cell=" + cell, elsewhere, SECRET));
+        assertEquals(422, send(second, "PUT", "/peer/square?language=en&cell=" + cell, unresolved, SECRET));
+        assertNull(second.squareCache.get("en", 10.00001, 10.00001));
+        assertEquals(204, send(second, "PUT", "/peer/square?language=en&cell=" + cell, square, SECRET));
+        assertEquals("filled.count.soap", second.squareCache.get("en", lat + 0.00001, -0.195521).getWords());
+        assertEquals(2, second.meterRegistry.get("emergency.peer.rejected").tag("operation", "square").counter()
+                .count());
+    }
+
+    @Test
+    public void putWords_NotOwnedOrOutOfRange_Rejected() throws Exception {
+        List<String> members = Arrays.asList(url(freePort()), url(freePort()));
+        Node second = start(members.get(1), members);
+        String owned = wordsOwnedBy(members, second.self);
+        String notOwned = wordsOwnedBy(members, members.get(0));
+
+        assertEquals(422, send(second, "PUT", "/peer/words?words=" + notOwned,
+                "{\"lat\":51.5,\"lng\":-0.19,\"country\":\"GB\"}", SECRET));
+        assertEquals(422, send(second, "PUT", "/peer/words?words=" + owned,
+                "{\"lat\":123.0,\"lng\":-0.19,\"country\":\"GB\"}", SECRET));
+        assertNull(second.threeWordsCache.get(notOwned));
+        assertNull(second.threeWordsCache.get(owned));
+    }
+
+    @Test
+    public void builder_NoSecret_Refused() {
+        assertThrows(IllegalArgumentException.class, () -> PeerCache.builder().self(url(7070)).members(List.of())
+                .port(7070).virtualNodes(128).timeout(Duration.ofSeconds(1)).backoff(Duration.ofMinutes(1)).build());
+    }
+
+    @Test
+    public void disabled_NeverReturnsEntry() {
+        PeerCache disabled = PeerCache.disabled();
+        disabled.putWords("filled.count.soap", ThreeWordsEntry.resolved(51.520847, -0.195521, "GB"));
+        assertNull(disabled.getWords("filled.count.soap"));
+        assertNull(disabled.getSquare("en", 51.520847, -0.195521));
+    }
+
+    private Node start(String self, List<String> members) throws IOException {
+        Node node = new Node(self, members);
+        node.peerCache.start();
+        nodes.add(node);
+        return node;
+    }
+
+    private int send(Node node, String method, String pathAndQuery, String body, String secret) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(node.self + pathAndQuery))
+                .method(method, Objects.isNull(body) ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (Objects.nonNull(secret)) {
+            request.header(PeerCache.SECRET_HEADER, secret);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static String wordsOwnedBy(List<String> members, String owner, String... exclude) {
+        HashRing ring = new HashRing(members, 128);
+        for (int i = 0; ; i++) {
+            String words = "word.number." + i;
+            if (ring.owner(words).equals(owner) && !Arrays.asList(exclude).contains(words)) {
+                return words;
+            }
+        }
+    }
+
+    private static double count(Node node, String operation, String outcome) {
+        return node.meterRegistry.get("emergency.peer.requests").tag("operation", operation).tag("outcome", outcome)
+                .counter().count();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String url(int port) {
+        return "http://127.0.0.1:" + port;
+    }
+
+    private static class Node {
+        private final String self;
+        private final SquareCache squareCache = new SquareCache(1000, Duration.ofMinutes(1));
+        private final ThreeWordsCache threeWordsCache = new ThreeWordsCache(1000, Duration.ofMinutes(1), 1000,
+                Duration.ofMinutes(1));
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private final PeerCache peerCache;
+
+        private Node(String self, List<String> members) {
+            this.self = self;
+            this.peerCache = PeerCache.builder()
+                    .self(self)
+                    .members(members)
+                    .bindAddress("127.0.0.1")
+                    .secret(SECRET)
+                    .port(Integer.parseInt(self.substring(self.lastIndexOf(':') + 1)))
+                    .virtualNodes(128)
+                    .timeout(Duration.ofSeconds(1))
+                    .backoff(Duration.ofMinutes(1))
+                    .squareCache(squareCache)
+                    .threeWordsCache(threeWordsCache)
+                    .meterRegistry(meterRegistry)
+                    .build();
+        }
+    }
+}
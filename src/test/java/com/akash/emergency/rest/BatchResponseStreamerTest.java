@@ -0,0 +1,95 @@
+package com.akash.emergency.rest;
+
+import com.akash.emergency.dto.location.Location;
+import com.akash.emergency.dto.threeWords.ThreeWordAddress;
+import com.akash.emergency.exception.exceptionClass.BatchTooLargeException;
+import com.akash.emergency.exception.exceptionClass.LocationUnserviceableException;
+import com.akash.emergency.exception.exceptionHandler.GlobalExceptionHandler;
+import com.akash.emergency.response.BatchItemResponse;
+import com.akash.emergency.response.error.ErrorResponse;
+import com.akash.emergency.response.error.RequestValidationErrorResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.Validation;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchResponseStreamerTest {
+    private BatchResponseStreamer batchResponseStreamer;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    public void setup() {
+        batchResponseStreamer = new BatchResponseStreamer(Validation.buildDefaultValidatorFactory().getValidator(),
+                new GlobalExceptionHandler(), objectMapper, Executors.newFixedThreadPool(4), 2, 5);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        batchResponseStreamer.close();
+    }
+
+    @Test
+    public void resolveAll_MixedItems_EachItemCarriesItsOwnOutcome() {
+        List<Location> locations = Arrays.asList(new Location(51.5, -0.1), new Location(91.0, -0.1),
+                new Location(10.0, 10.0), null);
+        Map<Integer, BatchItemResponse> responses = resolveAll(locations, Location.class, location -> {
+            if (location.getLat() == 10.0) {
+                throw new LocationUnserviceableException("Serviceable countries with ISO 3166-1 alpha-2 codes are : GB");
+            }
+            return new ThreeWordAddress("table.book.chair");
+        });
+        assertEquals(4, responses.size());
+        assertEquals(200, responses.get(0).getStatus());
+        assertEquals(new ThreeWordAddress("table.book.chair"), responses.get(0).getResult());
+        assertEquals(400, responses.get(1).getStatus());
+        assertEquals("Incorrect Request", ((RequestValidationErrorResponse) responses.get(1).getError()).getMessage());
+        assertEquals(406, responses.get(2).getStatus());
+        assertEquals(400, responses.get(3).getStatus());
+    }
+
+    @Test
+    public void resolveAll_InvalidThreeWordAddress_UsesSingleMessageErrorShape() {
+        Map<Integer, BatchItemResponse> responses = resolveAll(Collections.singletonList(new ThreeWordAddress("table.book")),
+                ThreeWordAddress.class, threeWordAddress -> threeWordAddress);
+        ErrorResponse error = (ErrorResponse) responses.get(0).getError();
+        assertEquals("3wa address supplied has invalid format", error.getMessage());
+    }
+
+    @Test
+    public void stream_WritesOneJsonLinePerItem() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        batchResponseStreamer.stream(Arrays.asList(new ThreeWordAddress("table.book.chair"),
+                new ThreeWordAddress("index.home.raft")), ThreeWordAddress.class, threeWordAddress -> threeWordAddress)
+                .writeTo(out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        for (String line : lines) {
+            JsonNode node = objectMapper.readTree(line);
+            assertEquals(200, node.get("status").asInt());
+            assertTrue(node.get("result").has("3wa"));
+        }
+    }
+
+    @Test
+    public void stream_TooManyItems_ThrowsBatchTooLargeException() {
+        List<Location> locations = Collections.nCopies(6, new Location(51.5, -0.1));
+        assertThrows(BatchTooLargeException.class, () -> batchResponseStreamer.stream(locations, Location.class,
+                location -> location));
+    }
+
+    private <T> Map<Integer, BatchItemResponse> resolveAll(List<T> items, Class<T> requestType,
+                                                           java.util.function.Function<T, ?> resolver) {
+        Map<Integer, BatchItemResponse> responses = new HashMap<>();
+        batchResponseStreamer.resolveAll(items, requestType, resolver, item -> responses.put(item.getIndex(), item));
+        return responses;
+    }
+}
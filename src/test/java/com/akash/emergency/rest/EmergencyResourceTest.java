@@ -1,11 +1,14 @@
 package com.akash.emergency.rest;
 
+import com.akash.emergency.dto.autoSuggest.EmergencySuggestion;
+import com.akash.emergency.dto.autoSuggest.Suggestions;
 import com.akash.emergency.dto.location.Location;
 import com.akash.emergency.dto.threeWords.ThreeWordAddress;
-import com.akash.emergency.exception.exceptionClass.LocationAutoSuggestException;
-import com.akash.emergency.exception.exceptionClass.LocationUnserviceableException;
-import com.akash.emergency.exception.exceptionClass.UnableToFind3waException;
+import com.akash.emergency.response.AutoSuggestLocationResponse;
+import com.akash.emergency.response.error.ErrorResponse;
+import com.akash.emergency.response.error.UnableToFind3waErrorResponse;
 import com.akash.emergency.service.intf.EmergencyService;
+import com.akash.emergency.service.result.LookupResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -13,6 +16,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -33,8 +37,8 @@ public class EmergencyResourceTest {
     public void coordTo3wa_ValidLocation_ReturnsThreeWordAddress() {
         Location location = new Location(37.8749, -122.5194);
         ThreeWordAddress expectedAddress = new ThreeWordAddress("table.book.chair");
-        when(emergencyService.coordTo3wa(location)).thenReturn(expectedAddress);
-        ResponseEntity<ThreeWordAddress> response = emergencyResource.coordTo3wa(location);
+        when(emergencyService.coordTo3waResult(location)).thenReturn(LookupResult.found(expectedAddress));
+        ResponseEntity<?> response = emergencyResource.coordTo3wa(location);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(expectedAddress, response.getBody());
     }
@@ -42,23 +46,28 @@ public class EmergencyResourceTest {
     @Test
     public void coordTo3wa_LocationUnserviceable() {
         Location location = new Location(70.0, 200.0);
-        doThrow(new LocationUnserviceableException("Random Message")).when(emergencyService).coordTo3wa(location);
-        assertThrows(LocationUnserviceableException.class, () -> emergencyResource.coordTo3wa(location));
+        when(emergencyService.coordTo3waResult(location)).thenReturn(LookupResult.unserviceable("Random Message"));
+        ResponseEntity<?> response = emergencyResource.coordTo3wa(location);
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, response.getStatusCode());
+        assertEquals("Random Message", ((ErrorResponse) response.getBody()).getMessage());
     }
 
     @Test
     public void coordTo3wa_UnableToFind3wa() {
         Location location = new Location(80.0, 200.0);
-        doThrow(new UnableToFind3waException("Random Message", new RuntimeException())).when(emergencyService).coordTo3wa(location);
-        assertThrows(UnableToFind3waException.class, () -> emergencyResource.coordTo3wa(location));
+        when(emergencyService.coordTo3waResult(location))
+                .thenReturn(LookupResult.unresolved("Random Message", new RuntimeException()));
+        ResponseEntity<?> response = emergencyResource.coordTo3wa(location);
+        assertEquals(HttpStatus.NOT_IMPLEMENTED, response.getStatusCode());
+        assertEquals(UnableToFind3waErrorResponse.builder().build(), response.getBody());
     }
 
     @Test
     public void _3waToCoord_ValidThreeWordAddress_ReturnsLocation() {
         ThreeWordAddress threeWordAddress = new ThreeWordAddress("table.book.chair");
         Location expectedLocation = new Location(37.749, -122.494);
-        when(emergencyService._3waToCoord(threeWordAddress)).thenReturn(expectedLocation);
-        ResponseEntity<Location> response = emergencyResource._3waToCoord(threeWordAddress);
+        when(emergencyService._3waToCoordResult(threeWordAddress)).thenReturn(LookupResult.found(expectedLocation));
+        ResponseEntity<?> response = emergencyResource._3waToCoord(threeWordAddress);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(expectedLocation, response.getBody());
     }
@@ -66,15 +75,22 @@ public class EmergencyResourceTest {
     @Test
     public void _3waToCoord_LocationUnserviceable() {
         ThreeWordAddress threeWordAddress = new ThreeWordAddress("table.book.chair");
-        doThrow(new LocationAutoSuggestException(threeWordAddress.getThreeWordAddress(), Collections.emptyList())).when(emergencyService)._3waToCoord(threeWordAddress);
-        assertThrows(LocationAutoSuggestException.class, () -> emergencyResource._3waToCoord(threeWordAddress));
+        when(emergencyService._3waToCoordResult(threeWordAddress)).thenReturn(
+                LookupResult.notRecognised(threeWordAddress.getThreeWordAddress(), Collections.emptyList(), false));
+        ResponseEntity<?> response = emergencyResource._3waToCoord(threeWordAddress);
+        assertEquals(HttpStatus.SEE_OTHER, response.getStatusCode());
+        assertEquals(new AutoSuggestLocationResponse("3wa not recognised: table.book.chair", Collections.emptyList()),
+                response.getBody());
     }
 
     @Test
     public void _3waToCoord_WrongThreeWords() {
         ThreeWordAddress threeWordAddress = new ThreeWordAddress("tabgfble.bsdfgook.chgsfair");
-        doThrow(new LocationAutoSuggestException(threeWordAddress.getThreeWordAddress(), Collections.emptyList())).when(emergencyService)._3waToCoord(threeWordAddress);
-        assertThrows(LocationAutoSuggestException.class, () -> emergencyResource._3waToCoord(threeWordAddress));
+        when(emergencyService._3waToCoordResult(threeWordAddress)).thenReturn(
+                LookupResult.notRecognised(threeWordAddress.getThreeWordAddress(), Collections.emptyList(), true));
+        ResponseEntity<?> response = emergencyResource._3waToCoord(threeWordAddress);
+        assertEquals(HttpStatus.SEE_OTHER, response.getStatusCode());
+        assertTrue(((AutoSuggestLocationResponse) response.getBody()).isPartial());
     }
 
     @Test
@@ -82,8 +98,9 @@ public class EmergencyResourceTest {
         String targetLanguage = "fr";
         ThreeWordAddress inputAddress = new ThreeWordAddress("table.book.chair");
         ThreeWordAddress expectedAddress = new ThreeWordAddress("tableau.livre.chaise");
-        when(emergencyService._3waLanguageConvert(inputAddress, targetLanguage)).thenReturn(expectedAddress);
-        ResponseEntity<ThreeWordAddress> response = emergencyResource._3waLanguageConvert(targetLanguage, inputAddress);
+        when(emergencyService._3waLanguageConvertResult(inputAddress, targetLanguage))
+                .thenReturn(LookupResult.found(expectedAddress));
+        ResponseEntity<?> response = emergencyResource._3waLanguageConvert(targetLanguage, inputAddress);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(expectedAddress, response.getBody());
     }
@@ -92,16 +109,42 @@ public class EmergencyResourceTest {
     public void _3waLanguageConvert_LocationUnserviceable() {
         String targetLanguage = "fr";
         ThreeWordAddress inputAddress = new ThreeWordAddress("table.book.chair");
-        doThrow(new LocationAutoSuggestException(inputAddress.getThreeWordAddress(), Collections.emptyList())).when(emergencyService)._3waLanguageConvert(inputAddress, targetLanguage);
-        assertThrows(LocationAutoSuggestException.class, () -> emergencyResource._3waLanguageConvert(targetLanguage, inputAddress));
+        when(emergencyService._3waLanguageConvertResult(inputAddress, targetLanguage)).thenReturn(
+                LookupResult.notRecognised(inputAddress.getThreeWordAddress(), Collections.emptyList(), false));
+        ResponseEntity<?> response = emergencyResource._3waLanguageConvert(targetLanguage, inputAddress);
+        assertEquals(HttpStatus.SEE_OTHER, response.getStatusCode());
+    }
+
+    @Test
+    public void _3waLanguageConvert_InvalidLanguage() {
+        String targetLanguage = "xx";
+        ThreeWordAddress inputAddress = new ThreeWordAddress("table.book.chair");
+        when(emergencyService._3waLanguageConvertResult(inputAddress, targetLanguage))
+                .thenReturn(LookupResult.invalidLanguage(targetLanguage));
+        ResponseEntity<?> response = emergencyResource._3waLanguageConvert(targetLanguage, inputAddress);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("xx is not a valid language code", ((ErrorResponse) response.getBody()).getMessage());
     }
 
     @Test
     public void _3waLanguageConvert_WrongThreeWords() {
         String targetLanguage = "fr";
         ThreeWordAddress inputAddress = new ThreeWordAddress("tabsgsle.boosxck.chsxcair");
-        doThrow(new LocationAutoSuggestException(inputAddress.getThreeWordAddress(), Collections.emptyList())).when(emergencyService)._3waLanguageConvert(inputAddress, targetLanguage);
-        assertThrows(LocationAutoSuggestException.class, () -> emergencyResource._3waLanguageConvert(targetLanguage, inputAddress));
+        when(emergencyService._3waLanguageConvertResult(inputAddress, targetLanguage)).thenReturn(
+                LookupResult.notRecognised(inputAddress.getThreeWordAddress(), Collections.emptyList(), false));
+        ResponseEntity<?> response = emergencyResource._3waLanguageConvert(targetLanguage, inputAddress);
+        assertEquals(HttpStatus.SEE_OTHER, response.getStatusCode());
+        verify(emergencyService, never())._3waLanguageConvert(any(), any());
     }
-}
 
+    @Test
+    public void autosuggest_PartialInput_ReturnsSuggestions() {
+        Suggestions suggestions = new Suggestions(Collections.singletonList(
+                new EmergencySuggestion("US", "San Francisco", "table.book.chair")), false);
+        when(emergencyService.autosuggestResult("table.book.ch", "dispatcher-1")).thenReturn(
+                CompletableFuture.completedFuture(LookupResult.found(suggestions)));
+        ResponseEntity<?> response = emergencyResource.autosuggest("table.book.ch", "dispatcher-1").join();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(suggestions, response.getBody());
+    }
+}
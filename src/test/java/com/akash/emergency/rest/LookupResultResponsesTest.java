@@ -0,0 +1,78 @@
+package com.akash.emergency.rest;
+
+import com.akash.emergency.dto.autoSuggest.EmergencySuggestion;
+import com.akash.emergency.dto.threeWords.ThreeWordAddress;
+import com.akash.emergency.exception.exceptionClass.InvalidLanguageCodeException;
+import com.akash.emergency.exception.exceptionClass.LocationAutoSuggestException;
+import com.akash.emergency.exception.exceptionClass.LocationUnserviceableException;
+import com.akash.emergency.exception.exceptionClass.UnableToFind3waException;
+import com.akash.emergency.exception.exceptionHandler.GlobalExceptionHandler;
+import com.akash.emergency.service.result.LookupResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LookupResultResponsesTest {
+    private LookupResultResponses lookupResultResponses;
+    private GlobalExceptionHandler exceptionHandler;
+
+    @BeforeEach
+    public void setup() {
+        lookupResultResponses = new LookupResultResponses();
+        exceptionHandler = new GlobalExceptionHandler();
+    }
+
+    @Test
+    public void toResponse_MatchesExceptionResponses() {
+        List<EmergencySuggestion> suggestions = List.of(new EmergencySuggestion("GB", "Roydon, Essex", "able.book.chair"));
+        assertThat(lookupResultResponses.toResponse(LookupResult.notRecognised("table.book.chair", suggestions, true)))
+                .isEqualTo(
+                exceptionHandler.handle(new LocationAutoSuggestException("table.book.chair", suggestions, true)));
+        assertThat(lookupResultResponses.toResponse(LookupResult.unserviceable("Serviceable countries are : GB")))
+                .isEqualTo(
+                exceptionHandler.handle(new LocationUnserviceableException("Serviceable countries are : GB")));
+        assertThat(lookupResultResponses.toResponse(LookupResult.invalidLanguage("xx"))).isEqualTo(
+                exceptionHandler.handle(new InvalidLanguageCodeException("xx")));
+        assertThat(lookupResultResponses.toResponse(LookupResult.unresolved("boom", null))).isEqualTo(
+                exceptionHandler.handle(new UnableToFind3waException("boom", null)));
+    }
+
+    @Test
+    public void toResponse_Found_ReturnsOk() {
+        ThreeWordAddress threeWordAddress = new ThreeWordAddress("table.book.chair");
+        ResponseEntity<?> response = lookupResultResponses.toResponse(LookupResult.found(threeWordAddress));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(threeWordAddress);
+    }
+
+    @Test
+    public void toResponse_FoundWithBody_WritesBodyAsJson() {
+        byte[] body = "{\"3wa\":\"table.book.chair\"}".getBytes(StandardCharsets.UTF_8);
+        ResponseEntity<?> response = lookupResultResponses.toResponse(
+                LookupResult.found(new ThreeWordAddress("table.book.chair"), body));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(body.length);
+        assertThat(response.getBody()).isSameAs(body);
+    }
+
+    @Test
+    public void toResponse_CountsErrorsUnderExceptionName() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        lookupResultResponses = new LookupResultResponses(meterRegistry);
+        exceptionHandler = new GlobalExceptionHandler(meterRegistry);
+        lookupResultResponses.toResponse(LookupResult.notRecognised("table.book.chair", List.of(), false));
+        exceptionHandler.handle(new LocationAutoSuggestException("table.book.chair", List.of()));
+        lookupResultResponses.toResponse(LookupResult.found(new ThreeWordAddress("table.book.chair")));
+        assertThat(meterRegistry.get("emergency.errors").tag("exception", "LocationAutoSuggestException")
+                .tag("status", "303").counter().count()).isEqualTo(2.0);
+    }
+}
@@ -1,13 +1,31 @@
 package com.akash.emergency.service;
 
+import com.akash.emergency.cache.DiskCache;
+import com.akash.emergency.cache.SquareCache;
+import com.akash.emergency.cache.SquareEntry;
+import com.akash.emergency.cache.ThreeWordsCache;
+import com.akash.emergency.cache.ThreeWordsEntry;
+import com.akash.emergency.cache.TierMetrics;
+import com.akash.emergency.client.What3WordsClient;
+import com.akash.emergency.dto.autoSuggest.EmergencySuggestion;
+import com.akash.emergency.dto.autoSuggest.Suggestions;
 import com.akash.emergency.dto.location.Location;
 import com.akash.emergency.dto.threeWords.ThreeWordAddress;
 import com.akash.emergency.exception.exceptionClass.InvalidLanguageCodeException;
 import com.akash.emergency.exception.exceptionClass.LocationAutoSuggestException;
 import com.akash.emergency.exception.exceptionClass.LocationUnserviceableException;
 import com.akash.emergency.exception.exceptionClass.UnableToFind3waException;
+import com.akash.emergency.exception.exceptionClass.UpstreamUnavailableException;
+import com.akash.emergency.geo.ServiceabilityIndex;
+import com.akash.emergency.pack.PackMode;
+import com.akash.emergency.pack.RegionPack;
+import com.akash.emergency.pack.RegionPackWriter;
+import com.akash.emergency.peer.PeerCache;
 import com.akash.emergency.service.impl.EmergencyServiceImpl;
 import com.akash.emergency.service.intf.EmergencyService;
+import com.akash.emergency.service.result.LookupResult;
+import com.akash.emergency.typeahead.PrefixIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.what3words.javawrapper.What3WordsV3;
 import com.what3words.javawrapper.request.AutosuggestRequest;
 import com.what3words.javawrapper.request.ConvertTo3WARequest;
@@ -16,14 +34,33 @@ import com.what3words.javawrapper.request.Coordinates;
 import com.what3words.javawrapper.response.Autosuggest;
 import com.what3words.javawrapper.response.ConvertTo3WA;
 import com.what3words.javawrapper.response.ConvertToCoordinates;
+import com.what3words.javawrapper.response.Square;
+import com.what3words.javawrapper.response.Suggestion;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -68,7 +105,8 @@ class EmergencyServiceImplTest {
         String defaultLanguage = "en";
         List<String> allowedCountries = Arrays.asList("US", "CA");
         int numberOfSuggestionsPerCountry = 3;
-        emergencyService = new EmergencyServiceImpl(defaultLanguage, allowedCountries, numberOfSuggestionsPerCountry, what3WordsV3);
+        emergencyService = EmergencyServiceImpl.builder().defaultLanguage(defaultLanguage).allowedCountries(allowedCountries)
+                .numberOfSuggestionsPerCountry(numberOfSuggestionsPerCountry).what3WordsV3(what3WordsV3).build();
     }
 
     private void mandatoryConditions(){
@@ -191,6 +229,540 @@ class EmergencyServiceImplTest {
         assertThrows(LocationAutoSuggestException.class, () -> emergencyService._3waLanguageConvert(threeWordAddress, "FR"));
     }
 
+    @Test
+    public void coordTo3waResult_UnserviceableLocation_ReturnsUnserviceable() {
+        when(builder.execute()).thenReturn(createConvertTo3WA("GB", words));
+        LookupResult<ThreeWordAddress> result = emergencyService.coordTo3waResult(location);
+        assertEquals(LookupResult.Outcome.UNSERVICEABLE, result.getOutcome());
+        assertEquals("Serviceable countries with ISO 3166-1 alpha-2 codes are : US , CA", result.getMessage());
+    }
+
+    @Test
+    public void coordTo3waResult_ExceptionThrown_ReturnsUnresolved() {
+        RuntimeException failure = new RuntimeException("boom");
+        when(what3WordsV3.convertTo3wa(any(Coordinates.class))).thenThrow(failure);
+        LookupResult<ThreeWordAddress> result = emergencyService.coordTo3waResult(location);
+        assertEquals(LookupResult.Outcome.UNRESOLVED, result.getOutcome());
+        assertSame(failure, result.getCause());
+    }
+
+    @Test
+    public void _3waToCoordResult_UnAllowedCountry_ReturnsNotRecognised() {
+        when((convertToCoordinatesBuilder.execute())).thenReturn(createConvertToCoordinates("GB", coordinates));
+        LookupResult<Location> result = emergencyService._3waToCoordResult(threeWordAddress);
+        assertEquals(LookupResult.Outcome.NOT_RECOGNISED, result.getOutcome());
+        assertEquals("3wa not recognised: table.book.chair", result.getMessage());
+        assertNull(result.getValue());
+    }
+
+    @Test
+    public void _3waLanguageConvertResult_InValidLanguage_ReturnsInvalidLanguage() {
+        when((convertToCoordinatesBuilder.execute())).thenReturn(convertToCoordinates);
+        when(builder.execute()).thenReturn(createConvertTo3WA("ABR", null));
+        LookupResult<ThreeWordAddress> result = emergencyService._3waLanguageConvertResult(threeWordAddress, "ABR");
+        assertEquals(LookupResult.Outcome.INVALID_LANGUAGE, result.getOutcome());
+        assertEquals("ABR is not a valid language code", result.getMessage());
+    }
+
+    @Test
+    public void _3waLanguageConvertResult_UnAllowedCountry_SkipsConversion() {
+        when((convertToCoordinatesBuilder.execute())).thenReturn(createConvertToCoordinates("GB", coordinates));
+        LookupResult<ThreeWordAddress> result = emergencyService._3waLanguageConvertResult(threeWordAddress, "FR");
+        assertEquals(LookupResult.Outcome.NOT_RECOGNISED, result.getOutcome());
+        verify(what3WordsV3, never()).convertTo3wa(any(Coordinates.class));
+    }
+
+    @Test
+    public void coordTo3wa_PointInResolvedSquare_ServedFromCache() {
+        emergencyService = EmergencyServiceImpl.builder().defaultLanguage("en").allowedCountries(Arrays.asList("US", "CA"))
+                .numberOfSuggestionsPerCountry(3).what3WordsV3(what3WordsV3)
+                .squareCache(new SquareCache(100, Duration.ofMinutes(5))).build();
+        when(builder.execute()).thenReturn(new ConvertTo3WA("US", createSquare(lat - 0.00001, lng - 0.00001,
+                lat + 0.00001, lng + 0.00001), null, null, words, null, null));
+        assertEquals(words, emergencyService.coordTo3wa(location).getThreeWordAddress());
+        assertEquals(words, emergencyService.coordTo3wa(new Location(lat + 0.000005, lng - 0.000005)).getThreeWordAddress());
+        verify(builder, times(1)).execute();
+    }
+
+    @Test
+    public void coordTo3wa_CachedUnserviceableSquare_ThrowsLocationUnserviceableException() {
+        emergencyService = EmergencyServiceImpl.builder().defaultLanguage("en").allowedCountries(Arrays.asList("US", "CA"))
+                .numberOfSuggestionsPerCountry(3).what3WordsV3(what3WordsV3)
+                .squareCache(new SquareCache(100, Duration.ofMinutes(5))).build();
+        when(builder.execute()).thenReturn(new ConvertTo3WA("GB", createSquare(lat - 0.00001, lng - 0.00001,
+                lat + 0.00001, lng + 0.00001), null, null, words, null, null));
+        assertThrows(LocationUnserviceableException.class, () -> emergencyService.coordTo3wa(location));
+        assertThrows(LocationUnserviceableException.class, () -> emergencyService.coordTo3wa(location));
+        verify(builder, times(1)).execute();
+    }
+
+    @Test
+    public void _3waToCoord_RepeatedAddress_ServedFromCache() {
+        emergencyService = createCachingEmergencyService();
+        when((convertToCoordinatesBuilder.execute())).thenReturn(convertToCoordinates);
+        emergencyService._3waToCoord(threeWordAddress);
+        Location result = emergencyService._3waToCoord(new ThreeWordAddress("///table.book.chair"));
+        assertEquals(lat, result.getLat(), 0.001);
+        verify(convertToCoordinatesBuilder, times(1)).execute();
+    }
+
+    @Test
+    public void coordTo3waResult_MemoryHit_CarriesSerialisedBody() {
+        emergencyService = EmergencyServiceImpl.builder().defaultLanguage("en").allowedCountries(Arrays.asList("US", "CA"))
+                .numberOfSuggestionsPerCountry(3).what3WordsV3(what3WordsV3)
+                .squareCache(new SquareCache(100, Duration.ofMinutes(5))).responseMapper(new ObjectMapper()).build();
+        when(builder.execute()).thenReturn(new ConvertTo3WA("US", createSquare(lat - 0.00001, lng - 0.00001,
+                lat + 0.00001, lng + 0.00001), null, null, words, null, null));
+        assertNull(emergencyService.coordTo3waResult(location).getBody());
+        LookupResult<ThreeWordAddress> hit = emergencyService.coordTo3waResult(location);
+        assertEquals(words, hit.getValue().getThreeWordAddress());
+        assertEquals("{\"3wa\":\"" + words + "\"}", new String(hit.getBody(), StandardCharsets.UTF_8));
+        assertSame(hit.getBody(), emergencyService.coordTo3waResult(location).getBody());
+    }
+
+    @Test
+    public void _3waToCoordResult_MemoryHit_CarriesSerialisedBody() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        emergencyService = EmergencyServiceImpl.builder().defaultLanguage("en").allowedCountries(Arrays.asList("US", "CA"))
+                .numberOfSuggestionsPerCountry(3).what3WordsV3(what3WordsV3)
+                .threeWordsCache(new ThreeWordsCache(100, Duration.ofMinutes(5), 100, Duration.ofMinutes(1)))
+                .responseMapper(objectMapper).build();
+        when((convertToCoordinatesBuilder.execute())).thenReturn(convertToCoordinates);
+        assertNull(emergencyService._3waToCoordResult(threeWordAddress).getBody());
+        LookupResult<Location> hit = emergencyService._3waToCoordResult(threeWordAddress);
+        assertEquals(hit.getValue(), objectMapper.readValue(hit.getBody(), Location.class));
+    }
+
+    @Test
+    public void _3waToCoordResult_NoResponseMapper_NeverCarriesBody() {
+        emergencyService = createCachingEmergencyService();
+        when((convertToCoordinatesBuilder.execute())).thenReturn(convertToCoordinates);
+        emergencyService._3waToCoordResult(threeWordAddress);
+        assertNull(emergencyService._3waToCoordResult(threeWordAddress).getBody());
+    }
+
+    @Test
+    public void _3waToCoord_RepeatedNotRecognisedAddress_SkipsConvertAndAutosuggest() {
+        emergencyService = createCachingEmergencyService();
+        when((convertToCoordinatesBuilder.execute())).thenReturn(createConvertToCoordinates(null, null));
+        assertThrows(LocationAutoSuggestException.class, () -> emergencyService._3waToCoord(threeWordAddress));
+        assertThrows(LocationAutoSuggestException.class, () -> emergencyService._3waToCoord(threeWordAddress));
+        verify(convertToCoordinatesBuilder, times(1)).execute();
+        verify(autosuggestRequestBuilder, times(2)).execute();
+    }
+
+    @Test
+    public void _3waToCoord_SlowCountry_ReturnsPartialSuggestionsWithinDeadline() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            emergencyService = EmergencyServiceImpl.builder().defaultLanguage("en").allowedCountries(Arrays.asList("US", "CA"))
+                    .numberOfSuggestionsPerCountry(3).what3WordsV3(what3WordsV3)
+                    .suggestionExecutor(executor).suggestionDeadline(Duration.ofMillis(200)).build();
+            AutosuggestRequest.Builder slowBuilder = mock(AutosuggestRequest.Builder.class);
+            when(autosuggestRequestBuilder.clipToCountry("CA")).thenReturn(slowBuilder);
+            when(slowBuilder.execute()).thenAnswer(invocation -> {
+                Thread.sleep(2000);
+                return autosuggest;
+            });
+            when((convertToCoordinatesBuilder.execute())).thenReturn(createConvertToCoordinates(null, null));
+            long start = System.nanoTime();
+            LocationAutoSuggestException ex = assertThrows(LocationAutoSuggestException.class,
+                    () -> emergencyService._3waToCoord(threeWordAddress));
+            assertTrue(ex.isPartial());
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1500);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void _3waToCoord_TimedOutCountry_FreesItsSuggestionThread() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            emergencyService = EmergencyServiceImpl.builder().defaultLanguage("en").allowedCountries(Arrays.asList("US", "CA"))
+                    .numberOfSuggestionsPerCountry(3).what3WordsV3(what3WordsV3)
+                    .suggestionExecutor(executor).suggestionDeadline(Duration.ofMillis(200)).build();
+            AutosuggestRequest.Builder slowBuilder = mock(AutosuggestRequest.Builder.class);
+            when(autosuggestRequestBuilder.clipToCountry("CA")).thenReturn(slowBuilder);
+            CountDownLatch interrupted = new CountDownLatch(1);
+            when(slowBuilder.execute()).thenAnswer(invocation -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException ex) {
+                    interrupted.countDown();
+                    throw ex;
+                }
+                return autosuggest;
+            });
+            when((convertToCoordinatesBuilder.execute())).thenReturn(createConvertToCoordinates(null, null));
+            assertThrows(LocationAutoSuggestException.class, () -> emergencyService._3waToCoord(threeWordAddress));
+            assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+            assertTrue(executor.submit(() -> true).get(1, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void _3waToCoord_SuggestionPoolFull_ReturnsPartialSuggestionsFromAcceptedCountries() {
+        AtomicInteger accepted = new AtomicInteger();
+        Executor executor = task -> {
+            if (accepted.incrementAndGet() > 1) {
+                throw new RejectedExecutionException("full");
+            }
+            task.run();
+        };
+        emergencyService = EmergencyServiceImpl.builder().defaultLanguage("en").allowedCountries(Arrays.asList("US", "CA"))
+                .numberOfSuggestionsPerCountry(3).what3WordsV3(what3WordsV3).suggestionExecutor(executor).build();
+        Suggestion suggestion = mock(Suggestion.class);
+        when(suggestion.getWords()).thenReturn("table.book.chair");
+        when(suggestion.getCountry()).thenReturn("US");
+        when(autosuggest.getSuggestions()).thenReturn(Collections.singletonList(suggestion));
+        when((convertToCoordinatesBuilder.execute())).thenReturn(createConvertToCoordinates(null, null));
+        LocationAutoSuggestException ex = assertThrows(LocationAutoSuggestException.class,
+                () -> emergencyService._3waToCoord(threeWordAddress));
+        assertTrue(ex.isPartial());
+        assertEquals(1, ex.getSuggestions().size());
+        verify(autosuggestRequestBuilder, never()).clipToCountry("CA");
+    }
+
+    @Test
+    public void coordTo3wa_PointOutsideServiceableArea_RejectedWithoutUpstreamCall() throws IOException {
+        emergencyService = createIndexedEmergencyService();
+        assertThrows(LocationUnserviceableException.class, () -> emergencyService.coordTo3wa(new Location(51.520847, -0.195521)));
+        verify(what3WordsV3, never()).convertTo3wa(any());
+    }
+
+    @Test
+    public void coordTo3wa_PointInsideServiceableArea_CallsUpstream() throws IOException {
+        emergencyService = createIndexedEmergencyService();
+        when(builder.execute()).thenReturn(createConvertTo3WA("US", words));
+        assertEquals(words, emergencyService.coordTo3wa(location).getThreeWordAddress());
+        verify(builder, times(1)).execute();
+    }
+
+    @Test
+    public void coordTo3wa_OutOfRangeCoordinates_ThrowsUnableToFind3waException() throws IOException {
+        emergencyService = createIndexedEmergencyService();
+        assertThrows(UnableToFind3waException.class, () -> emergencyService.coordTo3wa(new Location(40.0, 200.0)));
+        verify(what3WordsV3, never()).convertTo3wa(any());
+    }
+
+    @Test
+    public void coordTo3wa_PackFirst_AnswersFromPackWithoutUpstreamCall(@TempDir Path directory) throws IOException {
+        try (RegionPack regionPack = createRegionPack(directory)) {
+            emergencyService = createPackedEmergencyService(regionPack, PackMode.PACK_FIRST);
+            assertEquals(words, emergencyService.coordTo3wa(location).getThreeWordAddress());
+            assertEquals(lat, emergencyService._3waToCoord(threeWordAddress).getLat(), 0.0001);
+            verify(builder, never()).execute();
+            verify(convertToCoordinatesBuilder, never()).execute();
+        }
+    }
+
+    @Test
+    public void coordTo3wa_ApiFirstUpstreamFailure_FallsBackToPack(@TempDir Path directory) throws IOException {
+        try (RegionPack regionPack = createRegionPack(directory)) {
+            emergencyService = createPackedEmergencyService(regionPack, PackMode.API_FIRST);
+            when(builder.execute()).thenThrow(new RuntimeException("api unreachable"));
+            when(convertToCoordinatesBuilder.execute()).thenThrow(new RuntimeException("api unreachable"));
+            assertEquals(words, emergencyService.coordTo3wa(location).getThreeWordAddress());
+            assertEquals(lng, emergencyService._3waToCoord(threeWordAddress).getLng(), 0.0001);
+            verify(builder, times(1)).execute();
+        }
+    }
+
+    @Test
+    public void coordTo3wa_PackOnlyMiss_ThrowsWithoutUpstreamCall(@TempDir Path directory) throws IOException {
+        try (RegionPack regionPack = createRegionPack(directory)) {
+            emergencyService = createPackedEmergencyService(regionPack, PackMode.PACK_ONLY);
+            assertThrows(UnableToFind3waException.class, () -> emergencyService.coordTo3wa(new Location(40.0, -100.0)));
+            assertThrows(UnableToFind3waException.class,
+                    () -> emergencyService._3waToCoord(new ThreeWordAddress("table.book.lamp")));
+            verify(builder, never()).execute();
+            verify(convertToCoordinatesBuilder, never()).execute();
+        }
+    }
+
+    @Test
+    public void coordTo3wa_BreakerOpen_FailsFastWithUpstreamUnavailable() {
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        circuitBreakerRegistry.circuitBreaker("convertTo3wa").transitionToOpenState();
+        emergencyService = EmergencyServiceImpl.builder().defaultLanguage("en").allowedCountries(Arrays.asList("US", "CA"))
+                .numberOfSuggestionsPerCountry(3)
+                .what3WordsClient(new What3WordsClient(what3WordsV3, new SimpleMeterRegistry(), circuitBreakerRegistry))
+                .build();
+        assertThrows(UpstreamUnavailableException.class, () -> emergencyService.coordTo3wa(location));
+        verify(builder, never()).execute();
+    }
+
+    @Test
+    public void coordTo3wa_BreakerOpen_FallsBackToRegionPack(@TempDir Path directory) throws IOException {
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        circuitBreakerRegistry.circuitBreaker("convertTo3wa").transitionToOpenState();
+        try (RegionPack regionPack = createRegionPack(directory)) {
+            emergencyService = EmergencyServiceImpl.builder().defaultLanguage("en").allowedCountries(Arrays.asList("US", "CA"))
+                    .numberOfSuggestionsPerCountry(3)
+                    .what3WordsClient(new What3WordsClient(what3WordsV3, new SimpleMeterRegistry(), circuitBreakerRegistry))
+                    .regionPack(regionPack).build();
+            assertEquals(words, emergencyService.coordTo3wa(location).getThreeWordAddress());
+            verify(builder, never()).execute();
+        }
+    }
+
+    @Test
+    public void coordTo3wa_AfterRestart_ServedFromDiskCache(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("lookups.log");
+        when(builder.execute()).thenReturn(new ConvertTo3WA("US", createSquare(lat - 0.00001, lng - 0.00001,
+                lat + 0.00001, lng + 0.00001), null, null, words, null, null));
+        when(convertToCoordinatesBuilder.execute()).thenReturn(convertToCoordinates);
+        try (DiskCache diskCache = createDiskCache(file)) {
+            emergencyService = createDiskCachingEmergencyService(diskCache);
+            emergencyService.coordTo3wa(location);
+            emergencyService._3waToCoord(threeWordAddress);
+        }
+        try (DiskCache diskCache = createDiskCache(file)) {
+            emergencyService = createDiskCachingEmergencyService(diskCache);
+            assertEquals(words, emergencyService.coordTo3wa(new Location(lat + 0.000005, lng)).getThreeWordAddress());
+            assertEquals(lat, emergencyService._3waToCoord(new ThreeWordAddress("///Table.Book.Chair")).getLat(), 0.0001);
+        }
+        verify(builder, times(1)).execute();
+        verify(convertToCoordinatesBuilder, times(1)).execute();
+    }
+
+    @Test
+    public void _3waToCoord_DiskCachedUnAllowedCountry_ThrowsLocationAutoSuggestException(@TempDir Path directory)
+            throws IOException {
+        try (DiskCache diskCache = createDiskCache(directory.resolve("lookups.log"))) {
+            diskCache.putWords(words, ThreeWordsEntry.resolved(lat, lng, "GB"));
+            emergencyService = createDiskCachingEmergencyService(diskCache);
+            assertThrows(LocationAutoSuggestException.class, () -> emergencyService._3waToCoord(threeWordAddress));
+            verify(convertToCoordinatesBuilder, never()).execute();
+        }
+    }
+
+    @Test
+    public void coordTo3wa_LocalMiss_AsksPeerBeforeUpstreamAndCountsTiers() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PeerCache peerCache = mock(PeerCache.class);
+        when(builder.execute()).thenReturn(new ConvertTo3WA("US", createSquare(lat - 0.00001, lng - 0.00001,
+                lat + 0.00001, lng + 0.00001), null, null, words, null, null));
+        when(peerCache.getWords(words)).thenReturn(ThreeWordsEntry.resolved(lat, lng, "US"));
+        emergencyService = EmergencyServiceImpl.builder().defaultLanguage("en").allowedCountries(Arrays.asList("US", "CA"))
+                .numberOfSuggestionsPerCountry(3).what3WordsV3(what3WordsV3)
+                .squareCache(new SquareCache(100, Duration.ofMinutes(5)))
+                .threeWordsCache(new ThreeWordsCache(100, Duration.ofMinutes(5), 100, Duration.ofMinutes(5)))
+                .peerCache(peerCache).tierMetrics(new TierMetrics(meterRegistry)).build();
+
+        emergencyService.coordTo3wa(location);
+        emergencyService.coordTo3wa(location);
+        assertEquals(lat, emergencyService._3waToCoord(threeWordAddress).getLat());
+        emergencyService._3waToCoord(threeWordAddress);
+
+        verify(peerCache).getSquare("en", lat, lng);
+        verify(peerCache).putSquare(eq("en"), any(SquareEntry.class));
+        verify(convertToCoordinatesBuilder, never()).execute();
+        verify(peerCache, never()).putWords(anyString(), any());
+        assertEquals(1, lookups(meterRegistry, "convertTo3wa", "upstream"));
+        assertEquals(1, lookups(meterRegistry, "convertTo3wa", "memory"));
+        assertEquals(1, lookups(meterRegistry, "convertToCoordinates", "peer"));
+        assertEquals(1, lookups(meterRegistry, "convertToCoordinates", "memory"));
+    }
+
+    private static double lookups(SimpleMeterRegistry meterRegistry, String operation, String tier) {
+        return meterRegistry.get("emergency.lookups").tag("operation", operation).tag("tier", tier).counter().count();
+    }
+
+    @Test
+    public void autosuggest_EnoughIndexedAddresses_AnsweredLocally() {
+        PrefixIndex prefixIndex = new PrefixIndex(100);
+        prefixIndex.add("table.book.chair", "US");
+        prefixIndex.add("table.book.chain", "US");
+        prefixIndex.add("table.book.chart", "GB");
+        prefixIndex.add("table.book.chat", "CA");
+        emergencyService = createTypeaheadEmergencyService(prefixIndex);
+
+        Suggestions result = emergencyService.autosuggestResult("///Table.Book.Ch", "session").join().getValue();
+        assertEquals(Arrays.asList("table.book.chain", "table.book.chair", "table.book.chat"), words(result));
+        assertFalse(result.isPartial());
+        verify(what3WordsV3, never()).autosuggest(anyString());
+    }
+
+    @Test
+    public void autosuggest_TooFewIndexedAddresses_MergesUpstreamSuggestions() {
+        PrefixIndex prefixIndex = new PrefixIndex(100);
+        prefixIndex.add("table.book.chair", "US");
+        Suggestion upstream = mock(Suggestion.class);
+        when(upstream.getWords()).thenReturn("table.book.chalk");
+        when(upstream.getCountry()).thenReturn("CA");
+        Suggestion known = mock(Suggestion.class);
+        when(known.getWords()).thenReturn("table.book.chair");
+        when(known.getCountry()).thenReturn("US");
+        when(autosuggest.getSuggestions()).thenReturn(Arrays.asList(known, upstream));
+        emergencyService = createTypeaheadEmergencyService(prefixIndex);
+
+        Suggestions result = emergencyService.autosuggestResult("table.book.ch", null).join().getValue();
+        assertEquals(Arrays.asList("table.book.chair", "table.book.chalk"), words(result));
+        verify(what3WordsV3, times(2)).autosuggest("table.book.ch");
+    }
+
+    @Test
+    public void autosuggest_IncompleteWords_NeverAsksUpstream() {
+        emergencyService = createTypeaheadEmergencyService(new PrefixIndex(100));
+        assertTrue(emergencyService.autosuggestResult("table.bo", null).join().getValue().getSuggestions().isEmpty());
+        assertTrue(emergencyService.autosuggestResult("  ", null).join().getValue().getSuggestions().isEmpty());
+        verify(what3WordsV3, never()).autosuggest(anyString());
+    }
+
+    @Test
+    public void autosuggest_ResolvedAddresses_AreIndexedWhenInAllowedCountries() {
+        when(convertToCoordinatesBuilder.execute()).thenReturn(convertToCoordinates);
+        when(builder.execute()).thenReturn(createConvertTo3WA("GB", "table.book.chart"));
+        emergencyService = createTypeaheadEmergencyService(new PrefixIndex(100));
+        emergencyService._3waToCoord(threeWordAddress);
+        emergencyService.coordTo3waResult(location);
+
+        assertEquals(Collections.singletonList(words), words(emergencyService.autosuggestResult("table.b", null).join().getValue()));
+    }
+
+    @Test
+    public void autosuggestStream_TooFewIndexedAddresses_SendsLocalThenUpstreamSuggestions() {
+        PrefixIndex prefixIndex = new PrefixIndex(100);
+        prefixIndex.add("table.book.chair", "US");
+        Suggestion upstream = mock(Suggestion.class);
+        when(upstream.getWords()).thenReturn("table.book.chalk");
+        when(upstream.getCountry()).thenReturn("CA");
+        Suggestion known = mock(Suggestion.class);
+        when(known.getWords()).thenReturn("table.book.chair");
+        when(known.getCountry()).thenReturn("US");
+        when(autosuggest.getSuggestions()).thenReturn(Arrays.asList(known, upstream));
+        emergencyService = createTypeaheadEmergencyService(prefixIndex);
+
+        List<EmergencySuggestion> sent = new ArrayList<>();
+        Suggestions result = emergencyService.autosuggestStream("table.book.ch", null, sent::add).join();
+        assertEquals(Arrays.asList("table.book.chair", "table.book.chalk"), words(result));
+        assertEquals(result.getSuggestions(), sent);
+        assertFalse(result.isPartial());
+    }
+
+    @Test
+    public void autosuggestStream_SlowCountry_SendsOtherCountriesFirstAndEndsPartialAtDeadline() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            emergencyService = EmergencyServiceImpl.builder().defaultLanguage("en").allowedCountries(Arrays.asList("US", "CA"))
+                    .numberOfSuggestionsPerCountry(3).what3WordsV3(what3WordsV3)
+                    .suggestionExecutor(executor).suggestionDeadline(Duration.ofMillis(200)).build();
+            Suggestion fast = mock(Suggestion.class);
+            when(fast.getWords()).thenReturn("table.book.chair");
+            when(fast.getCountry()).thenReturn("US");
+            when(autosuggest.getSuggestions()).thenReturn(Collections.singletonList(fast));
+            AutosuggestRequest.Builder slowBuilder = mock(AutosuggestRequest.Builder.class);
+            when(autosuggestRequestBuilder.clipToCountry("CA")).thenReturn(slowBuilder);
+            when(slowBuilder.execute()).thenAnswer(invocation -> {
+                Thread.sleep(2000);
+                return autosuggest;
+            });
+
+            List<EmergencySuggestion> sent = Collections.synchronizedList(new ArrayList<>());
+            long start = System.nanoTime();
+            Suggestions result = emergencyService.autosuggestStream("table.book.ch", null, sent::add).join();
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1500);
+            assertEquals(Collections.singletonList("table.book.chair"), words(result));
+            assertEquals(result.getSuggestions(), sent);
+            assertTrue(result.isPartial());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void autosuggestStream_Cancelled_SkipsQueuedCountries() {
+        List<Runnable> queued = new ArrayList<>();
+        emergencyService = EmergencyServiceImpl.builder().defaultLanguage("en").allowedCountries(Arrays.asList("US", "CA"))
+                .numberOfSuggestionsPerCountry(3).what3WordsV3(what3WordsV3).suggestionExecutor(queued::add).build();
+
+        List<EmergencySuggestion> sent = new ArrayList<>();
+        CompletableFuture<Suggestions> result = emergencyService.autosuggestStream("table.book.ch", null, sent::add);
+        assertEquals(2, queued.size());
+        assertTrue(result.cancel(true));
+        queued.forEach(Runnable::run);
+        assertTrue(sent.isEmpty());
+        verify(what3WordsV3, never()).autosuggest(anyString());
+    }
+
+    @Test
+    public void autosuggestStream_EnoughIndexedAddresses_CompletesWithoutUpstream() {
+        PrefixIndex prefixIndex = new PrefixIndex(100);
+        prefixIndex.add("table.book.chair", "US");
+        prefixIndex.add("table.book.chain", "US");
+        prefixIndex.add("table.book.chat", "CA");
+        emergencyService = createTypeaheadEmergencyService(prefixIndex);
+
+        List<EmergencySuggestion> sent = new ArrayList<>();
+        CompletableFuture<Suggestions> result = emergencyService.autosuggestStream("table.book.ch", "session", sent::add);
+        assertTrue(result.isDone());
+        assertEquals(3, sent.size());
+        verify(what3WordsV3, never()).autosuggest(anyString());
+    }
+
+    private static List<String> words(Suggestions suggestions) {
+        List<String> words = new ArrayList<>();
+        for (EmergencySuggestion suggestion : suggestions.getSuggestions()) {
+            words.add(suggestion.getWords());
+        }
+        return words;
+    }
+
+    private EmergencyService createTypeaheadEmergencyService(PrefixIndex prefixIndex) {
+        return EmergencyServiceImpl.builder().defaultLanguage("en").allowedCountries(Arrays.asList("US", "CA"))
+                .numberOfSuggestionsPerCountry(3).what3WordsV3(what3WordsV3)
+                .prefixIndex(prefixIndex).build();
+    }
+
+    private DiskCache createDiskCache(Path file) throws IOException {
+        return new DiskCache(file, 1000, Duration.ofMinutes(1), Duration.ofMinutes(1));
+    }
+
+    private EmergencyService createDiskCachingEmergencyService(DiskCache diskCache) {
+        return EmergencyServiceImpl.builder().defaultLanguage("en").allowedCountries(Arrays.asList("US", "CA"))
+                .numberOfSuggestionsPerCountry(3).what3WordsV3(what3WordsV3)
+                .diskCache(diskCache).build();
+    }
+
+    private RegionPack createRegionPack(Path directory) throws IOException {
+        RegionPackWriter writer = new RegionPackWriter("en");
+        writer.add(new SquareEntry(lat - 0.00001, lng - 0.00001, lat + 0.00001, lng + 0.00001, words, "US"));
+        Path file = directory.resolve("region.pack");
+        writer.write(file);
+        return RegionPack.open(file);
+    }
+
+    private EmergencyService createPackedEmergencyService(RegionPack regionPack, PackMode packMode) {
+        return EmergencyServiceImpl.builder().defaultLanguage("en").allowedCountries(Arrays.asList("US", "CA"))
+                .numberOfSuggestionsPerCountry(3).what3WordsV3(what3WordsV3)
+                .regionPack(regionPack).packMode(packMode).build();
+    }
+
+    private EmergencyService createIndexedEmergencyService() throws IOException {
+        try (InputStream regions = getClass().getResourceAsStream("/geo/serviceable-regions.csv")) {
+            return EmergencyServiceImpl.builder().defaultLanguage("en").allowedCountries(Arrays.asList("US", "CA"))
+                    .numberOfSuggestionsPerCountry(3).what3WordsV3(what3WordsV3)
+                    .serviceabilityIndex(ServiceabilityIndex.load(regions, Arrays.asList("US", "CA"), 0.1)).build();
+        }
+    }
+
+    private EmergencyService createCachingEmergencyService(){
+        return EmergencyServiceImpl.builder().defaultLanguage("en").allowedCountries(Arrays.asList("US", "CA"))
+                .numberOfSuggestionsPerCountry(3).what3WordsV3(what3WordsV3)
+                .threeWordsCache(new ThreeWordsCache(100, Duration.ofMinutes(5), 100, Duration.ofMinutes(1))).build();
+    }
+
+    private Square createSquare(double swLat, double swLng, double neLat, double neLng){
+        Square square = mock(Square.class);
+        when(square.getSouthwest()).thenReturn(new com.what3words.javawrapper.response.Coordinates(swLat, swLng));
+        when(square.getNortheast()).thenReturn(new com.what3words.javawrapper.response.Coordinates(neLat, neLng));
+        return square;
+    }
+
     private ConvertTo3WA createConvertTo3WA(String country, String word){
         return new ConvertTo3WA(country, null, null,null, word, null, null);
     }
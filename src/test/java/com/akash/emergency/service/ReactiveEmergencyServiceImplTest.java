@@ -0,0 +1,119 @@
+package com.akash.emergency.service;
+
+import com.akash.emergency.cache.SquareEntry;
+import com.akash.emergency.cache.ThreeWordsCache;
+import com.akash.emergency.cache.ThreeWordsEntry;
+import com.akash.emergency.client.ReactiveWhat3WordsClient;
+import com.akash.emergency.dto.autoSuggest.EmergencySuggestion;
+import com.akash.emergency.dto.location.Location;
+import com.akash.emergency.dto.threeWords.ThreeWordAddress;
+import com.akash.emergency.exception.exceptionClass.InvalidLanguageCodeException;
+import com.akash.emergency.exception.exceptionClass.LocationAutoSuggestException;
+import com.akash.emergency.exception.exceptionClass.LocationUnserviceableException;
+import com.akash.emergency.exception.exceptionClass.UnableToFind3waException;
+import com.akash.emergency.exception.exceptionClass.UpstreamQuotaExceededException;
+import com.akash.emergency.service.impl.ReactiveEmergencyServiceImpl;
+import com.akash.emergency.service.intf.ReactiveEmergencyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveEmergencyServiceImplTest {
+    @Mock
+    private ReactiveWhat3WordsClient what3WordsClient;
+    private ReactiveEmergencyService reactiveEmergencyService;
+    private final String words = "table.book.chair";
+    private final Location location = new Location(37.7749, -122.4194);
+    private final ThreeWordAddress threeWordAddress = new ThreeWordAddress(words);
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        reactiveEmergencyService = ReactiveEmergencyServiceImpl.builder()
+                .defaultLanguage("en")
+                .allowedCountries(Arrays.asList("US", "CA"))
+                .numberOfSuggestionsPerCountry(3)
+                .what3WordsClient(what3WordsClient)
+                .threeWordsCache(new ThreeWordsCache(100, Duration.ofMinutes(5), 100, Duration.ofMinutes(1)))
+                .suggestionDeadline(Duration.ofMillis(200))
+                .build();
+    }
+
+    @Test
+    public void coordTo3wa_ValidLocation_ReturnsThreeWordAddress() {
+        when(what3WordsClient.convertTo3wa(anyDouble(), anyDouble(), eq("en"))).thenReturn(Mono.just(square("US", words)));
+        assertEquals(words, reactiveEmergencyService.coordTo3wa(location).block().getThreeWordAddress());
+    }
+
+    @Test
+    public void coordTo3wa_UnserviceableLocation_ThrowsLocationUnserviceableException() {
+        when(what3WordsClient.convertTo3wa(anyDouble(), anyDouble(), eq("en"))).thenReturn(Mono.just(square("GB", words)));
+        assertThrows(LocationUnserviceableException.class, () -> reactiveEmergencyService.coordTo3wa(location).block());
+    }
+
+    @Test
+    public void coordTo3wa_UpstreamError_ThrowsUnableToFind3waException() {
+        when(what3WordsClient.convertTo3wa(anyDouble(), anyDouble(), eq("en"))).thenReturn(Mono.error(new RuntimeException()));
+        assertThrows(UnableToFind3waException.class, () -> reactiveEmergencyService.coordTo3wa(location).block());
+    }
+
+    @Test
+    public void _3waToCoord_ValidThreeWordAddress_ReturnsLocation() {
+        when(what3WordsClient.convertToCoordinates(words)).thenReturn(Mono.just(ThreeWordsEntry.resolved(37.7749, -122.4194, "US")));
+        Location result = reactiveEmergencyService._3waToCoord(threeWordAddress).block();
+        assertEquals(37.7749, result.getLat(), 0.001);
+        reactiveEmergencyService._3waToCoord(threeWordAddress).block();
+        verify(what3WordsClient, times(1)).convertToCoordinates(words);
+    }
+
+    @Test
+    public void _3waToCoord_UpstreamQuotaExceeded_ThrowsAndIsNotCached() {
+        when(what3WordsClient.convertToCoordinates(words))
+                .thenReturn(Mono.error(new UpstreamQuotaExceededException("convertToCoordinates", 60)));
+        assertThrows(UpstreamQuotaExceededException.class, () -> reactiveEmergencyService._3waToCoord(threeWordAddress).block());
+        assertThrows(UpstreamQuotaExceededException.class, () -> reactiveEmergencyService._3waToCoord(threeWordAddress).block());
+        verify(what3WordsClient, times(2)).convertToCoordinates(words);
+        verify(what3WordsClient, never()).autosuggest(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    public void coordTo3wa_UpstreamQuotaExceeded_ThrowsUpstreamQuotaExceededException() {
+        when(what3WordsClient.convertTo3wa(anyDouble(), anyDouble(), eq("en")))
+                .thenReturn(Mono.error(new UpstreamQuotaExceededException("convertTo3wa", 60)));
+        assertThrows(UpstreamQuotaExceededException.class, () -> reactiveEmergencyService.coordTo3wa(location).block());
+    }
+
+    @Test
+    public void _3waToCoord_SlowCountry_ReturnsPartialSuggestions() {
+        when(what3WordsClient.convertToCoordinates(words)).thenReturn(Mono.just(ThreeWordsEntry.resolved(Double.NaN, Double.NaN, null)));
+        when(what3WordsClient.autosuggest(words, "US", 3)).thenReturn(Mono.just(Collections.singletonList(
+                new EmergencySuggestion("US", "San Francisco", "table.book.chairs"))));
+        when(what3WordsClient.autosuggest(words, "CA", 3)).thenReturn(Mono.never());
+        LocationAutoSuggestException ex = assertThrows(LocationAutoSuggestException.class,
+                () -> reactiveEmergencyService._3waToCoord(threeWordAddress).block());
+        assertTrue(ex.isPartial());
+        assertEquals(1, ex.getSuggestions().size());
+    }
+
+    @Test
+    public void _3waLanguageConvert_InValidLanguage_ThrowsInvalidLanguageCodeException() {
+        when(what3WordsClient.convertToCoordinates(words)).thenReturn(Mono.just(ThreeWordsEntry.resolved(37.7749, -122.4194, "US")));
+        when(what3WordsClient.convertTo3wa(anyDouble(), anyDouble(), eq("ABR"))).thenReturn(Mono.just(square("US", null)));
+        assertThrows(InvalidLanguageCodeException.class,
+                () -> reactiveEmergencyService._3waLanguageConvert(threeWordAddress, "ABR").block());
+    }
+
+    private SquareEntry square(String country, String words) {
+        return new SquareEntry(37.77489, -122.41941, 37.77492, -122.41937, words, country);
+    }
+}
@@ -0,0 +1,58 @@
+package com.akash.emergency.service.result;
+
+import com.akash.emergency.dto.autoSuggest.EmergencySuggestion;
+import com.akash.emergency.exception.exceptionClass.InvalidLanguageCodeException;
+import com.akash.emergency.exception.exceptionClass.LocationAutoSuggestException;
+import com.akash.emergency.exception.exceptionClass.LocationUnserviceableException;
+import com.akash.emergency.exception.exceptionClass.UnableToFind3waException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LookupResultTest {
+
+    @Test
+    public void orElseThrow_Found_ReturnsValue() {
+        assertEquals("table.book.chair", LookupResult.found("table.book.chair").orElseThrow());
+    }
+
+    @Test
+    public void orElseThrow_NotRecognised_ThrowsAutoSuggestWithSuggestions() {
+        List<EmergencySuggestion> suggestions = List.of(new EmergencySuggestion("GB", "Roydon, Essex", "able.book.chair"));
+        LookupResult<String> result = LookupResult.notRecognised("table.book.chair", suggestions, true);
+        LocationAutoSuggestException ex = assertThrows(LocationAutoSuggestException.class, result::orElseThrow);
+        assertEquals("table.book.chair", ex.getThreeWordAddress());
+        assertEquals(result.getMessage(), ex.getMessage());
+        assertEquals(suggestions, ex.getSuggestions());
+        assertTrue(ex.isPartial());
+    }
+
+    @Test
+    public void orElseThrow_Failures_ThrowMatchingExceptions() {
+        assertThrows(LocationUnserviceableException.class, LookupResult.unserviceable("GB only")::orElseThrow);
+        InvalidLanguageCodeException ex = assertThrows(InvalidLanguageCodeException.class,
+                LookupResult.invalidLanguage("xx")::orElseThrow);
+        assertEquals("xx", ex.getLanguageCode());
+        RuntimeException cause = new RuntimeException("boom");
+        UnableToFind3waException unresolved = assertThrows(UnableToFind3waException.class,
+                LookupResult.unresolved("boom", cause)::orElseThrow);
+        assertSame(cause, unresolved.getCause());
+    }
+
+    @Test
+    public void failure_KeepsOutcomeAndRejectsFound() {
+        LookupResult<Integer> failure = LookupResult.<String>invalidLanguage("xx").failure();
+        assertEquals(LookupResult.Outcome.INVALID_LANGUAGE, failure.getOutcome());
+        assertThrows(IllegalStateException.class, () -> LookupResult.found("x").failure());
+    }
+
+    @Test
+    public void exceptions_DoNotCaptureStackTraces() {
+        assertEquals(0, new LocationAutoSuggestException("table.book.chair", List.of()).getStackTrace().length);
+        assertEquals(0, new LocationUnserviceableException("GB only").getStackTrace().length);
+        assertEquals(0, new InvalidLanguageCodeException("xx").getStackTrace().length);
+        assertEquals(0, new UnableToFind3waException("boom", null).getStackTrace().length);
+    }
+}
@@ -0,0 +1,76 @@
+package com.akash.emergency.typeahead;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class KeystrokeDebouncerTest {
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> scheduled;
+    private KeystrokeDebouncer debouncer;
+
+    @BeforeEach
+    public void setup() {
+        scheduler = mock(ScheduledExecutorService.class);
+        scheduled = mock(ScheduledFuture.class);
+        doReturn(scheduled).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        debouncer = new KeystrokeDebouncer(Duration.ofMillis(150), 100, scheduler);
+    }
+
+    @Test
+    public void debounce_LaterKeystrokeInSameSession_SupersedesPendingOne() {
+        CompletableFuture<Boolean> first = debouncer.debounce("dispatcher-1");
+        CompletableFuture<Boolean> second = debouncer.debounce("dispatcher-1");
+        CompletableFuture<Boolean> other = debouncer.debounce("dispatcher-2");
+
+        assertFalse(first.getNow(true));
+        verify(scheduled).cancel(false);
+        assertFalse(second.isDone());
+        assertFalse(other.isDone());
+
+        List<Runnable> tasks = scheduledTasks(3);
+        tasks.get(1).run();
+        tasks.get(2).run();
+        assertTrue(second.getNow(false));
+        assertTrue(other.getNow(false));
+    }
+
+    @Test
+    public void debounce_SupersededTaskRunsLate_StaysSuperseded() {
+        CompletableFuture<Boolean> first = debouncer.debounce("dispatcher-1");
+        CompletableFuture<Boolean> second = debouncer.debounce("dispatcher-1");
+        scheduledTasks(2).get(0).run();
+        assertFalse(first.getNow(true));
+        assertFalse(second.isDone());
+
+        CompletableFuture<Boolean> third = debouncer.debounce("dispatcher-1");
+        assertFalse(second.getNow(true));
+        assertFalse(third.isDone());
+    }
+
+    @Test
+    public void debounce_NoSessionOrDisabled_CompletesWithoutScheduling() {
+        assertTrue(debouncer.debounce(null).getNow(false));
+        assertTrue(KeystrokeDebouncer.disabled().debounce("dispatcher-1").getNow(false));
+        verifyNoInteractions(scheduler);
+    }
+
+    private List<Runnable> scheduledTasks(int count) {
+        ArgumentCaptor<Runnable> tasks = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(count)).schedule(tasks.capture(), eq(Duration.ofMillis(150).toNanos()),
+                eq(TimeUnit.NANOSECONDS));
+        return tasks.getAllValues();
+    }
+}
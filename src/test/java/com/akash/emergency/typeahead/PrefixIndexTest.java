@@ -0,0 +1,58 @@
+package com.akash.emergency.typeahead;
+
+import com.akash.emergency.dto.autoSuggest.EmergencySuggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrefixIndexTest {
+    private final List<String> allowedCountries = Arrays.asList("US", "CA");
+
+    @Test
+    public void find_Prefix_ReturnsMatchingAddressesInOrderUpToLimit() {
+        PrefixIndex prefixIndex = new PrefixIndex(100);
+        prefixIndex.add("table.book.chat", "US");
+        prefixIndex.add("///Table.Book.Chair", "CA");
+        prefixIndex.add("table.bold.chair", "US");
+        prefixIndex.add("table.book.chain", "US");
+        prefixIndex.add("tablet.book.chair", "US");
+
+        List<EmergencySuggestion> suggestions = prefixIndex.find("table.book.", allowedCountries, 2);
+        assertEquals(2, suggestions.size());
+        assertEquals(new EmergencySuggestion("US", null, "table.book.chain"), suggestions.get(0));
+        assertEquals(new EmergencySuggestion("CA", null, "table.book.chair"), suggestions.get(1));
+        assertEquals(4, prefixIndex.find("///TABLE.", allowedCountries, 10).size());
+        assertTrue(prefixIndex.find("chair", allowedCountries, 10).isEmpty());
+    }
+
+    @Test
+    public void find_AddressesOutsideAllowedCountries_AreSkipped() {
+        PrefixIndex prefixIndex = new PrefixIndex(100);
+        prefixIndex.add("table.book.chair", "GB");
+        prefixIndex.add("table.book.chat", "US");
+        List<EmergencySuggestion> suggestions = prefixIndex.find("table.book", allowedCountries, 10);
+        assertEquals(1, suggestions.size());
+        assertEquals("table.book.chat", suggestions.get(0).getWords());
+    }
+
+    @Test
+    public void add_BeyondMaximumEntries_IsIgnored() {
+        PrefixIndex prefixIndex = new PrefixIndex(2);
+        prefixIndex.add("table.book.chair", "US");
+        prefixIndex.add("table.book.chair", "US");
+        prefixIndex.add("table.book.chat", "US");
+        prefixIndex.add("table.book.chain", "US");
+        assertEquals(2, prefixIndex.size());
+        assertTrue(prefixIndex.find("table.book.chain", allowedCountries, 10).isEmpty());
+    }
+
+    @Test
+    public void disabled_NeverReturnsSuggestions() {
+        PrefixIndex disabled = PrefixIndex.disabled();
+        disabled.add("table.book.chair", "US");
+        assertTrue(disabled.find("table", allowedCountries, 10).isEmpty());
+    }
+}
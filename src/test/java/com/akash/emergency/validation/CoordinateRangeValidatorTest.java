@@ -0,0 +1,51 @@
+package com.akash.emergency.validation;
+
+import lombok.AllArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CoordinateRangeValidatorTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    public void isValid_Boundaries_AreInclusive() {
+        assertThat(validator.validate(new Latitude(90.0))).isEmpty();
+        assertThat(validator.validate(new Latitude(-90.0))).isEmpty();
+        assertThat(validator.validate(new Latitude(0.0))).isEmpty();
+    }
+
+    @Test
+    public void isValid_JustOutsideBoundaries_IsInvalid() {
+        assertThat(validator.validate(new Latitude(Math.nextUp(90.0)))).hasSize(1);
+        assertThat(validator.validate(new Latitude(Math.nextDown(-90.0)))).hasSize(1);
+    }
+
+    @Test
+    public void isValid_NaNAndInfinity_IsInvalid() {
+        assertThat(validator.validate(new Latitude(Double.NaN))).hasSize(1);
+        assertThat(validator.validate(new Latitude(Double.POSITIVE_INFINITY))).hasSize(1);
+        assertThat(validator.validate(new Latitude(Double.NEGATIVE_INFINITY))).hasSize(1);
+    }
+
+    @Test
+    public void isValid_Null_IsLeftToNotNull() {
+        assertThat(validator.validate(new Latitude(null))).isEmpty();
+    }
+
+    @Test
+    public void isValid_Violation_UsesConfiguredMessage() {
+        var violations = validator.validate(new Latitude(91.0));
+        assertThat(violations.iterator().next().getMessage()).isEqualTo("out of range");
+    }
+
+    @AllArgsConstructor
+    private static class Latitude {
+        @CoordinateRange(min = -90.0, max = 90.0, message = "out of range")
+        private Double value;
+    }
+}
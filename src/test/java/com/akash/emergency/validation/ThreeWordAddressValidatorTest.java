@@ -0,0 +1,132 @@
+package com.akash.emergency.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the scanner against the {@code @Pattern} regex it replaced: a hand written corpus of valid and invalid
+ * addresses in several scripts, then seeded random strings built from the characters the grammar cares about.
+ */
+public class ThreeWordAddressValidatorTest {
+    private static final Pattern threeWordAddressPattern = Pattern.compile("^/*(?:(?:\\p{L}\\p{M}*)+[.｡。･・︒។։။۔።।](?:\\p{L}\\p{M}*)+[.｡。･・︒។։။۔።।](?:\\p{L}\\p{M}*)+|(?:\\p{L}\\p{M}*)+([\u0020\u00A0](?:\\p{L}\\p{M}*)+){1,3}[.｡。･・︒។։။۔።।](?:\\p{L}\\p{M}*)+([\u0020\u00A0](?:\\p{L}\\p{M}*)+){1,3}[.｡。･・︒។։။۔።।](?:\\p{L}\\p{M}*)+([\u0020\u00A0](?:\\p{L}\\p{M}*)+){1,3})$");
+
+    private static final List<String> valid = Arrays.asList(
+            "filled.count.soap",
+            "///filled.count.soap",
+            "Filled.Count.Soap",
+            "产权。绝缘。墨镜",
+            "ジョッキ・ことば・ぎょうざ",
+            "नमक।नदी।नाच",
+            "caf\u00E9.na\u00EFve.r\u00E9sum\u00E9",
+            "cafe\u0301.nai\u0308ve.re\u0301sume\u0301",
+            "ধরা পড়া।গিয়ে আসা।পরে থাকা",
+            "one two.three four.five six",
+            "one\u00A0two.three four.five\u00A0six",
+            "a b c d.e f.g h i",
+            "\uD840\uDC00\uD840\uDC01.\uD840\uDC02.\uD840\uDC03",
+            "a.b.c"
+    );
+
+    private static final List<String> invalid = Arrays.asList(
+            "",
+            "/",
+            "filled.count",
+            "filled.count.soap.extra",
+            "filled..count.soap",
+            ".filled.count.soap",
+            "filled.count.soap.",
+            "filled.count.soap ",
+            " filled.count.soap",
+            "filled.count.soap\n",
+            "filled,count,soap",
+            "filled.count.s0ap",
+            "\u0301filled.count.soap",
+            "filled.\u0301count.soap",
+            "filled-count.soap.x",
+            "one two.three.four",
+            "one.two three.four",
+            "a b c d e.f g.h i",
+            "a  b.c d.e f",
+            "a\tb.c d.e f",
+            "filled .count.soap",
+            "filled. count.soap",
+            "filled.count/soap",
+            "\uD83D\uDE00.count.soap",
+            "\uD800.count.soap",
+            "filled.count.soap\uD800"
+    );
+
+    private static final String[] alphabet = {
+            "a", "Z", "\u00E9", "\u0301", "\u093F", "\u0903", "\u20DD", "产", "क", "ক", "\uD840\uDC00",
+            "\uD800", "\uDC00", "\uD83D\uDE00",
+            ".", "｡", "。", "･", "・", "︒", "។", "։", "။", "۔", "።", "।",
+            " ", "\u00A0", "/", "1", "-", "\t", "\n"
+    };
+
+    @Test
+    public void isValid_Corpus_MatchesRegex() {
+        for (String address : valid) {
+            assertTrue(threeWordAddressPattern.matcher(address).matches(), address);
+            assertTrue(ThreeWordAddressValidator.isValid(address), address);
+        }
+        for (String address : invalid) {
+            assertFalse(threeWordAddressPattern.matcher(address).matches(), address);
+            assertFalse(ThreeWordAddressValidator.isValid(address), address);
+        }
+    }
+
+    @Test
+    public void isValid_RandomStrings_MatchesRegex() {
+        Random random = new Random(20221018L);
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder address = new StringBuilder();
+            int length = random.nextInt(24);
+            for (int j = 0; j < length; j++) {
+                address.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            assertEquivalent(address.toString());
+        }
+    }
+
+    @Test
+    public void isValid_RandomAddressShapes_MatchesRegex() {
+        Random random = new Random(3L);
+        String[] words = {"a", "filled", "产权", "नदी", "cafe\u0301", "\uD840\uDC00", "\u0301x", "1", ""};
+        String[] spaces = {" ", "\u00A0", "  ", "\t"};
+        String[] separators = {".", "。", "।", "・", ",", ".."};
+        for (int i = 0; i < 100_000; i++) {
+            StringBuilder address = new StringBuilder("///".substring(random.nextInt(4)));
+            int groups = 1 + random.nextInt(4);
+            for (int group = 0; group < groups; group++) {
+                if (group > 0) {
+                    address.append(separators[random.nextInt(separators.length)]);
+                }
+                int wordsInGroup = 1 + random.nextInt(5);
+                for (int word = 0; word < wordsInGroup; word++) {
+                    if (word > 0) {
+                        address.append(spaces[random.nextInt(spaces.length)]);
+                    }
+                    address.append(words[random.nextInt(words.length)]);
+                }
+            }
+            assertEquivalent(address.toString());
+        }
+    }
+
+    @Test
+    public void isValid_Null_IsValid() {
+        assertTrue(new ThreeWordAddressValidator().isValid(null, null));
+    }
+
+    private void assertEquivalent(String address) {
+        assertEquals(threeWordAddressPattern.matcher(address).matches(), ThreeWordAddressValidator.isValid(address),
+                () -> "Disagreement on " + address.codePoints().mapToObj(Integer::toHexString)
+                        .reduce((a, b) -> a + " " + b).orElse("<empty>"));
+    }
+}
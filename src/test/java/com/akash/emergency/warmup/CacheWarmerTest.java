@@ -0,0 +1,108 @@
+package com.akash.emergency.warmup;
+
+import com.akash.emergency.dto.location.Location;
+import com.akash.emergency.dto.threeWords.ThreeWordAddress;
+import com.akash.emergency.exception.exceptionClass.UpstreamQuotaExceededException;
+import com.akash.emergency.exception.exceptionClass.UpstreamUnavailableException;
+import com.akash.emergency.service.intf.EmergencyService;
+import com.akash.emergency.service.result.LookupResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class CacheWarmerTest {
+    private EmergencyService emergencyService;
+
+    @BeforeEach
+    public void setup() {
+        emergencyService = mock(EmergencyService.class);
+    }
+
+    @Test
+    public void warm_HotSet_ResolvesEveryEntryThroughTheService() throws IOException {
+        when(emergencyService.coordTo3waResult(any(Location.class)))
+                .thenReturn(LookupResult.found(new ThreeWordAddress("filled.count.soap")))
+                .thenReturn(LookupResult.unserviceable("Serviceable countries are : GB"));
+        when(emergencyService._3waToCoordResult(any(ThreeWordAddress.class)))
+                .thenReturn(LookupResult.notRecognised("index.home.raft", Collections.emptyList(), false))
+                .thenThrow(new UpstreamUnavailableException("convertToCoordinates", null));
+        CacheWarmer.Report report = new CacheWarmer(emergencyService, 4, Duration.ofSeconds(10))
+                .warm(load("51.5,-0.1\n40.0,-100.0\nindex.home.raft\ntable.book.chair\n"));
+        assertEquals(1, report.getFound());
+        assertEquals(2, report.getNotFound());
+        assertEquals(1, report.getFailed());
+        assertEquals(0, report.getSkipped());
+        assertTrue(report.isComplete());
+        verify(emergencyService).coordTo3waResult(new Location(51.5, -0.1));
+        verify(emergencyService).coordTo3waResult(new Location(40.0, -100.0));
+    }
+
+    @Test
+    public void warm_NeverRunsMoreThanParallelismLookupsAtOnce() throws IOException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(emergencyService.coordTo3waResult(any(Location.class))).thenAnswer(invocation -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            running.decrementAndGet();
+            return LookupResult.found(new ThreeWordAddress("filled.count.soap"));
+        });
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            lines.append("51.5,").append(-0.1 - i * 0.001).append('\n');
+        }
+        CacheWarmer.Report report = new CacheWarmer(emergencyService, 3, Duration.ofSeconds(10)).warm(load(lines.toString()));
+        assertEquals(40, report.getFound());
+        assertTrue(peak.get() <= 3);
+    }
+
+    @Test
+    public void warm_BudgetExhaustedBeyondDeadline_StopsEarly() throws IOException {
+        when(emergencyService.coordTo3waResult(any(Location.class)))
+                .thenThrow(new UpstreamQuotaExceededException("convertTo3wa", 3600));
+        CacheWarmer.Report report = new CacheWarmer(emergencyService, 1, Duration.ofSeconds(10))
+                .warm(load("51.5,-0.1\n51.6,-0.1\n51.7,-0.1\n"));
+        assertFalse(report.isComplete());
+        assertEquals(1, report.getFailed());
+        assertEquals(2, report.getSkipped());
+        verify(emergencyService, times(1)).coordTo3waResult(any(Location.class));
+    }
+
+    @Test
+    public void warm_RateLimited_RetriesAfterTheRefusal() throws IOException {
+        when(emergencyService.coordTo3waResult(any(Location.class)))
+                .thenThrow(new UpstreamQuotaExceededException("convertTo3wa", 1))
+                .thenReturn(LookupResult.found(new ThreeWordAddress("filled.count.soap")));
+        CacheWarmer.Report report = new CacheWarmer(emergencyService, 1, Duration.ofSeconds(10)).warm(load("51.5,-0.1\n"));
+        assertEquals(1, report.getFound());
+        assertTrue(report.isComplete());
+        verify(emergencyService, times(2)).coordTo3waResult(any(Location.class));
+    }
+
+    @Test
+    public void warm_Timeout_ReturnsWithRemainingEntriesSkipped() throws IOException {
+        when(emergencyService.coordTo3waResult(any(Location.class))).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return LookupResult.found(new ThreeWordAddress("filled.count.soap"));
+        });
+        CacheWarmer.Report report = new CacheWarmer(emergencyService, 1, Duration.ofMillis(50))
+                .warm(load("51.5,-0.1\n51.6,-0.1\n51.7,-0.1\n"));
+        assertFalse(report.isComplete());
+        assertEquals(2, report.getSkipped());
+        assertTrue(report.getElapsed().toMillis() < 200);
+    }
+
+    private HotSet load(String content) throws IOException {
+        return HotSet.load(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,45 @@
+package com.akash.emergency.warmup;
+
+import com.akash.emergency.dto.location.Location;
+import com.akash.emergency.dto.threeWords.ThreeWordAddress;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotSetTest {
+    @Test
+    public void load_MixedFile_SplitsLocationsAndAddresses() throws IOException {
+        HotSet hotSet = load("# hospitals\n"
+                + "51.49871,-0.11853 # St Thomas' Hospital\n"
+                + "\n"
+                + "  51.5322 , -0.1233\n"
+                + "filled.count.soap\n"
+                + "///index.home.raft # King's Cross\n");
+        assertEquals(4, hotSet.size());
+        assertEquals(new Location(51.49871, -0.11853), hotSet.getLocations().get(0));
+        assertEquals(new Location(51.5322, -0.1233), hotSet.getLocations().get(1));
+        assertEquals(new ThreeWordAddress("filled.count.soap"), hotSet.getThreeWordAddresses().get(0));
+        assertEquals(new ThreeWordAddress("///index.home.raft"), hotSet.getThreeWordAddresses().get(1));
+        assertEquals(0, hotSet.getRejected());
+    }
+
+    @Test
+    public void load_UnparseableLines_AreRejected() throws IOException {
+        HotSet hotSet = load("91.0,0.0\nNaN,1\nnot an address\n51.5,\nfilled.count\n");
+        assertEquals(0, hotSet.size());
+        assertEquals(5, hotSet.getRejected());
+    }
+
+    @Test
+    public void empty_HasNothingToWarm() {
+        assertEquals(0, HotSet.empty().size());
+    }
+
+    private HotSet load(String content) throws IOException {
+        return HotSet.load(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}